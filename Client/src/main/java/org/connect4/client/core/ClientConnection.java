@@ -4,12 +4,16 @@ import org.connect4.client.exceptions.ServerConnectionFailureException;
 import org.connect4.client.logger.ClientLogger;
 import org.connect4.game.networking.exceptions.ReceiveMessageFailureException;
 import org.connect4.game.networking.exceptions.SendMessageFailureException;
+import org.connect4.game.networking.messaging.ClientMessageType;
 import org.connect4.game.networking.messaging.Message;
+import org.connect4.game.networking.messaging.MessageCodec;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.EOFException;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.Socket;
 
 /**
@@ -23,8 +27,8 @@ public class ClientConnection {
     private final int serverPort;
 
     private Socket socket;
-    private ObjectOutputStream out;
-    private ObjectInputStream in;
+    private DataOutputStream out;
+    private DataInputStream in;
 
 
     /**
@@ -42,8 +46,12 @@ public class ClientConnection {
     public void connectToServer() throws ServerConnectionFailureException {
         try {
             this.socket = new Socket(serverAddress, serverPort);
-            this.out = new ObjectOutputStream(socket.getOutputStream());
-            this.in = new ObjectInputStream(socket.getInputStream());
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+            // The server handles no other message before the handshake
+            MessageCodec.write(out, new Message<>(ClientMessageType.HELLO, MessageCodec.PROTOCOL_VERSION));
+            out.flush();
 
             LOGGER.info("Successfully connected to server: " + serverAddress + ":" + serverPort);
         } catch (IOException e) {
@@ -54,14 +62,17 @@ public class ClientConnection {
     }
 
     /**
-     * Sends a message to the output stream.
+     * Sends a message to the output stream as a binary frame.
+     * Sending is synchronized, so that frames written by different threads never interleave.
      * @param message The message to be sent.
      * @throws SendMessageFailureException If failed to send the message.
      */
     public void sendMessage(Message<?> message) throws SendMessageFailureException {
         try {
-            out.writeObject(message);
-            out.flush();
+            synchronized (out) {
+                MessageCodec.write(out, message);
+                out.flush();
+            }
         } catch (IOException e) {
             String errorMessage = "Failed to send message to the server: " + e.getMessage();
             LOGGER.severe(errorMessage);
@@ -71,15 +82,15 @@ public class ClientConnection {
 
     /**
      * Receives a message from input stream.
-     * @return The received message.
+     * @return The received message, or null if the server closed the connection.
      * @throws ReceiveMessageFailureException If failed to receive the message.
      */
     public Message<?> receiveMessage() throws ReceiveMessageFailureException {
         try {
-            return (Message<?>) in.readObject();
+            return MessageCodec.read(in);
         } catch (EOFException e) {
             return null;
-        } catch (ClassNotFoundException | IOException e) {
+        } catch (IOException e) {
             String errorMessage = "Failed to receive message from the server: " + e.getMessage();
             LOGGER.severe(errorMessage);
             throw new ReceiveMessageFailureException(errorMessage);
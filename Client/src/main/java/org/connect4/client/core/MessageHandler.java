@@ -8,9 +8,14 @@ import org.connect4.client.gui.controllers.MainViewController;
 import org.connect4.client.logger.ClientLogger;
 import org.connect4.game.logic.core.Move;
 import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logic.enums.GameStatus;
 import org.connect4.game.networking.messaging.Message;
+import org.connect4.game.networking.messaging.RejectionReason;
 import org.connect4.game.networking.messaging.ServerMessageType;
+import org.connect4.game.networking.messaging.StateDelta;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -31,7 +36,11 @@ public class MessageHandler {
     private final Alert opponentDisconnectedAlert;
     private final Alert winnerAlert;
     private final Alert rematchAlert;
+    private final Alert requestRejectedAlert;
     private final ExecutorService executorService;
+    private final Map<Integer, StateDelta> pendingStateDeltas;
+    private int nextStateSequence;
+    private volatile long resumeToken;
 
     /**
      * Constructs a MessageHandler with the specified client connection, message sender,
@@ -49,11 +58,14 @@ public class MessageHandler {
         this.mainViewController = mainViewController;
         this.gameViewController = gameViewController;
         this.executorService = Executors.newCachedThreadPool();
+        this.pendingStateDeltas = new HashMap<>();
+        this.nextStateSequence = 0;
 
         this.waitingForOpponentAlert = createAlert(Alert.AlertType.INFORMATION, "Waiting for opponent...");
         this.opponentDisconnectedAlert = createAlert(Alert.AlertType.WARNING, "Opponent disconnected!");
         this.winnerAlert = createAlert(Alert.AlertType.INFORMATION, "");
         this.rematchAlert = createAlert(Alert.AlertType.CONFIRMATION, "Do you wanna play again?");
+        this.requestRejectedAlert = createAlert(Alert.AlertType.WARNING, "");
     }
 
     /**
@@ -93,6 +105,10 @@ public class MessageHandler {
                 case DISCONNECT_COMPLETED -> handleDisconnectCompletedMessage();
                 case OPPONENT_DISCONNECTED -> handleOpponentDisconnectedMessage();
                 case SERVER_STOPPED -> handleServerStoppedMessage();
+                case STATE_DELTA -> handleStateDeltaMessage((Message<StateDelta>) message);
+                case PING -> messageSender.sendPong();
+                case REQUEST_REJECTED -> handleRequestRejectedMessage((Message<RejectionReason>) message);
+                case RESUME_TOKEN -> handleResumeTokenMessage((Message<Long>) message);
             }
         });
     }
@@ -108,13 +124,18 @@ public class MessageHandler {
      * Handles a message indicating that a game session has started.
      */
     private void handleGameStartedMessage() {
-        Platform.runLater(() -> {
-            waitingForOpponentAlert.close();
-            mainViewController.closeView();
-            gameViewController.showView();
+        Platform.runLater(this::showGameView);
+    }
 
-            LOGGER.info("Game Started.");
-        });
+    /**
+     * Shows the game view in place of the main view.
+     */
+    private void showGameView() {
+        waitingForOpponentAlert.close();
+        mainViewController.closeView();
+        gameViewController.showView();
+
+        LOGGER.info("Game Started.");
     }
 
     /**
@@ -125,7 +146,7 @@ public class MessageHandler {
     private void handleColorMessage(Message<Color> colorMessage) {
         Platform.runLater(() -> {
             Color color = colorMessage.getPayload();
-            javafx.scene.paint.Color assignedColor = color == Color.RED ? javafx.scene.paint.Color.RED : javafx.scene.paint.Color.YELLOW;
+            javafx.scene.paint.Color assignedColor = toDiscColor(color);
             gameViewController.setAssignedColor(assignedColor);
             gameViewController.setMyTurn(assignedColor == javafx.scene.paint.Color.RED);
         });
@@ -177,7 +198,7 @@ public class MessageHandler {
     private void handlePlayerTurnMessage(Message<Color> playerTurnMessage) {
         Platform.runLater(() -> {
             Color currentPlayer = playerTurnMessage.getPayload();
-            gameViewController.updateTurnIndicator(currentPlayer == Color.RED ? javafx.scene.paint.Color.RED : javafx.scene.paint.Color.YELLOW);
+            gameViewController.updateTurnIndicator(toDiscColor(currentPlayer));
             LOGGER.info("It's " + currentPlayer + "'s turn!");
         });
     }
@@ -188,24 +209,95 @@ public class MessageHandler {
      * @param gameOverMessage The message containing the winning player's color.
      */
     private void handleGameOverMessage(Message<Color> gameOverMessage) {
+        Platform.runLater(() -> showGameOver(gameOverMessage.getPayload()));
+    }
+
+    /**
+     * Displays the winner and prompts for a rematch.
+     *
+     * @param winner The winning player's color.
+     */
+    private void showGameOver(Color winner) {
+        System.out.println(winner);
+        winnerAlert.setContentText(winner + " has won!");
+        winnerAlert.showAndWait();
+
+        Optional<ButtonType> result = rematchAlert.showAndWait();
+        if (result.isPresent() && result.get() == ButtonType.OK) {
+            messageSender.requestRematch();
+            gameViewController.initialize();
+            gameViewController.setEventHandlers();
+        } else {
+            gameViewController.closeView();
+            mainViewController.showView();
+        }
+    }
+
+    /**
+     * Handles a state delta message. Deltas are applied on the JavaFX thread in the order of their sequence numbers,
+     * so a delta that arrives early waits until the deltas before it have been applied.
+     * A delta that starts a game discards the deltas left over from any earlier game.
+     *
+     * @param stateDeltaMessage The message containing the state delta.
+     */
+    private void handleStateDeltaMessage(Message<StateDelta> stateDeltaMessage) {
         Platform.runLater(() -> {
-            Color winner = gameOverMessage.getPayload();
-            System.out.println(winner);
-            winnerAlert.setContentText(winner + " has won!");
-            winnerAlert.showAndWait();
-
-            Optional<ButtonType> result = rematchAlert.showAndWait();
-            if (result.isPresent() && result.get() == ButtonType.OK) {
-                messageSender.requestRematch();
-                gameViewController.initialize();
-                gameViewController.setEventHandlers();
-            } else {
-                gameViewController.closeView();
-                mainViewController.showView();
+            StateDelta stateDelta = stateDeltaMessage.getPayload();
+            if (stateDelta.getStatus() == GameStatus.STARTED) {
+                pendingStateDeltas.keySet().removeIf(sequence -> sequence < stateDelta.getSequence());
+                nextStateSequence = stateDelta.getSequence();
+            } else if (stateDelta.getSequence() < nextStateSequence) {
+                LOGGER.warning("Ignoring stale state delta: " + stateDelta.getSequence());
+                return;
+            }
+
+            pendingStateDeltas.put(stateDelta.getSequence(), stateDelta);
+            StateDelta nextStateDelta;
+            while ((nextStateDelta = pendingStateDeltas.remove(nextStateSequence)) != null) {
+                nextStateSequence++;
+                applyStateDelta(nextStateDelta);
             }
         });
     }
 
+    /**
+     * Applies the specified state delta to the game view.
+     *
+     * @param stateDelta The state delta.
+     */
+    private void applyStateDelta(StateDelta stateDelta) {
+        if (stateDelta.getStatus() == GameStatus.STARTED) {
+            showGameView();
+
+            javafx.scene.paint.Color assignedColor = toDiscColor(stateDelta.getAssignedColor());
+            gameViewController.setAssignedColor(assignedColor);
+            gameViewController.updatePlayersStatus(stateDelta.getRedPlayerScore(), stateDelta.getYellowPlayerScore());
+            LOGGER.info("RED: " + stateDelta.getRedPlayerScore() + ", YELLOW: " + stateDelta.getYellowPlayerScore());
+        } else if (stateDelta.getMove() != null) {
+            gameViewController.dropDisc(toDiscColor(stateDelta.getMovingPlayer()), stateDelta.getMove().getColumn());
+        }
+
+        if (stateDelta.getStatus() == GameStatus.OVER) {
+            gameViewController.setMyTurn(false);
+            showGameOver(stateDelta.getWinner());
+        } else {
+            Color currentPlayer = stateDelta.getCurrentPlayer();
+            gameViewController.setMyTurn(toDiscColor(currentPlayer) == gameViewController.getAssignedColor());
+            gameViewController.updateTurnIndicator(toDiscColor(currentPlayer));
+            LOGGER.info("It's " + currentPlayer + "'s turn!");
+        }
+    }
+
+    /**
+     * Converts the specified player color to the color of its discs.
+     *
+     * @param color The player color.
+     * @return The disc color.
+     */
+    private static javafx.scene.paint.Color toDiscColor(Color color) {
+        return color == Color.RED ? javafx.scene.paint.Color.RED : javafx.scene.paint.Color.YELLOW;
+    }
+
     /**
      * Handles a message indicating that the game session has ended.
      */
@@ -238,6 +330,48 @@ public class MessageHandler {
         });
     }
 
+    /**
+     * Gets the resume token of the current game session, with which the game can be resumed after a restart of the server.
+     *
+     * @return The resume token, or zero if the server did not send one.
+     */
+    public long getResumeToken() {
+        return resumeToken;
+    }
+
+    /**
+     * Handles a message carrying the resume token of the current game session.
+     *
+     * @param message The resume token message.
+     */
+    private void handleResumeTokenMessage(Message<Long> message) {
+        resumeToken = message.getPayload();
+    }
+
+    /**
+     * Handles a message indicating that the server rejected a request of the client.
+     *
+     * @param message The request rejected message containing the rejection reason.
+     */
+    private void handleRequestRejectedMessage(Message<RejectionReason> message) {
+        RejectionReason rejectionReason = message.getPayload();
+        LOGGER.warning("Request rejected by the server: " + rejectionReason);
+
+        String text = switch (rejectionReason) {
+            case RATE_LIMITED -> "Too many requests, please slow down.";
+            case SERVER_FULL -> "The server is full, please try again later.";
+            case TOO_MANY_GAME_SESSIONS -> "No game can be started right now, please try again later.";
+            case TOO_MANY_AI_GAME_SESSIONS -> "No game against the computer can be started right now, please try again later.";
+            case ALREADY_IN_GAME_SESSION -> "You are already in a game.";
+            case UNKNOWN_GAME_SESSION -> "The game could not be resumed.";
+        };
+
+        Platform.runLater(() -> {
+            requestRejectedAlert.setContentText(text);
+            requestRejectedAlert.show();
+        });
+    }
+
     /**
      * Handles a message indicating that the server has stopped.
      */
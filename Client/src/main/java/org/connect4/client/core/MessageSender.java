@@ -78,6 +78,13 @@ public class MessageSender {
         sendMessage(ClientMessageType.TEXT, chatText);
     }
 
+    /**
+     * Answers a heartbeat from the server.
+     */
+    public void sendPong() {
+        sendMessage(ClientMessageType.PONG, null);
+    }
+
     /**
      * Requests a leave-game.
      */
@@ -0,0 +1,19 @@
+package org.connect4.game.ai.enums;
+
+/**
+ * Enum representing the parity of the row of a threat, counting rows from one at the bottom of the board.
+ * @author Hassan
+ */
+public enum ThreatParity {
+    ODD,
+    EVEN;
+
+    /**
+     * Gets the parity of the specified row index.
+     * @param row The zero-based row index, where zero is the bottom row.
+     * @return The parity of the row.
+     */
+    public static ThreatParity of(int row) {
+        return row % 2 == 0 ? ODD : EVEN;
+    }
+}
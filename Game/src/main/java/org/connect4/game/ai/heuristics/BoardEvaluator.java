@@ -0,0 +1,23 @@
+package org.connect4.game.ai.heuristics;
+
+import org.connect4.game.ai.threats.ThreatAnalysis;
+import org.connect4.game.logic.core.BoardSnapshot;
+
+import java.util.function.Supplier;
+
+/**
+ * A functional interface for the heuristics that score the board snapshots of a Minimax search.
+ * The threat analysis of a board is supplied on demand, so that a search node computes it at most once
+ * and shares it between the score of the board and the ordering of its moves.
+ * @author Hassan
+ */
+@FunctionalInterface
+public interface BoardEvaluator {
+    /**
+     * Evaluates the heuristic score for the given snapshot of a game board.
+     * @param board The snapshot of the game board to evaluate.
+     * @param threatAnalysis The supplier of the threat analysis of the board.
+     * @return The heuristic score, positive in favour of the red player.
+     */
+    int evaluate(BoardSnapshot board, Supplier<ThreatAnalysis> threatAnalysis);
+}
@@ -1,10 +1,11 @@
 package org.connect4.game.ai.heuristics;
 
 import org.connect4.game.logic.core.Board;
-import org.connect4.game.logic.core.Piece;
+import org.connect4.game.logic.core.BoardSnapshot;
 import org.connect4.game.logic.enums.Color;
 import org.connect4.game.logging.AILogger;
 
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -28,6 +29,16 @@ public class Heuristic {
      * @return The heuristic score for right diagonals.
      */
     public static int evaluate(Board board) {
+        // The score does not depend on the player to move
+        return evaluate(BoardSnapshot.of(board, Color.RED));
+    }
+
+    /**
+     * Evaluates the heuristic score for the given snapshot of a game board.
+     * @param board The snapshot of the game board to evaluate.
+     * @return The heuristic score, positive in favour of the red player.
+     */
+    public static int evaluate(BoardSnapshot board) {
         int totalScore = 0;
 
         // Evaluate scores for rows, columns, diagonals
@@ -44,11 +55,10 @@ public class Heuristic {
      * @param board The game board to evaluate.
      * @return The heuristic score for right diagonals.
      */
-    private static int evaluateRows(Board board) {
+    private static int evaluateRows(BoardSnapshot board) {
         int totalScore = 0;
         for (int row = 0; row < Board.ROWS; row++) {
             for (int col = 0; col <= Board.COLS - 4; col++) {
-                LOGGER.finest("Evaluate score of row: " + row);
                 totalScore += evaluateLineScore(board, row, col, 0, 1);
             }
         }
@@ -60,11 +70,10 @@ public class Heuristic {
      * @param board The game board to evaluate.
      * @return The heuristic score for right diagonals.
      */
-    private static int evaluateColumns(Board board) {
+    private static int evaluateColumns(BoardSnapshot board) {
         int totalScore = 0;
         for (int row = 0; row <= Board.ROWS; row++) {
             for (int col = 0; col < Board.COLS; col++) {
-                LOGGER.finest("Evaluate score of column: " + col);
                 totalScore += evaluateLineScore(board, row, col, 1, 0);
             }
         }
@@ -76,7 +85,7 @@ public class Heuristic {
      * @param board The game board to evaluate.
      * @return The heuristic score for right diagonals.
      */
-    private static int evaluateDiagonals(Board board) {
+    private static int evaluateDiagonals(BoardSnapshot board) {
         int totalScore = 0;
         // Evaluate diagonals starting from top-left corner
         totalScore += evaluateLeftDiagonalsScore(board);
@@ -92,12 +101,11 @@ public class Heuristic {
      * @param board The game board to evaluate.
      * @return The heuristic score for right diagonals.
      */
-    private static int evaluateLeftDiagonalsScore(Board board) {
+    private static int evaluateLeftDiagonalsScore(BoardSnapshot board) {
         int totalScore = 0;
 
         for (int row = 0; row <= Board.ROWS - 4; row++) {
             for (int col = 0; col <= Board.COLS - 4; col++) {
-                LOGGER.finest("Evaluate score of left diagonal at row: " + row + " and col: " + col);
                 totalScore += evaluateLineScore(board, row, col, 1, 1);
             }
         }
@@ -110,12 +118,11 @@ public class Heuristic {
      * @param board The game board to evaluate.
      * @return The heuristic score for right diagonals.
      */
-    private static int evaluateRightDiagonalsScore(Board board) {
+    private static int evaluateRightDiagonalsScore(BoardSnapshot board) {
         int totalScore = 0;
 
         for (int row = 0; row <= Board.ROWS - 4; row++) {
             for (int col = Board.COLS - 1; col >= 3; col--) {
-                LOGGER.finest("Evaluate score of right diagonal at row: " + row + " and col: " + col);
                 totalScore += evaluateLineScore(board, row, col, 1, -1);
             }
         }
@@ -132,7 +139,7 @@ public class Heuristic {
      * @param colOffset The offset for moving along columns.
      * @return The heuristic score for the specified line.
      */
-    private static int evaluateLineScore(Board board, int rowIndex, int colIndex, int rowOffset, int colOffset) {
+    private static int evaluateLineScore(BoardSnapshot board, int rowIndex, int colIndex, int rowOffset, int colOffset) {
         int aiPiecesCount = 0;
         int humanPiecesCount = 0;
         int emptySpacesCount = 0;
@@ -140,10 +147,10 @@ public class Heuristic {
         for (int i = 0; i < 4; i++) {
             int row = rowIndex + rowOffset * i;
             int col = colIndex + colOffset * i;
-            Piece piece = board.getPieceAt(row, col);
+            Color color = board.getColorAt(row, col);
 
-            if (piece != null) {
-                if (piece.getColor() == Color.RED) {
+            if (color != Color.NONE) {
+                if (color == Color.RED) {
                     aiPiecesCount++;
                 } else {
                     humanPiecesCount++;
@@ -161,13 +168,12 @@ public class Heuristic {
      * @param board The game board to evaluate.
      * @return The heuristic score for the center column.
      */
-    private static int evaluateCenterColumnScore(Board board) {
+    private static int evaluateCenterColumnScore(BoardSnapshot board) {
         int totalScore = 0;
 
         for (int row = 0; row < Board.ROWS; row++) {
-            Piece piece = board.getPieceAt(row, Board.COLS / 2);
-            if (piece != null && piece.getColor() == Color.RED) {
-                LOGGER.finest("AI piece found in the center column at row: " + row);
+            if (board.getColorAt(row, Board.COLS / 2) == Color.RED) {
+                LOGGER.log(Level.FINEST, "AI piece found in the center column at row: {0}", row);
                 totalScore += CENTER_COLUMN_SCORE;
             }
         }
@@ -203,7 +209,7 @@ public class Heuristic {
             score = -1 * ONE_IN_ROW_SCORE;
         }
 
-        LOGGER.finest("Evaluated score: " + score);
+        LOGGER.log(Level.FINEST, "Evaluated score: {0}", score);
         return score;
     }
 }
@@ -0,0 +1,63 @@
+package org.connect4.game.ai.heuristics;
+
+import org.connect4.game.ai.enums.ThreatParity;
+import org.connect4.game.ai.threats.ThreatAnalysis;
+import org.connect4.game.logic.core.BoardSnapshot;
+import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logging.AILogger;
+
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A Class evaluates the heuristic scores for Connect-4 game states, adding the odd/even threat analysis
+ * on top of the line scores of {@link Heuristic}.
+ * @author Hassan
+ */
+public class ThreatHeuristic {
+    private static final Logger LOGGER = AILogger.getLogger();
+
+    private static final int GOOD_THREAT_SCORE = 80;
+    private static final int WEAK_THREAT_SCORE = 20;
+    private static final int STACKED_THREAT_SCORE = 300;
+    private static final int ZUGZWANG_CONTROL_SCORE = 150;
+
+    /**
+     * Evaluates the heuristic score for the given snapshot of a game board, getting the threat analysis from the supplier.
+     * @param board The snapshot of the game board to evaluate.
+     * @param threatAnalysis The supplier of the threat analysis of the board.
+     * @return The heuristic score, positive in favour of the red player.
+     */
+    public static int evaluate(BoardSnapshot board, Supplier<ThreatAnalysis> threatAnalysis) {
+        return Heuristic.evaluate(board) + evaluateThreats(threatAnalysis.get());
+    }
+
+    /**
+     * Evaluates the threat score of the given threat analysis.
+     * Red moves first, so odd threats are worth more to red and even threats are worth more to yellow.
+     * @param threatAnalysis The threat analysis to evaluate.
+     * @return The threat score, positive in favour of the red player.
+     */
+    public static int evaluateThreats(ThreatAnalysis threatAnalysis) {
+        int totalScore = 0;
+
+        totalScore += threatAnalysis.countThreats(Color.RED, ThreatParity.ODD) * GOOD_THREAT_SCORE;
+        totalScore += threatAnalysis.countThreats(Color.RED, ThreatParity.EVEN) * WEAK_THREAT_SCORE;
+        totalScore -= threatAnalysis.countThreats(Color.YELLOW, ThreatParity.EVEN) * GOOD_THREAT_SCORE;
+        totalScore -= threatAnalysis.countThreats(Color.YELLOW, ThreatParity.ODD) * WEAK_THREAT_SCORE;
+
+        totalScore += threatAnalysis.countStackedThreats(Color.RED) * STACKED_THREAT_SCORE;
+        totalScore -= threatAnalysis.countStackedThreats(Color.YELLOW) * STACKED_THREAT_SCORE;
+
+        Color zugzwangController = threatAnalysis.getZugzwangController();
+        if (zugzwangController == Color.RED) {
+            totalScore += ZUGZWANG_CONTROL_SCORE;
+        } else if (zugzwangController == Color.YELLOW) {
+            totalScore -= ZUGZWANG_CONTROL_SCORE;
+        }
+
+        LOGGER.log(Level.FINEST, "Evaluated threat score: {0}", totalScore);
+        return totalScore;
+    }
+}
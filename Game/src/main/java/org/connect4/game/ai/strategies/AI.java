@@ -1,6 +1,9 @@
 package org.connect4.game.ai.strategies;
 
 import org.connect4.game.ai.enums.AIType;
+import org.connect4.game.ai.utils.SearchResult;
+import org.connect4.game.ai.utils.SearchStatistics;
+import org.connect4.game.logic.core.BoardSnapshot;
 import org.connect4.game.logic.core.Move;
 import org.connect4.game.logic.core.Player;
 import org.connect4.game.logic.enums.Color;
@@ -8,6 +11,7 @@ import org.connect4.game.logic.enums.PlayerType;
 
 /**
  * Abstract class representing an AI player in the Connect-4 game.
+ * AI players hold no board, they search the snapshot of the board they are given, which the game never changes.
  * @author hassan
  */
 public abstract class AI extends Player {
@@ -32,7 +36,29 @@ public abstract class AI extends Player {
 
     /**
      * Abstract method to be implemented by subclasses for determining the next move.
+     * @param board The snapshot of the board to move on.
      * @return The next move.
      */
-    public abstract Move getNextMove();
+    public abstract Move getNextMove(BoardSnapshot board);
+
+    /**
+     * Determines the next move and collects the statistics of the search.
+     * AI players without a search tree only report the elapsed time.
+     * @param board The snapshot of the board to move on.
+     * @return The next move along with the search statistics.
+     */
+    public SearchResult search(BoardSnapshot board) {
+        SearchStatistics statistics = new SearchStatistics();
+        statistics.start();
+        Move move = getNextMove(board);
+        statistics.stop();
+        return new SearchResult(move, statistics);
+    }
+
+    /**
+     * Cancels the search of the next move if one is running, and every later search, once this AI player is no longer needed.
+     * AI players whose moves are cheap to compute don't need to override this method.
+     */
+    public void cancel() {
+    }
 }
@@ -1,41 +1,74 @@
 package org.connect4.game.ai.strategies;
 
 import org.connect4.game.ai.enums.AIType;
+import org.connect4.game.ai.enums.NodeType;
+import org.connect4.game.ai.heuristics.BoardEvaluator;
+import org.connect4.game.ai.heuristics.Heuristic;
+import org.connect4.game.ai.utils.CancellationToken;
 import org.connect4.game.ai.utils.Node;
+import org.connect4.game.ai.utils.SearchResult;
+import org.connect4.game.ai.utils.SearchStatistics;
+import org.connect4.game.ai.utils.State;
+import org.connect4.game.logic.core.BoardSnapshot;
 import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.enums.Color;
 import org.connect4.game.logging.AILogger;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.logging.Logger;
 
 /**
  * Abstract class representing a Minimax AI player in the Connect-4 game.
+ * Each search starts from a new root node over the snapshot it is given, for the player whose turn it is.
+ * The heuristics score boards in favour of the red player, so red is the maximizing player and yellow the minimizing one.
  * @author hassan
  */
 public abstract class MinimaxAI extends AI {
     private static final Logger LOGGER = AILogger.getLogger();
 
-    private final Node node;
     private final int depth;
+    private final Duration timeLimit;
+    private final BoardEvaluator evaluator;
+    private volatile CancellationToken cancellationToken;
+    private volatile boolean isCancelled;
+    private SearchStatistics statistics;
+    private int iterationDepth;
 
     /**
-     * Constructs a MinimaxAI player with the specified AI type, starting game node, and depth limit for the search algorithm.
+     * Constructs a MinimaxAI player with the specified AI type and depth limit for the search algorithm.
      * @param aiType The type of AI.
-     * @param node The current game node.
      * @param depth The depth limit for the Minimax search.
      */
-    public MinimaxAI(AIType aiType, Node node, int depth) {
-        super(aiType);
-        this.node = node;
-        this.depth = depth;
+    public MinimaxAI(AIType aiType, int depth) {
+        this(aiType, depth, null);
     }
 
     /**
-     * Gets the starting game node for the Minimax search.
-     * @return The starting game node.
+     * Constructs a MinimaxAI player with the specified AI type, depth limit and time limit for the search algorithm.
+     * @param aiType The type of AI.
+     * @param depth The depth limit for the Minimax search.
+     * @param timeLimit The time limit for the Minimax search, or null for a search without a deadline.
      */
-    public Node getNode() {
-        return node;
+    public MinimaxAI(AIType aiType, int depth, Duration timeLimit) {
+        this(aiType, depth, timeLimit, (board, threatAnalysis) -> Heuristic.evaluate(board));
+    }
+
+    /**
+     * Constructs a MinimaxAI player with the specified AI type, depth limit, time limit and board evaluator
+     * for the search algorithm.
+     * @param aiType The type of AI.
+     * @param depth The depth limit for the Minimax search.
+     * @param timeLimit The time limit for the Minimax search, or null for a search without a deadline.
+     * @param evaluator The heuristic used to score the searched boards.
+     */
+    public MinimaxAI(AIType aiType, int depth, Duration timeLimit, BoardEvaluator evaluator) {
+        super(aiType);
+        this.depth = depth;
+        this.timeLimit = timeLimit;
+        this.evaluator = evaluator;
+        this.cancellationToken = CancellationToken.withTimeLimit(null);
+        this.statistics = new SearchStatistics();
     }
 
     /**
@@ -46,24 +79,142 @@ public abstract class MinimaxAI extends AI {
         return depth;
     }
 
+    /**
+     * Gets the time limit for the Minimax search.
+     * @return The time limit, or null if the search has no deadline.
+     */
+    public Duration getTimeLimit() {
+        return timeLimit;
+    }
+
     /**
      * Computes and returns the next move based on the Minimax algorithm.
+     * @param board The snapshot of the board to move on.
      * @return The next move.
      */
     @Override
-    public Move getNextMove() {
-        Optional<Node> result = minimax(node, depth);
+    public Move getNextMove(BoardSnapshot board) {
+        return search(board).getMove();
+    }
+
+    /**
+     * Computes the next move based on the Minimax algorithm and collects the statistics of the search.
+     * With a time limit the search deepens iteratively and returns the best move of the deepest completed iteration
+     * once the deadline passes. A cancelled or interrupted search has no move.
+     * @param board The snapshot of the board to move on.
+     * @return The next move along with the search statistics.
+     */
+    @Override
+    public SearchResult search(BoardSnapshot board) {
+        CancellationToken token = CancellationToken.withTimeLimit(timeLimit);
+        this.cancellationToken = token;
+        // Checked after the token is published, so that a cancel racing the start of the search reaches one or the other
+        if (isCancelled) {
+            token.cancel();
+        }
+        this.statistics = new SearchStatistics();
+        statistics.start();
 
-        if (result.isPresent()) {
+        Node root = createRoot(board);
+        Optional<Node> result;
+        if (token.hasDeadline()) {
+            result = iterativeDeepening(root, token);
+        } else {
+            iterationDepth = depth;
+            result = minimax(root, depth);
+        }
+
+        statistics.stop();
+        LOGGER.info("Minimax search statistics: " + statistics);
+
+        if (token.isAborted()) {
+            LOGGER.info("Minimax search has been cancelled.");
+            return new SearchResult(null, statistics);
+        } else if (result.isPresent()) {
             Move bestMove = result.get().getMove();
             LOGGER.fine("Best move found at column: " + bestMove.getColumn());
-            return bestMove;
+            return new SearchResult(bestMove, statistics);
         } else {
             LOGGER.warning("No valid move found!");
-            return null;
+            return new SearchResult(null, statistics);
         }
     }
 
+    /**
+     * Cancels the running Minimax search, which then returns as soon as it checks for cancellation.
+     * Every later search of this AI returns without a move too.
+     */
+    @Override
+    public void cancel() {
+        isCancelled = true;
+        cancellationToken.cancel();
+    }
+
+    /**
+     * Creates the root node of a search over the specified board, for the player whose turn it is.
+     * @param board The snapshot of the board to move on.
+     * @return The root node.
+     */
+    private Node createRoot(BoardSnapshot board) {
+        Color nextColor = board.getNextColor();
+        NodeType nodeType = nextColor == Color.RED ? NodeType.MAX : NodeType.MIN;
+        return new Node(new State(board, nextColor.opposite()), nodeType, null, evaluator);
+    }
+
+    /**
+     * Searches one ply deeper at a time until the depth limit is reached or the deadline passes.
+     * @param root The root node of the search.
+     * @param token The cancellation token of the search.
+     * @return An optional containing the best move node of the deepest completed iteration.
+     */
+    private Optional<Node> iterativeDeepening(Node root, CancellationToken token) {
+        Optional<Node> bestNode = Optional.empty();
+
+        for (int currentDepth = 1; currentDepth <= depth; currentDepth++) {
+            iterationDepth = currentDepth;
+            Optional<Node> result = minimax(root, currentDepth);
+            if (token.isCancelled()) {
+                LOGGER.fine("Minimax search deadline reached at depth: " + currentDepth);
+                // An unfinished first iteration is still better than no move at all
+                return bestNode.isPresent() ? bestNode : result;
+            }
+            bestNode = result;
+        }
+
+        return bestNode;
+    }
+
+    /**
+     * Checks whether the running search should stop, so that subclasses can unwind their recursion.
+     * @return true if the search is cancelled or its deadline has passed, false otherwise.
+     */
+    protected boolean isSearchCancelled() {
+        return cancellationToken.isCancelled();
+    }
+
+    /**
+     * Records the visit of a node with the specified remaining depth.
+     * @param remainingDepth The remaining depth for the search below the node.
+     */
+    protected void recordNode(int remainingDepth) {
+        statistics.recordNode(iterationDepth - remainingDepth);
+    }
+
+    /**
+     * Records that a node was scored by the heuristic instead of being expanded.
+     */
+    protected void recordLeaf() {
+        statistics.recordLeaf();
+    }
+
+    /**
+     * Records a beta cutoff caused by the child at the specified index.
+     * @param moveIndex The index of the child that caused the cutoff.
+     */
+    protected void recordCutoff(int moveIndex) {
+        statistics.recordCutoff(moveIndex);
+    }
+
     /**
      * Abstract method to be implemented by subclasses for Minimax search.
      * @param node The current game node.
@@ -1,9 +1,11 @@
 package org.connect4.game.ai.strategies;
 
 import org.connect4.game.ai.enums.AIType;
+import org.connect4.game.ai.heuristics.BoardEvaluator;
 import org.connect4.game.ai.utils.Node;
 import org.connect4.game.logging.AILogger;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.logging.Logger;
 
@@ -15,12 +17,32 @@ public class MinimaxWithPruningAI extends MinimaxAI {
     private static final Logger LOGGER = AILogger.getLogger();
 
     /**
-     * Constructs a MinimaxWithPruningAI player with the specified starting game node and depth.
-     * @param node The current game node.
+     * Constructs a MinimaxWithPruningAI player with the specified depth.
+     * @param depth The depth limit for the Minimax search.
+     */
+    public MinimaxWithPruningAI(int depth) {
+        super(AIType.MINIMAX_WITH_PRUNING_AI, depth);
+        LOGGER.finest("MinimaxWithPruningAI player has been instantiated!");
+    }
+
+    /**
+     * Constructs a MinimaxWithPruningAI player with the specified depth and time limit.
      * @param depth The depth limit for the Minimax search.
+     * @param timeLimit The time limit for the Minimax search.
      */
-    public MinimaxWithPruningAI(Node node, int depth) {
-        super(AIType.MINIMAX_WITH_PRUNING_AI, node, depth);
+    public MinimaxWithPruningAI(int depth, Duration timeLimit) {
+        super(AIType.MINIMAX_WITH_PRUNING_AI, depth, timeLimit);
+        LOGGER.finest("MinimaxWithPruningAI player has been instantiated!");
+    }
+
+    /**
+     * Constructs a MinimaxWithPruningAI player with the specified depth, time limit and board evaluator.
+     * @param depth The depth limit for the Minimax search.
+     * @param timeLimit The time limit for the Minimax search.
+     * @param evaluator The heuristic used to score the searched boards.
+     */
+    public MinimaxWithPruningAI(int depth, Duration timeLimit, BoardEvaluator evaluator) {
+        super(AIType.MINIMAX_WITH_PRUNING_AI, depth, timeLimit, evaluator);
         LOGGER.finest("MinimaxWithPruningAI player has been instantiated!");
     }
 
@@ -40,8 +62,10 @@ public class MinimaxWithPruningAI extends MinimaxAI {
     private Optional<Node> minimax(Node node, int depth, int alpha, int beta) {
         LOGGER.finest("Entered MinimaxWithPruningAI minimax method.");
 
-        if (node.isTerminal() || depth == 0) {
-            LOGGER.info("Reached terminal node or maximum depth in minimax method.");
+        recordNode(depth);
+        if (node.isTerminal() || depth == 0 || isSearchCancelled()) {
+            LOGGER.finest("Reached terminal node or maximum depth in minimax method.");
+            recordLeaf();
             return Optional.of(node);
         }
 
@@ -69,7 +93,12 @@ public class MinimaxWithPruningAI extends MinimaxAI {
 
         int bestScore = Integer.MAX_VALUE;
         Node bestNode = null;
+        int moveIndex = 0;
         for (Node child : node.getChildren()) {
+            if (isSearchCancelled()) {
+                break;
+            }
+
             Optional<Node> resultNode = minimax(child, depth - 1, alpha, beta);
             int resultScore = resultNode.map(Node::getScore).orElse(Integer.MAX_VALUE);
             child.setScore(resultScore);
@@ -81,8 +110,10 @@ public class MinimaxWithPruningAI extends MinimaxAI {
 
             beta = Math.min(beta, bestScore);
             if (beta <= alpha) {
+                recordCutoff(moveIndex);
                 break;
             }
+            moveIndex++;
         }
 
         LOGGER.finest("Exiting MinimaxWithPruningAI minimize method.");
@@ -102,7 +133,12 @@ public class MinimaxWithPruningAI extends MinimaxAI {
 
         int bestScore = Integer.MIN_VALUE;
         Node bestNode = null;
+        int moveIndex = 0;
         for (Node child : node.getChildren()) {
+            if (isSearchCancelled()) {
+                break;
+            }
+
             Optional<Node> resultNode = minimax(child, depth - 1, alpha, beta);
             int resultScore = resultNode.map(Node::getScore).orElse(Integer.MIN_VALUE);
             child.setScore(resultScore);
@@ -114,8 +150,10 @@ public class MinimaxWithPruningAI extends MinimaxAI {
 
             alpha = Math.max(alpha, bestScore);
             if (alpha >= beta) {
+                recordCutoff(moveIndex);
                 break;
             }
+            moveIndex++;
         }
 
         LOGGER.finest("Exiting MinimaxWithPruningAI maximize method.");
@@ -1,9 +1,11 @@
 package org.connect4.game.ai.strategies;
 
 import org.connect4.game.ai.enums.AIType;
+import org.connect4.game.ai.heuristics.BoardEvaluator;
 import org.connect4.game.ai.utils.Node;
 import org.connect4.game.logging.AILogger;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.logging.Logger;
 
@@ -15,12 +17,32 @@ public class MinimaxWithoutPruningAI extends MinimaxAI {
     private static final Logger LOGGER = AILogger.getLogger();
 
     /**
-     * Constructs a MinimaxWithoutPruningAI player with the specified starting game node and depth.
-     * @param node The current game node.
+     * Constructs a MinimaxWithoutPruningAI player with the specified depth.
      * @param depth The depth limit for the Minimax search.
      */
-    public MinimaxWithoutPruningAI(Node node, int depth) {
-        super(AIType.MINIMAX_WITHOUT_PRUNING_AI, node, depth);
+    public MinimaxWithoutPruningAI(int depth) {
+        super(AIType.MINIMAX_WITHOUT_PRUNING_AI, depth);
+        LOGGER.finest("MinimaxWithoutPruningAI player has been instantiated!");
+    }
+
+    /**
+     * Constructs a MinimaxWithoutPruningAI player with the specified depth and time limit.
+     * @param depth The depth limit for the Minimax search.
+     * @param timeLimit The time limit for the Minimax search.
+     */
+    public MinimaxWithoutPruningAI(int depth, Duration timeLimit) {
+        super(AIType.MINIMAX_WITHOUT_PRUNING_AI, depth, timeLimit);
+        LOGGER.finest("MinimaxWithoutPruningAI player has been instantiated!");
+    }
+
+    /**
+     * Constructs a MinimaxWithoutPruningAI player with the specified depth, time limit and board evaluator.
+     * @param depth The depth limit for the Minimax search.
+     * @param timeLimit The time limit for the Minimax search.
+     * @param evaluator The heuristic used to score the searched boards.
+     */
+    public MinimaxWithoutPruningAI(int depth, Duration timeLimit, BoardEvaluator evaluator) {
+        super(AIType.MINIMAX_WITHOUT_PRUNING_AI, depth, timeLimit, evaluator);
         LOGGER.finest("MinimaxWithoutPruningAI player has been instantiated!");
     }
 
@@ -34,8 +56,10 @@ public class MinimaxWithoutPruningAI extends MinimaxAI {
     protected Optional<Node> minimax(Node node, int depth) {
         LOGGER.finest("Entered MinimaxWithoutPruningAI minimax method.");
 
-        if (node.isTerminal() || depth == 0) {
-            LOGGER.info("Reached terminal node or maximum depth in minimax method.");
+        recordNode(depth);
+        if (node.isTerminal() || depth == 0 || isSearchCancelled()) {
+            LOGGER.finest("Reached terminal node or maximum depth in minimax method.");
+            recordLeaf();
             return Optional.of(node);
         }
 
@@ -62,6 +86,10 @@ public class MinimaxWithoutPruningAI extends MinimaxAI {
         int bestScore = Integer.MAX_VALUE;
         Node bestNode = null;
         for (Node child : node.getChildren()) {
+            if (isSearchCancelled()) {
+                break;
+            }
+
             Optional<Node> resultNode = minimax(child, depth - 1);
             int resultScore = resultNode.map(Node::getScore).orElse(Integer.MAX_VALUE);
             child.setScore(resultScore);
@@ -88,6 +116,10 @@ public class MinimaxWithoutPruningAI extends MinimaxAI {
         int bestScore = Integer.MIN_VALUE;
         Node bestNode = null;
         for (Node child : node.getChildren()) {
+            if (isSearchCancelled()) {
+                break;
+            }
+
             Optional<Node> resultNode = minimax(child, depth - 1);
             int resultScore = resultNode.map(Node::getScore).orElse(Integer.MIN_VALUE);
             child.setScore(resultScore);
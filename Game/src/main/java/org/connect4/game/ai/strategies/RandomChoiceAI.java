@@ -2,6 +2,7 @@ package org.connect4.game.ai.strategies;
 
 import org.connect4.game.ai.enums.AIType;
 import org.connect4.game.logic.core.Board;
+import org.connect4.game.logic.core.BoardSnapshot;
 import org.connect4.game.logic.core.Move;
 import org.connect4.game.logging.AILogger;
 
@@ -15,26 +16,24 @@ import java.util.logging.Logger;
 public class RandomChoiceAI extends AI {
     private static final Logger LOGGER = AILogger.getLogger();
 
-    private final Board board;
     private final Random random;
 
     /**
-     * Constructs a RandomChoiceAI player with the specified game board.
-     * @param board The current game board.
+     * Constructs a RandomChoiceAI player.
      */
-    public RandomChoiceAI(Board board) {
+    public RandomChoiceAI() {
         super(AIType.RANDOM_CHOICE_AI);
-        this.board = board;
         this.random = new Random();
         LOGGER.finest("RandomChoiceAI player has been instantiated!");
     }
 
     /**
-     * Generates a random move for the current game board.
+     * Generates a random move for the specified game board.
+     * @param board The snapshot of the board to move on.
      * @return The next move.
      */
     @Override
-    public Move getNextMove() {
+    public Move getNextMove(BoardSnapshot board) {
         Move move = new Move(-1);
         if (board.isFull()) {
             LOGGER.warning("Board is full!");
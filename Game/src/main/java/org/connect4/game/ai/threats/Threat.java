@@ -0,0 +1,73 @@
+package org.connect4.game.ai.threats;
+
+import org.connect4.game.ai.enums.ThreatParity;
+import org.connect4.game.logic.core.Position;
+import org.connect4.game.logic.enums.Color;
+
+/**
+ * A class represents a threat, an empty cell that completes four in a row for a player once it is filled.
+ * @author Hassan
+ */
+public class Threat {
+    private final Position position;
+    private final Color color;
+
+    /**
+     * Constructs a new threat at the specified position for the specified player color.
+     * @param position The position of the empty cell.
+     * @param color The color of the player that owns the threat.
+     */
+    public Threat(Position position, Color color) {
+        this.position = position;
+        this.color = color;
+    }
+
+    /**
+     * Gets the position of the threat.
+     * @return The position of the threat.
+     */
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * Gets the color of the player that owns the threat.
+     * @return The color of the owner.
+     */
+    public Color getColor() {
+        return color;
+    }
+
+    /**
+     * Gets the row parity of the threat.
+     * @return The row parity.
+     */
+    public ThreatParity getParity() {
+        return ThreatParity.of(position.getRow());
+    }
+
+    /**
+     * Checks whether the threat is on an odd row.
+     * @return true if the threat is odd, false otherwise.
+     */
+    public boolean isOdd() {
+        return getParity() == ThreatParity.ODD;
+    }
+
+    /**
+     * Checks whether the threat is on an even row.
+     * @return true if the threat is even, false otherwise.
+     */
+    public boolean isEven() {
+        return getParity() == ThreatParity.EVEN;
+    }
+
+    /**
+     * Gets a string representation of the threat.
+     * @return The string representation.
+     */
+    @Override
+    public String toString() {
+        return color + " " + getParity() + " threat at row: " + position.getRow() + " and col: " + position.getColumn();
+    }
+}
@@ -0,0 +1,269 @@
+package org.connect4.game.ai.threats;
+
+import org.connect4.game.ai.enums.ThreatParity;
+import org.connect4.game.logic.core.Board;
+import org.connect4.game.logic.core.Position;
+import org.connect4.game.logic.enums.Color;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A class that holds the open threats of both players on a board, classified by row parity.
+ * The threats are stored as bitboards, one bit per cell indexed by {@code row * Board.COLS + col}.
+ * The red player moves first, so odd threats favour red and even threats favour yellow.
+ * @author Hassan
+ */
+public class ThreatAnalysis {
+    private static final int WINNING_MOVE_PRIORITY = 1000;
+    private static final int BLOCKING_MOVE_PRIORITY = 500;
+    private static final int ENABLING_OPPONENT_PRIORITY = -500;
+    private static final int UNDERMINING_OWN_THREAT_PRIORITY = -50;
+    private static final int DEFAULT_PRIORITY = 0;
+    private static final int FULL_COLUMN_PRIORITY = Integer.MIN_VALUE;
+    private static final int[] CENTER_FIRST_COLUMNS = createCenterFirstColumns();
+
+    private final long redThreats;
+    private final long yellowThreats;
+    private final int[] columnHeights;
+
+    /**
+     * Constructs a new threat analysis.
+     * @param redThreats The bitboard of the red player threats.
+     * @param yellowThreats The bitboard of the yellow player threats.
+     * @param columnHeights The number of pieces in each column.
+     */
+    ThreatAnalysis(long redThreats, long yellowThreats, int[] columnHeights) {
+        this.redThreats = redThreats;
+        this.yellowThreats = yellowThreats;
+        this.columnHeights = columnHeights;
+    }
+
+    /**
+     * Gets the bit of the specified cell.
+     * @param row The row index.
+     * @param col The column index.
+     * @return The bit of the cell.
+     */
+    static long bitOf(int row, int col) {
+        return 1L << (row * Board.COLS + col);
+    }
+
+    /**
+     * Gets the threats of the specified player.
+     * @param color The color of the player.
+     * @return The list of threats, ordered from the bottom row to the top row.
+     */
+    public List<Threat> getThreats(Color color) {
+        long threats = getThreatsBitboard(color);
+        List<Threat> threatList = new ArrayList<>(Long.bitCount(threats));
+
+        while (threats != 0L) {
+            int index = Long.numberOfTrailingZeros(threats);
+            threatList.add(new Threat(new Position(index / Board.COLS, index % Board.COLS), color));
+            threats &= threats - 1;
+        }
+
+        return threatList;
+    }
+
+    /**
+     * Counts the threats of the specified player.
+     * @param color The color of the player.
+     * @return The number of threats.
+     */
+    public int countThreats(Color color) {
+        return Long.bitCount(getThreatsBitboard(color));
+    }
+
+    /**
+     * Counts the threats of the specified player on rows of the specified parity.
+     * @param color The color of the player.
+     * @param parity The row parity.
+     * @return The number of threats.
+     */
+    public int countThreats(Color color, ThreatParity parity) {
+        int count = 0;
+        long threats = getThreatsBitboard(color);
+
+        while (threats != 0L) {
+            int index = Long.numberOfTrailingZeros(threats);
+            if (ThreatParity.of(index / Board.COLS) == parity) {
+                count++;
+            }
+            threats &= threats - 1;
+        }
+
+        return count;
+    }
+
+    /**
+     * Checks whether the specified player has a threat at the specified cell.
+     * @param color The color of the player.
+     * @param row The row index.
+     * @param col The column index.
+     * @return true if there is a threat at the cell, false otherwise.
+     */
+    public boolean hasThreatAt(Color color, int row, int col) {
+        if (row < 0 || row >= Board.ROWS || col < 0 || col >= Board.COLS) {
+            return false;
+        }
+
+        return (getThreatsBitboard(color) & bitOf(row, col)) != 0L;
+    }
+
+    /**
+     * Counts the threats of the specified player that can be completed by the next piece dropped in their column.
+     * @param color The color of the player.
+     * @return The number of playable threats.
+     */
+    public int countPlayableThreats(Color color) {
+        int count = 0;
+        for (int col = 0; col < Board.COLS; col++) {
+            if (hasThreatAt(color, columnHeights[col], col)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Counts the threats of the specified player lying directly above another threat of the same player.
+     * Such a pair can not be defended, since blocking the lower threat fills the cell under the upper one.
+     * @param color The color of the player.
+     * @return The number of stacked threats.
+     */
+    public int countStackedThreats(Color color) {
+        long threats = getThreatsBitboard(color);
+        return Long.bitCount(threats & (threats << Board.COLS));
+    }
+
+    /**
+     * Determines which player controls the zugzwang, following the odd/even threat rule.
+     * Red controls it with an odd threat that has no yellow threat below it in the same column;
+     * otherwise yellow controls it by answering every red move in the same column.
+     * @return The color of the controlling player, or Color.NONE if no player has a threat.
+     */
+    public Color getZugzwangController() {
+        if (redThreats == 0L && yellowThreats == 0L) {
+            return Color.NONE;
+        }
+
+        long threats = redThreats;
+        while (threats != 0L) {
+            int index = Long.numberOfTrailingZeros(threats);
+            int row = index / Board.COLS;
+            int col = index % Board.COLS;
+            if (ThreatParity.of(row) == ThreatParity.ODD && !hasThreatBelow(Color.YELLOW, row, col)) {
+                return Color.RED;
+            }
+            threats &= threats - 1;
+        }
+
+        return Color.YELLOW;
+    }
+
+    /**
+     * Orders the columns for the specified player to move, so that the most promising moves are searched first.
+     * Winning moves come first, then blocking moves, then the remaining moves from the center outwards.
+     * Moves that let the opponent complete a threat on top of them, and full columns come last.
+     * @param color The color of the player to move.
+     * @return The ordered column indexes.
+     */
+    public int[] getOrderedColumns(Color color) {
+        int[] columns = new int[Board.COLS];
+        int[] priorities = new int[Board.COLS];
+
+        for (int order = 0; order < Board.COLS; order++) {
+            int priority = getColumnPriority(color, order);
+
+            // Insertion sort keeps equal priorities in their center-first order
+            int i = order;
+            while (i > 0 && priorities[i - 1] < priority) {
+                columns[i] = columns[i - 1];
+                priorities[i] = priorities[i - 1];
+                i--;
+            }
+            columns[i] = CENTER_FIRST_COLUMNS[order];
+            priorities[i] = priority;
+        }
+
+        return columns;
+    }
+
+    /**
+     * Creates the columns ordered from the center outwards.
+     * @return The ordered column indexes.
+     */
+    private static int[] createCenterFirstColumns() {
+        int[] columns = new int[Board.COLS];
+        int center = Board.COLS / 2;
+        columns[0] = center;
+        for (int i = 1, distance = 1; i < Board.COLS; distance++) {
+            columns[i++] = center - distance;
+            if (i < Board.COLS) {
+                columns[i++] = center + distance;
+            }
+        }
+
+        return columns;
+    }
+
+    /**
+     * Gets the move ordering priority of the column at the specified position of the center-first order.
+     * @param color The color of the player to move.
+     * @param order The position in the center-first order.
+     * @return The priority of the column.
+     */
+    private int getColumnPriority(Color color, int order) {
+        int col = CENTER_FIRST_COLUMNS[order];
+        int row = columnHeights[col];
+        if (row >= Board.ROWS) {
+            return FULL_COLUMN_PRIORITY;
+        }
+
+        Color opponent = color.opposite();
+        if (hasThreatAt(color, row, col)) {
+            return WINNING_MOVE_PRIORITY;
+        } else if (hasThreatAt(opponent, row, col)) {
+            return BLOCKING_MOVE_PRIORITY;
+        } else if (hasThreatAt(opponent, row + 1, col)) {
+            return ENABLING_OPPONENT_PRIORITY;
+        } else if (hasThreatAt(color, row + 1, col)) {
+            return UNDERMINING_OWN_THREAT_PRIORITY;
+        }
+
+        return DEFAULT_PRIORITY;
+    }
+
+    /**
+     * Checks whether the specified player has a threat below the specified cell in the same column.
+     * @param color The color of the player.
+     * @param row The row index.
+     * @param col The column index.
+     * @return true if there is a threat below the cell, false otherwise.
+     */
+    private boolean hasThreatBelow(Color color, int row, int col) {
+        for (int r = columnHeights[col]; r < row; r++) {
+            if (hasThreatAt(color, r, col)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the threats bitboard of the specified player.
+     * @param color The color of the player.
+     * @return The threats bitboard.
+     */
+    private long getThreatsBitboard(Color color) {
+        return switch (color) {
+            case RED -> redThreats;
+            case YELLOW -> yellowThreats;
+            case NONE -> 0L;
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package org.connect4.game.ai.threats;
+
+import org.connect4.game.logging.AILogger;
+import org.connect4.game.logic.core.Board;
+import org.connect4.game.logic.core.BoardSnapshot;
+import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logic.utils.WinnerChecker;
+
+import java.util.logging.Logger;
+
+/**
+ * A class that finds the open threats of both players on a Connect-4 board.
+ * @author Hassan
+ */
+public class ThreatAnalyzer {
+    private static final Logger LOGGER = AILogger.getLogger();
+
+    /**
+     * The row and column offsets of the four line directions: horizontal, vertical and both diagonals.
+     */
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    /**
+     * Analyzes the specified board snapshot and collects the threats of both players.
+     * @param board The snapshot of the board to analyze.
+     * @return The threat analysis of the board.
+     */
+    public static ThreatAnalysis analyze(BoardSnapshot board) {
+        long redThreats = 0L;
+        long yellowThreats = 0L;
+
+        for (int row = 0; row < Board.ROWS; row++) {
+            for (int col = 0; col < Board.COLS; col++) {
+                for (int[] direction : DIRECTIONS) {
+                    long threat = findThreatInLine(board, row, col, direction[0], direction[1]);
+                    if (threat > 0) {
+                        redThreats |= threat;
+                    } else if (threat < 0) {
+                        yellowThreats |= -threat;
+                    }
+                }
+            }
+        }
+
+        int[] columnHeights = new int[Board.COLS];
+        for (int col = 0; col < Board.COLS; col++) {
+            columnHeights[col] = board.getColumnHeight(col);
+        }
+
+        LOGGER.finest("Threats analyzed, red: " + Long.bitCount(redThreats) + ", yellow: " + Long.bitCount(yellowThreats));
+        return new ThreatAnalysis(redThreats, yellowThreats, columnHeights);
+    }
+
+    /**
+     * Finds the threat of the line of four cells starting at the specified cell, if there is one.
+     * A line holds a threat when three of its cells belong to the same player and the fourth one is empty.
+     * @param board The snapshot of the board to analyze.
+     * @param rowIndex The index of the row where the line starts.
+     * @param colIndex The index of the column where the line starts.
+     * @param rowOffset The offset for moving along rows.
+     * @param colOffset The offset for moving along columns.
+     * @return The bit of the threat cell, positive for a red threat, negative for a yellow threat, or zero if none.
+     */
+    private static long findThreatInLine(BoardSnapshot board, int rowIndex, int colIndex, int rowOffset, int colOffset) {
+        int lastRow = rowIndex + rowOffset * (WinnerChecker.CONSECUTIVE_PIECES_FOR_WIN - 1);
+        int lastCol = colIndex + colOffset * (WinnerChecker.CONSECUTIVE_PIECES_FOR_WIN - 1);
+        if (lastRow < 0 || lastRow >= Board.ROWS || !board.isValidColumn(lastCol)) {
+            return 0L;
+        }
+
+        int redPiecesCount = 0;
+        int yellowPiecesCount = 0;
+        long emptyCell = 0L;
+
+        for (int i = 0; i < WinnerChecker.CONSECUTIVE_PIECES_FOR_WIN; i++) {
+            int row = rowIndex + rowOffset * i;
+            int col = colIndex + colOffset * i;
+            Color color = board.getColorAt(row, col);
+
+            if (color == Color.NONE) {
+                if (emptyCell != 0L) {
+                    return 0L;
+                }
+                emptyCell = ThreatAnalysis.bitOf(row, col);
+            } else if (color == Color.RED) {
+                redPiecesCount++;
+            } else {
+                yellowPiecesCount++;
+            }
+        }
+
+        if (redPiecesCount == WinnerChecker.CONSECUTIVE_PIECES_FOR_WIN - 1) {
+            return emptyCell;
+        } else if (yellowPiecesCount == WinnerChecker.CONSECUTIVE_PIECES_FOR_WIN - 1) {
+            return -emptyCell;
+        }
+
+        return 0L;
+    }
+}
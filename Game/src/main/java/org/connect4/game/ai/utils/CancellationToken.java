@@ -0,0 +1,77 @@
+package org.connect4.game.ai.utils;
+
+import java.time.Duration;
+
+/**
+ * A class represents the cancellation state of a single AI search.
+ * A search is cancelled when {@link #cancel()} is called, when the searching thread is interrupted,
+ * or when its deadline has passed.
+ * @author Hassan
+ */
+public class CancellationToken {
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final long deadline;
+    private volatile boolean isCancelled;
+
+    /**
+     * Constructs a new cancellation token with the specified deadline.
+     * @param deadline The deadline in {@link System#nanoTime()} units.
+     */
+    private CancellationToken(long deadline) {
+        this.deadline = deadline;
+        this.isCancelled = false;
+    }
+
+    /**
+     * Creates a cancellation token that expires after the specified time limit.
+     * @param timeLimit The time limit of the search, or null for a search without a deadline.
+     * @return The cancellation token.
+     */
+    public static CancellationToken withTimeLimit(Duration timeLimit) {
+        if (timeLimit == null) {
+            return new CancellationToken(NO_DEADLINE);
+        }
+
+        return new CancellationToken(System.nanoTime() + timeLimit.toNanos());
+    }
+
+    /**
+     * Cancels the search.
+     */
+    public void cancel() {
+        this.isCancelled = true;
+    }
+
+    /**
+     * Checks whether the search has a deadline.
+     * @return true if the search has a deadline, false otherwise.
+     */
+    public boolean hasDeadline() {
+        return deadline != NO_DEADLINE;
+    }
+
+    /**
+     * Checks whether the search was aborted, either by calling {@link #cancel()} or by interrupting the searching thread.
+     * @return true if the search was aborted, false otherwise.
+     */
+    public boolean isAborted() {
+        return isCancelled || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Checks whether the deadline of the search has passed.
+     * @return true if the deadline has passed, false otherwise.
+     */
+    public boolean isExpired() {
+        return hasDeadline() && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * Checks whether the search should stop, because it was aborted or its deadline has passed.
+     * @return true if the search should stop, false otherwise.
+     */
+    public boolean isCancelled() {
+        return isAborted() || isExpired();
+    }
+}
@@ -1,12 +1,14 @@
 package org.connect4.game.ai.utils;
 
 import org.connect4.game.ai.enums.NodeType;
+import org.connect4.game.ai.heuristics.BoardEvaluator;
 import org.connect4.game.ai.heuristics.Heuristic;
+import org.connect4.game.ai.threats.ThreatAnalysis;
+import org.connect4.game.ai.threats.ThreatAnalyzer;
 import org.connect4.game.logging.AILogger;
-import org.connect4.game.logic.core.Board;
+import org.connect4.game.logging.SampledLogger;
 import org.connect4.game.logic.core.Move;
 import org.connect4.game.logic.exceptions.InvalidMoveException;
-import org.connect4.game.logic.utils.WinnerChecker;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -16,16 +18,21 @@ import java.util.logging.Logger;
 
 /**
  * A class represents a node in the game tree for the Minimax algorithm.
+ * The node searches and scores an immutable snapshot of the board, without building a board of its own.
+ * The threat analysis of the board is computed at most once, and shared between the score and the ordering of the moves.
  * @author hassan
  */
-public class Node {
+public final class Node {
     private static final Logger LOGGER = AILogger.getLogger();
+    private static final SampledLogger TERMINAL_LOGGER = SampledLogger.rateLimited(LOGGER, 10);
+    private static final SampledLogger EXPANSION_LOGGER = SampledLogger.sampling(LOGGER, 1000);
 
     private final State state;
     private final NodeType nodeType;
     private final Move move;
     private final boolean isTerminal;
-    private final WinnerChecker winnerChecker;
+    private final BoardEvaluator evaluator;
+    private ThreatAnalysis threatAnalysis;
     private int score;
 
     /**
@@ -35,12 +42,23 @@ public class Node {
      * @param move The move was made.
      */
     public Node(State state, NodeType nodeType, Move move) {
+        this(state, nodeType, move, (board, threatAnalysis) -> Heuristic.evaluate(board));
+    }
+
+    /**
+     * Constructs a new node with the given state, node type, column index and board evaluator.
+     * @param state The state of the game board.
+     * @param nodeType The type of node (MIN or MAX).
+     * @param move The move was made.
+     * @param evaluator The heuristic used to score this node and its children.
+     */
+    public Node(State state, NodeType nodeType, Move move, BoardEvaluator evaluator) {
         this.state = state;
         this.nodeType = nodeType;
         this.move = move;
         this.isTerminal = determineTerminal();
-        this.winnerChecker = new WinnerChecker(state.getBoard());
-        this.score = Heuristic.evaluate(state.getBoard());
+        this.evaluator = evaluator;
+        this.score = evaluator.evaluate(state.getBoard(), this::getThreatAnalysis);
     }
 
     /**
@@ -117,41 +135,52 @@ public class Node {
         printer.print();
     }
 
+    /**
+     * Gets the threat analysis of the board of this node, analyzing the board on the first call only.
+     * @return The threat analysis of the board.
+     */
+    private ThreatAnalysis getThreatAnalysis() {
+        if (threatAnalysis == null) {
+            threatAnalysis = ThreatAnalyzer.analyze(state.getBoard());
+        }
+
+        return threatAnalysis;
+    }
+
     /**
      * Determines if the current node is terminal.
      * @return true if the node is terminal, false otherwise.
      */
     private boolean determineTerminal() {
-        boolean isTerminal = state.getBoard().isFull() || winnerChecker.hasWinner();
+        boolean isTerminal = state.getBoard().isFull() || state.getBoard().hasWinner();
         if (isTerminal)
-            LOGGER.info("Reach a terminal node");
+            TERMINAL_LOGGER.fine(() -> "Reach a terminal node");
         return isTerminal;
     }
 
     /**
-     * Expands the current node by generating child nodes.
+     * Expands the current node by generating child nodes, ordered by the threat analysis of the board
+     * so that winning and blocking moves are searched first.
      * @return The list of child nodes.
      */
     private List<Node> expand() {
         List<Node> childrenList = new ArrayList<>();
+        int[] orderedColumns = getThreatAnalysis()
+                .getOrderedColumns(state.getPlayerColor().opposite());
 
-        for (int i = 0; i < Board.COLS; i++) {
-            State childState = state.clone();
+        for (int i : orderedColumns) {
             Move newMove = new Move(i);
-            childState.setPlayerColor(state.getPlayerColor().opposite());
-            NodeType childNodeType = nodeType.opposite();
-            if (newMove.isValid(childState.getBoard())) {
+            if (newMove.isValid(state.getBoard())) {
                 try {
-                    childState.getBoard().addPiece(i, childState.getPlayerColor());
+                    Node child = new Node(state.play(i), nodeType.opposite(), newMove, evaluator);
+                    childrenList.add(child);
                 } catch (InvalidMoveException e) {
                     LOGGER.severe("Invalid move: " + e.getMessage());
                 }
-                Node child = new Node(childState, childNodeType, newMove);
-                childrenList.add(child);
             }
         }
 
-        LOGGER.info("This node has: " + childrenList.size() + " child nodes.");
+        EXPANSION_LOGGER.fine(() -> "This node has: " + childrenList.size() + " child nodes.");
         return childrenList;
     }
 
@@ -0,0 +1,38 @@
+package org.connect4.game.ai.utils;
+
+import org.connect4.game.logic.core.Move;
+
+/**
+ * A class represents the outcome of an AI search: the chosen move and the statistics of the search.
+ * @author Hassan
+ */
+public class SearchResult {
+    private final Move move;
+    private final SearchStatistics statistics;
+
+    /**
+     * Constructs a new search result.
+     * @param move The chosen move, or null if the search found no move.
+     * @param statistics The statistics of the search.
+     */
+    public SearchResult(Move move, SearchStatistics statistics) {
+        this.move = move;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Gets the chosen move.
+     * @return The chosen move, or null if the search found no move.
+     */
+    public Move getMove() {
+        return move;
+    }
+
+    /**
+     * Gets the statistics of the search.
+     * @return The search statistics.
+     */
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+}
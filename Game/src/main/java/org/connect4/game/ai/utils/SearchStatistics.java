@@ -0,0 +1,134 @@
+package org.connect4.game.ai.utils;
+
+import org.connect4.game.logic.core.Board;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A class that collects the statistics of a single AI search.
+ * The counters are plain fields, since a search updates them from a single thread.
+ * @author Hassan
+ */
+public class SearchStatistics {
+    private long nodesVisited;
+    private long leavesEvaluated;
+    private final long[] cutoffsByMoveIndex;
+    private int maxDepthReached;
+    private long startTime;
+    private long elapsedNanos;
+
+    /**
+     * Constructs empty search statistics.
+     */
+    public SearchStatistics() {
+        this.cutoffsByMoveIndex = new long[Board.COLS];
+    }
+
+    /**
+     * Marks the start of the search.
+     */
+    public void start() {
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of the search.
+     */
+    public void stop() {
+        this.elapsedNanos = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Records a visit of a node at the specified ply from the root.
+     * @param ply The distance of the node from the root.
+     */
+    public void recordNode(int ply) {
+        nodesVisited++;
+        if (ply > maxDepthReached) {
+            maxDepthReached = ply;
+        }
+    }
+
+    /**
+     * Records the heuristic evaluation of a leaf node.
+     */
+    public void recordLeaf() {
+        leavesEvaluated++;
+    }
+
+    /**
+     * Records a beta cutoff caused by the child at the specified index of the move ordering.
+     * @param moveIndex The index of the child that caused the cutoff.
+     */
+    public void recordCutoff(int moveIndex) {
+        cutoffsByMoveIndex[Math.min(moveIndex, cutoffsByMoveIndex.length - 1)]++;
+    }
+
+    /**
+     * Gets the number of visited nodes.
+     * @return The number of visited nodes.
+     */
+    public long getNodesVisited() {
+        return nodesVisited;
+    }
+
+    /**
+     * Gets the number of evaluated leaf nodes.
+     * @return The number of evaluated leaves.
+     */
+    public long getLeavesEvaluated() {
+        return leavesEvaluated;
+    }
+
+    /**
+     * Gets the number of beta cutoffs for each index of the move ordering.
+     * @return A copy of the cutoff counters, indexed by move index.
+     */
+    public long[] getCutoffsByMoveIndex() {
+        return cutoffsByMoveIndex.clone();
+    }
+
+    /**
+     * Gets the total number of beta cutoffs.
+     * @return The number of cutoffs.
+     */
+    public long getCutoffs() {
+        return Arrays.stream(cutoffsByMoveIndex).sum();
+    }
+
+    /**
+     * Gets the deepest ply reached by the search.
+     * @return The maximum depth reached.
+     */
+    public int getMaxDepthReached() {
+        return maxDepthReached;
+    }
+
+    /**
+     * Gets the elapsed time of the search.
+     * @return The elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the search speed.
+     * @return The number of visited nodes per second.
+     */
+    public long getNodesPerSecond() {
+        return elapsedNanos > 0 ? nodesVisited * TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0;
+    }
+
+    /**
+     * Gets a string representation of the statistics.
+     * @return The string representation.
+     */
+    @Override
+    public String toString() {
+        return "nodes: %d, leaves: %d, cutoffs: %s, depth: %d, time: %d ms, nodes/sec: %d"
+                .formatted(nodesVisited, leavesEvaluated, Arrays.toString(cutoffsByMoveIndex), maxDepthReached,
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos), getNodesPerSecond());
+    }
+}
@@ -1,44 +1,39 @@
 package org.connect4.game.ai.utils;
 
-import org.connect4.game.logic.core.Board;
+import org.connect4.game.logic.core.BoardSnapshot;
 import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logic.exceptions.FullColumnException;
+import org.connect4.game.logic.exceptions.InvalidColumnIndexException;
 
 /**
  * A class represents the state of the game.
+ * The state is immutable, so the states of a search tree never share a board that one of them could change.
  * @author hassan
  */
-public class State implements Cloneable {
-    private Board board;
-    private Color playerColor;
+public class State {
+    private final BoardSnapshot board;
+    private final Color playerColor;
 
     /**
      * Constructs a new game state with the specified board and player color.
-     * @param board The current game board.
-     * @param playerColor The color of the player making the move.
+     * @param board The snapshot of the game board.
+     * @param playerColor The color of the player who made the last move.
      */
-    public State(Board board, Color playerColor) {
+    public State(BoardSnapshot board, Color playerColor) {
         this.board = board;
         this.playerColor = playerColor;
     }
 
     /**
-     * Gets the current game board.
-     * @return The game board.
+     * Gets the snapshot of the game board.
+     * @return The board snapshot.
      */
-    public Board getBoard() {
+    public BoardSnapshot getBoard() {
         return board;
     }
 
     /**
-     * Gets the current game board.
-     * @param board The game board.
-     */
-    public void setBoard(Board board) {
-        this.board = board;
-    }
-
-    /**
-     * Gets the color of the player making the move.
+     * Gets the color of the player who made the last move.
      * @return The player's color.
      */
     public Color getPlayerColor() {
@@ -46,25 +41,14 @@ public class State implements Cloneable {
     }
 
     /**
-     * Sets the color of the player making the move.
-     * @param playerColor The player's color.
-     */
-    public void setPlayerColor(Color playerColor) {
-        this.playerColor = playerColor;
-    }
-
-    /**
-     * Creates a deep copy of the current game state.
-     * @return A clone of the game state.
+     * Gets the state after the opponent of the last player drops a piece on the specified column.
+     * @param column The column of the move.
+     * @return The next game state, this state is left unchanged.
+     * @throws InvalidColumnIndexException if the column index is not valid.
+     * @throws FullColumnException if the column is full of pieces.
      */
-    @Override
-    public State clone() {
-        try {
-            State clonedState = (State) super.clone();
-            this.setBoard(clonedState.board.clone());
-            return clonedState;
-        } catch (CloneNotSupportedException e) {
-            throw new RuntimeException(e);
-        }
+    public State play(int column) throws InvalidColumnIndexException, FullColumnException {
+        Color nextPlayerColor = playerColor.opposite();
+        return new State(board.play(column, nextPlayerColor), nextPlayerColor);
     }
 }
@@ -0,0 +1,168 @@
+package org.connect4.game.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * A handler that hands log records over to a dedicated writer thread through a bounded ring buffer.
+ * The writer formats and writes the records to the target handlers in batches and flushes them once per batch,
+ * so that logging threads never wait for the disk or the console.
+ * When the buffer is full, records are dropped and the number of dropped records is reported with the next batch.
+ * @author Hassan
+ */
+public class AsyncHandler extends Handler {
+    public static final int DEFAULT_CAPACITY = 8192;
+    private static final int BATCH_SIZE = 256;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+
+    private final Handler[] targets;
+    private final BlockingQueue<LogRecord> buffer;
+    private final List<LogRecord> batch;
+    private final AtomicLong droppedRecords;
+    private final Thread writer;
+    private volatile boolean isClosed;
+
+    /**
+     * Constructs a new asynchronous handler, whose writer thread is started by {@link #start}.
+     * @param name The name of the writer thread.
+     * @param capacity The maximum number of buffered records.
+     * @param targets The handlers that format and write the records.
+     */
+    private AsyncHandler(String name, int capacity, Handler... targets) {
+        this.targets = targets.clone();
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batch = new ArrayList<>(BATCH_SIZE);
+        this.droppedRecords = new AtomicLong();
+        this.isClosed = false;
+
+        this.writer = new Thread(this::drain, name);
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Creates a new asynchronous handler, starts its writer thread, and closes it on shutdown.
+     * The handler is only handed to other threads once it is fully constructed.
+     * @param name The name of the writer thread.
+     * @param capacity The maximum number of buffered records.
+     * @param targets The handlers that format and write the records.
+     * @return The started handler.
+     */
+    public static AsyncHandler start(String name, int capacity, Handler... targets) {
+        AsyncHandler asyncHandler = new AsyncHandler(name, capacity, targets);
+        asyncHandler.writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(asyncHandler::close));
+
+        return asyncHandler;
+    }
+
+    /**
+     * Enqueues the specified record for the writer thread.
+     * @param record The log record.
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (isClosed || !isLoggable(record)) {
+            return;
+        }
+
+        // The caller is inferred from the current stack, so it must be resolved before the record changes threads
+        record.getSourceClassName();
+
+        if (!buffer.offer(record)) {
+            droppedRecords.incrementAndGet();
+        }
+    }
+
+    /**
+     * Flushes the target handlers. Records still in the buffer are flushed by the writer with their batch.
+     */
+    @Override
+    public void flush() {
+        for (Handler target : targets) {
+            target.flush();
+        }
+    }
+
+    /**
+     * Stops accepting records, waits for the writer to drain the buffer, and closes the target handlers.
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+
+        isClosed = true;
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (Handler target : targets) {
+            target.close();
+        }
+    }
+
+    /**
+     * Gets the number of records dropped since the last batch was written.
+     * @return The number of dropped records.
+     */
+    public long getDroppedRecords() {
+        return droppedRecords.get();
+    }
+
+    /**
+     * Writes the buffered records in batches until the handler is closed and the buffer is empty.
+     */
+    private void drain() {
+        try {
+            while (!isClosed || !buffer.isEmpty()) {
+                LogRecord record = buffer.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (record != null) {
+                    batch.add(record);
+                    buffer.drainTo(batch, BATCH_SIZE - 1);
+                    write(batch);
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes a batch of records to every target handler and flushes each target once.
+     * @param records The batch of records.
+     */
+    private void write(List<LogRecord> records) {
+        long dropped = droppedRecords.getAndSet(0);
+        LogRecord droppedRecord = null;
+        if (dropped > 0) {
+            droppedRecord = new LogRecord(Level.WARNING, dropped + " log records were dropped because the log buffer was full.");
+            droppedRecord.setLoggerName(records.get(0).getLoggerName());
+            droppedRecord.setSourceClassName(AsyncHandler.class.getName());
+            droppedRecord.setSourceMethodName("write");
+        }
+
+        for (Handler target : targets) {
+            if (droppedRecord != null) {
+                target.publish(droppedRecord);
+            }
+
+            for (LogRecord record : records) {
+                target.publish(record);
+            }
+
+            target.flush();
+        }
+    }
+}
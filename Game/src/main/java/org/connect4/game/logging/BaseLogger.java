@@ -1,14 +1,17 @@
 package org.connect4.game.logging;
 
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.logging.ConsoleHandler;
-import java.util.logging.FileHandler;
+import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
+import java.util.logging.StreamHandler;
 
 /**
  * A class represents the base logger for Connect-4 loggers.
+ * Log records are written asynchronously by an {@link AsyncHandler}, so logging never blocks on I/O.
  * @author Hassan
  */
 public class BaseLogger extends Logger {
@@ -20,26 +23,35 @@ public class BaseLogger extends Logger {
     protected BaseLogger(String name, String filename) {
         super(name, null);
         this.setLevel(Level.INFO);
-        setupHandlers(filename);
+        setupHandlers(name, filename);
     }
 
     /**
-     * Initializes the file and console handlers for logging.
+     * Initializes the asynchronous handler that writes to the log file and the console.
+     * @param name The name of the logger.
      * @param filename The name of the log file to which the log message will be written.
      */
-    private void setupHandlers(String filename) {
+    private void setupHandlers(String name, String filename) {
+        Handler fileHandler;
         try {
-            FileHandler fileHandler = new FileHandler(filename);
-            fileHandler.setFormatter(new SimpleFormatter());
+            // Unlike FileHandler, a StreamHandler does not flush after every record, so the writer can flush per batch
+            fileHandler = new StreamHandler(new BufferedOutputStream(new FileOutputStream(filename)), new SimpleFormatter());
             fileHandler.setLevel(Level.INFO);
-            this.addHandler(fileHandler);
         } catch (IOException e) {
             throw new RuntimeException("Failed to initialize file logging system: " + e);
         }
 
-        ConsoleHandler consoleHandler = new ConsoleHandler();
-        consoleHandler.setFormatter(new SimpleFormatter());
+        Handler consoleHandler = new StreamHandler(System.err, new SimpleFormatter()) {
+            @Override
+            public synchronized void close() {
+                // Never close the standard error stream
+                flush();
+            }
+        };
         consoleHandler.setLevel(Level.INFO);
-        this.addHandler(consoleHandler);
+
+        AsyncHandler asyncHandler = AsyncHandler.start(name + "-writer", AsyncHandler.DEFAULT_CAPACITY, fileHandler, consoleHandler);
+        asyncHandler.setLevel(Level.INFO);
+        this.addHandler(asyncHandler);
     }
 }
@@ -0,0 +1,173 @@
+package org.connect4.game.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * A class that logs high-frequency events through another logger, either 1 in every N events or at most M lines per second.
+ * Each call site should own its own instance, so that the limits apply per call site.
+ * The number of suppressed events is appended to the next message that is logged.
+ * @author Hassan
+ */
+public class SampledLogger {
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Logger logger;
+    private final int sampleRate;
+    private final int maxPerSecond;
+    private final AtomicLong events;
+    private final AtomicLong suppressed;
+    private final AtomicLong windowStart;
+    private final AtomicInteger windowCount;
+
+    /**
+     * Constructs a new sampled logger.
+     * @param logger The logger to which the sampled messages are written.
+     * @param sampleRate The number of events per logged message.
+     * @param maxPerSecond The maximum number of logged messages per second, or 0 for no limit.
+     */
+    private SampledLogger(Logger logger, int sampleRate, int maxPerSecond) {
+        this.logger = logger;
+        this.sampleRate = sampleRate;
+        this.maxPerSecond = maxPerSecond;
+        this.events = new AtomicLong();
+        this.suppressed = new AtomicLong();
+        this.windowStart = new AtomicLong(System.nanoTime());
+        this.windowCount = new AtomicInteger();
+    }
+
+    /**
+     * Creates a sampled logger that logs 1 in every N events.
+     * @param logger The logger to which the sampled messages are written.
+     * @param sampleRate The number of events per logged message.
+     * @return The sampled logger.
+     */
+    public static SampledLogger sampling(Logger logger, int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Sample rate must be positive: " + sampleRate);
+        }
+
+        return new SampledLogger(logger, sampleRate, 0);
+    }
+
+    /**
+     * Creates a sampled logger that logs at most M messages per second.
+     * @param logger The logger to which the messages are written.
+     * @param maxPerSecond The maximum number of logged messages per second.
+     * @return The rate-limited logger.
+     */
+    public static SampledLogger rateLimited(Logger logger, int maxPerSecond) {
+        if (maxPerSecond < 1) {
+            throw new IllegalArgumentException("Maximum messages per second must be positive: " + maxPerSecond);
+        }
+
+        return new SampledLogger(logger, 1, maxPerSecond);
+    }
+
+    /**
+     * Gets the number of events suppressed since the last logged message.
+     * @return The number of suppressed events.
+     */
+    public long getSuppressed() {
+        return suppressed.get();
+    }
+
+    /**
+     * Logs a message at FINEST level if the event is sampled.
+     * @param message The supplier of the message, called only if the message is logged.
+     */
+    public void finest(Supplier<String> message) {
+        log(Level.FINEST, message);
+    }
+
+    /**
+     * Logs a message at FINE level if the event is sampled.
+     * @param message The supplier of the message, called only if the message is logged.
+     */
+    public void fine(Supplier<String> message) {
+        log(Level.FINE, message);
+    }
+
+    /**
+     * Logs a message at INFO level if the event is sampled.
+     * @param message The supplier of the message, called only if the message is logged.
+     */
+    public void info(Supplier<String> message) {
+        log(Level.INFO, message);
+    }
+
+    /**
+     * Logs a message at WARNING level if the event is sampled.
+     * @param message The supplier of the message, called only if the message is logged.
+     */
+    public void warning(Supplier<String> message) {
+        log(Level.WARNING, message);
+    }
+
+    /**
+     * Logs a message at the specified level if the event is sampled.
+     * Events at a disabled level are neither counted nor suppressed.
+     * @param level The level of the message.
+     * @param message The supplier of the message, called only if the message is logged.
+     */
+    public void log(Level level, Supplier<String> message) {
+        if (!logger.isLoggable(level)) {
+            return;
+        }
+
+        if (!isSampled()) {
+            suppressed.incrementAndGet();
+            return;
+        }
+
+        long suppressedCount = suppressed.getAndSet(0);
+        String text = suppressedCount > 0
+                ? message.get() + " (" + suppressedCount + " similar messages suppressed)"
+                : message.get();
+
+        LogRecord record = new LogRecord(level, text);
+        record.setLoggerName(logger.getName());
+        inferCaller(record);
+        logger.log(record);
+    }
+
+    /**
+     * Checks whether the current event passes both the sample rate and the rate limit.
+     * @return true if the event should be logged, false otherwise.
+     */
+    private boolean isSampled() {
+        if (sampleRate > 1 && events.getAndIncrement() % sampleRate != 0) {
+            return false;
+        }
+
+        if (maxPerSecond > 0) {
+            long now = System.nanoTime();
+            long start = windowStart.get();
+            if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+                windowCount.set(0);
+            }
+
+            return windowCount.incrementAndGet() <= maxPerSecond;
+        }
+
+        return true;
+    }
+
+    /**
+     * Sets the source of the record to the caller of this sampled logger.
+     * @param record The log record.
+     */
+    private static void inferCaller(LogRecord record) {
+        StackWalker.getInstance()
+                .walk(frames -> frames.filter(frame -> !frame.getClassName().equals(SampledLogger.class.getName())).findFirst())
+                .ifPresent(frame -> {
+                    record.setSourceClassName(frame.getClassName());
+                    record.setSourceMethodName(frame.getMethodName());
+                });
+    }
+}
@@ -64,7 +64,7 @@ public class Board implements Cloneable, Serializable {
         pieces[row][column] = new Piece(position, color);
         currentRowIndex[column]++;
 
-        LOGGER.fine("Piece added to column " + column + " at row " + row + ".");
+        LOGGER.fine(() -> "Piece added to column " + column + " at row " + row + ".");
     }
 
     /**
@@ -116,6 +116,28 @@ public class Board implements Cloneable, Serializable {
         return currentRowIndex[column] >= Board.ROWS;
     }
 
+    /**
+     * Gets the number of pieces in a column, which is also the row index of the next piece dropped into it.
+     * @param column The column index.
+     * @return The height of the column.
+     */
+    public int getColumnHeight(int column) {
+        return currentRowIndex[column];
+    }
+
+    /**
+     * Gets the number of pieces on the board.
+     * @return The number of pieces.
+     */
+    public int getPieceCount() {
+        int pieceCount = 0;
+        for (int height : currentRowIndex) {
+            pieceCount += height;
+        }
+
+        return pieceCount;
+    }
+
     /**
      * Checks whether a position on the board is in bound.
      * @param row The row index.
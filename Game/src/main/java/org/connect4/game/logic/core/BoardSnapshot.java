@@ -0,0 +1,259 @@
+package org.connect4.game.logic.core;
+
+import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logic.exceptions.FullColumnException;
+import org.connect4.game.logic.exceptions.InvalidColumnIndexException;
+
+/**
+ * An immutable snapshot of the pieces on a Connect-4 board, kept as one bitboard per color.
+ * Each column takes {@code Board.ROWS + 1} bits from the bottom row up, and the extra bit on top stays empty,
+ * so that four in a row is found with a few shifts in every direction without wrapping from one column to the next.
+ * The snapshot also keeps the color of the player to move, so a position never depends on which player moved first.
+ * A snapshot is two longs and a color, so it is cheap to take, to share between threads and to play moves on.
+ * @author Hassan
+ */
+public final class BoardSnapshot {
+    public static final BoardSnapshot EMPTY = new BoardSnapshot(0L, 0L, Color.RED);
+
+    private static final int COLUMN_BITS = Board.ROWS + 1;
+    private static final long COLUMN_MASK = (1L << Board.ROWS) - 1;
+    private static final int[] DIRECTIONS = {1, COLUMN_BITS - 1, COLUMN_BITS, COLUMN_BITS + 1};
+
+    private final long redPieces;
+    private final long yellowPieces;
+    private final Color nextColor;
+
+    /**
+     * Constructs a new snapshot with the specified pieces.
+     * @param redPieces The bitboard of the red pieces.
+     * @param yellowPieces The bitboard of the yellow pieces.
+     * @param nextColor The color of the player to move.
+     */
+    private BoardSnapshot(long redPieces, long yellowPieces, Color nextColor) {
+        this.redPieces = redPieces;
+        this.yellowPieces = yellowPieces;
+        this.nextColor = nextColor;
+    }
+
+    /**
+     * Takes a snapshot of the specified board.
+     * @param board The board.
+     * @param nextColor The color of the player to move.
+     * @return The snapshot of the board.
+     */
+    public static BoardSnapshot of(Board board, Color nextColor) {
+        long redPieces = 0L;
+        long yellowPieces = 0L;
+        for (int row = 0; row < Board.ROWS; row++) {
+            for (int col = 0; col < Board.COLS; col++) {
+                Piece piece = board.getPieceAt(row, col);
+                if (piece != null) {
+                    if (piece.getColor() == Color.RED) {
+                        redPieces |= bit(row, col);
+                    } else {
+                        yellowPieces |= bit(row, col);
+                    }
+                }
+            }
+        }
+
+        return new BoardSnapshot(redPieces, yellowPieces, nextColor);
+    }
+
+    /**
+     * Gets the color of the piece at the specified position.
+     * @param row The row index.
+     * @param col The column index.
+     * @return The color of the piece, or Color.NONE if there is no piece or the position is out of bound.
+     */
+    public Color getColorAt(int row, int col) {
+        if (row < 0 || row >= Board.ROWS || !isValidColumn(col)) {
+            return Color.NONE;
+        }
+
+        long bit = bit(row, col);
+        if ((redPieces & bit) != 0) {
+            return Color.RED;
+        } else if ((yellowPieces & bit) != 0) {
+            return Color.YELLOW;
+        }
+
+        return Color.NONE;
+    }
+
+    /**
+     * Gets the number of pieces in a column, which is also the row index of the next piece dropped into it.
+     * @param column The column index.
+     * @return The height of the column.
+     */
+    public int getColumnHeight(int column) {
+        return Long.bitCount(((redPieces | yellowPieces) >>> column * COLUMN_BITS) & COLUMN_MASK);
+    }
+
+    /**
+     * Checks whether a column index is valid.
+     * @param column The column index to check.
+     * @return true if the column index is valid, false otherwise.
+     */
+    public boolean isValidColumn(int column) {
+        return column >= 0 && column < Board.COLS;
+    }
+
+    /**
+     * Checks whether a column is full.
+     * @param column The column index to check.
+     * @return true if the column is full, false otherwise.
+     */
+    public boolean isColumnFull(int column) {
+        return getColumnHeight(column) >= Board.ROWS;
+    }
+
+    /**
+     * Checks whether the board is full.
+     * @return true if the board is full, false otherwise.
+     */
+    public boolean isFull() {
+        return getMoveCount() == Board.ROWS * Board.COLS;
+    }
+
+    /**
+     * Gets the number of pieces on the board.
+     * @return The number of moves played.
+     */
+    public int getMoveCount() {
+        return Long.bitCount(redPieces | yellowPieces);
+    }
+
+    /**
+     * Gets the color of the player to move next.
+     * @return The color of the player to move.
+     */
+    public Color getNextColor() {
+        return nextColor;
+    }
+
+    /**
+     * Plays a piece of the specified color on the specified column.
+     * @param column The column to add the piece.
+     * @param color The color of the piece.
+     * @return The snapshot with the piece added and the other player to move, this snapshot is left unchanged.
+     * @throws InvalidColumnIndexException if the column index is not valid.
+     * @throws FullColumnException if the column is full of pieces.
+     */
+    public BoardSnapshot play(int column, Color color) throws InvalidColumnIndexException, FullColumnException {
+        if (!isValidColumn(column)) {
+            throw new InvalidColumnIndexException("Invalid column index: " + column);
+        }
+
+        if (isColumnFull(column)) {
+            throw new FullColumnException("Column: " + column + " is full.");
+        }
+
+        long bit = bit(getColumnHeight(column), column);
+        return color == Color.RED
+                ? new BoardSnapshot(redPieces | bit, yellowPieces, Color.YELLOW)
+                : new BoardSnapshot(redPieces, yellowPieces | bit, Color.RED);
+    }
+
+    /**
+     * Determines the winner if there is one.
+     * @return The winning player's color, or Color.NONE if there is no winner.
+     */
+    public Color determineWinner() {
+        if (hasFourInARow(redPieces)) {
+            return Color.RED;
+        } else if (hasFourInARow(yellowPieces)) {
+            return Color.YELLOW;
+        }
+
+        return Color.NONE;
+    }
+
+    /**
+     * Checks whether the board has a winner.
+     * @return true if the board has a winner, false otherwise.
+     */
+    public boolean hasWinner() {
+        return hasFourInARow(redPieces) || hasFourInARow(yellowPieces);
+    }
+
+    /**
+     * Checks whether the player with the specified color has four pieces in a row, without looking at the other player.
+     * @param color The color of the player.
+     * @return true if the player has won, false otherwise.
+     */
+    public boolean isWinner(Color color) {
+        return switch (color) {
+            case RED -> hasFourInARow(redPieces);
+            case YELLOW -> hasFourInARow(yellowPieces);
+            case NONE -> false;
+        };
+    }
+
+    /**
+     * Creates a new mutable board with the pieces of this snapshot.
+     * @return The new board.
+     */
+    public Board toBoard() {
+        Board board = new Board();
+        try {
+            for (int col = 0; col < Board.COLS; col++) {
+                int height = getColumnHeight(col);
+                for (int row = 0; row < height; row++) {
+                    board.addPiece(col, getColorAt(row, col));
+                }
+            }
+        } catch (InvalidColumnIndexException | FullColumnException e) {
+            throw new AssertionError(e);
+        }
+
+        return board;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BoardSnapshot that)) {
+            return false;
+        }
+        return redPieces == that.redPieces && yellowPieces == that.yellowPieces && nextColor == that.nextColor;
+    }
+
+    @Override
+    public int hashCode() {
+        return (Long.hashCode(redPieces) * 31 + Long.hashCode(yellowPieces)) * 31 + nextColor.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "BoardSnapshot{red=" + Long.toHexString(redPieces) + ", yellow=" + Long.toHexString(yellowPieces) + ", next=" + nextColor + "}";
+    }
+
+    /**
+     * Gets the bit of the specified position.
+     * @param row The row index.
+     * @param col The column index.
+     * @return The bitboard with only this position set.
+     */
+    private static long bit(int row, int col) {
+        return 1L << (col * COLUMN_BITS + row);
+    }
+
+    /**
+     * Checks whether the specified pieces have four in a row in any direction.
+     * @param pieces The bitboard of the pieces of one player.
+     * @return true if there are four pieces in a row, false otherwise.
+     */
+    private static boolean hasFourInARow(long pieces) {
+        for (int direction : DIRECTIONS) {
+            long pairs = pieces & (pieces >>> direction);
+            if ((pairs & (pairs >>> 2 * direction)) != 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
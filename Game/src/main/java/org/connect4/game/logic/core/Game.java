@@ -1,27 +1,41 @@
 package org.connect4.game.logic.core;
 
 import org.connect4.game.logging.GameLogger;
-import org.connect4.game.logic.enums.Color;
 import org.connect4.game.logic.enums.GameType;
+import org.connect4.game.logic.events.GameDrawn;
+import org.connect4.game.logic.events.GameEvent;
+import org.connect4.game.logic.events.GameListener;
+import org.connect4.game.logic.events.GameReset;
+import org.connect4.game.logic.events.GameWon;
+import org.connect4.game.logic.events.MoveApplied;
+import org.connect4.game.logic.events.TurnChanged;
 import org.connect4.game.logic.exceptions.InvalidMoveException;
-import org.connect4.game.logic.utils.WinnerChecker;
 
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.logging.Logger;
 
 /**
  * A class represents Connect-4 game.
+ * Every move also updates an immutable snapshot of the board, which other threads, such as the AI search,
+ * read instead of the board the game mutates.
+ * Only the player who moved can have won, so a move checks the snapshot of that player for four in a row,
+ * and the game remembers the outcome instead of scanning the board every time it is asked.
+ * Every change is fired as a game event to the registered listeners.
  * @author Hassan
  */
 public class Game {
     public static final Logger LOGGER = GameLogger.getLogger();
+    private static final GameListener[] NO_LISTENERS = new GameListener[0];
 
     private final Board board;
     private final Player redPlayer;
     private final Player yellowPlayer;
     private final GameType gameType;
-    private final WinnerChecker winnerChecker;
-    private Player currentPlayer;
+    private volatile Player currentPlayer;
+    private volatile Player winner;
+    private volatile BoardSnapshot snapshot;
+    private volatile GameListener[] listeners;
 
     /**
      * Constructs a new game.
@@ -35,8 +49,10 @@ public class Game {
         this.redPlayer = redPlayer;
         this.yellowPlayer = yellowPlayer;
         this.gameType = gameType;
-        this.winnerChecker = new WinnerChecker(board);
         this.currentPlayer = redPlayer;
+        this.snapshot = BoardSnapshot.of(board, currentPlayer.getColor());
+        this.winner = findWinner();
+        this.listeners = NO_LISTENERS;
     }
 
     /**
@@ -47,6 +63,14 @@ public class Game {
         return board;
     }
 
+    /**
+     * Gets the snapshot of the game board after the last move.
+     * @return The board snapshot.
+     */
+    public BoardSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     /**
      * Gets the player with red pieces.
      * @return The player with red pieces.
@@ -79,6 +103,32 @@ public class Game {
         return currentPlayer;
     }
 
+    /**
+     * Adds a listener that is called with every event of this game.
+     * @param listener The listener.
+     */
+    public synchronized void addListener(GameListener listener) {
+        GameListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        newListeners[listeners.length] = listener;
+        listeners = newListeners;
+    }
+
+    /**
+     * Removes the specified listener.
+     * @param listener The listener.
+     */
+    public synchronized void removeListener(GameListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                GameListener[] newListeners = new GameListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, newListeners, 0, i);
+                System.arraycopy(listeners, i + 1, newListeners, i, newListeners.length - i);
+                listeners = newListeners;
+                return;
+            }
+        }
+    }
+
     /**
      * Makes a move for the current player on the specified column index and switches turns.
      * @param move The move will be made.
@@ -86,9 +136,16 @@ public class Game {
     public void performCurrentPlayerMove(Move move) {
         try {
             if (move.isValid(board)) {
-                LOGGER.info("Performing Current Player move.");
-                board.addPiece(move.getColumn(), currentPlayer.getColor());
+                LOGGER.fine("Performing Current Player move.");
+                Player movingPlayer = currentPlayer;
+                int row = board.getColumnHeight(move.getColumn());
+                board.addPiece(move.getColumn(), movingPlayer.getColor());
+                snapshot = snapshot.play(move.getColumn(), movingPlayer.getColor());
+                if (winner == null && snapshot.isWinner(movingPlayer.getColor())) {
+                    winner = movingPlayer;
+                }
                 switchTurn();
+                fireMoveEvents(move, movingPlayer, row);
             }
         } catch (InvalidMoveException e) {
             LOGGER.severe("Invalid move: " + e.getMessage());
@@ -100,7 +157,7 @@ public class Game {
      * @return true if the game is over, false otherwise.
      */
     public boolean isOver() {
-        return winnerChecker.hasWinner() || isDraw();
+        return winner != null || snapshot.isFull();
     }
 
     /**
@@ -108,7 +165,7 @@ public class Game {
      * @return true if the game is a draw, false otherwise.
      */
     public boolean isDraw() {
-        return !winnerChecker.hasWinner() && board.isFull();
+        return winner == null && snapshot.isFull();
     }
 
     /**
@@ -116,12 +173,7 @@ public class Game {
      * @return The winner of the game or `null` if there is no winner yet.
      */
     public Optional<Player> getWinner() {
-        Color winnerColor = winnerChecker.determineWinner();
-        return switch (winnerColor) {
-            case RED -> Optional.of(redPlayer);
-            case YELLOW -> Optional.of(yellowPlayer);
-            case NONE -> Optional.empty();
-        };
+        return Optional.ofNullable(winner);
     }
 
     /**
@@ -130,8 +182,69 @@ public class Game {
     public void reset() {
         this.board.reset();
         this.currentPlayer = redPlayer;
+        this.winner = null;
+        this.snapshot = BoardSnapshot.EMPTY;
 
         LOGGER.info("Game has been reset.");
+        fire(listeners, new GameReset());
+    }
+
+    /**
+     * Takes a new snapshot of the board and finds its winner again. It must be called after pieces were added to the board
+     * without going through this game, as when a position is set up on the board directly.
+     */
+    public void syncWithBoard() {
+        snapshot = BoardSnapshot.of(board, currentPlayer.getColor());
+        winner = findWinner();
+    }
+
+    /**
+     * Finds the winner of the snapshot of the board.
+     * @return The winner, or null if there is no winner.
+     */
+    private Player findWinner() {
+        return switch (snapshot.determineWinner()) {
+            case RED -> redPlayer;
+            case YELLOW -> yellowPlayer;
+            case NONE -> null;
+        };
+    }
+
+    /**
+     * Fires the events of the specified move, and allocates no event if nobody listens.
+     * @param move The move.
+     * @param movingPlayer The player who made the move.
+     * @param row The row index the piece landed on.
+     */
+    private void fireMoveEvents(Move move, Player movingPlayer, int row) {
+        GameListener[] currentListeners = listeners;
+        if (currentListeners.length == 0) {
+            return;
+        }
+
+        fire(currentListeners, new MoveApplied(move, movingPlayer.getColor(), row, snapshot));
+        if (winner == movingPlayer) {
+            fire(currentListeners, new GameWon(movingPlayer, move));
+        } else if (isDraw()) {
+            fire(currentListeners, new GameDrawn(move));
+        } else {
+            fire(currentListeners, new TurnChanged(currentPlayer));
+        }
+    }
+
+    /**
+     * Calls the specified listeners with the specified event. A failing listener does not stop the others.
+     * @param currentListeners The listeners.
+     * @param event The event.
+     */
+    private static void fire(GameListener[] currentListeners, GameEvent event) {
+        for (GameListener listener : currentListeners) {
+            try {
+                listener.onGameEvent(event);
+            } catch (RuntimeException e) {
+                LOGGER.severe("Game listener failed on " + event + ": " + e);
+            }
+        }
     }
 
     /**
@@ -139,7 +252,6 @@ public class Game {
      */
     private void switchTurn() {
         currentPlayer = currentPlayer == redPlayer ? yellowPlayer : redPlayer;
-        LOGGER.info("Switched turns.");
-        LOGGER.info("Current player: " + currentPlayer.getColor() + " Player.");
+        LOGGER.fine(() -> "Switched turns, current player: " + currentPlayer.getColor() + " Player.");
     }
 }
@@ -1,6 +1,7 @@
 package org.connect4.game.logic.core;
 
 import org.connect4.game.logging.GameLogger;
+import org.connect4.game.logging.SampledLogger;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -15,6 +16,7 @@ public class Move implements Serializable {
     @Serial
     private static final long serialVersionUID = 1L;
     private static final Logger logger = GameLogger.getLogger();
+    private static final SampledLogger invalidMoveLogger = SampledLogger.rateLimited(logger, 10);
 
     private final int column;
 
@@ -45,9 +47,18 @@ public class Move implements Serializable {
         if (isValid) {
             logger.log(Level.FINE, "Move is valid: Column: {0}", column);
         } else {
-            logger.log(Level.WARNING, "Move is not valid: Column: {0}", column);
+            invalidMoveLogger.fine(() -> "Move is not valid: Column: " + column);
         }
 
         return isValid;
     }
+
+    /**
+     * Check whether a move is valid or not on a board snapshot.
+     * @param snapshot The board snapshot.
+     * @return true if the move is valid, false otherwise.
+     */
+    public boolean isValid(BoardSnapshot snapshot) {
+        return snapshot.isValidColumn(column) && !snapshot.isColumnFull(column);
+    }
 }
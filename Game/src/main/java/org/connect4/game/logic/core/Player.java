@@ -3,6 +3,7 @@ package org.connect4.game.logic.core;
 import org.connect4.game.logging.GameLogger;
 import org.connect4.game.logic.enums.Color;
 import org.connect4.game.logic.enums.PlayerType;
+import org.connect4.game.logic.utils.EloRating;
 
 import java.util.logging.Logger;
 
@@ -16,6 +17,7 @@ public class Player {
     private final Color color;
     private final PlayerType playerType;
     private int score;
+    private int rating;
 
     /**
      * Constructs a new player with the specified parameters.
@@ -26,6 +28,7 @@ public class Player {
         this.color = color;
         this.playerType = playerType;
         this.score = 0;
+        this.rating = EloRating.INITIAL_RATING;
     }
 
     /**
@@ -76,6 +79,22 @@ public class Player {
         this.score++;
     }
 
+    /**
+     * Gets the Elo rating of the player.
+     * @return The rating of the player.
+     */
+    public int getRating() {
+        return rating;
+    }
+
+    /**
+     * Sets the Elo rating of the player.
+     * @param rating The rating of the player.
+     */
+    public void setRating(int rating) {
+        this.rating = rating;
+    }
+
     /**
      * Checks whether this player is the winner of the game or not.
      * @param game The game to determine if its winner is this player or not.
@@ -0,0 +1,13 @@
+package org.connect4.game.logic.enums;
+
+import java.io.Serializable;
+
+/**
+ * Enum representing the status of a game.
+ * @author Hassan
+ */
+public enum GameStatus implements Serializable {
+    STARTED,
+    IN_PROGRESS,
+    OVER
+}
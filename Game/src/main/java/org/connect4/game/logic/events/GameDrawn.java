@@ -0,0 +1,11 @@
+package org.connect4.game.logic.events;
+
+import org.connect4.game.logic.core.Move;
+
+/**
+ * An event fired when a move fills the board without a winner.
+ * @param lastMove The move that filled the board.
+ * @author Hassan
+ */
+public record GameDrawn(Move lastMove) implements GameEvent {
+}
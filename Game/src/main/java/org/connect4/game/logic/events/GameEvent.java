@@ -0,0 +1,9 @@
+package org.connect4.game.logic.events;
+
+/**
+ * An event that tells what changed in a game.
+ * A move fires a MoveApplied event, followed by a GameWon or GameDrawn event if it ended the game, or a TurnChanged event otherwise.
+ * @author Hassan
+ */
+public sealed interface GameEvent permits MoveApplied, TurnChanged, GameWon, GameDrawn, GameReset {
+}
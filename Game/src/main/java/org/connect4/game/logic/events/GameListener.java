@@ -0,0 +1,29 @@
+package org.connect4.game.logic.events;
+
+import java.util.concurrent.Executor;
+
+/**
+ * A listener of the events of a game.
+ * Listeners are called synchronously on the thread that changes the game, in the order the events happen.
+ * A listener that does slow work should be made asynchronous, so that it does not hold up the game.
+ * @author Hassan
+ */
+@FunctionalInterface
+public interface GameListener {
+    /**
+     * Called when the game changes.
+     * @param event The event that tells what changed.
+     */
+    void onGameEvent(GameEvent event);
+
+    /**
+     * Creates a listener that hands the events to the specified listener on the specified executor.
+     * The events are immutable, except the scores of the players, so they can be read on another thread.
+     * @param executor The executor that runs the listener, which should keep the order of the events.
+     * @param listener The listener.
+     * @return The asynchronous listener.
+     */
+    static GameListener async(Executor executor, GameListener listener) {
+        return event -> executor.execute(() -> listener.onGameEvent(event));
+    }
+}
@@ -0,0 +1,8 @@
+package org.connect4.game.logic.events;
+
+/**
+ * An event fired when the game has been reset to an empty board.
+ * @author Hassan
+ */
+public record GameReset() implements GameEvent {
+}
@@ -0,0 +1,13 @@
+package org.connect4.game.logic.events;
+
+import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.core.Player;
+
+/**
+ * An event fired when a move connects four pieces of the player who made it.
+ * @param winner The winner of the game.
+ * @param lastMove The move that won the game.
+ * @author Hassan
+ */
+public record GameWon(Player winner, Move lastMove) implements GameEvent {
+}
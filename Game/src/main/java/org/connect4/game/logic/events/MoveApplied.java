@@ -0,0 +1,16 @@
+package org.connect4.game.logic.events;
+
+import org.connect4.game.logic.core.BoardSnapshot;
+import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.enums.Color;
+
+/**
+ * An event fired when a move has been applied to the board.
+ * @param move The move.
+ * @param color The color of the player who made the move.
+ * @param row The row index the piece landed on.
+ * @param board The snapshot of the board after the move.
+ * @author Hassan
+ */
+public record MoveApplied(Move move, Color color, int row, BoardSnapshot board) implements GameEvent {
+}
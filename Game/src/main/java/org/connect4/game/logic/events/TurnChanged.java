@@ -0,0 +1,11 @@
+package org.connect4.game.logic.events;
+
+import org.connect4.game.logic.core.Player;
+
+/**
+ * An event fired when the turn passes to the other player after a move that did not end the game.
+ * @param currentPlayer The player whose turn it is.
+ * @author Hassan
+ */
+public record TurnChanged(Player currentPlayer) implements GameEvent {
+}
@@ -0,0 +1,59 @@
+package org.connect4.game.logic.utils;
+
+import org.connect4.game.logic.core.Player;
+
+import java.util.Optional;
+
+/**
+ * A class represents the Elo rating system used to rate the players by their results against each other.
+ * A player gains more rating by beating a stronger opponent than a weaker one, and the ratings of the two players
+ * always change by the same amount in opposite directions.
+ * @author Hassan
+ */
+public class EloRating {
+    public static final int INITIAL_RATING = 1500;
+    public static final int K_FACTOR = 32;
+
+    private static final double RATING_SCALE = 400;
+    private static final double WIN = 1;
+    private static final double DRAW = 0.5;
+    private static final double LOSS = 0;
+
+    private EloRating() {
+    }
+
+    /**
+     * Gets the expected score of a player against an opponent, between 0 for a sure loss and 1 for a sure win.
+     * @param rating The rating of the player.
+     * @param opponentRating The rating of the opponent.
+     * @return The expected score of the player.
+     */
+    public static double getExpectedScore(int rating, int opponentRating) {
+        return 1 / (1 + Math.pow(10, (opponentRating - rating) / RATING_SCALE));
+    }
+
+    /**
+     * Gets the rating change of a player after a game against an opponent.
+     * @param rating The rating of the player.
+     * @param opponentRating The rating of the opponent.
+     * @param score The score of the player, 1 for a win, 0.5 for a draw, and 0 for a loss.
+     * @return The rating change of the player.
+     */
+    public static int getRatingChange(int rating, int opponentRating, double score) {
+        return (int) Math.round(K_FACTOR * (score - getExpectedScore(rating, opponentRating)));
+    }
+
+    /**
+     * Updates the ratings of the two players of a finished game.
+     * @param firstPlayer The first player.
+     * @param secondPlayer The second player.
+     * @param winner The winner of the game, or empty for a draw.
+     */
+    public static void updateRatings(Player firstPlayer, Player secondPlayer, Optional<Player> winner) {
+        double firstPlayerScore = winner.map(player -> player == firstPlayer ? WIN : LOSS).orElse(DRAW);
+        int ratingChange = getRatingChange(firstPlayer.getRating(), secondPlayer.getRating(), firstPlayerScore);
+
+        firstPlayer.setRating(firstPlayer.getRating() + ratingChange);
+        secondPlayer.setRating(secondPlayer.getRating() - ratingChange);
+    }
+}
@@ -3,6 +3,7 @@ package org.connect4.game.logic.utils;
 import org.connect4.game.logic.core.Board;
 import org.connect4.game.logic.enums.Color;
 import org.connect4.game.logging.GameLogger;
+import org.connect4.game.logging.SampledLogger;
 
 import java.util.logging.Logger;
 
@@ -12,6 +13,8 @@ import java.util.logging.Logger;
  */
 public class WinnerChecker {
     public static final Logger LOGGER = GameLogger.getLogger();
+    private static final SampledLogger HAS_WINNER_LOGGER = SampledLogger.rateLimited(LOGGER, 10);
+    private static final SampledLogger WINNER_POSITION_LOGGER = SampledLogger.rateLimited(LOGGER, 10);
     public static final int CONSECUTIVE_PIECES_FOR_WIN = 4;
 
     private final Board board;
@@ -33,7 +36,7 @@ public class WinnerChecker {
         boolean hasWinner = winnerColor != Color.NONE;
 
         if (hasWinner) {
-            LOGGER.info("Board has a winner.");
+            HAS_WINNER_LOGGER.fine(() -> "Board has a winner.");
         }
 
         return hasWinner;
@@ -47,9 +50,10 @@ public class WinnerChecker {
         for (int i = 0; i < Board.ROWS; i++) {
             for (int j = 0; j < Board.COLS; j++) {
                 if (board.getPieceAt(i, j) != null) {
-                    if (checkDirection(i, 0, 0, 1) || checkDirection(0, j, 1, 0)
+                    if (checkDirection(i, j, 0, 1) || checkDirection(i, j, 1, 0)
                             || checkDirection(i, j, 1, 1) || checkDirection(i, j, 1, -1)) {
-                        LOGGER.info("Winner is determined at row: " + i + " and col: " + j);
+                        int row = i, col = j;
+                        WINNER_POSITION_LOGGER.fine(() -> "Winner is determined at row: " + row + " and col: " + col);
                         return board.getPieceAt(i, j).getColor();
                     }
                 }
@@ -80,7 +84,7 @@ public class WinnerChecker {
             }
         }
 
-        LOGGER.info("Winner determined: " + color + " Player.");
+        LOGGER.finest(() -> "Winner determined: " + color + " Player.");
         return true;
     }
 }
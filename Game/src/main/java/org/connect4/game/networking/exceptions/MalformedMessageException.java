@@ -0,0 +1,17 @@
+package org.connect4.game.networking.exceptions;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown to indicate that a message cannot be encoded, or that a received frame is not a valid message.
+ * @author Hassan
+ */
+public class MalformedMessageException extends IOException {
+    /**
+     * Constructs a new MalformedMessageException with the specified message.
+     * @param message A human-readable description of the exception.
+     */
+    public MalformedMessageException(String message) {
+        super(message);
+    }
+}
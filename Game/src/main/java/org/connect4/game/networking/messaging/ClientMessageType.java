@@ -13,7 +13,10 @@ public enum ClientMessageType implements MessageType, Serializable {
     MOVE,
     TEXT,
     LEAVE_GAME_SESSION_REQUEST,
-    DISCONNECT_REQUEST;
+    DISCONNECT_REQUEST,
+    HELLO,
+    PONG,
+    RESUME_REQUEST;
 
     /**
      * Gets the name of the enum constant.
@@ -0,0 +1,396 @@
+package org.connect4.game.networking.messaging;
+
+import org.connect4.game.ai.enums.AIType;
+import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logic.enums.GameStatus;
+import org.connect4.game.networking.exceptions.MalformedMessageException;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A class that encodes messages into length-prefixed binary frames and decodes them back.
+ * A frame is a 4-byte big-endian length, followed by a one-byte type tag and a payload of {@code length - 1} bytes:
+ * <ul>
+ *     <li>Moves are a single byte holding the column.</li>
+ *     <li>Colors are a single byte holding the ordinal of the color, or -1 for no color.</li>
+ *     <li>AI types are a single byte holding the ordinal of the AI type.</li>
+ *     <li>Handshakes are a single byte holding the protocol version of the client.</li>
+ *     <li>Scores are two 4-byte integers, red player first.</li>
+ *     <li>Resume tokens are a single 8-byte integer.</li>
+ *     <li>Chat texts are UTF-8 bytes filling the rest of the frame.</li>
+ *     <li>State deltas are a 4-byte sequence number, the status byte, the assigned color byte, the two 4-byte scores,
+ *     the move byte (-1 for no move), and the moving player, current player and winner color bytes.</li>
+ *     <li>Every other message has an empty payload.</li>
+ * </ul>
+ * Client message types are tagged with their ordinal, server message types with {@code 0x40 + ordinal},
+ * so new message types must be appended to the end of their enum.
+ * @author Hassan
+ */
+public final class MessageCodec {
+    public static final int LENGTH_FIELD_SIZE = Integer.BYTES;
+    public static final int MAX_FRAME_LENGTH = 64 * 1024;
+    public static final int PROTOCOL_VERSION = 1;
+
+    private static final int SERVER_TAG_BASE = 0x40;
+    private static final byte NO_COLOR = -1;
+    private static final byte NO_MOVE = -1;
+    private static final int STATE_DELTA_LENGTH = Integer.BYTES + 2 + 2 * Integer.BYTES + 4;
+    private static final byte[] EMPTY_PAYLOAD = new byte[0];
+
+    /**
+     * Prevents instantiating the codec.
+     */
+    private MessageCodec() {
+    }
+
+    /**
+     * Writes the specified message as a single frame to the output stream. The stream is not flushed.
+     * @param out The output stream.
+     * @param message The message to be written.
+     * @throws IOException If the message cannot be encoded or written.
+     */
+    public static void write(DataOutputStream out, Message<?> message) throws IOException {
+        out.write(encode(message));
+    }
+
+    /**
+     * Reads a single frame from the input stream and decodes it into a message.
+     * @param in The input stream.
+     * @return The decoded message.
+     * @throws java.io.EOFException If the stream ends before a complete frame is read.
+     * @throws IOException If the frame cannot be read or is malformed.
+     */
+    public static Message<?> read(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        checkFrameLength(length);
+
+        byte[] body = new byte[length];
+        in.readFully(body);
+        return decode(ByteBuffer.wrap(body));
+    }
+
+    /**
+     * Encodes the specified message into a frame, including its length prefix.
+     * @param message The message to be encoded.
+     * @return The encoded frame.
+     * @throws MalformedMessageException If the message type or payload is not supported.
+     */
+    public static byte[] encode(Message<?> message) throws MalformedMessageException {
+        byte tag;
+        byte[] payload;
+        if (message.getType() instanceof ClientMessageType clientMessageType) {
+            tag = (byte) clientMessageType.ordinal();
+            payload = encodeClientPayload(clientMessageType, message.getPayload());
+        } else if (message.getType() instanceof ServerMessageType serverMessageType) {
+            tag = (byte) (SERVER_TAG_BASE + serverMessageType.ordinal());
+            payload = encodeServerPayload(serverMessageType, message.getPayload());
+        } else {
+            throw new MalformedMessageException("Unsupported message type: " + message.getType());
+        }
+
+        int length = 1 + payload.length;
+        checkFrameLength(length);
+
+        return ByteBuffer.allocate(LENGTH_FIELD_SIZE + length)
+                .putInt(length)
+                .put(tag)
+                .put(payload)
+                .array();
+    }
+
+    /**
+     * Decodes the body of a frame, the type tag followed by the payload, into a message.
+     * @param body The body of the frame, positioned at the type tag and limited to the end of the frame.
+     * @return The decoded message.
+     * @throws MalformedMessageException If the tag is unknown or the payload does not match the message type.
+     */
+    public static Message<?> decode(ByteBuffer body) throws MalformedMessageException {
+        if (!body.hasRemaining()) {
+            throw new MalformedMessageException("Frame has no type tag.");
+        }
+
+        int tag = body.get() & 0xFF;
+        if (tag < SERVER_TAG_BASE) {
+            ClientMessageType type = valueOf(ClientMessageType.values(), tag);
+            return new Message<>(type, decodeClientPayload(type, body));
+        } else {
+            ServerMessageType type = valueOf(ServerMessageType.values(), tag - SERVER_TAG_BASE);
+            return new Message<>(type, decodeServerPayload(type, body));
+        }
+    }
+
+    /**
+     * Checks that the length of a frame body is within the supported bounds.
+     * @param length The length of the frame body.
+     * @throws MalformedMessageException If the length is out of bounds.
+     */
+    public static void checkFrameLength(int length) throws MalformedMessageException {
+        if (length < 1 || length > MAX_FRAME_LENGTH) {
+            throw new MalformedMessageException("Invalid frame length: " + length);
+        }
+    }
+
+    /**
+     * Encodes the payload of a client message.
+     * @param type The client message type.
+     * @param payload The payload.
+     * @return The encoded payload.
+     */
+    private static byte[] encodeClientPayload(ClientMessageType type, Object payload) {
+        return switch (type) {
+            case SINGLE_PLAYER_GAME_REQUEST -> new byte[] {(byte) ((AIType) payload).ordinal()};
+            case MOVE -> encodeMove((Move) payload);
+            case TEXT -> encodeText((String) payload);
+            case HELLO -> new byte[] {((Integer) payload).byteValue()};
+            case RESUME_REQUEST -> encodeResumeToken((Long) payload);
+            default -> EMPTY_PAYLOAD;
+        };
+    }
+
+    /**
+     * Encodes the payload of a server message.
+     * @param type The server message type.
+     * @param payload The payload.
+     * @return The encoded payload.
+     */
+    private static byte[] encodeServerPayload(ServerMessageType type, Object payload) {
+        return switch (type) {
+            case COLOR, PLAYER_TURN, GAME_OVER -> new byte[] {encodeColor((Color) payload)};
+            case PLAYER_SCORES -> encodeScores((int[]) payload);
+            case MOVE -> encodeMove((Move) payload);
+            case TEXT -> encodeText((String) payload);
+            case STATE_DELTA -> encodeStateDelta((StateDelta) payload);
+            case REQUEST_REJECTED -> new byte[] {(byte) ((RejectionReason) payload).ordinal()};
+            case RESUME_TOKEN -> encodeResumeToken((Long) payload);
+            default -> EMPTY_PAYLOAD;
+        };
+    }
+
+    /**
+     * Decodes the payload of a client message.
+     * @param type The client message type.
+     * @param payload The payload.
+     * @return The decoded payload.
+     * @throws MalformedMessageException If the payload does not match the message type.
+     */
+    private static Object decodeClientPayload(ClientMessageType type, ByteBuffer payload) throws MalformedMessageException {
+        return switch (type) {
+            case SINGLE_PLAYER_GAME_REQUEST -> valueOf(AIType.values(), decodeByte(type, payload));
+            case MOVE -> new Move(decodeByte(type, payload));
+            case TEXT -> decodeText(payload);
+            case HELLO -> (int) decodeByte(type, payload);
+            case RESUME_REQUEST -> decodeResumeToken(type, payload);
+            default -> decodeEmpty(type, payload);
+        };
+    }
+
+    /**
+     * Decodes the payload of a server message.
+     * @param type The server message type.
+     * @param payload The payload.
+     * @return The decoded payload.
+     * @throws MalformedMessageException If the payload does not match the message type.
+     */
+    private static Object decodeServerPayload(ServerMessageType type, ByteBuffer payload) throws MalformedMessageException {
+        return switch (type) {
+            case COLOR, PLAYER_TURN, GAME_OVER -> decodeColor(decodeByte(type, payload));
+            case PLAYER_SCORES -> decodeScores(type, payload);
+            case MOVE -> new Move(decodeByte(type, payload));
+            case TEXT -> decodeText(payload);
+            case STATE_DELTA -> decodeStateDelta(type, payload);
+            case REQUEST_REJECTED -> valueOf(RejectionReason.values(), decodeByte(type, payload));
+            case RESUME_TOKEN -> decodeResumeToken(type, payload);
+            default -> decodeEmpty(type, payload);
+        };
+    }
+
+    /**
+     * Encodes a move into its column byte.
+     * @param move The move.
+     * @return The encoded move.
+     */
+    private static byte[] encodeMove(Move move) {
+        return new byte[] {(byte) move.getColumn()};
+    }
+
+    /**
+     * Encodes a color into its ordinal byte.
+     * @param color The color, or null for no color.
+     * @return The encoded color.
+     */
+    private static byte encodeColor(Color color) {
+        return color == null ? NO_COLOR : (byte) color.ordinal();
+    }
+
+    /**
+     * Encodes the red and yellow player scores.
+     * @param scores The scores, red player first.
+     * @return The encoded scores.
+     */
+    private static byte[] encodeScores(int[] scores) {
+        return ByteBuffer.allocate(2 * Integer.BYTES)
+                .putInt(scores[0])
+                .putInt(scores[1])
+                .array();
+    }
+
+    /**
+     * Encodes the resume token of a game session.
+     * @param token The resume token.
+     * @return The encoded token.
+     */
+    private static byte[] encodeResumeToken(long token) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(token).array();
+    }
+
+    /**
+     * Encodes a chat text into UTF-8 bytes.
+     * @param text The chat text.
+     * @return The encoded text.
+     */
+    private static byte[] encodeText(String text) {
+        return text == null ? EMPTY_PAYLOAD : text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encodes a state delta into its fixed-length layout.
+     * @param stateDelta The state delta.
+     * @return The encoded state delta.
+     */
+    private static byte[] encodeStateDelta(StateDelta stateDelta) {
+        return ByteBuffer.allocate(STATE_DELTA_LENGTH)
+                .putInt(stateDelta.getSequence())
+                .put((byte) stateDelta.getStatus().ordinal())
+                .put(encodeColor(stateDelta.getAssignedColor()))
+                .putInt(stateDelta.getRedPlayerScore())
+                .putInt(stateDelta.getYellowPlayerScore())
+                .put(stateDelta.getMove() == null ? NO_MOVE : (byte) stateDelta.getMove().getColumn())
+                .put(encodeColor(stateDelta.getMovingPlayer()))
+                .put(encodeColor(stateDelta.getCurrentPlayer()))
+                .put(encodeColor(stateDelta.getWinner()))
+                .array();
+    }
+
+    /**
+     * Decodes a state delta from its fixed-length layout.
+     * @param type The message type.
+     * @param payload The payload.
+     * @return The decoded state delta.
+     * @throws MalformedMessageException If the payload length or any of its fields is invalid.
+     */
+    private static StateDelta decodeStateDelta(MessageType type, ByteBuffer payload) throws MalformedMessageException {
+        checkPayloadLength(type, payload, STATE_DELTA_LENGTH);
+        int sequence = payload.getInt();
+        GameStatus status = valueOf(GameStatus.values(), payload.get());
+        Color assignedColor = decodeColor(payload.get());
+        int redPlayerScore = payload.getInt();
+        int yellowPlayerScore = payload.getInt();
+        byte column = payload.get();
+        Move move = column == NO_MOVE ? null : new Move(column);
+        return new StateDelta(sequence, status, assignedColor, redPlayerScore, yellowPlayerScore, move,
+                decodeColor(payload.get()), decodeColor(payload.get()), decodeColor(payload.get()));
+    }
+
+    /**
+     * Decodes a single-byte payload.
+     * @param type The message type.
+     * @param payload The payload.
+     * @return The decoded byte.
+     * @throws MalformedMessageException If the payload is not exactly one byte.
+     */
+    private static byte decodeByte(MessageType type, ByteBuffer payload) throws MalformedMessageException {
+        checkPayloadLength(type, payload, 1);
+        return payload.get();
+    }
+
+    /**
+     * Decodes a color from its ordinal byte.
+     * @param value The encoded color.
+     * @return The decoded color, or null for no color.
+     * @throws MalformedMessageException If the ordinal is unknown.
+     */
+    private static Color decodeColor(byte value) throws MalformedMessageException {
+        return value == NO_COLOR ? null : valueOf(Color.values(), value);
+    }
+
+    /**
+     * Decodes the red and yellow player scores.
+     * @param type The message type.
+     * @param payload The payload.
+     * @return The decoded scores, red player first.
+     * @throws MalformedMessageException If the payload is not exactly two integers.
+     */
+    private static int[] decodeScores(MessageType type, ByteBuffer payload) throws MalformedMessageException {
+        checkPayloadLength(type, payload, 2 * Integer.BYTES);
+        return new int[] {payload.getInt(), payload.getInt()};
+    }
+
+    /**
+     * Decodes the resume token of a game session.
+     * @param type The message type.
+     * @param payload The payload.
+     * @return The decoded token.
+     * @throws MalformedMessageException If the payload is not exactly one long integer.
+     */
+    private static long decodeResumeToken(MessageType type, ByteBuffer payload) throws MalformedMessageException {
+        checkPayloadLength(type, payload, Long.BYTES);
+        return payload.getLong();
+    }
+
+    /**
+     * Decodes a chat text from UTF-8 bytes.
+     * @param payload The payload.
+     * @return The decoded text.
+     */
+    private static String decodeText(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks that a payload is empty.
+     * @param type The message type.
+     * @param payload The payload.
+     * @return Always null.
+     * @throws MalformedMessageException If the payload is not empty.
+     */
+    private static Object decodeEmpty(MessageType type, ByteBuffer payload) throws MalformedMessageException {
+        checkPayloadLength(type, payload, 0);
+        return null;
+    }
+
+    /**
+     * Checks that a payload has the expected length.
+     * @param type The message type.
+     * @param payload The payload.
+     * @param expectedLength The expected length in bytes.
+     * @throws MalformedMessageException If the payload length differs.
+     */
+    private static void checkPayloadLength(MessageType type, ByteBuffer payload, int expectedLength) throws MalformedMessageException {
+        if (payload.remaining() != expectedLength) {
+            throw new MalformedMessageException("Invalid payload length for %s: expected %d bytes but was %d."
+                    .formatted(type.getName(), expectedLength, payload.remaining()));
+        }
+    }
+
+    /**
+     * Gets the enum constant with the specified ordinal.
+     * @param values The enum constants.
+     * @param ordinal The ordinal.
+     * @param <E> The enum type.
+     * @return The enum constant.
+     * @throws MalformedMessageException If the ordinal is unknown.
+     */
+    private static <E extends Enum<E>> E valueOf(E[] values, int ordinal) throws MalformedMessageException {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new MalformedMessageException("Unknown ordinal: " + ordinal);
+        }
+        return values[ordinal];
+    }
+}
@@ -0,0 +1,16 @@
+package org.connect4.game.networking.messaging;
+
+import java.io.Serializable;
+
+/**
+ * Enum representing the reasons for which the server rejects a client request.
+ * @author Hassan
+ */
+public enum RejectionReason implements Serializable {
+    RATE_LIMITED,
+    SERVER_FULL,
+    TOO_MANY_GAME_SESSIONS,
+    TOO_MANY_AI_GAME_SESSIONS,
+    ALREADY_IN_GAME_SESSION,
+    UNKNOWN_GAME_SESSION
+}
@@ -18,7 +18,11 @@ public enum ServerMessageType implements MessageType, Serializable {
     GAME_SESSION_ENDED,
     DISCONNECT_COMPLETED,
     OPPONENT_DISCONNECTED,
-    SERVER_STOPPED;
+    SERVER_STOPPED,
+    STATE_DELTA,
+    PING,
+    REQUEST_REJECTED,
+    RESUME_TOKEN;
 
     /**
      * Gets the name of the enum constant.
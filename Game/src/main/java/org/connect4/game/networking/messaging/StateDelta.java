@@ -0,0 +1,172 @@
+package org.connect4.game.networking.messaging;
+
+import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logic.enums.GameStatus;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * A class that represents one change of the game state, sent to a client in a single message.
+ * Deltas are numbered in the order the server produces them, so that a client can apply them in order.
+ * <ul>
+ *     <li>A STARTED delta carries the color assigned to the client, the player scores and the first player.</li>
+ *     <li>An IN_PROGRESS delta carries a move, the color of the player who made it and the next player.</li>
+ *     <li>An OVER delta carries the winner, and the last move unless the game ended without one.</li>
+ * </ul>
+ * Fields that do not apply to a delta are {@link Color#NONE}, 0 or null.
+ * @author Hassan
+ */
+public class StateDelta implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final int sequence;
+    private final GameStatus status;
+    private final Color assignedColor;
+    private final int redPlayerScore;
+    private final int yellowPlayerScore;
+    private final Move move;
+    private final Color movingPlayer;
+    private final Color currentPlayer;
+    private final Color winner;
+
+    /**
+     * Constructs a new state delta.
+     * @param sequence The sequence number of the delta.
+     * @param status The status of the game after the change.
+     * @param assignedColor The color assigned to the client.
+     * @param redPlayerScore The score of the red player.
+     * @param yellowPlayerScore The score of the yellow player.
+     * @param move The move, or null if the change has no move.
+     * @param movingPlayer The color of the player who made the move.
+     * @param currentPlayer The color of the player whose turn it is.
+     * @param winner The color of the winner.
+     */
+    public StateDelta(int sequence, GameStatus status, Color assignedColor, int redPlayerScore, int yellowPlayerScore,
+                      Move move, Color movingPlayer, Color currentPlayer, Color winner) {
+        this.sequence = sequence;
+        this.status = status;
+        this.assignedColor = assignedColor;
+        this.redPlayerScore = redPlayerScore;
+        this.yellowPlayerScore = yellowPlayerScore;
+        this.move = move;
+        this.movingPlayer = movingPlayer;
+        this.currentPlayer = currentPlayer;
+        this.winner = winner;
+    }
+
+    /**
+     * Creates the delta of a game that has started.
+     * @param sequence The sequence number of the delta.
+     * @param assignedColor The color assigned to the client.
+     * @param redPlayerScore The score of the red player.
+     * @param yellowPlayerScore The score of the yellow player.
+     * @param currentPlayer The color of the first player.
+     * @return The state delta.
+     */
+    public static StateDelta started(int sequence, Color assignedColor, int redPlayerScore, int yellowPlayerScore,
+                                     Color currentPlayer) {
+        return new StateDelta(sequence, GameStatus.STARTED, assignedColor, redPlayerScore, yellowPlayerScore,
+                null, Color.NONE, currentPlayer, Color.NONE);
+    }
+
+    /**
+     * Creates the delta of a move after which the game goes on.
+     * @param sequence The sequence number of the delta.
+     * @param move The move.
+     * @param movingPlayer The color of the player who made the move.
+     * @param currentPlayer The color of the next player.
+     * @return The state delta.
+     */
+    public static StateDelta moved(int sequence, Move move, Color movingPlayer, Color currentPlayer) {
+        return new StateDelta(sequence, GameStatus.IN_PROGRESS, Color.NONE, 0, 0,
+                move, movingPlayer, currentPlayer, Color.NONE);
+    }
+
+    /**
+     * Creates the delta of a game that is over.
+     * @param sequence The sequence number of the delta.
+     * @param move The last move, or null if the game ended without a move.
+     * @param movingPlayer The color of the player who made the last move.
+     * @param winner The color of the winner, or {@link Color#NONE} for a draw.
+     * @return The state delta.
+     */
+    public static StateDelta over(int sequence, Move move, Color movingPlayer, Color winner) {
+        return new StateDelta(sequence, GameStatus.OVER, Color.NONE, 0, 0,
+                move, movingPlayer, Color.NONE, winner);
+    }
+
+    /**
+     * Gets the sequence number of this delta.
+     * @return The sequence number.
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the status of the game after the change.
+     * @return The game status.
+     */
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the color assigned to the client.
+     * @return The assigned color.
+     */
+    public Color getAssignedColor() {
+        return assignedColor;
+    }
+
+    /**
+     * Gets the score of the red player.
+     * @return The red player score.
+     */
+    public int getRedPlayerScore() {
+        return redPlayerScore;
+    }
+
+    /**
+     * Gets the score of the yellow player.
+     * @return The yellow player score.
+     */
+    public int getYellowPlayerScore() {
+        return yellowPlayerScore;
+    }
+
+    /**
+     * Gets the move.
+     * @return The move, or null if the change has no move.
+     */
+    public Move getMove() {
+        return move;
+    }
+
+    /**
+     * Gets the color of the player who made the move.
+     * @return The color of the moving player.
+     */
+    public Color getMovingPlayer() {
+        return movingPlayer;
+    }
+
+    /**
+     * Gets the color of the player whose turn it is.
+     * @return The color of the current player.
+     */
+    public Color getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Gets the color of the winner.
+     * @return The color of the winner.
+     */
+    public Color getWinner() {
+        return winner;
+    }
+}
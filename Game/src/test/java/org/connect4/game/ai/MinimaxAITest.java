@@ -1,24 +1,24 @@
 package org.connect4.game.ai;
 
 import org.connect4.game.ai.enums.AIType;
-import org.connect4.game.ai.enums.NodeType;
 import org.connect4.game.ai.strategies.MinimaxAI;
 import org.connect4.game.ai.strategies.MinimaxWithPruningAI;
 import org.connect4.game.ai.strategies.MinimaxWithoutPruningAI;
-import org.connect4.game.ai.utils.Node;
-import org.connect4.game.ai.utils.State;
-import org.connect4.game.logic.core.Board;
+import org.connect4.game.ai.utils.SearchResult;
+import org.connect4.game.ai.utils.SearchStatistics;
+import org.connect4.game.logic.core.BoardSnapshot;
 import org.connect4.game.logic.core.Move;
-import org.connect4.game.logic.enums.Color;
 import org.connect4.game.logic.exceptions.FullColumnException;
 import org.connect4.game.logic.exceptions.InvalidColumnIndexException;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
 
 import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
 import java.util.stream.Stream;
 
 public class MinimaxAITest {
@@ -54,48 +54,92 @@ public class MinimaxAITest {
         testEmptyBoard(aiClass);
         testWinningMove(aiClass);
         testBlockingOpponentMove(aiClass);
+        testBlockingOpponentMoveAsYellow(aiClass);
     }
 
     private void testEmptyBoard(Class<? extends MinimaxAI> aiClass) {
-        Board board = new Board();
-        State state = new State(board, Color.RED);
-        Node node = new Node(state, NodeType.MAX, null);
-        try {
-            ai = aiClass.getConstructor(Node.class, int.class).newInstance(node, depth);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-            throw new RuntimeException(e);
-        }
-        Move move = ai.getNextMove();
+        BoardSnapshot board = BoardSnapshot.EMPTY;
+        ai = createAI(aiClass);
+        Move move = ai.getNextMove(board);
         Assertions.assertTrue(move.isValid(board), "The column index should be within the bounds of the board");
     }
 
     private void testWinningMove(Class<? extends MinimaxAI> aiClass) throws InvalidColumnIndexException, FullColumnException {
-        State state = new State(new Board(), Color.YELLOW);
-        state.getBoard().addPiece(0, Color.RED);
-        state.getBoard().addPiece(1, Color.RED);
-        state.getBoard().addPiece(2, Color.RED);
-        Node node = new Node(state, NodeType.MAX, null);
-        try {
-            ai = aiClass.getConstructor(Node.class, int.class).newInstance(node, depth);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-            throw new RuntimeException(e);
-        }
-        Move move = ai.getNextMove();
+        BoardSnapshot board = play(0, 6, 1, 6, 2, 5);
+        ai = createAI(aiClass);
+        Move move = ai.getNextMove(board);
         Assertions.assertEquals(3, move.getColumn(), "The AI should choose the winning move");
     }
 
     private void testBlockingOpponentMove(Class<? extends MinimaxAI> aiClass) throws InvalidColumnIndexException, FullColumnException {
-        State state = new State(new Board(), Color.YELLOW);
-        state.getBoard().addPiece(0, Color.YELLOW);
-        state.getBoard().addPiece(1, Color.YELLOW);
-        state.getBoard().addPiece(2, Color.YELLOW);
-        Node node = new Node(state, NodeType.MAX, null);
+        BoardSnapshot board = play(6, 0, 6, 1, 5, 2);
+        ai = createAI(aiClass);
+        Move move = ai.getNextMove(board);
+        Assertions.assertEquals(3, move.getColumn(), "The AI should block the opponent's winning move");
+    }
+
+    private void testBlockingOpponentMoveAsYellow(Class<? extends MinimaxAI> aiClass) throws InvalidColumnIndexException, FullColumnException {
+        BoardSnapshot board = play(0, 0, 1, 1, 2);
+        ai = createAI(aiClass);
+        Move move = ai.getNextMove(board);
+        Assertions.assertEquals(3, move.getColumn(), "The AI should block the opponent's winning move when yellow moves");
+    }
+
+    private MinimaxAI createAI(Class<? extends MinimaxAI> aiClass) {
         try {
-            ai = aiClass.getConstructor(Node.class, int.class).newInstance(node, depth);
+            return aiClass.getConstructor(int.class).newInstance(depth);
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
             throw new RuntimeException(e);
         }
-        Move move = ai.getNextMove();
-        Assertions.assertEquals(3, move.getColumn(), "The AI should block the opponent's winning move");
+    }
+
+    private BoardSnapshot play(int... columns) throws InvalidColumnIndexException, FullColumnException {
+        BoardSnapshot board = BoardSnapshot.EMPTY;
+        for (int column : columns) {
+            board = board.play(column, board.getNextColor());
+        }
+        return board;
+    }
+
+    @Test
+    public void testSearchDeadline() {
+        ai = new MinimaxWithoutPruningAI(12, Duration.ofMillis(200));
+
+        Move move = Assertions.assertTimeout(Duration.ofSeconds(5), () -> ai.getNextMove(BoardSnapshot.EMPTY));
+        Assertions.assertNotNull(move, "The AI should return the best move found before the deadline");
+        Assertions.assertTrue(move.isValid(BoardSnapshot.EMPTY));
+    }
+
+    @Test
+    public void testSearchCancellation() {
+        ai = new MinimaxWithPruningAI(12);
+
+        Thread.currentThread().interrupt();
+        Move move = Assertions.assertTimeout(Duration.ofSeconds(5), () -> ai.getNextMove(BoardSnapshot.EMPTY));
+        Assertions.assertTrue(Thread.interrupted());
+        Assertions.assertNull(move, "An interrupted search should not return a move");
+    }
+
+    @Test
+    public void testCancelBeforeSearch() {
+        ai = new MinimaxWithPruningAI(12);
+
+        ai.cancel();
+        Move move = Assertions.assertTimeout(Duration.ofSeconds(5), () -> ai.getNextMove(BoardSnapshot.EMPTY));
+        Assertions.assertNull(move, "A search started after the AI was cancelled should not return a move");
+    }
+
+    @Test
+    public void testSearchStatistics() {
+        ai = new MinimaxWithPruningAI(depth);
+
+        SearchResult result = ai.search(BoardSnapshot.EMPTY);
+        SearchStatistics statistics = result.getStatistics();
+        Assertions.assertNotNull(result.getMove());
+        Assertions.assertTrue(statistics.getNodesVisited() > statistics.getLeavesEvaluated());
+        Assertions.assertTrue(statistics.getLeavesEvaluated() > 0);
+        Assertions.assertTrue(statistics.getCutoffs() > 0, "Alpha-beta pruning should cut off some branches");
+        Assertions.assertEquals(depth, statistics.getMaxDepthReached());
+        Assertions.assertTrue(statistics.getElapsedNanos() > 0);
     }
 }
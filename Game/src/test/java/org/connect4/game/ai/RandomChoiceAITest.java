@@ -3,6 +3,7 @@ package org.connect4.game.ai;
 import org.connect4.game.ai.strategies.AI;
 import org.connect4.game.ai.strategies.RandomChoiceAI;
 import org.connect4.game.logic.core.Board;
+import org.connect4.game.logic.core.BoardSnapshot;
 import org.connect4.game.logic.core.Move;
 import org.connect4.game.logic.enums.Color;
 import org.connect4.game.logic.exceptions.FullColumnException;
@@ -22,7 +23,7 @@ public class RandomChoiceAITest {
     public void setup() {
         board = new Board();
         color = Color.RED;
-        ai = new RandomChoiceAI(board);
+        ai = new RandomChoiceAI();
         nextMove = null;
     }
 
@@ -33,7 +34,7 @@ public class RandomChoiceAITest {
     }
 
     private void testEmptyBoard() {
-        nextMove = ai.getNextMove();
+        nextMove = ai.getNextMove(BoardSnapshot.of(board, Color.YELLOW));
         Assertions.assertTrue(nextMove.isValid(board), "The column index should be within the bounds of the board");
     }
 
@@ -44,7 +45,7 @@ public class RandomChoiceAITest {
                 color = color.opposite();
             }
         }
-        nextMove = ai.getNextMove();
+        nextMove = ai.getNextMove(BoardSnapshot.of(board, Color.YELLOW));
         Assertions.assertEquals(-1, nextMove.getColumn(), "The RandomChoiceAI should return -1 indicating that the Board is full");
     }
 }
@@ -0,0 +1,83 @@
+package org.connect4.game.ai;
+
+import org.connect4.game.ai.enums.ThreatParity;
+import org.connect4.game.ai.threats.ThreatAnalysis;
+import org.connect4.game.ai.threats.ThreatAnalyzer;
+import org.connect4.game.logic.core.Board;
+import org.connect4.game.logic.core.BoardSnapshot;
+import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logic.exceptions.FullColumnException;
+import org.connect4.game.logic.exceptions.InvalidColumnIndexException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ThreatAnalyzerTest {
+    private Board board;
+
+    @BeforeEach
+    public void setup() {
+        board = new Board();
+    }
+
+    @Test
+    public void testEmptyBoard() {
+        ThreatAnalysis analysis = ThreatAnalyzer.analyze(BoardSnapshot.of(board, Color.RED));
+
+        Assertions.assertEquals(0, analysis.countThreats(Color.RED));
+        Assertions.assertEquals(0, analysis.countThreats(Color.YELLOW));
+        Assertions.assertEquals(Color.NONE, analysis.getZugzwangController());
+        Assertions.assertArrayEquals(new int[] {3, 2, 4, 1, 5, 0, 6}, analysis.getOrderedColumns(Color.RED));
+    }
+
+    @Test
+    public void testOddAndEvenThreats() throws InvalidColumnIndexException, FullColumnException {
+        for (int col = 0; col < 3; col++) {
+            board.addPiece(col, Color.RED);
+            board.addPiece(col, Color.YELLOW);
+        }
+        ThreatAnalysis analysis = ThreatAnalyzer.analyze(BoardSnapshot.of(board, Color.RED));
+
+        Assertions.assertTrue(analysis.hasThreatAt(Color.RED, 0, 3));
+        Assertions.assertTrue(analysis.hasThreatAt(Color.YELLOW, 1, 3));
+        Assertions.assertEquals(1, analysis.countThreats(Color.RED, ThreatParity.ODD));
+        Assertions.assertEquals(1, analysis.countThreats(Color.YELLOW, ThreatParity.EVEN));
+        Assertions.assertEquals(1, analysis.countPlayableThreats(Color.RED));
+        Assertions.assertEquals(0, analysis.countPlayableThreats(Color.YELLOW));
+        Assertions.assertEquals(Color.RED, analysis.getZugzwangController());
+    }
+
+    @Test
+    public void testStackedThreats() throws InvalidColumnIndexException, FullColumnException {
+        for (int col = 0; col < 3; col++) {
+            board.addPiece(col, Color.RED);
+            board.addPiece(col, Color.RED);
+        }
+        ThreatAnalysis analysis = ThreatAnalyzer.analyze(BoardSnapshot.of(board, Color.RED));
+
+        Assertions.assertEquals(2, analysis.countThreats(Color.RED));
+        Assertions.assertEquals(1, analysis.countStackedThreats(Color.RED));
+    }
+
+    @Test
+    public void testZugzwangWithoutRedOddThreat() throws InvalidColumnIndexException, FullColumnException {
+        board.addPiece(4, Color.YELLOW);
+        board.addPiece(5, Color.YELLOW);
+        board.addPiece(6, Color.YELLOW);
+        ThreatAnalysis analysis = ThreatAnalyzer.analyze(BoardSnapshot.of(board, Color.RED));
+
+        Assertions.assertEquals(Color.YELLOW, analysis.getZugzwangController());
+    }
+
+    @Test
+    public void testMoveOrdering() throws InvalidColumnIndexException, FullColumnException {
+        board.addPiece(0, Color.YELLOW);
+        board.addPiece(1, Color.YELLOW);
+        board.addPiece(2, Color.YELLOW);
+        ThreatAnalysis analysis = ThreatAnalyzer.analyze(BoardSnapshot.of(board, Color.RED));
+
+        Assertions.assertEquals(3, analysis.getOrderedColumns(Color.YELLOW)[0], "The winning move should be searched first");
+        Assertions.assertEquals(3, analysis.getOrderedColumns(Color.RED)[0], "The blocking move should be searched first");
+    }
+}
@@ -0,0 +1,83 @@
+package org.connect4.game.logging;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+public class SampledLoggerTest {
+    private Logger logger;
+    private List<LogRecord> records;
+
+    @BeforeEach
+    public void setup() {
+        records = new ArrayList<>();
+        logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.ALL);
+        logger.addHandler(new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+    }
+
+    @Test
+    public void testSampling() {
+        SampledLogger sampledLogger = SampledLogger.sampling(logger, 10);
+        for (int i = 0; i < 25; i++) {
+            sampledLogger.fine(() -> "event");
+        }
+
+        Assertions.assertEquals(3, records.size());
+        Assertions.assertEquals("event", records.get(0).getMessage());
+        Assertions.assertEquals("event (9 similar messages suppressed)", records.get(1).getMessage());
+        Assertions.assertEquals(4, sampledLogger.getSuppressed());
+    }
+
+    @Test
+    public void testRateLimit() {
+        SampledLogger sampledLogger = SampledLogger.rateLimited(logger, 5);
+        for (int i = 0; i < 100; i++) {
+            sampledLogger.fine(() -> "event");
+        }
+
+        Assertions.assertEquals(5, records.size());
+        Assertions.assertEquals(95, sampledLogger.getSuppressed());
+    }
+
+    @Test
+    public void testDisabledLevel() {
+        logger.setLevel(Level.INFO);
+        SampledLogger sampledLogger = SampledLogger.sampling(logger, 1);
+        sampledLogger.fine(() -> {
+            throw new AssertionError("The message should not be built for a disabled level");
+        });
+
+        Assertions.assertTrue(records.isEmpty());
+        Assertions.assertEquals(0, sampledLogger.getSuppressed());
+    }
+
+    @Test
+    public void testCallerSource() {
+        SampledLogger.sampling(logger, 1).info(() -> "event");
+
+        Assertions.assertEquals(SampledLoggerTest.class.getName(), records.get(0).getSourceClassName());
+        Assertions.assertEquals("testCallerSource", records.get(0).getSourceMethodName());
+    }
+}
@@ -0,0 +1,111 @@
+package org.connect4.game.logic;
+
+import org.connect4.game.logic.core.Board;
+import org.connect4.game.logic.core.BoardSnapshot;
+import org.connect4.game.logic.core.Game;
+import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.core.Player;
+import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logic.enums.GameType;
+import org.connect4.game.logic.enums.PlayerType;
+import org.connect4.game.logic.exceptions.FullColumnException;
+import org.connect4.game.logic.exceptions.InvalidColumnIndexException;
+import org.connect4.game.logic.utils.WinnerChecker;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class BoardSnapshotTest {
+    @Test
+    public void testPlay() throws InvalidColumnIndexException, FullColumnException {
+        BoardSnapshot empty = BoardSnapshot.EMPTY;
+        BoardSnapshot snapshot = empty.play(3, Color.RED).play(3, Color.YELLOW);
+
+        Assertions.assertEquals(0, empty.getMoveCount(), "Playing a move should leave the snapshot unchanged");
+        Assertions.assertEquals(Color.RED, snapshot.getColorAt(0, 3));
+        Assertions.assertEquals(Color.YELLOW, snapshot.getColorAt(1, 3));
+        Assertions.assertEquals(Color.NONE, snapshot.getColorAt(2, 3));
+        Assertions.assertEquals(2, snapshot.getColumnHeight(3));
+        Assertions.assertEquals(Color.RED, snapshot.getNextColor());
+        Assertions.assertThrows(InvalidColumnIndexException.class, () -> empty.play(Board.COLS, Color.RED));
+
+        for (int i = 2; i < Board.ROWS; i++) {
+            snapshot = snapshot.play(3, Color.RED);
+        }
+        BoardSnapshot fullColumn = snapshot;
+        Assertions.assertTrue(fullColumn.isColumnFull(3));
+        Assertions.assertThrows(FullColumnException.class, () -> fullColumn.play(3, Color.RED));
+    }
+
+    @Test
+    public void testNextColor() throws InvalidColumnIndexException, FullColumnException {
+        BoardSnapshot yellowFirst = BoardSnapshot.of(new Board(), Color.YELLOW);
+
+        Assertions.assertEquals(Color.YELLOW, yellowFirst.getNextColor());
+        Assertions.assertEquals(Color.RED, yellowFirst.play(3, Color.YELLOW).getNextColor());
+        Assertions.assertNotEquals(BoardSnapshot.EMPTY, yellowFirst, "Snapshots with different players to move should differ");
+    }
+
+    @Test
+    public void testDetermineWinner() throws InvalidColumnIndexException, FullColumnException {
+        Assertions.assertEquals(Color.NONE, BoardSnapshot.EMPTY.determineWinner());
+
+        BoardSnapshot vertical = BoardSnapshot.EMPTY;
+        for (int i = 0; i < 4; i++) {
+            vertical = vertical.play(6, Color.YELLOW);
+        }
+        Assertions.assertEquals(Color.YELLOW, vertical.determineWinner());
+
+        // Three pieces at the top of a column and one at the bottom of the next should not wrap around
+        BoardSnapshot wrapped = BoardSnapshot.EMPTY;
+        for (int i = 0; i < Board.ROWS; i++) {
+            wrapped = wrapped.play(0, i < 3 ? Color.YELLOW : Color.RED);
+        }
+        wrapped = wrapped.play(1, Color.RED);
+        Assertions.assertFalse(wrapped.hasWinner());
+    }
+
+    @Test
+    public void testMatchesBoard() throws InvalidColumnIndexException, FullColumnException {
+        Random random = new Random(42);
+        Board board = new Board();
+        WinnerChecker winnerChecker = new WinnerChecker(board);
+        BoardSnapshot snapshot = BoardSnapshot.EMPTY;
+
+        while (!snapshot.isFull()) {
+            int column = random.nextInt(Board.COLS);
+            if (snapshot.isColumnFull(column)) {
+                continue;
+            }
+            Color color = snapshot.getNextColor();
+            board.addPiece(column, color);
+            snapshot = snapshot.play(column, color);
+
+            Assertions.assertEquals(BoardSnapshot.of(board, color.opposite()), snapshot);
+            Assertions.assertEquals(winnerChecker.determineWinner() != Color.NONE, snapshot.hasWinner());
+            Assertions.assertEquals(snapshot, BoardSnapshot.of(snapshot.toBoard(), snapshot.getNextColor()));
+        }
+        Assertions.assertTrue(board.isFull());
+    }
+
+    @Test
+    public void testGameSnapshot() {
+        Board board = new Board();
+        Game game = new Game(board, new Player(Color.RED, PlayerType.HUMAN),
+                new Player(Color.YELLOW, PlayerType.HUMAN), GameType.HUMAN_VS_HUMAN);
+        BoardSnapshot initial = game.getSnapshot();
+
+        game.performCurrentPlayerMove(new Move(2));
+        game.performCurrentPlayerMove(new Move(4));
+        game.performCurrentPlayerMove(new Move(Board.COLS));
+
+        Assertions.assertEquals(BoardSnapshot.EMPTY, initial, "A snapshot should not change with the game");
+        Assertions.assertEquals(BoardSnapshot.of(board, Color.RED), game.getSnapshot());
+        Assertions.assertEquals(2, game.getSnapshot().getMoveCount());
+
+        game.reset();
+        Assertions.assertEquals(BoardSnapshot.EMPTY, game.getSnapshot());
+    }
+}
@@ -0,0 +1,64 @@
+package org.connect4.game.logic;
+
+import org.connect4.game.logic.core.Player;
+import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logic.enums.PlayerType;
+import org.connect4.game.logic.utils.EloRating;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+public class EloRatingTest {
+    private Player redPlayer;
+    private Player yellowPlayer;
+
+    @BeforeEach
+    public void setup() {
+        redPlayer = new Player(Color.RED, PlayerType.HUMAN);
+        yellowPlayer = new Player(Color.YELLOW, PlayerType.HUMAN);
+    }
+
+    @Test
+    public void testExpectedScore() {
+        Assertions.assertEquals(0.5, EloRating.getExpectedScore(1500, 1500), 1e-9);
+        Assertions.assertEquals(1, EloRating.getExpectedScore(1900, 1500) + EloRating.getExpectedScore(1500, 1900), 1e-9);
+        Assertions.assertTrue(EloRating.getExpectedScore(1900, 1500) > 0.9);
+    }
+
+    @Test
+    public void testWinBetweenEqualPlayers() {
+        EloRating.updateRatings(redPlayer, yellowPlayer, Optional.of(redPlayer));
+
+        Assertions.assertEquals(EloRating.INITIAL_RATING + EloRating.K_FACTOR / 2, redPlayer.getRating());
+        Assertions.assertEquals(EloRating.INITIAL_RATING - EloRating.K_FACTOR / 2, yellowPlayer.getRating());
+    }
+
+    @Test
+    public void testUpsetGainsMoreThanExpectedWin() {
+        redPlayer.setRating(1300);
+        yellowPlayer.setRating(1700);
+        EloRating.updateRatings(redPlayer, yellowPlayer, Optional.of(redPlayer));
+        int upsetGain = redPlayer.getRating() - 1300;
+
+        redPlayer.setRating(1700);
+        yellowPlayer.setRating(1300);
+        EloRating.updateRatings(redPlayer, yellowPlayer, Optional.of(redPlayer));
+        int expectedGain = redPlayer.getRating() - 1700;
+
+        Assertions.assertTrue(upsetGain > expectedGain);
+        Assertions.assertEquals(EloRating.K_FACTOR, upsetGain + expectedGain);
+    }
+
+    @Test
+    public void testDrawMovesRatingsTogether() {
+        redPlayer.setRating(1600);
+        yellowPlayer.setRating(1400);
+        EloRating.updateRatings(redPlayer, yellowPlayer, Optional.empty());
+
+        Assertions.assertTrue(redPlayer.getRating() < 1600);
+        Assertions.assertEquals(3000, redPlayer.getRating() + yellowPlayer.getRating());
+    }
+}
@@ -0,0 +1,93 @@
+package org.connect4.game.logic;
+
+import org.connect4.game.logic.core.Board;
+import org.connect4.game.logic.core.Game;
+import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.core.Player;
+import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logic.enums.GameType;
+import org.connect4.game.logic.enums.PlayerType;
+import org.connect4.game.logic.events.GameEvent;
+import org.connect4.game.logic.events.GameListener;
+import org.connect4.game.logic.events.GameReset;
+import org.connect4.game.logic.events.GameWon;
+import org.connect4.game.logic.events.MoveApplied;
+import org.connect4.game.logic.events.TurnChanged;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameEventTest {
+    private Player redPlayer;
+    private Player yellowPlayer;
+    private Game game;
+    private List<GameEvent> events;
+
+    @BeforeEach
+    public void setup() {
+        redPlayer = new Player(Color.RED, PlayerType.HUMAN);
+        yellowPlayer = new Player(Color.YELLOW, PlayerType.HUMAN);
+        game = new Game(new Board(), redPlayer, yellowPlayer, GameType.HUMAN_VS_HUMAN);
+        events = new ArrayList<>();
+        game.addListener(events::add);
+    }
+
+    @Test
+    public void testMoveEvents() {
+        game.performCurrentPlayerMove(new Move(3));
+        game.performCurrentPlayerMove(new Move(3));
+
+        Assertions.assertEquals(4, events.size());
+        MoveApplied moveApplied = Assertions.assertInstanceOf(MoveApplied.class, events.get(2));
+        Assertions.assertEquals(3, moveApplied.move().getColumn());
+        Assertions.assertEquals(Color.YELLOW, moveApplied.color());
+        Assertions.assertEquals(1, moveApplied.row());
+        Assertions.assertEquals(game.getSnapshot(), moveApplied.board());
+        TurnChanged turnChanged = Assertions.assertInstanceOf(TurnChanged.class, events.get(3));
+        Assertions.assertEquals(redPlayer, turnChanged.currentPlayer());
+    }
+
+    @Test
+    public void testGameWon() {
+        for (int column : new int[] {0, 1, 0, 1, 0, 1}) {
+            game.performCurrentPlayerMove(new Move(column));
+        }
+        events.clear();
+        game.performCurrentPlayerMove(new Move(0));
+
+        Assertions.assertEquals(2, events.size());
+        Assertions.assertInstanceOf(MoveApplied.class, events.get(0));
+        GameWon gameWon = Assertions.assertInstanceOf(GameWon.class, events.get(1));
+        Assertions.assertEquals(redPlayer, gameWon.winner());
+        Assertions.assertEquals(0, gameWon.lastMove().getColumn());
+        Assertions.assertTrue(game.isOver());
+        Assertions.assertEquals(redPlayer, game.getWinner().orElse(null));
+
+        game.reset();
+        Assertions.assertInstanceOf(GameReset.class, events.get(2));
+        Assertions.assertFalse(game.isOver());
+        Assertions.assertTrue(game.getWinner().isEmpty());
+    }
+
+    @Test
+    public void testListeners() {
+        GameListener failingListener = event -> {
+            throw new IllegalStateException("Listener failure");
+        };
+        List<GameEvent> removedListenerEvents = new ArrayList<>();
+        GameListener removedListener = removedListenerEvents::add;
+        game.addListener(failingListener);
+        game.addListener(removedListener);
+        game.removeListener(removedListener);
+
+        game.performCurrentPlayerMove(new Move(0));
+
+        Assertions.assertEquals(2, events.size(), "A failing listener should not stop the game or the other listeners");
+        Assertions.assertTrue(removedListenerEvents.isEmpty());
+        Assertions.assertEquals(yellowPlayer, game.getCurrentPlayer());
+    }
+}
@@ -10,6 +10,7 @@ import org.connect4.game.logic.enums.GameType;
 import org.connect4.game.logic.enums.PlayerType;
 import org.connect4.game.logic.exceptions.FullColumnException;
 import org.connect4.game.logic.exceptions.InvalidColumnIndexException;
+import org.connect4.game.logic.utils.EloRating;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,7 +25,7 @@ public class PlayerTest {
     public void setup() {
         board = new Board();
         player = new Player(Color.RED, PlayerType.HUMAN);
-        Player aiPlayer = AIFactory.getAIPlayer(board, AIType.RANDOM_CHOICE_AI);
+        Player aiPlayer = AIFactory.getAIPlayer(AIType.RANDOM_CHOICE_AI);
         game = new Game(board, player, aiPlayer, GameType.HUMAN_VS_COMPUTER);
     }
 
@@ -33,6 +34,7 @@ public class PlayerTest {
         Assertions.assertEquals(PlayerType.HUMAN, player.getPlayerType());
         Assertions.assertEquals(Color.RED, player.getColor());
         Assertions.assertEquals(0, player.getScore());
+        Assertions.assertEquals(EloRating.INITIAL_RATING, player.getRating());
     }
 
     @Test
@@ -42,6 +44,7 @@ public class PlayerTest {
             board.addPiece(1, Color.RED);
             board.addPiece(2, Color.RED);
             board.addPiece(3, Color.RED);
+            game.syncWithBoard();
 
             Assertions.assertTrue(player.isWinner(game));
         } catch (InvalidColumnIndexException | FullColumnException e) {
@@ -23,7 +23,7 @@ public class WinnerCheckerTest {
     public void setup() {
         Board board = new Board();
         Player humanPlayer = new Player(Color.RED, PlayerType.HUMAN);
-        Player aiPlayer = AIFactory.getAIPlayer(board, AIType.RANDOM_CHOICE_AI);
+        Player aiPlayer = AIFactory.getAIPlayer(AIType.RANDOM_CHOICE_AI);
         winnerChecker = new WinnerChecker(board);
         game = new Game(board, humanPlayer, aiPlayer, GameType.HUMAN_VS_COMPUTER);
     }
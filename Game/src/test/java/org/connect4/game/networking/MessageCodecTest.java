@@ -0,0 +1,128 @@
+package org.connect4.game.networking;
+
+import org.connect4.game.ai.enums.AIType;
+import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logic.enums.GameStatus;
+import org.connect4.game.networking.exceptions.MalformedMessageException;
+import org.connect4.game.networking.messaging.ClientMessageType;
+import org.connect4.game.networking.messaging.Message;
+import org.connect4.game.networking.messaging.MessageCodec;
+import org.connect4.game.networking.messaging.RejectionReason;
+import org.connect4.game.networking.messaging.ServerMessageType;
+import org.connect4.game.networking.messaging.StateDelta;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class MessageCodecTest {
+    private Message<?> roundTrip(Message<?> message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MessageCodec.write(new DataOutputStream(bytes), message);
+        return MessageCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    public void testMoveFrameSize() throws MalformedMessageException {
+        byte[] frame = MessageCodec.encode(new Message<>(ClientMessageType.MOVE, new Move(3)));
+
+        Assertions.assertEquals(MessageCodec.LENGTH_FIELD_SIZE + 2, frame.length);
+    }
+
+    @Test
+    public void testClientMessages() throws IOException {
+        Message<?> move = roundTrip(new Message<>(ClientMessageType.MOVE, new Move(6)));
+        Assertions.assertEquals(ClientMessageType.MOVE, move.getType());
+        Assertions.assertEquals(6, ((Move) move.getPayload()).getColumn());
+
+        Message<?> request = roundTrip(new Message<>(ClientMessageType.SINGLE_PLAYER_GAME_REQUEST, AIType.MINIMAX_WITH_PRUNING_AI));
+        Assertions.assertEquals(AIType.MINIMAX_WITH_PRUNING_AI, request.getPayload());
+
+        Message<?> text = roundTrip(new Message<>(ClientMessageType.TEXT, "Hello, مرحبا"));
+        Assertions.assertEquals("Hello, مرحبا", text.getPayload());
+
+        Message<?> hello = roundTrip(new Message<>(ClientMessageType.HELLO, MessageCodec.PROTOCOL_VERSION));
+        Assertions.assertEquals(ClientMessageType.HELLO, hello.getType());
+        Assertions.assertEquals(MessageCodec.PROTOCOL_VERSION, hello.getPayload());
+
+        Message<?> rematch = roundTrip(new Message<>(ClientMessageType.REMATCH_REQUEST, null));
+        Assertions.assertEquals(ClientMessageType.REMATCH_REQUEST, rematch.getType());
+        Assertions.assertNull(rematch.getPayload());
+
+        Message<?> pong = roundTrip(new Message<>(ClientMessageType.PONG, null));
+        Assertions.assertEquals(ClientMessageType.PONG, pong.getType());
+        Assertions.assertNull(pong.getPayload());
+
+        Message<?> resume = roundTrip(new Message<>(ClientMessageType.RESUME_REQUEST, -4242424242424242L));
+        Assertions.assertEquals(ClientMessageType.RESUME_REQUEST, resume.getType());
+        Assertions.assertEquals(-4242424242424242L, resume.getPayload());
+    }
+
+    @Test
+    public void testServerMessages() throws IOException {
+        Message<?> scores = roundTrip(new Message<>(ServerMessageType.PLAYER_SCORES, new int[] {2, 5}));
+        Assertions.assertArrayEquals(new int[] {2, 5}, (int[]) scores.getPayload());
+
+        Message<?> color = roundTrip(new Message<>(ServerMessageType.PLAYER_TURN, Color.YELLOW));
+        Assertions.assertEquals(ServerMessageType.PLAYER_TURN, color.getType());
+        Assertions.assertEquals(Color.YELLOW, color.getPayload());
+
+        Message<?> gameOver = roundTrip(new Message<>(ServerMessageType.GAME_OVER, null));
+        Assertions.assertNull(gameOver.getPayload());
+
+        Message<?> rejected = roundTrip(new Message<>(ServerMessageType.REQUEST_REJECTED, RejectionReason.TOO_MANY_AI_GAME_SESSIONS));
+        Assertions.assertEquals(ServerMessageType.REQUEST_REJECTED, rejected.getType());
+        Assertions.assertEquals(RejectionReason.TOO_MANY_AI_GAME_SESSIONS, rejected.getPayload());
+
+        Message<?> token = roundTrip(new Message<>(ServerMessageType.RESUME_TOKEN, Long.MAX_VALUE));
+        Assertions.assertEquals(ServerMessageType.RESUME_TOKEN, token.getType());
+        Assertions.assertEquals(Long.MAX_VALUE, token.getPayload());
+    }
+
+    @Test
+    public void testStateDeltas() throws IOException {
+        StateDelta started = (StateDelta) roundTrip(new Message<>(ServerMessageType.STATE_DELTA,
+                StateDelta.started(7, Color.YELLOW, 3, 1, Color.RED))).getPayload();
+        Assertions.assertEquals(7, started.getSequence());
+        Assertions.assertEquals(GameStatus.STARTED, started.getStatus());
+        Assertions.assertEquals(Color.YELLOW, started.getAssignedColor());
+        Assertions.assertEquals(3, started.getRedPlayerScore());
+        Assertions.assertEquals(1, started.getYellowPlayerScore());
+        Assertions.assertNull(started.getMove());
+        Assertions.assertEquals(Color.RED, started.getCurrentPlayer());
+
+        StateDelta moved = (StateDelta) roundTrip(new Message<>(ServerMessageType.STATE_DELTA,
+                StateDelta.moved(8, new Move(4), Color.RED, Color.YELLOW))).getPayload();
+        Assertions.assertEquals(GameStatus.IN_PROGRESS, moved.getStatus());
+        Assertions.assertEquals(4, moved.getMove().getColumn());
+        Assertions.assertEquals(Color.RED, moved.getMovingPlayer());
+        Assertions.assertEquals(Color.YELLOW, moved.getCurrentPlayer());
+        Assertions.assertEquals(Color.NONE, moved.getWinner());
+
+        StateDelta over = (StateDelta) roundTrip(new Message<>(ServerMessageType.STATE_DELTA,
+                StateDelta.over(9, null, Color.NONE, Color.YELLOW))).getPayload();
+        Assertions.assertEquals(GameStatus.OVER, over.getStatus());
+        Assertions.assertNull(over.getMove());
+        Assertions.assertEquals(Color.YELLOW, over.getWinner());
+    }
+
+    @Test
+    public void testMalformedFrames() {
+        Assertions.assertThrows(MalformedMessageException.class,
+                () -> MessageCodec.decode(ByteBuffer.wrap(new byte[] {(byte) ClientMessageType.MOVE.ordinal()})));
+        Assertions.assertThrows(MalformedMessageException.class,
+                () -> MessageCodec.decode(ByteBuffer.wrap(new byte[] {(byte) 0x3F})));
+        Assertions.assertThrows(MalformedMessageException.class,
+                () -> MessageCodec.read(new DataInputStream(new ByteArrayInputStream(new byte[] {0x7F, 0, 0, 0}))));
+        Assertions.assertThrows(EOFException.class,
+                () -> MessageCodec.read(new DataInputStream(new ByteArrayInputStream(new byte[] {0, 0, 0, 2, 3}))));
+    }
+}
@@ -22,9 +22,8 @@ public class Server extends Application {
         // Loads the server configurations
         ConfigLoader serverConfig = new ConfigLoader();
         serverConfig.loadProperties();
-        int port = serverConfig.getServerPort();
 
-        ServerManager serverManager = new ServerManager(port);
+        ServerManager serverManager = new ServerManager(serverConfig);
         ServerView serverView = ServerView.getInstance(stage);
         ServerController serverController = new ServerController(serverManager, serverView);
         serverView.setController(serverController);
@@ -0,0 +1,114 @@
+package org.connect4.server.core;
+
+import org.connect4.game.networking.messaging.RejectionReason;
+import org.connect4.server.core.session.GameSessionType;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A class that caps the number of concurrent connections and game sessions on the server.
+ * AI game sessions run CPU-heavy searches, so they have their own cap within the game sessions cap.
+ * Every admission takes a slot that must be released once the connection or the game session ends.
+ * @author Hassan
+ */
+public class AdmissionController {
+    private final int maxConnections;
+    private final int maxGameSessions;
+    private final int maxAiGameSessions;
+    private final AtomicInteger connections;
+    private final AtomicInteger gameSessions;
+    private final AtomicInteger aiGameSessions;
+
+    /**
+     * Constructs a new AdmissionController with the specified caps.
+     * @param maxConnections The maximum number of concurrent connections.
+     * @param maxGameSessions The maximum number of concurrent game sessions.
+     * @param maxAiGameSessions The maximum number of concurrent single-player game sessions.
+     */
+    public AdmissionController(int maxConnections, int maxGameSessions, int maxAiGameSessions) {
+        if (maxConnections < 1 || maxGameSessions < 1 || maxAiGameSessions < 1) {
+            throw new IllegalArgumentException("Admission caps must be positive.");
+        }
+
+        this.maxConnections = maxConnections;
+        this.maxGameSessions = maxGameSessions;
+        this.maxAiGameSessions = maxAiGameSessions;
+        this.connections = new AtomicInteger();
+        this.gameSessions = new AtomicInteger();
+        this.aiGameSessions = new AtomicInteger();
+    }
+
+    /**
+     * Admits a new connection if the connections cap is not reached.
+     * @return true if the connection is admitted, false otherwise.
+     */
+    public boolean tryAdmitConnection() {
+        return tryAcquire(connections, maxConnections);
+    }
+
+    /**
+     * Releases the slot of an admitted connection.
+     */
+    public void releaseConnection() {
+        connections.decrementAndGet();
+    }
+
+    /**
+     * Admits a new game session of the specified type if its caps are not reached.
+     * @param gameSessionType The type of the game session.
+     * @return The reason for rejecting the game session, or empty if it is admitted.
+     */
+    public Optional<RejectionReason> tryAdmitGameSession(GameSessionType gameSessionType) {
+        if (!tryAcquire(gameSessions, maxGameSessions)) {
+            return Optional.of(RejectionReason.TOO_MANY_GAME_SESSIONS);
+        }
+
+        if (gameSessionType == GameSessionType.SINGLE_PLAYER_GAME_SESSION && !tryAcquire(aiGameSessions, maxAiGameSessions)) {
+            gameSessions.decrementAndGet();
+            return Optional.of(RejectionReason.TOO_MANY_AI_GAME_SESSIONS);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Releases the slot of an admitted game session.
+     * @param gameSessionType The type of the game session.
+     */
+    public void releaseGameSession(GameSessionType gameSessionType) {
+        if (gameSessionType == GameSessionType.SINGLE_PLAYER_GAME_SESSION) {
+            aiGameSessions.decrementAndGet();
+        }
+
+        gameSessions.decrementAndGet();
+    }
+
+    /**
+     * Gets a summary of the slots in use.
+     * @return The summary.
+     */
+    @Override
+    public String toString() {
+        return "Admission: connections=%d/%d, game sessions=%d/%d, AI game sessions=%d/%d"
+                .formatted(connections.get(), maxConnections, gameSessions.get(), maxGameSessions, aiGameSessions.get(), maxAiGameSessions);
+    }
+
+    /**
+     * Takes a slot from the specified counter unless it has reached its cap.
+     * @param counter The counter of the slots in use.
+     * @param cap The maximum number of slots.
+     * @return true if a slot was taken, false otherwise.
+     */
+    private static boolean tryAcquire(AtomicInteger counter, int cap) {
+        int count;
+        do {
+            count = counter.get();
+            if (count >= cap) {
+                return false;
+            }
+        } while (!counter.compareAndSet(count, count + 1));
+
+        return true;
+    }
+}
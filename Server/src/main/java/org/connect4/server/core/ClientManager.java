@@ -4,9 +4,8 @@ import org.connect4.server.core.network.ClientConnection;
 import org.connect4.server.logging.ServerLogger;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A class that manages connected and waiting clients for the game server.
@@ -16,14 +15,14 @@ public class ClientManager {
     private static final ServerLogger LOGGER = ServerLogger.getLogger();
 
     private final Set<ClientConnection> connectedClients;
-    private final Set<ClientConnection> waitingClients;
+    private final Matchmaker matchmaker;
 
     /**
      * Constructs a new ClientManager.
      */
     public ClientManager() {
-        this.connectedClients = new ConcurrentSkipListSet<>();
-        this.waitingClients = new ConcurrentSkipListSet<>();
+        this.connectedClients = ConcurrentHashMap.newKeySet();
+        this.matchmaker = new Matchmaker();
     }
 
     /**
@@ -39,7 +38,7 @@ public class ClientManager {
      * @return The list of waiting client connections.
      */
     public Set<ClientConnection> getWaitingClients() {
-        return waitingClients;
+        return matchmaker.getWaitingClients();
     }
 
     /**
@@ -63,52 +62,40 @@ public class ClientManager {
     }
 
     /**
-     * Adds the specified client connection to the waiting list.
+     * Adds the specified client connection to the waiting list, to be paired with an opponent of a close rating.
      * @param clientConnection The client connection to be added to the waiting list.
      */
     public void addClientToWaitingList(ClientConnection clientConnection) {
         if (clientConnection != null && clientConnection.isConnected()) {
-            waitingClients.add(clientConnection);
+            matchmaker.enqueue(clientConnection);
         }
     }
 
     /**
-     * Adds the specified client connection to the waiting list.
-     * @param clientConnections The client connection to be added.
+     * Pairs the clients in the waiting list. Called periodically, by one thread at a time.
+     * @return The matches made.
      */
-    public void addClientsToWaitingList(List<ClientConnection> clientConnections) {
-        for (ClientConnection clientConnection : clientConnections) {
-            addClientToWaitingList(clientConnection);
-        }
+    public List<Matchmaker.Match> matchWaitingClients() {
+        return matchmaker.matchWaitingClients();
     }
 
     /**
-     * Removes the specified client connection from the waiting list.
-     * @param clientConnection The client connection to be removed.
+     * Checks whether the specified client connection is in the waiting list.
+     * @param clientConnection The client connection.
+     * @return true if the client is waiting for an opponent, false otherwise.
      */
-    public void removeClientFromWaitingList(ClientConnection clientConnection) {
-        if (clientConnection != null) {
-            waitingClients.remove(clientConnection);
-        }
+    public boolean isWaiting(ClientConnection clientConnection) {
+        return matchmaker.isWaiting(clientConnection);
     }
 
     /**
-     * Finds a match client for the specified client connection.
-     * @param clientConnection The client connection.
-     * @return The matched client connection.
+     * Removes the specified client connection from the waiting list.
+     * @param clientConnection The client connection to be removed.
      */
-    public Optional<ClientConnection> findMatchedClient(ClientConnection clientConnection) {
-        if (!waitingClients.isEmpty()) {
-            for (ClientConnection nextClientConnection : waitingClients) {
-                if (!clientConnection.equals(nextClientConnection)) {
-                    return Optional.of(nextClientConnection);
-                } else {
-                    System.out.println("Equals: " + clientConnection + " : " + nextClientConnection);
-                }
-            }
+    public void removeClientFromWaitingList(ClientConnection clientConnection) {
+        if (clientConnection != null) {
+            matchmaker.cancel(clientConnection);
         }
-
-        return Optional.empty();
     }
 
     /**
@@ -128,7 +115,7 @@ public class ClientManager {
      */
     public void cleanup() {
         connectedClients.clear();
-        waitingClients.clear();
+        matchmaker.clear();
 
         LOGGER.info("Cleaned up client manager resources.");
     }
@@ -0,0 +1,62 @@
+package org.connect4.server.core;
+
+import org.connect4.server.core.network.ClientConnection;
+import org.connect4.server.core.network.MessageDispatcher;
+import org.connect4.server.logging.ServerLogger;
+
+import java.time.Duration;
+
+/**
+ * A class that keeps client connections alive and reaps the dead ones.
+ * Every run, a client that has been quiet for a heartbeat interval is sent a ping, which a live client answers,
+ * and a client that has been quiet for longer than the idle timeout is closed together with its game session.
+ * This catches half-open connections whose peer vanished without closing the socket.
+ * @author Hassan
+ */
+public class ConnectionReaper implements Runnable {
+    private static final ServerLogger LOGGER = ServerLogger.getLogger();
+
+    private final ClientManager clientManager;
+    private final MessageDispatcher messageDispatcher;
+    private final long heartbeatIntervalNanos;
+    private final long idleTimeoutNanos;
+
+    /**
+     * Constructs a new ConnectionReaper.
+     * @param clientManager The client manager.
+     * @param messageDispatcher The message dispatcher.
+     * @param heartbeatInterval The time after which an idle client is sent a heartbeat.
+     * @param idleTimeout The time after which an idle client is disconnected.
+     */
+    public ConnectionReaper(ClientManager clientManager, MessageDispatcher messageDispatcher,
+                            Duration heartbeatInterval, Duration idleTimeout) {
+        if (heartbeatInterval.isNegative() || heartbeatInterval.isZero() || idleTimeout.compareTo(heartbeatInterval) <= 0) {
+            throw new IllegalArgumentException("The idle timeout must be longer than the positive heartbeat interval.");
+        }
+
+        this.clientManager = clientManager;
+        this.messageDispatcher = messageDispatcher;
+        this.heartbeatIntervalNanos = heartbeatInterval.toNanos();
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * Pings the idle clients and closes the clients idle for too long.
+     */
+    @Override
+    public void run() {
+        for (ClientConnection clientConnection : clientManager.getConnectedClients()) {
+            try {
+                long idleNanos = clientConnection.getIdleNanos();
+                if (idleNanos > idleTimeoutNanos) {
+                    clientConnection.close("Reaping client %s idle for %d seconds.".formatted(
+                            clientConnection.getClientSocket().getRemoteSocketAddress(), Duration.ofNanos(idleNanos).toSeconds()));
+                } else if (idleNanos >= heartbeatIntervalNanos) {
+                    messageDispatcher.sendPing(clientConnection);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.severe("Failed to check client connection: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.connect4.server.core;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A class that creates the executors of the server for the configured thread mode.
+ * In virtual mode every executor starts a new virtual thread per task, so that idle connections
+ * and waiting sessions cost a few kilobytes instead of a platform thread stack.
+ * @author Hassan
+ */
+public class ExecutorFactory {
+    private final ThreadMode threadMode;
+
+    /**
+     * Constructs a new ExecutorFactory for the specified thread mode.
+     * @param threadMode The thread mode.
+     */
+    public ExecutorFactory(ThreadMode threadMode) {
+        this.threadMode = threadMode;
+    }
+
+    /**
+     * Gets the thread mode.
+     * @return The thread mode.
+     */
+    public ThreadMode getThreadMode() {
+        return threadMode;
+    }
+
+    /**
+     * Creates an executor for a single long-running task.
+     * @param name The name prefix of the executor threads.
+     * @return A single-thread executor, or a virtual-thread-per-task executor in virtual mode.
+     */
+    public ExecutorService newSingleThreadExecutor(String name) {
+        if (threadMode == ThreadMode.VIRTUAL) {
+            return newVirtualThreadPerTaskExecutor(name);
+        }
+
+        return Executors.newSingleThreadExecutor(Thread.ofPlatform().name(name + "-", 0).factory());
+    }
+
+    /**
+     * Creates an executor for a fixed number of concurrent long-running tasks.
+     * @param threads The number of threads in platform mode.
+     * @param name The name prefix of the executor threads.
+     * @return A fixed thread pool, or a virtual-thread-per-task executor in virtual mode.
+     */
+    public ExecutorService newFixedThreadPool(int threads, String name) {
+        if (threadMode == ThreadMode.VIRTUAL) {
+            return newVirtualThreadPerTaskExecutor(name);
+        }
+
+        return Executors.newFixedThreadPool(threads, Thread.ofPlatform().name(name + "-", 0).factory());
+    }
+
+    /**
+     * Creates an executor for short-lived tasks.
+     * @param name The name prefix of the executor threads.
+     * @return A cached thread pool, or a virtual-thread-per-task executor in virtual mode.
+     */
+    public ExecutorService newCachedThreadPool(String name) {
+        if (threadMode == ThreadMode.VIRTUAL) {
+            return newVirtualThreadPerTaskExecutor(name);
+        }
+
+        return Executors.newCachedThreadPool(Thread.ofPlatform().name(name + "-", 0).factory());
+    }
+
+    /**
+     * Creates an executor that starts a new named virtual thread for each task.
+     * @param name The name prefix of the virtual threads.
+     * @return The virtual-thread-per-task executor.
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+    }
+}
@@ -1,123 +1,161 @@
 package org.connect4.server.core;
 
+import org.connect4.game.logic.enums.Color;
+import org.connect4.server.core.archive.GameArchive;
+import org.connect4.server.core.journal.GameJournal;
+import org.connect4.server.core.journal.RecoveredSession;
 import org.connect4.server.core.network.ClientConnection;
 import org.connect4.server.core.session.GameSession;
 import org.connect4.server.core.session.GameSessionType;
-import org.connect4.server.core.session.MultiPlayerGameSession;
-import org.connect4.server.core.session.SinglePlayerGameSession;
 import org.connect4.server.logging.ServerLogger;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 
 /**
  * A class that manage both multi-player game sessions, and single-player game sessions.
+ * The running game sessions are kept in a registry indexed by session id and by client,
+ * and run on the shared session loops of the session scheduler.
+ * The sessions are kept in the game journal, and the sessions recovered from it after a restart wait,
+ * indexed by resume token, until their players claim them back or the idle timeout of the sessions elapses.
+ * The finished games of the sessions are kept in the game archive.
  * @author Hassan
  */
 public class GameSessionManager {
     private static final ServerLogger LOGGER = ServerLogger.getLogger();
 
-    private final List<GameSession> multiPlayerGameSessions;
-    private final List<GameSession> singlePlayerGameSessions;
-    private final Map<ClientConnection, GameSession> clientConnectionGameSessionMap;
-    private final ExecutorService sessionService;
+    private final GameSessionRegistry gameSessionRegistry;
+    private final AdmissionController admissionController;
+    private final Duration sessionIdleTimeout;
+    private final GameJournal journal;
+    private final GameArchive archive;
+    private final Map<Long, RecoveredSession> recoveredSessions;
 
     /**
      * Constructs a new GameSessionManager.
+     * @param admissionController The admission controller whose game session slots are released when sessions are removed.
+     * @param sessionIdleTimeout The time a finished game session waits for a rematch request before it expires.
+     * @param journal The game journal the sessions are kept in.
+     * @param archive The game archive the finished games are kept in.
      */
-    public GameSessionManager() {
-        this.multiPlayerGameSessions = new CopyOnWriteArrayList<>();
-        this.singlePlayerGameSessions = new CopyOnWriteArrayList<>();
-        this.clientConnectionGameSessionMap = new ConcurrentHashMap<>();
-        this.sessionService = Executors.newCachedThreadPool();
+    public GameSessionManager(AdmissionController admissionController, Duration sessionIdleTimeout, GameJournal journal,
+                              GameArchive archive) {
+        this.admissionController = admissionController;
+        this.sessionIdleTimeout = sessionIdleTimeout;
+        this.journal = journal;
+        this.archive = archive;
+        this.gameSessionRegistry = new GameSessionRegistry();
+        this.recoveredSessions = new ConcurrentHashMap<>();
     }
 
     /**
-     * Gets the list of multi-player game sessions.
-     * @return The list of multi-player game sessions.
+     * Opens the game archive, so that the finished games are archived from now on.
      */
-    public List<GameSession> getMultiPlayerGameSessions() {
-        return multiPlayerGameSessions;
+    public void openArchive() {
+        try {
+            archive.open();
+        } catch (IOException e) {
+            LOGGER.severe("Failed to open the game archive, finished games will not be archived: " + e.getMessage());
+        }
     }
 
     /**
-     * Gets the list of single-player game sessions.
-     * @return The list of single-player game sessions.
+     * Recovers the game sessions that were running when the server stopped from the game journal.
+     * They are resumed when their players claim them back with their resume tokens.
      */
-    public List<GameSession> getSinglePlayerGameSessions() {
-        return singlePlayerGameSessions;
+    public void recoverGameSessions() {
+        try {
+            for (RecoveredSession recoveredSession : journal.open()) {
+                GameSession.reserveIds(recoveredSession.getId());
+                for (Color color : List.of(Color.RED, Color.YELLOW)) {
+                    long resumeToken = recoveredSession.getResumeToken(color);
+                    if (resumeToken != 0L) {
+                        recoveredSessions.put(resumeToken, recoveredSession);
+                    }
+                }
+                LOGGER.info("Recovered game session: " + recoveredSession);
+            }
+        } catch (IOException e) {
+            LOGGER.severe("Failed to recover the game sessions from the game journal: " + e.getMessage());
+        }
     }
 
     /**
-     * Removes the specified game session.
-     * @param gameSession The game session to be removed.
+     * Gets the recovered game session with the specified resume token.
+     * @param resumeToken The resume token of one of its players.
+     * @return The recovered session, or null if none is waiting with this token.
      */
-    public void removeGameSession(GameSession gameSession) {
-        if (gameSession != null) {
-            if (gameSession.getType() == GameSessionType.MULTI_PLAYER_GAME_SESSION) {
-                removeMultiPlayerGameSession((MultiPlayerGameSession) gameSession);
-            } else if (gameSession.getType() == GameSessionType.SINGLE_PLAYER_GAME_SESSION) {
-                removeSinglePlayerGameSession((SinglePlayerGameSession) gameSession);
-            }
-        }
+    public RecoveredSession getRecoveredSession(long resumeToken) {
+        return recoveredSessions.get(resumeToken);
     }
 
     /**
-     * Adds a multi-player game session.
-     * @param multiPlayerGameSession The multi-player game session to add.
+     * Claims a player of a recovered game session for the specified client. Once every player is claimed,
+     * the recovered session is ended in the journal and handed to the caller, which starts it as a new game session.
+     * @param recoveredSession The recovered session.
+     * @param resumeToken The resume token sent by the client.
+     * @param clientConnection The client connection.
+     * @return true if this claim completed the session, false if it waits for the other player.
      */
-    private void addMultiPlayerGameSession(MultiPlayerGameSession multiPlayerGameSession) {
-        if (multiPlayerGameSession != null) {
-            multiPlayerGameSessions.add(multiPlayerGameSession);
-        }
+    public boolean claimRecoveredSession(RecoveredSession recoveredSession, long resumeToken, ClientConnection clientConnection) {
+        boolean isClaimed = recoveredSession.claim(resumeToken, clientConnection,
+                client -> client.isConnected() && getGameSessionForClient(client) == null);
+
+        return isClaimed && removeRecoveredSession(recoveredSession);
     }
 
     /**
-     * Removes a multi-player game session.
-     * @param multiPlayerGameSession The multi-player game session to remove.
+     * Ends the recovered game sessions that were not claimed back within the idle timeout of the sessions.
+     * @return The clients that claimed their player and were waiting for the other one.
      */
-    private void removeMultiPlayerGameSession(MultiPlayerGameSession multiPlayerGameSession) {
-        if (multiPlayerGameSession != null) {
-            multiPlayerGameSessions.remove(multiPlayerGameSession);
-            removeClientsFromSession(multiPlayerGameSession);
+    public List<ClientConnection> expireRecoveredSessions() {
+        List<ClientConnection> waitingClients = new ArrayList<>();
+        for (RecoveredSession recoveredSession : List.copyOf(recoveredSessions.values())) {
+            if (removeRecoveredSession(recoveredSession)) {
+                LOGGER.info("Recovered game session %d expired: Its players did not resume it.".formatted(recoveredSession.getId()));
+                waitingClients.addAll(recoveredSession.getClients());
+            }
         }
+
+        return waitingClients;
     }
 
     /**
-     * Adds a single-player game session.
-     * @param singlePlayerGameSession The single-player game session to add.
+     * Removes the specified recovered game session, and ends it in the journal.
+     * @param recoveredSession The recovered session.
+     * @return true if the session was removed by this call, false if it was already removed.
      */
-    private void addSinglePlayerGameSession(SinglePlayerGameSession singlePlayerGameSession) {
-        if (singlePlayerGameSession != null) {
-            singlePlayerGameSessions.add(singlePlayerGameSession);
+    private boolean removeRecoveredSession(RecoveredSession recoveredSession) {
+        // The token of the red player, which is always a client, decides which caller removes the session
+        if (!recoveredSessions.remove(recoveredSession.getResumeToken(Color.RED), recoveredSession)) {
+            return false;
         }
+
+        recoveredSessions.remove(recoveredSession.getResumeToken(Color.YELLOW), recoveredSession);
+        journal.appendSessionEnded(recoveredSession.getId());
+        return true;
     }
 
     /**
-     * Removes a single-player game session.
-     * @param singlePlayerGameSession The single-player game session to remove.
+     * Gets the number of running game sessions of the specified type.
+     * @param type The type of the game sessions.
+     * @return The number of running game sessions of this type.
      */
-    private void removeSinglePlayerGameSession(SinglePlayerGameSession singlePlayerGameSession) {
-        if (singlePlayerGameSession != null) {
-            singlePlayerGameSessions.remove(singlePlayerGameSession);
-            removeClientsFromSession(singlePlayerGameSession);
-        }
+    public int getGameSessionCount(GameSessionType type) {
+        return gameSessionRegistry.getCount(type);
     }
 
     /**
-     * Associates a client with a game session.
-     * @param clientConnection The client connection to associate.
-     * @param gameSession The game session to associate the client with.
+     * Gets the game session with the specified id.
+     * @param id The id of the game session.
+     * @return The game session, or null if none is running with this id.
      */
-    public void addClientToGameSession(ClientConnection clientConnection, GameSession gameSession) {
-        if (clientConnection != null && gameSession != null) {
-            clientConnectionGameSessionMap.put(clientConnection, gameSession);
-        }
+    public GameSession getGameSession(long id) {
+        return gameSessionRegistry.get(id);
     }
 
     /**
@@ -126,101 +164,98 @@ public class GameSessionManager {
      * @return The associated game session, or null if none exists.
      */
     public GameSession getGameSessionForClient(ClientConnection clientConnection) {
-        return clientConnectionGameSessionMap.get(clientConnection);
+        return gameSessionRegistry.getForClient(clientConnection);
     }
 
     /**
-     * Associates a client with a game session.
-     * @param clientConnections The list of client connections to associate.
-     * @param gameSession The game session to associate the list of clients with.
+     * Removes the specified game session, and releases its admission slot.
+     * @param gameSession The game session to be removed.
      */
-    public void addClientsToGameSession(List<ClientConnection> clientConnections, GameSession gameSession) {
-        if (clientConnections != null && gameSession != null) {
-            clientConnections.forEach(clientConnection -> addClientToGameSession(clientConnection, gameSession));
+    public void removeGameSession(GameSession gameSession) {
+        if (gameSession != null && gameSessionRegistry.unregister(gameSession)) {
+            admissionController.releaseGameSession(gameSession.getType());
+            journal.appendSessionEnded(gameSession.getId());
         }
     }
 
-    /**
-     * Removes all clients associated with a game session when the session is removed.
-     * @param gameSession The game session.
-     */
-    private void removeClientsFromSession(GameSession gameSession) {
-        clientConnectionGameSessionMap.entrySet()
-                .removeIf(entry -> entry.getValue().equals(gameSession));
-    }
-
     /**
      * Starts the specified game session.
      * @param gameSession The game session to be started.
      */
     public void startGameSession(GameSession gameSession) {
         if (gameSession != null) {
-            if (gameSession.getType() == GameSessionType.MULTI_PLAYER_GAME_SESSION) {
-                startMultiPlayerGameSession((MultiPlayerGameSession) gameSession);
-            } else if (gameSession.getType() == GameSessionType.SINGLE_PLAYER_GAME_SESSION) {
-                startSinglePlayerGameSession((SinglePlayerGameSession) gameSession);
+            gameSessionRegistry.register(gameSession);
+            gameSession.setExpiry(sessionIdleTimeout, () -> expireGameSession(gameSession));
+            if (journal.isEnabled()) {
+                gameSession.setJournal(journal);
             }
-
-            sessionService.submit(gameSession);
+            if (archive.isEnabled()) {
+                gameSession.setArchive(archive);
+            }
+            gameSession.start();
         }
     }
 
     /**
-     * Starts the specified multi-player game session.
-     * @param multiPlayerGameSession The multi-player game session to be started.
+     * Records the rematch request of the specified client on the session loop, and restarts the game session
+     * once every player has requested the rematch. The game session is ended if the other players do not request it in time.
+     * @param gameSession The game session.
+     * @param clientConnection The client connection that requested the rematch.
      */
-    private void startMultiPlayerGameSession(MultiPlayerGameSession multiPlayerGameSession) {
-        if (multiPlayerGameSession != null) {
-            addMultiPlayerGameSession(multiPlayerGameSession);
-            addClientsToGameSession(multiPlayerGameSession.getClients(), multiPlayerGameSession);
+    public void requestRematch(GameSession gameSession, ClientConnection clientConnection) {
+        if (gameSession != null) {
+            gameSession.execute(() -> {
+                if (gameSession.voteRematch(clientConnection)) {
+                    restartGameSession(gameSession);
+                }
+            });
         }
     }
 
     /**
-     * Starts the specified single-player game session.
-     * @param singlePlayerGameSession The single-player game session to be started.
+     * Restarts the specified game session. The session keeps its id and stays registered.
+     * It must be called on the session loop.
+     * @param gameSession The game session to be restarted.
      */
-    private void startSinglePlayerGameSession(SinglePlayerGameSession singlePlayerGameSession) {
-        if (singlePlayerGameSession != null) {
-            addSinglePlayerGameSession(singlePlayerGameSession);
-            addClientsToGameSession(singlePlayerGameSession.getClients(), singlePlayerGameSession);
-        }
+    private void restartGameSession(GameSession gameSession) {
+        gameSession.reset();
+        gameSession.start();
     }
 
     /**
-     * Restarts the specified game session.
-     * @param gameSession The game session to be restarted.
+     * Ends the specified game session, when its players did not request a rematch in time after a game.
+     * @param gameSession The game session.
      */
-    public void restartGameSession(GameSession gameSession) {
-        if (gameSession != null) {
-            gameSession.reset();
-            addClientsToGameSession(gameSession.getClients(), gameSession);
-            sessionService.submit(gameSession);
-        }
+    private void expireGameSession(GameSession gameSession) {
+        LOGGER.info("Game session %d expired: One or both players did not request a rematch.".formatted(gameSession.getId()));
+
+        gameSession.getMessageDispatcher().broadcastGameSessionEnded(gameSession.getClients());
+        removeGameSession(gameSession);
     }
 
     /**
-     * Shutdown this game session manager.
+     * Closes the game journal, so that the game sessions still running are recovered when the server restarts,
+     * instead of being ended in the journal as they shut down.
      */
-    public void shutdown() {
-        try {
-            LOGGER.info("Shutting down GameSessionManager...");
+    public void closeJournal() {
+        journal.close();
+    }
 
-            for (GameSession session : multiPlayerGameSessions) {
-                session.shutdown();
-            }
+    /**
+     * Closes the game archive once the finished games queued so far are written.
+     */
+    public void closeArchive() {
+        archive.close();
+    }
 
-            for (GameSession session : singlePlayerGameSessions) {
-                session.shutdown();
-            }
+    /**
+     * Shutdown this game session manager.
+     */
+    public void shutdown() {
+        LOGGER.info("Shutting down GameSessionManager...");
 
-            sessionService.shutdown();
-            if (!sessionService.awaitTermination(5, TimeUnit.SECONDS)) {
-                sessionService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            LOGGER.severe("Failed to shutdown GameSessionManager: " + e.getMessage());
-            Thread.currentThread().interrupt();
+        for (GameSession session : gameSessionRegistry.getSessions()) {
+            session.shutdown();
         }
     }
 
@@ -228,9 +263,7 @@ public class GameSessionManager {
      * Cleans up the resources.
      */
     public void cleanup() {
-        multiPlayerGameSessions.clear();
-        singlePlayerGameSessions.clear();
-        clientConnectionGameSessionMap.clear();
+        gameSessionRegistry.clear();
 
         LOGGER.info("Cleaned up game session manager resources.");
     }
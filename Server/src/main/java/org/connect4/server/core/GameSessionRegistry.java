@@ -0,0 +1,116 @@
+package org.connect4.server.core;
+
+import org.connect4.server.core.network.ClientConnection;
+import org.connect4.server.core.session.GameSession;
+import org.connect4.server.core.session.GameSessionType;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A class that indexes the running game sessions by id and by client.
+ * Sessions are found by id, and the session of a client is found by the client, so registering or
+ * unregistering a session costs a constant number of map operations, whatever the number of sessions.
+ * The clients of a session are indexed from the session itself, which keeps its own client list.
+ * @author Hassan
+ */
+public class GameSessionRegistry {
+    private final Map<Long, GameSession> sessionsById;
+    private final Map<ClientConnection, GameSession> sessionsByClient;
+    private final Map<GameSessionType, AtomicInteger> sessionCounts;
+
+    /**
+     * Constructs a new empty GameSessionRegistry.
+     */
+    public GameSessionRegistry() {
+        this.sessionsById = new ConcurrentHashMap<>();
+        this.sessionsByClient = new ConcurrentHashMap<>();
+        this.sessionCounts = new EnumMap<>(GameSessionType.class);
+        for (GameSessionType type : GameSessionType.values()) {
+            sessionCounts.put(type, new AtomicInteger());
+        }
+    }
+
+    /**
+     * Registers the specified game session and indexes its clients.
+     * @param gameSession The game session to register.
+     * @return true if the game session was registered, false if it was already registered.
+     */
+    public boolean register(GameSession gameSession) {
+        if (sessionsById.putIfAbsent(gameSession.getId(), gameSession) != null) {
+            return false;
+        }
+
+        for (ClientConnection clientConnection : gameSession.getClients()) {
+            sessionsByClient.put(clientConnection, gameSession);
+        }
+        sessionCounts.get(gameSession.getType()).incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Unregisters the specified game session and removes the index of its clients.
+     * A client that has already moved to another session keeps its index to that session.
+     * @param gameSession The game session to unregister.
+     * @return true if the game session was unregistered, false if it was not registered.
+     */
+    public boolean unregister(GameSession gameSession) {
+        if (!sessionsById.remove(gameSession.getId(), gameSession)) {
+            return false;
+        }
+
+        for (ClientConnection clientConnection : gameSession.getClients()) {
+            sessionsByClient.remove(clientConnection, gameSession);
+        }
+        sessionCounts.get(gameSession.getType()).decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Gets the game session with the specified id.
+     * @param id The id of the game session.
+     * @return The game session, or null if none is registered with this id.
+     */
+    public GameSession get(long id) {
+        return sessionsById.get(id);
+    }
+
+    /**
+     * Gets the game session of the specified client.
+     * @param clientConnection The client connection.
+     * @return The game session of the client, or null if the client is not in a game session.
+     */
+    public GameSession getForClient(ClientConnection clientConnection) {
+        return sessionsByClient.get(clientConnection);
+    }
+
+    /**
+     * Gets the number of registered game sessions of the specified type.
+     * @param type The type of the game sessions.
+     * @return The number of registered game sessions of this type.
+     */
+    public int getCount(GameSessionType type) {
+        return sessionCounts.get(type).get();
+    }
+
+    /**
+     * Gets a view of the registered game sessions.
+     * @return An unmodifiable view of the registered game sessions.
+     */
+    public Collection<GameSession> getSessions() {
+        return Collections.unmodifiableCollection(sessionsById.values());
+    }
+
+    /**
+     * Removes every game session and client from this registry.
+     */
+    public void clear() {
+        sessionsById.clear();
+        sessionsByClient.clear();
+        sessionCounts.values().forEach(count -> count.set(0));
+    }
+}
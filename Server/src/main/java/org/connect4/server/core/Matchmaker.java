@@ -0,0 +1,365 @@
+package org.connect4.server.core;
+
+import org.connect4.server.core.network.ClientConnection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A class that pairs the clients waiting for an opponent with opponents of a close rating.
+ * Enqueueing and cancelling are O(1) and never block. The pairing runs in batches on a periodic tick:
+ * the waiting clients are indexed into rating buckets, and each client, oldest first, is paired with the closest
+ * opponent within its rating window. The window widens the longer a client waits, so that every client is paired eventually.
+ * Finding an opponent visits only the buckets within the window, so its cost grows logarithmically with the waiting pool.
+ * Every ticket is claimed with a CAS, so a client is never paired twice, and a cancelled client is never paired.
+ * The connection of both clients is checked before they are paired, so a client that has dropped is never paired either.
+ * @author Hassan
+ */
+public class Matchmaker {
+    private static final int BUCKET_WIDTH = 25;
+    private static final int INITIAL_RATING_WINDOW = 100;
+    private static final int RATING_WINDOW_GROWTH_PER_SECOND = 25;
+    private static final int MAX_RATING_WINDOW = 1000;
+
+    private final Queue<Ticket> arrivals;
+    private final Map<ClientConnection, Ticket> waitingTickets;
+
+    // Only accessed by the matchmaking tick
+    private final NavigableMap<Integer, Set<Ticket>> ratingBuckets;
+    private final Deque<Ticket> waitingOrder;
+
+    /**
+     * Constructs a new Matchmaker with no waiting clients.
+     */
+    public Matchmaker() {
+        this.arrivals = new ConcurrentLinkedQueue<>();
+        this.waitingTickets = new ConcurrentHashMap<>();
+        this.ratingBuckets = new TreeMap<>();
+        this.waitingOrder = new ArrayDeque<>();
+    }
+
+    /**
+     * Gets the clients waiting for an opponent.
+     * @return The unmodifiable set of waiting clients.
+     */
+    public Set<ClientConnection> getWaitingClients() {
+        return Collections.unmodifiableSet(waitingTickets.keySet());
+    }
+
+    /**
+     * Checks whether the specified client is waiting for an opponent.
+     * @param clientConnection The client connection.
+     * @return true if the client is waiting, false otherwise.
+     */
+    public boolean isWaiting(ClientConnection clientConnection) {
+        return waitingTickets.containsKey(clientConnection);
+    }
+
+    /**
+     * Adds the specified client with its current rating to the waiting clients, unless it is already waiting.
+     * The client is paired by a later tick.
+     * @param clientConnection The client connection asking for an opponent.
+     */
+    public void enqueue(ClientConnection clientConnection) {
+        Ticket ticket = new Ticket(clientConnection, clientConnection.getRating(), System.nanoTime());
+        if (waitingTickets.putIfAbsent(clientConnection, ticket) == null) {
+            arrivals.add(ticket);
+        }
+    }
+
+    /**
+     * Removes the specified client from the waiting clients.
+     * @param clientConnection The client connection.
+     * @return true if the client was waiting and will not be paired, false if it was not waiting or is already paired.
+     */
+    public boolean cancel(ClientConnection clientConnection) {
+        Ticket ticket = waitingTickets.remove(clientConnection);
+        return ticket != null && ticket.cancel();
+    }
+
+    /**
+     * Pairs the waiting clients. Called periodically, by one thread at a time.
+     * @return The matches made.
+     */
+    public List<Match> matchWaitingClients() {
+        indexArrivals();
+
+        List<Match> matches = new ArrayList<>();
+        long now = System.nanoTime();
+        Iterator<Ticket> iterator = waitingOrder.iterator();
+        while (iterator.hasNext()) {
+            Ticket ticket = iterator.next();
+            if (!ticket.isWaiting() || !ticket.clientConnection.isConnected()) {
+                // A ticket matched earlier in this tick, cancelled, or left behind by a disconnected client
+                discard(ticket);
+                iterator.remove();
+                continue;
+            }
+
+            Ticket opponentTicket = findOpponent(ticket, getRatingWindow(ticket, now));
+            if (opponentTicket != null && pair(opponentTicket, ticket)) {
+                iterator.remove();
+                matches.add(new Match(ticket.clientConnection, opponentTicket.clientConnection));
+            }
+        }
+
+        return matches;
+    }
+
+    /**
+     * Removes all the clients from the waiting clients.
+     */
+    public void clear() {
+        waitingTickets.keySet().forEach(this::cancel);
+        arrivals.clear();
+        ratingBuckets.clear();
+        waitingOrder.clear();
+    }
+
+    /**
+     * Moves the tickets that arrived since the last tick into the rating buckets.
+     */
+    private void indexArrivals() {
+        Ticket ticket;
+        while ((ticket = arrivals.poll()) != null) {
+            ratingBuckets.computeIfAbsent(getBucket(ticket.rating), bucket -> new LinkedHashSet<>()).add(ticket);
+            waitingOrder.add(ticket);
+        }
+    }
+
+    /**
+     * Finds the waiting opponent with the closest rating within the specified window.
+     * Within a bucket, the opponent that waited longest is considered.
+     * @param ticket The ticket of the client looking for an opponent.
+     * @param ratingWindow The largest accepted rating difference.
+     * @return The opponent ticket, or null if no opponent is within the window.
+     */
+    private Ticket findOpponent(Ticket ticket, int ratingWindow) {
+        Ticket opponentTicket = null;
+        int opponentDistance = Integer.MAX_VALUE;
+        NavigableMap<Integer, Set<Ticket>> bucketsInWindow = ratingBuckets.subMap(
+                getBucket(ticket.rating - ratingWindow), true, getBucket(ticket.rating + ratingWindow), true);
+
+        for (Set<Ticket> bucket : bucketsInWindow.values()) {
+            Ticket candidateTicket = getOldestCandidate(bucket, ticket);
+            if (candidateTicket != null) {
+                int distance = Math.abs(candidateTicket.rating - ticket.rating);
+                if (distance <= ratingWindow && distance < opponentDistance) {
+                    opponentTicket = candidateTicket;
+                    opponentDistance = distance;
+                }
+            }
+        }
+
+        return opponentTicket;
+    }
+
+    /**
+     * Gets the oldest waiting ticket of the specified bucket other than the specified ticket.
+     * Tickets that are no longer waiting, or whose client has disconnected, are dropped from the bucket on the way.
+     * @param bucket The rating bucket.
+     * @param ticket The ticket of the client looking for an opponent.
+     * @return The oldest candidate ticket, or null if the bucket has none.
+     */
+    private Ticket getOldestCandidate(Set<Ticket> bucket, Ticket ticket) {
+        Iterator<Ticket> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Ticket candidateTicket = iterator.next();
+            if (candidateTicket.isWaiting() && !candidateTicket.clientConnection.isConnected()
+                    && waitingTickets.remove(candidateTicket.clientConnection, candidateTicket)) {
+                // Left behind by a client that disconnected, it is discarded from the waiting order by a later tick
+                candidateTicket.cancel();
+            }
+
+            if (!candidateTicket.isWaiting()) {
+                iterator.remove();
+            } else if (candidateTicket != ticket) {
+                return candidateTicket;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Pairs the specified tickets, unless one of them has been cancelled in the meantime.
+     * @param opponentTicket The ticket of the opponent.
+     * @param ticket The ticket of the client looking for an opponent.
+     * @return true if the tickets were paired, false otherwise.
+     */
+    private boolean pair(Ticket opponentTicket, Ticket ticket) {
+        if (!opponentTicket.tryClaim()) {
+            return false;
+        }
+
+        if (!ticket.tryMatch()) {
+            opponentTicket.release();
+            return false;
+        }
+
+        opponentTicket.completeMatch();
+        removeFromBucket(opponentTicket);
+        removeFromBucket(ticket);
+        waitingTickets.remove(opponentTicket.clientConnection, opponentTicket);
+        waitingTickets.remove(ticket.clientConnection, ticket);
+        return true;
+    }
+
+    /**
+     * Removes the specified ticket, which is no longer waiting, from the waiting clients.
+     * @param ticket The ticket.
+     */
+    private void discard(Ticket ticket) {
+        if (waitingTickets.remove(ticket.clientConnection, ticket)) {
+            ticket.cancel();
+        }
+
+        removeFromBucket(ticket);
+    }
+
+    /**
+     * Removes the specified ticket from its rating bucket, and the bucket if it is left empty.
+     * @param ticket The ticket.
+     */
+    private void removeFromBucket(Ticket ticket) {
+        int bucketKey = getBucket(ticket.rating);
+        Set<Ticket> bucket = ratingBuckets.get(bucketKey);
+        if (bucket != null && bucket.remove(ticket) && bucket.isEmpty()) {
+            ratingBuckets.remove(bucketKey);
+        }
+    }
+
+    /**
+     * Gets the rating window of the specified ticket, which widens with the time the client has waited.
+     * @param ticket The ticket.
+     * @param now The current time in nanoseconds.
+     * @return The largest accepted rating difference.
+     */
+    private static int getRatingWindow(Ticket ticket, long now) {
+        long waitedSeconds = TimeUnit.NANOSECONDS.toSeconds(now - ticket.enqueuedNanos);
+        return (int) Math.min(MAX_RATING_WINDOW, INITIAL_RATING_WINDOW + waitedSeconds * RATING_WINDOW_GROWTH_PER_SECOND);
+    }
+
+    /**
+     * Gets the bucket of the specified rating.
+     * @param rating The rating.
+     * @return The bucket key.
+     */
+    private static int getBucket(int rating) {
+        return Math.floorDiv(rating, BUCKET_WIDTH);
+    }
+
+    /**
+     * Two clients paired for a multi-player game.
+     * @param firstClient The client that waited longer.
+     * @param secondClient The other client.
+     */
+    public record Match(ClientConnection firstClient, ClientConnection secondClient) {
+    }
+
+    /**
+     * The states of a ticket of a waiting client.
+     */
+    private enum TicketState {
+        WAITING,
+        CLAIMED,
+        MATCHED,
+        CANCELLED
+    }
+
+    /**
+     * The place of a waiting client, with the rating it was enqueued with.
+     */
+    private static final class Ticket {
+        private final ClientConnection clientConnection;
+        private final int rating;
+        private final long enqueuedNanos;
+        private final AtomicReference<TicketState> state;
+
+        /**
+         * Constructs a waiting ticket for the specified client.
+         * @param clientConnection The client connection.
+         * @param rating The rating of the client.
+         * @param enqueuedNanos The time the client was enqueued, in nanoseconds.
+         */
+        private Ticket(ClientConnection clientConnection, int rating, long enqueuedNanos) {
+            this.clientConnection = clientConnection;
+            this.rating = rating;
+            this.enqueuedNanos = enqueuedNanos;
+            this.state = new AtomicReference<>(TicketState.WAITING);
+        }
+
+        /**
+         * Checks whether this ticket is still waiting.
+         * @return true if the ticket is waiting, false otherwise.
+         */
+        private boolean isWaiting() {
+            return state.get() == TicketState.WAITING;
+        }
+
+        /**
+         * Claims this waiting ticket while its opponent is being matched.
+         * @return true if the ticket was claimed, false if it was cancelled.
+         */
+        private boolean tryClaim() {
+            return state.compareAndSet(TicketState.WAITING, TicketState.CLAIMED);
+        }
+
+        /**
+         * Releases this claimed ticket because its opponent could not be matched.
+         */
+        private void release() {
+            state.set(TicketState.WAITING);
+        }
+
+        /**
+         * Matches this claimed ticket.
+         */
+        private void completeMatch() {
+            state.set(TicketState.MATCHED);
+        }
+
+        /**
+         * Matches this waiting ticket.
+         * @return true if the ticket was matched, false if it was cancelled.
+         */
+        private boolean tryMatch() {
+            return state.compareAndSet(TicketState.WAITING, TicketState.MATCHED);
+        }
+
+        /**
+         * Cancels this ticket unless it is matched. A claimed ticket is settled within a few instructions, so it is waited for.
+         * @return true if the ticket was cancelled, false if it was matched.
+         */
+        private boolean cancel() {
+            while (true) {
+                TicketState currentState = state.get();
+                switch (currentState) {
+                    case WAITING -> {
+                        if (state.compareAndSet(TicketState.WAITING, TicketState.CANCELLED)) {
+                            return true;
+                        }
+                    }
+                    case CLAIMED -> Thread.onSpinWait();
+                    default -> {
+                        return false;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.connect4.server.core;
+
+import org.connect4.game.ai.utils.SearchStatistics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A class that aggregates the statistics of all AI searches running on the server.
+ * @author Hassan
+ */
+public class SearchStatisticsAggregator {
+    private final LongAdder searches;
+    private final LongAdder nodesVisited;
+    private final LongAdder leavesEvaluated;
+    private final LongAdder cutoffs;
+    private final LongAdder elapsedNanos;
+    private final AtomicInteger maxDepthReached;
+
+    /**
+     * Constructs a new SearchStatisticsAggregator.
+     */
+    public SearchStatisticsAggregator() {
+        this.searches = new LongAdder();
+        this.nodesVisited = new LongAdder();
+        this.leavesEvaluated = new LongAdder();
+        this.cutoffs = new LongAdder();
+        this.elapsedNanos = new LongAdder();
+        this.maxDepthReached = new AtomicInteger();
+    }
+
+    /**
+     * Records the statistics of a finished search.
+     * @param statistics The search statistics.
+     */
+    public void record(SearchStatistics statistics) {
+        if (statistics != null) {
+            searches.increment();
+            nodesVisited.add(statistics.getNodesVisited());
+            leavesEvaluated.add(statistics.getLeavesEvaluated());
+            cutoffs.add(statistics.getCutoffs());
+            elapsedNanos.add(statistics.getElapsedNanos());
+            maxDepthReached.accumulateAndGet(statistics.getMaxDepthReached(), Math::max);
+        }
+    }
+
+    /**
+     * Gets the number of recorded searches.
+     * @return The number of searches.
+     */
+    public long getSearches() {
+        return searches.sum();
+    }
+
+    /**
+     * Gets the total number of visited nodes.
+     * @return The number of visited nodes.
+     */
+    public long getNodesVisited() {
+        return nodesVisited.sum();
+    }
+
+    /**
+     * Gets the total number of evaluated leaf nodes.
+     * @return The number of evaluated leaves.
+     */
+    public long getLeavesEvaluated() {
+        return leavesEvaluated.sum();
+    }
+
+    /**
+     * Gets the total number of beta cutoffs.
+     * @return The number of cutoffs.
+     */
+    public long getCutoffs() {
+        return cutoffs.sum();
+    }
+
+    /**
+     * Gets the deepest ply reached by any search.
+     * @return The maximum depth reached.
+     */
+    public int getMaxDepthReached() {
+        return maxDepthReached.get();
+    }
+
+    /**
+     * Gets the average search speed.
+     * @return The number of visited nodes per second of search time.
+     */
+    public long getNodesPerSecond() {
+        long nanos = elapsedNanos.sum();
+        return nanos > 0 ? nodesVisited.sum() * TimeUnit.SECONDS.toNanos(1) / nanos : 0;
+    }
+
+    /**
+     * Gets a string representation of the aggregated statistics.
+     * @return The string representation.
+     */
+    @Override
+    public String toString() {
+        return "AI searches: %d, nodes: %d, leaves: %d, cutoffs: %d, max depth: %d, nodes/sec: %d"
+                .formatted(getSearches(), getNodesVisited(), getLeavesEvaluated(), getCutoffs(),
+                        getMaxDepthReached(), getNodesPerSecond());
+    }
+}
@@ -1,13 +1,29 @@
 package org.connect4.server.core;
 
+import org.connect4.game.networking.messaging.RejectionReason;
+import org.connect4.server.core.archive.GameArchive;
+import org.connect4.server.core.journal.GameJournal;
 import org.connect4.server.core.network.ClientConnection;
+import org.connect4.server.core.network.ConnectionAcceptor;
 import org.connect4.server.core.network.MessageDispatcher;
+import org.connect4.server.core.network.SelectorAcceptor;
+import org.connect4.server.core.network.SocketAcceptor;
+import org.connect4.server.core.network.TransportType;
+import org.connect4.server.core.session.GameSession;
+import org.connect4.server.core.session.GameSessionType;
+import org.connect4.server.core.session.MultiPlayerGameSession;
 import org.connect4.server.exceptions.ServerStartFailureException;
 import org.connect4.server.logging.ServerLogger;
+import org.connect4.server.utils.ConfigLoader;
+import org.connect4.server.utils.HashedWheelTimer;
 
 import java.io.IOException;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -16,24 +32,66 @@ import java.util.concurrent.atomic.AtomicBoolean;
  */
 public class ServerManager implements Runnable {
     private static final ServerLogger LOGGER = ServerLogger.getLogger();
+    private static final Duration TIMING_WHEEL_TICK = Duration.ofMillis(100);
+    private static final int TIMING_WHEEL_SIZE = 512;
 
     private final int port;
+    private final TransportType transportType;
+    private final int eventLoopCount;
+    private final Duration turnTimeout;
+    private final Duration aiMoveDelay;
+    private final Duration handshakeTimeout;
+    private final ScheduledExecutorService serverTimer;
+    private final HashedWheelTimer timingWheel;
+    private final ConnectionReaper connectionReaper;
+    private final Duration heartbeatInterval;
+    private final Duration matchmakingInterval;
+    private final Duration sessionIdleTimeout;
+    private final ExecutorFactory executorFactory;
+    private final ExecutorService messageHandlerExecutor;
+    private final SessionScheduler sessionScheduler;
+    private final AdmissionController admissionController;
     private final ClientManager clientManager;
     private final GameSessionManager gameSessionManager;
     private final MessageDispatcher messageDispatcher;
+    private final SearchStatisticsAggregator searchStatistics;
     private final AtomicBoolean running;
 
-    private ServerSocket serverSocket;
+    private ConnectionAcceptor connectionAcceptor;
 
     /**
-     * Constructs a new ServerManager with the specified port number.
-     * @param port The port number to bind the server to.
+     * Constructs a new ServerManager with the specified configurations.
+     * @param config The server configurations.
      */
-    public ServerManager(int port) {
-        this.port = port;
+    public ServerManager(ConfigLoader config) {
+        this.port = config.getServerPort();
+        this.transportType = config.getTransportType();
+        this.eventLoopCount = config.getEventLoopCount();
+        this.turnTimeout = config.getTurnTimeout();
+        this.aiMoveDelay = config.getAiMoveDelay();
+        this.handshakeTimeout = config.getHandshakeTimeout();
+        this.heartbeatInterval = config.getHeartbeatInterval();
+        this.matchmakingInterval = config.getMatchmakingInterval();
+        this.sessionIdleTimeout = config.getSessionIdleTimeout();
+        this.serverTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "server-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executorFactory = new ExecutorFactory(config.getThreadMode());
+        if (executorFactory.getThreadMode() == ThreadMode.VIRTUAL) {
+            enablePinningTrace(config.getPinningTrace());
+        }
+        this.messageHandlerExecutor = executorFactory.newFixedThreadPool(config.getMessageHandlerThreadCount(), "client-message-handler");
+        this.timingWheel = new HashedWheelTimer("timing-wheel", TIMING_WHEEL_TICK, TIMING_WHEEL_SIZE);
+        this.sessionScheduler = new SessionScheduler(config.getSessionLoopCount(), timingWheel);
+        this.admissionController = new AdmissionController(config.getMaxConnections(), config.getMaxGameSessions(), config.getMaxAiGameSessions());
         this.clientManager = new ClientManager();
-        this.gameSessionManager = new GameSessionManager();
+        this.gameSessionManager = new GameSessionManager(admissionController, sessionIdleTimeout,
+                new GameJournal(config.getJournalPath()), new GameArchive(config.getArchiveDirectory()));
         this.messageDispatcher = new MessageDispatcher();
+        this.searchStatistics = new SearchStatisticsAggregator();
+        this.connectionReaper = new ConnectionReaper(clientManager, messageDispatcher, heartbeatInterval, config.getIdleTimeout());
         this.running = new AtomicBoolean(false);
     }
 
@@ -53,27 +111,86 @@ public class ServerManager implements Runnable {
         return gameSessionManager;
     }
 
+    /**
+     * Gets the executor factory.
+     * @return The executor factory.
+     */
+    public ExecutorFactory getExecutorFactory() {
+        return executorFactory;
+    }
+
+    /**
+     * Gets the executor shared by the message handlers of all clients.
+     * @return The message handler executor.
+     */
+    public ExecutorService getMessageHandlerExecutor() {
+        return messageHandlerExecutor;
+    }
+
+    /**
+     * Gets the session scheduler.
+     * @return The session scheduler.
+     */
+    public SessionScheduler getSessionScheduler() {
+        return sessionScheduler;
+    }
+
+    /**
+     * Gets the time a player has to make a move.
+     * @return The turn timeout, or zero for no limit.
+     */
+    public Duration getTurnTimeout() {
+        return turnTimeout;
+    }
+
+    /**
+     * Gets the minimum time between the start of an AI turn and the AI move.
+     * @return The AI move delay.
+     */
+    public Duration getAiMoveDelay() {
+        return aiMoveDelay;
+    }
+
+    /**
+     * Gets the admission controller.
+     * @return The admission controller.
+     */
+    public AdmissionController getAdmissionController() {
+        return admissionController;
+    }
+
+    /**
+     * Gets the aggregated statistics of the AI searches.
+     * @return The search statistics aggregator.
+     */
+    public SearchStatisticsAggregator getSearchStatistics() {
+        return searchStatistics;
+    }
+
     /**
      * Starts running the server.
      */
     @Override
     public void run() {
         try {
-            this.serverSocket = new ServerSocket(port);
-            LOGGER.info("Listening for client requests...");
+            this.connectionAcceptor = createConnectionAcceptor();
+            LOGGER.info("Listening for client requests with %s transport and %s threads..."
+                    .formatted(transportType, executorFactory.getThreadMode()));
 
             while (running.get()) {
                 try {
-                    Socket acceptedClientSocket = serverSocket.accept();
-                    LOGGER.info("client has been accepted with address: " + acceptedClientSocket.getRemoteSocketAddress());
+                    ClientConnection clientConnection = connectionAcceptor.accept();
+                    LOGGER.info("client has been accepted with address: " + clientConnection.getClientSocket().getRemoteSocketAddress());
+                    if (!admissionController.tryAdmitConnection()) {
+                        rejectConnection(clientConnection);
+                        continue;
+                    }
 
-                    ClientConnection clientConnection = new ClientConnection(acceptedClientSocket, this);
+                    // The handshake is read by the transport like any other message, so the accept thread never waits for it
                     clientConnection.startMessageListener();
-                    clientManager.addConnectedClient(clientConnection);
-
-                    LOGGER.fine("New client with address: %s has been accepted.".formatted(acceptedClientSocket.getRemoteSocketAddress()));
+                    timingWheel.newTimeout(clientConnection::checkHandshake, handshakeTimeout);
                 } catch (IOException e) {
-                    if (!serverSocket.isClosed()) {
+                    if (!connectionAcceptor.isClosed()) {
                         LOGGER.severe("Server can't accept connection anymore: " + e.getMessage());
                     }
                 }
@@ -87,13 +204,100 @@ public class ServerManager implements Runnable {
         }
     }
 
+    /**
+     * Pairs the waiting clients, and starts a multi-player game session for each match.
+     */
+    private void matchWaitingClients() {
+        try {
+            for (Matchmaker.Match match : clientManager.matchWaitingClients()) {
+                startMultiPlayerGameSession(match);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.severe("Failed to match waiting clients: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts a multi-player game session for the specified match, unless the server is at capacity.
+     * @param match The match.
+     */
+    private void startMultiPlayerGameSession(Matchmaker.Match match) {
+        LOGGER.info("A match has been found with ratings %d and %d!"
+                .formatted(match.firstClient().getRating(), match.secondClient().getRating()));
+
+        Optional<RejectionReason> rejectionReason = admissionController.tryAdmitGameSession(GameSessionType.MULTI_PLAYER_GAME_SESSION);
+        if (rejectionReason.isPresent()) {
+            LOGGER.warning("Rejecting game request with %s: %s".formatted(rejectionReason.get(), admissionController));
+            messageDispatcher.sendRequestRejected(match.firstClient(), rejectionReason.get());
+            messageDispatcher.sendRequestRejected(match.secondClient(), rejectionReason.get());
+            return;
+        }
+
+        GameSession gameSession = new MultiPlayerGameSession(match.firstClient(), match.secondClient(), messageDispatcher, sessionScheduler, turnTimeout);
+        gameSessionManager.startGameSession(gameSession);
+    }
+
+    /**
+     * Ends the game sessions recovered from the journal that their players did not claim back in time,
+     * and tells the players waiting for their opponent in these sessions that the opponent is gone.
+     */
+    private void expireRecoveredSessions() {
+        for (ClientConnection clientConnection : gameSessionManager.expireRecoveredSessions()) {
+            messageDispatcher.sendOpponentDisconnected(clientConnection);
+        }
+    }
+
+    /**
+     * Tells the specified client that the server is full, and closes its connection without reading from it.
+     * @param clientConnection The rejected client connection.
+     */
+    private void rejectConnection(ClientConnection clientConnection) {
+        LOGGER.warning("Rejecting client, the server is full: " + admissionController);
+        messageDispatcher.sendRequestRejected(clientConnection, RejectionReason.SERVER_FULL);
+        clientConnection.disconnect();
+    }
+
+    /**
+     * Enables the JDK trace of virtual threads that block while pinned to their carrier thread,
+     * for example inside a synchronized block. It must be enabled before the first virtual thread starts.
+     * @param pinningTrace The pinning trace mode, "short" or "full", or an empty string to disable the trace.
+     */
+    private static void enablePinningTrace(String pinningTrace) {
+        if (!pinningTrace.isEmpty()) {
+            System.setProperty("jdk.tracePinnedThreads", pinningTrace);
+            LOGGER.info("Virtual thread pinning trace enabled: " + pinningTrace);
+        }
+    }
+
+    /**
+     * Creates the acceptor for the configured transport.
+     * @return The connection acceptor.
+     * @throws IOException If the acceptor cannot be bound to the port.
+     */
+    private ConnectionAcceptor createConnectionAcceptor() throws IOException {
+        return switch (transportType) {
+            case BLOCKING -> new SocketAcceptor(port, this);
+            case SELECTOR -> new SelectorAcceptor(port, eventLoopCount, this);
+        };
+    }
+
     /**
      * Starts the server.
      */
     public void start() {
         if (running.compareAndSet(false, true)) {
+            gameSessionManager.openArchive();
+            gameSessionManager.recoverGameSessions();
+            if (!sessionIdleTimeout.isZero()) {
+                serverTimer.schedule(this::expireRecoveredSessions, sessionIdleTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            timingWheel.start();
             Thread serverThread = new Thread(this);
             serverThread.start();
+            long heartbeatMillis = heartbeatInterval.toMillis();
+            serverTimer.scheduleAtFixedRate(connectionReaper, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+            long matchmakingMillis = matchmakingInterval.toMillis();
+            serverTimer.scheduleAtFixedRate(this::matchWaitingClients, matchmakingMillis, matchmakingMillis, TimeUnit.MILLISECONDS);
             LOGGER.info("Server started!");
         }
     }
@@ -104,14 +308,23 @@ public class ServerManager implements Runnable {
     public void shutdown() {
         if (running.compareAndSet(true, false)) {
             try {
+                // The journal is closed first, so that the game sessions ended by the shutdown are recovered on restart
+                gameSessionManager.closeJournal();
                 messageDispatcher.broadcastServerStopped(clientManager.getConnectedClients().stream().toList());
                 clientManager.disconnectClients();
+                shutdownMessageHandlerExecutor();
+                serverTimer.shutdownNow();
                 gameSessionManager.shutdown();
+                sessionScheduler.shutdown();
+                gameSessionManager.closeArchive();
+                timingWheel.shutdown();
 
-                if (serverSocket != null && !serverSocket.isClosed()) {
-                    serverSocket.close();
+                if (connectionAcceptor != null && !connectionAcceptor.isClosed()) {
+                    connectionAcceptor.close();
                 }
 
+                LOGGER.info(searchStatistics.toString());
+                LOGGER.info(admissionController.toString());
                 LOGGER.info("Server stopped.");
             } catch (IOException e) {
                 LOGGER.severe("Failed to shutdown the server: " + e.getMessage());
@@ -121,4 +334,19 @@ public class ServerManager implements Runnable {
             }
         }
     }
+
+    /**
+     * Shuts down the message handler executor once the messages already received are handled.
+     */
+    private void shutdownMessageHandlerExecutor() {
+        try {
+            messageHandlerExecutor.shutdown();
+            if (!messageHandlerExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                messageHandlerExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            LOGGER.severe("Failed to shutdown the message handler executor: " + e.getMessage());
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -0,0 +1,130 @@
+package org.connect4.server.core;
+
+import org.connect4.server.logging.ServerLogger;
+import org.connect4.server.utils.HashedWheelTimer;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A class that runs the game sessions as actors on a fixed set of session loops shared by all sessions.
+ * Each session is pinned to one loop by its id, so the events of a session run one at a time and in order,
+ * and a session that waits for a move or a timeout holds no thread. Blocking work, such as an AI search,
+ * runs on a compute pool and hands its result back to the loop of the session. The compute pool has one platform thread
+ * per processor whatever the thread mode, so that CPU-bound searches are bounded and never hold the carrier threads
+ * of virtual threads.
+ * The timers of the sessions are kept on a shared timing wheel, which hands them to the loop of their session when they expire.
+ * @author Hassan
+ */
+public class SessionScheduler {
+    private static final ServerLogger LOGGER = ServerLogger.getLogger();
+
+    private final ExecutorService[] sessionLoops;
+    private final ExecutorService computeExecutor;
+    private final HashedWheelTimer timingWheel;
+
+    /**
+     * Constructs a new SessionScheduler.
+     * @param sessionLoopCount The number of session loops.
+     * @param timingWheel The timing wheel that keeps the timers of the sessions.
+     */
+    public SessionScheduler(int sessionLoopCount, HashedWheelTimer timingWheel) {
+        this.sessionLoops = new ExecutorService[sessionLoopCount];
+        for (int i = 0; i < sessionLoopCount; i++) {
+            sessionLoops[i] = Executors.newSingleThreadExecutor(
+                    Thread.ofPlatform().name("session-loop-" + i).daemon(true).factory());
+        }
+        this.computeExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                Thread.ofPlatform().name("session-compute-", 0).daemon(true).factory());
+        this.timingWheel = timingWheel;
+    }
+
+    /**
+     * Runs the specified task on the loop of the specified session.
+     * @param sessionId The id of the session.
+     * @param task The task to be run.
+     */
+    public void execute(long sessionId, Runnable task) {
+        try {
+            getSessionLoop(sessionId).execute(guard(sessionId, task));
+        } catch (RejectedExecutionException e) {
+            LOGGER.fine("Ignoring task for session %d after the scheduler shut down.".formatted(sessionId));
+        }
+    }
+
+    /**
+     * Runs the specified task on the loop of the specified session after the specified delay.
+     * @param sessionId The id of the session.
+     * @param task The task to be run.
+     * @param delay The delay before the task runs.
+     * @return The timeout of the task, which can be used to cancel it.
+     */
+    public HashedWheelTimer.Timeout schedule(long sessionId, Runnable task, Duration delay) {
+        return timingWheel.newTimeout(() -> execute(sessionId, task), delay);
+    }
+
+    /**
+     * Runs the specified blocking task on the compute pool, away from the session loops.
+     * @param sessionId The id of the session.
+     * @param task The blocking task to be run.
+     * @return The future of the task, which can be used to interrupt it, or null if the scheduler is shut down.
+     */
+    public Future<?> submitBlocking(long sessionId, Runnable task) {
+        try {
+            return computeExecutor.submit(guard(sessionId, task));
+        } catch (RejectedExecutionException e) {
+            LOGGER.fine("Ignoring blocking task for session %d after the scheduler shut down.".formatted(sessionId));
+            return null;
+        }
+    }
+
+    /**
+     * Shuts down the session loops and interrupts the blocking tasks.
+     */
+    public void shutdown() {
+        try {
+            computeExecutor.shutdownNow();
+            for (ExecutorService sessionLoop : sessionLoops) {
+                sessionLoop.shutdown();
+            }
+
+            for (ExecutorService sessionLoop : sessionLoops) {
+                if (!sessionLoop.awaitTermination(5, TimeUnit.SECONDS)) {
+                    sessionLoop.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            LOGGER.severe("Failed to shutdown the session scheduler: " + e.getMessage());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the session loop the specified session is pinned to.
+     * @param sessionId The id of the session.
+     * @return The session loop.
+     */
+    private ExecutorService getSessionLoop(long sessionId) {
+        return sessionLoops[(int) Math.floorMod(sessionId, (long) sessionLoops.length)];
+    }
+
+    /**
+     * Wraps the specified task so that a failure is logged instead of being kept in a future nobody reads.
+     * @param sessionId The id of the session.
+     * @param task The task.
+     * @return The guarded task.
+     */
+    private static Runnable guard(long sessionId, Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOGGER.severe("Task of session %d failed: %s".formatted(sessionId, e));
+            }
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package org.connect4.server.core;
+
+/**
+ * Enum representing the kind of threads that run the connections, message handlers and game sessions.
+ * @author Hassan
+ */
+public enum ThreadMode {
+    PLATFORM,
+    VIRTUAL
+}
@@ -0,0 +1,156 @@
+package org.connect4.server.core.archive;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * A class that holds the layout of the game archive files, shared by the archive writer and reader.
+ * A segment file starts with a header of the magic number, the format version, the number of games per block,
+ * and the base time of the segment in epoch milliseconds. It is followed by the game records, each of them:
+ * <ul>
+ *     <li>The finish time, as a zigzag varint delta from the previous game of its block,
+ *     or from the base time of the segment for the first game of a block.</li>
+ *     <li>The duration of the game in milliseconds, as a varint.</li>
+ *     <li>The 8-byte ids of the red and yellow players, zero for an AI player.</li>
+ *     <li>A flags byte holding the result, the forfeit flag and the AI type.</li>
+ *     <li>The number of moves, and the moves packed two per byte, first move in the low 4 bits.</li>
+ *     <li>The 4-byte CRC-32 of the record.</li>
+ * </ul>
+ * The index file next to a segment starts with the magic number, the format version and the entry length,
+ * followed by one fixed-size entry per block of games: the offset and length of the block, its number of games,
+ * the earliest and latest finish times of its games, and a bloom filter of its player ids.
+ * The games after the last indexed block, in a segment that is still written or was not closed, are read sequentially.
+ * @author Hassan
+ */
+final class ArchiveFormat {
+    static final int SEGMENT_MAGIC = 0x43344741;
+    static final int INDEX_MAGIC = 0x43344749;
+    static final short VERSION = 1;
+    static final int SEGMENT_HEADER_LENGTH = Integer.BYTES + 2 * Short.BYTES + Long.BYTES;
+    static final int INDEX_HEADER_LENGTH = Integer.BYTES + 2 * Short.BYTES;
+    static final int BLOCK_GAMES = 64;
+    static final int BLOOM_WORDS = 16;
+    static final int INDEX_ENTRY_LENGTH = 3 * Long.BYTES + 2 * Integer.BYTES + BLOOM_WORDS * Long.BYTES;
+    static final int MAX_RECORD_LENGTH = 2 * 10 + 2 * Long.BYTES + 2 + 21 + Integer.BYTES;
+    static final String SEGMENT_SUFFIX = ".seg";
+    static final String INDEX_SUFFIX = ".idx";
+
+    private static final int BLOOM_BITS = BLOOM_WORDS * Long.SIZE;
+    private static final int BLOOM_HASHES = 3;
+
+    /**
+     * Prevents instantiating the format.
+     */
+    private ArchiveFormat() {
+    }
+
+    /**
+     * Writes a signed value as a zigzag varint, so that small negative values stay short.
+     * @param buffer The buffer.
+     * @param value The value.
+     */
+    static void putZigZag(ByteBuffer buffer, long value) {
+        putVarLong(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Reads a signed value written as a zigzag varint.
+     * @param buffer The buffer.
+     * @return The value.
+     */
+    static long getZigZag(ByteBuffer buffer) {
+        long value = getVarLong(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Writes an unsigned value as a varint, 7 bits per byte with the high bit set on every byte but the last.
+     * @param buffer The buffer.
+     * @param value The value.
+     */
+    static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Reads an unsigned value written as a varint.
+     * @param buffer The buffer.
+     * @return The value.
+     * @throws IllegalArgumentException If the varint is longer than a long.
+     */
+    static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Malformed varint in the game archive.");
+    }
+
+    /**
+     * Computes the CRC-32 of a range of a buffer, without moving its position.
+     * @param buffer The buffer.
+     * @param offset The offset of the range.
+     * @param length The length of the range.
+     * @return The CRC-32 of the range.
+     */
+    static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Adds a player id to a bloom filter.
+     * @param bloom The words of the bloom filter.
+     * @param playerId The player id.
+     */
+    static void addToBloom(long[] bloom, long playerId) {
+        long hash = mix(playerId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, BLOOM_BITS);
+            bloom[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Checks whether a bloom filter may contain a player id.
+     * @param bloom The words of the bloom filter.
+     * @param playerId The player id.
+     * @return false if the player id is certainly not in the filter, true if it may be.
+     */
+    static boolean mayContain(long[] bloom, long playerId) {
+        long hash = mix(playerId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = Math.floorMod(h1 + i * h2, BLOOM_BITS);
+            if ((bloom[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Mixes the bits of a player id, so that the bloom filter works with ids of any distribution.
+     * @param value The player id.
+     * @return The mixed hash.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
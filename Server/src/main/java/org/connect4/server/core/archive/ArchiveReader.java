@@ -0,0 +1,265 @@
+package org.connect4.server.core.archive;
+
+import org.connect4.server.logging.ServerLogger;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A class that reads the finished games back from the segment files of the game archive.
+ * The segments are memory-mapped and scanned in order. The sparse index of a segment tells which blocks of games
+ * may hold games in the requested time range, or games of the requested player, so the other blocks are never decoded.
+ * The games after the last indexed block are read sequentially up to the first torn or corrupt record.
+ * @author Hassan
+ */
+public class ArchiveReader {
+    private static final ServerLogger LOGGER = ServerLogger.getLogger();
+    private static final String SEGMENT_PREFIX = "games-";
+
+    private final Path directory;
+
+    /**
+     * Constructs a reader of the game archive in the specified directory.
+     * @param directory The directory of the segment files.
+     */
+    public ArchiveReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the path of the segment file with the specified number.
+     * @param directory The directory of the archive.
+     * @param segmentNumber The segment number.
+     * @return The path of the segment file.
+     */
+    static Path getSegmentPath(Path directory, int segmentNumber) {
+        return directory.resolve(SEGMENT_PREFIX + "%06d".formatted(segmentNumber) + ArchiveFormat.SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Gets the path of the index file of the segment with the specified number.
+     * @param directory The directory of the archive.
+     * @param segmentNumber The segment number.
+     * @return The path of the index file.
+     */
+    static Path getIndexPath(Path directory, int segmentNumber) {
+        return directory.resolve(SEGMENT_PREFIX + "%06d".formatted(segmentNumber) + ArchiveFormat.INDEX_SUFFIX);
+    }
+
+    /**
+     * Gets the number of the segment stored in the specified file.
+     * @param path The path of the file.
+     * @return The segment number, or zero if the file is not a segment file.
+     */
+    static int getSegmentNumber(Path path) {
+        String fileName = path.getFileName().toString();
+        if (!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(ArchiveFormat.SEGMENT_SUFFIX)) {
+            return 0;
+        }
+
+        try {
+            return Integer.parseInt(fileName.substring(SEGMENT_PREFIX.length(),
+                    fileName.length() - ArchiveFormat.SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Reads the games that finished in the specified time range.
+     * @param from The start of the time range, inclusive.
+     * @param to The end of the time range, exclusive.
+     * @param consumer The consumer of the games, called in the order the games were archived.
+     * @return The number of games read.
+     * @throws IOException If a segment cannot be read.
+     */
+    public long readGames(Instant from, Instant to, Consumer<ArchivedGame> consumer) throws IOException {
+        return readGames(from.toEpochMilli(), to.toEpochMilli(), bloom -> true, archivedGame -> true, consumer);
+    }
+
+    /**
+     * Reads the games of the specified player that finished in the specified time range.
+     * @param playerId The player id.
+     * @param from The start of the time range, inclusive.
+     * @param to The end of the time range, exclusive.
+     * @param consumer The consumer of the games, called in the order the games were archived.
+     * @return The number of games read.
+     * @throws IOException If a segment cannot be read.
+     */
+    public long readGamesOfPlayer(long playerId, Instant from, Instant to, Consumer<ArchivedGame> consumer) throws IOException {
+        return readGames(from.toEpochMilli(), to.toEpochMilli(), bloom -> ArchiveFormat.mayContain(bloom, playerId),
+                archivedGame -> archivedGame.hasPlayer(playerId), consumer);
+    }
+
+    /**
+     * Reads the matching games of every segment, in the order of the segments.
+     * @param fromMillis The start of the time range, inclusive.
+     * @param toMillis The end of the time range, exclusive.
+     * @param blockFilter Tells whether a block may hold matching games, from its bloom filter.
+     * @param gameFilter Tells whether a game matches.
+     * @param consumer The consumer of the matching games.
+     * @return The number of games read.
+     * @throws IOException If a segment cannot be read.
+     */
+    private long readGames(long fromMillis, long toMillis, Predicate<long[]> blockFilter, Predicate<ArchivedGame> gameFilter,
+                           Consumer<ArchivedGame> consumer) throws IOException {
+        List<Integer> segmentNumbers;
+        try (Stream<Path> files = Files.list(directory)) {
+            segmentNumbers = files.map(ArchiveReader::getSegmentNumber).filter(number -> number > 0).sorted().toList();
+        }
+
+        Predicate<ArchivedGame> matches = archivedGame -> archivedGame.getFinishedAt() >= fromMillis
+                && archivedGame.getFinishedAt() < toMillis && gameFilter.test(archivedGame);
+        long readCount = 0;
+        for (int segmentNumber : segmentNumbers) {
+            readCount += readSegment(segmentNumber, fromMillis, toMillis, blockFilter, matches, consumer);
+        }
+
+        return readCount;
+    }
+
+    /**
+     * Reads the matching games of a segment, skipping the indexed blocks that cannot hold any of them.
+     * @param segmentNumber The segment number.
+     * @param fromMillis The start of the time range, inclusive.
+     * @param toMillis The end of the time range, exclusive.
+     * @param blockFilter Tells whether a block may hold matching games, from its bloom filter.
+     * @param matches Tells whether a game matches.
+     * @param consumer The consumer of the matching games.
+     * @return The number of games read.
+     * @throws IOException If the segment cannot be read.
+     */
+    private long readSegment(int segmentNumber, long fromMillis, long toMillis, Predicate<long[]> blockFilter,
+                             Predicate<ArchivedGame> matches, Consumer<ArchivedGame> consumer) throws IOException {
+        ByteBuffer segment = map(getSegmentPath(directory, segmentNumber));
+        if (segment.remaining() < ArchiveFormat.SEGMENT_HEADER_LENGTH
+                || segment.getInt() != ArchiveFormat.SEGMENT_MAGIC || segment.getShort() != ArchiveFormat.VERSION) {
+            LOGGER.warning("Skipping game archive segment %d with an unknown format.".formatted(segmentNumber));
+            return 0;
+        }
+        int blockGames = segment.getShort();
+        long baseTime = segment.getLong();
+
+        long readCount = 0;
+        int indexedEnd = ArchiveFormat.SEGMENT_HEADER_LENGTH;
+        long[] bloom = new long[ArchiveFormat.BLOOM_WORDS];
+        ByteBuffer index = readIndex(segmentNumber);
+        while (index.remaining() >= ArchiveFormat.INDEX_ENTRY_LENGTH) {
+            int blockOffset = (int) index.getLong();
+            int blockLength = index.getInt();
+            int blockGameCount = index.getInt();
+            long minFinishedAt = index.getLong();
+            long maxFinishedAt = index.getLong();
+            for (int i = 0; i < bloom.length; i++) {
+                bloom[i] = index.getLong();
+            }
+            if (blockOffset != indexedEnd || blockOffset + blockLength > segment.limit()) {
+                break;
+            }
+
+            indexedEnd = blockOffset + blockLength;
+            if (minFinishedAt < toMillis && maxFinishedAt >= fromMillis && blockFilter.test(bloom)) {
+                readCount += readBlocks(segment.position(blockOffset).limit(indexedEnd).slice(), baseTime, blockGames,
+                        blockGameCount, matches, consumer);
+                segment.clear();
+            }
+        }
+
+        // The games after the last indexed block are not indexed yet, so they are all decoded
+        readCount += readBlocks(segment.position(indexedEnd).slice(), baseTime, blockGames, Integer.MAX_VALUE, matches, consumer);
+        return readCount;
+    }
+
+    /**
+     * Decodes consecutive games from the start of a block, up to the specified number of games,
+     * the end of the buffer, or the first torn or corrupt record.
+     * @param buffer The buffer, positioned at the start of a block.
+     * @param baseTime The base time of the segment.
+     * @param blockGames The number of games per block.
+     * @param maxGames The maximum number of games to decode.
+     * @param matches Tells whether a game matches.
+     * @param consumer The consumer of the matching games.
+     * @return The number of games read.
+     */
+    private static long readBlocks(ByteBuffer buffer, long baseTime, int blockGames, int maxGames,
+                                   Predicate<ArchivedGame> matches, Consumer<ArchivedGame> consumer) {
+        long readCount = 0;
+        long previousFinishedAt = baseTime;
+        try {
+            for (int i = 0; i < maxGames && buffer.hasRemaining(); i++) {
+                if (i % blockGames == 0) {
+                    previousFinishedAt = baseTime;
+                }
+
+                int start = buffer.position();
+                long finishedAt = previousFinishedAt + ArchiveFormat.getZigZag(buffer);
+                long durationMillis = ArchiveFormat.getVarLong(buffer);
+                long redPlayerId = buffer.getLong();
+                long yellowPlayerId = buffer.getLong();
+                int flags = buffer.get() & 0xFF;
+                int moveCount = buffer.get() & 0xFF;
+                byte[] packedMoves = new byte[(moveCount + 1) / 2];
+                buffer.get(packedMoves);
+                int checksum = ArchiveFormat.checksum(buffer, start, buffer.position() - start);
+                if (buffer.getInt() != checksum) {
+                    break;
+                }
+
+                previousFinishedAt = finishedAt;
+                ArchivedGame archivedGame = new ArchivedGame(finishedAt, durationMillis, redPlayerId, yellowPlayerId,
+                        flags, moveCount, packedMoves);
+                if (matches.test(archivedGame)) {
+                    consumer.accept(archivedGame);
+                    readCount++;
+                }
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            LOGGER.fine("Stopped reading a game archive segment at a torn record.");
+        }
+
+        return readCount;
+    }
+
+    /**
+     * Reads the index of a segment, positioned after its header.
+     * @param segmentNumber The segment number.
+     * @return The index entries, or an empty buffer if the index is missing or has an unknown format.
+     * @throws IOException If the index cannot be read.
+     */
+    private ByteBuffer readIndex(int segmentNumber) throws IOException {
+        Path indexPath = getIndexPath(directory, segmentNumber);
+        if (!Files.exists(indexPath)) {
+            return ByteBuffer.allocate(0);
+        }
+
+        ByteBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+        if (index.remaining() < ArchiveFormat.INDEX_HEADER_LENGTH || index.getInt() != ArchiveFormat.INDEX_MAGIC
+                || index.getShort() != ArchiveFormat.VERSION || index.getShort() != ArchiveFormat.INDEX_ENTRY_LENGTH) {
+            return ByteBuffer.allocate(0);
+        }
+
+        return index;
+    }
+
+    /**
+     * Maps a segment file into memory for reading.
+     * @param path The path of the segment file.
+     * @return The mapped segment.
+     * @throws IOException If the segment cannot be mapped.
+     */
+    private static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
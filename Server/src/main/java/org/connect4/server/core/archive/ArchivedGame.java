@@ -0,0 +1,249 @@
+package org.connect4.server.core.archive;
+
+import org.connect4.game.ai.enums.AIType;
+import org.connect4.game.logic.core.Board;
+import org.connect4.game.logic.core.Game;
+import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.core.Player;
+import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logic.enums.GameType;
+import org.connect4.game.logic.enums.PlayerType;
+import org.connect4.game.logic.events.GameListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A class that represents a finished game kept in the game archive.
+ * The moves are kept packed two per byte, as they are stored in the archive, and are replayed through the game engine.
+ * @author Hassan
+ */
+public class ArchivedGame {
+    private static final int RESULT_MASK = 0x03;
+    private static final int FORFEIT_FLAG = 0x04;
+    private static final int AI_TYPE_SHIFT = 4;
+    private static final AIType[] AI_TYPES = AIType.values();
+
+    private final long finishedAt;
+    private final long durationMillis;
+    private final long redPlayerId;
+    private final long yellowPlayerId;
+    private final int flags;
+    private final int moveCount;
+    private final byte[] packedMoves;
+
+    /**
+     * Constructs an archived game from a finished game.
+     * @param finishedAt The time the game finished, in epoch milliseconds.
+     * @param durationMillis The duration of the game in milliseconds.
+     * @param redPlayerId The id of the red player.
+     * @param yellowPlayerId The id of the yellow player, or zero for an AI player.
+     * @param aiType The type of the AI player, or null if both players are clients.
+     * @param winner The color of the winner, or Color.NONE for a draw.
+     * @param isForfeit true if the loser forfeited the game, false if it ended on the board.
+     * @param moves The moves of the game, in the order they were played.
+     */
+    public ArchivedGame(long finishedAt, long durationMillis, long redPlayerId, long yellowPlayerId, AIType aiType,
+                        Color winner, boolean isForfeit, List<Move> moves) {
+        this(finishedAt, durationMillis, redPlayerId, yellowPlayerId, encodeFlags(aiType, winner, isForfeit),
+                moves.size(), packMoves(moves));
+    }
+
+    /**
+     * Constructs an archived game read back from the archive.
+     * @param finishedAt The time the game finished, in epoch milliseconds.
+     * @param durationMillis The duration of the game in milliseconds.
+     * @param redPlayerId The id of the red player.
+     * @param yellowPlayerId The id of the yellow player.
+     * @param flags The flags byte holding the result, the forfeit flag and the AI type.
+     * @param moveCount The number of moves.
+     * @param packedMoves The moves packed two per byte.
+     */
+    ArchivedGame(long finishedAt, long durationMillis, long redPlayerId, long yellowPlayerId, int flags,
+                 int moveCount, byte[] packedMoves) {
+        this.finishedAt = finishedAt;
+        this.durationMillis = durationMillis;
+        this.redPlayerId = redPlayerId;
+        this.yellowPlayerId = yellowPlayerId;
+        this.flags = flags;
+        this.moveCount = moveCount;
+        this.packedMoves = packedMoves;
+    }
+
+    /**
+     * Gets the time the game finished.
+     * @return The finish time, in epoch milliseconds.
+     */
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Gets the duration of the game.
+     * @return The duration in milliseconds.
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Gets the id of the player with the specified color.
+     * @param color The color of the player.
+     * @return The player id, or zero for an AI player.
+     */
+    public long getPlayerId(Color color) {
+        return color == Color.RED ? redPlayerId : yellowPlayerId;
+    }
+
+    /**
+     * Checks whether the specified player played this game.
+     * @param playerId The player id.
+     * @return true if the player played either color, false otherwise.
+     */
+    public boolean hasPlayer(long playerId) {
+        return redPlayerId == playerId || yellowPlayerId == playerId;
+    }
+
+    /**
+     * Gets the type of the AI player.
+     * @return The AI type, or null if both players were clients.
+     */
+    public AIType getAiType() {
+        int aiType = flags >>> AI_TYPE_SHIFT;
+        return aiType == 0 || aiType > AI_TYPES.length ? null : AI_TYPES[aiType - 1];
+    }
+
+    /**
+     * Gets the color of the winner.
+     * @return The color of the winner, or Color.NONE for a draw.
+     */
+    public Color getWinner() {
+        return switch (flags & RESULT_MASK) {
+            case 1 -> Color.RED;
+            case 2 -> Color.YELLOW;
+            default -> Color.NONE;
+        };
+    }
+
+    /**
+     * Checks whether the loser forfeited the game.
+     * @return true if the game ended by forfeit, false if it ended on the board.
+     */
+    public boolean isForfeit() {
+        return (flags & FORFEIT_FLAG) != 0;
+    }
+
+    /**
+     * Gets the number of moves of the game.
+     * @return The number of moves.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Gets the column of the move with the specified index.
+     * @param index The index of the move, the first move being zero.
+     * @return The column of the move.
+     */
+    public int getColumn(int index) {
+        return (packedMoves[index >>> 1] >>> ((index & 1) << 2)) & 0x0F;
+    }
+
+    /**
+     * Gets the moves of the game.
+     * @return The moves, in the order they were played.
+     */
+    public List<Move> getMoves() {
+        List<Move> moves = new ArrayList<>(moveCount);
+        for (int i = 0; i < moveCount; i++) {
+            moves.add(new Move(getColumn(i)));
+        }
+
+        return moves;
+    }
+
+    /**
+     * Replays the game through the game engine.
+     * @return The game in its final position.
+     */
+    public Game replay() {
+        return replay(null);
+    }
+
+    /**
+     * Replays the game through the game engine, with a listener that receives the events of every move.
+     * @param listener The game listener, or null for none.
+     * @return The game in its final position.
+     */
+    public Game replay(GameListener listener) {
+        AIType aiType = getAiType();
+        Player redPlayer = new Player(Color.RED, PlayerType.HUMAN);
+        // The AI player is not needed to replay its moves, a plain computer player is cheaper to create
+        Player yellowPlayer = new Player(Color.YELLOW, aiType == null ? PlayerType.HUMAN : PlayerType.COMPUTER);
+        Game game = new Game(new Board(), redPlayer, yellowPlayer,
+                aiType == null ? GameType.HUMAN_VS_HUMAN : GameType.HUMAN_VS_COMPUTER);
+        if (listener != null) {
+            game.addListener(listener);
+        }
+
+        for (int i = 0; i < moveCount; i++) {
+            game.performCurrentPlayerMove(new Move(getColumn(i)));
+        }
+
+        return game;
+    }
+
+    /**
+     * Gets the flags byte of the game.
+     * @return The flags holding the result, the forfeit flag and the AI type.
+     */
+    int getFlags() {
+        return flags;
+    }
+
+    /**
+     * Gets the moves packed two per byte.
+     * @return The packed moves.
+     */
+    byte[] getPackedMoves() {
+        return packedMoves;
+    }
+
+    /**
+     * Encodes the result, the forfeit flag and the AI type into a flags byte.
+     * @param aiType The AI type, or null for none.
+     * @param winner The color of the winner, or Color.NONE for a draw.
+     * @param isForfeit true if the game ended by forfeit.
+     * @return The flags byte.
+     */
+    private static int encodeFlags(AIType aiType, Color winner, boolean isForfeit) {
+        int result = switch (winner) {
+            case RED -> 1;
+            case YELLOW -> 2;
+            case NONE -> 0;
+        };
+        int aiTypeBits = aiType == null ? 0 : (aiType.ordinal() + 1) << AI_TYPE_SHIFT;
+
+        return result | (isForfeit ? FORFEIT_FLAG : 0) | aiTypeBits;
+    }
+
+    /**
+     * Packs moves two per byte, the first move of each pair in the low 4 bits.
+     * @param moves The moves.
+     * @return The packed moves.
+     */
+    private static byte[] packMoves(List<Move> moves) {
+        byte[] packedMoves = new byte[(moves.size() + 1) / 2];
+        for (int i = 0; i < moves.size(); i++) {
+            packedMoves[i >>> 1] |= (byte) ((moves.get(i).getColumn() & 0x0F) << ((i & 1) << 2));
+        }
+
+        return packedMoves;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedGame{finishedAt=" + finishedAt + ", winner=" + getWinner() + ", moves=" + moveCount + "}";
+    }
+}
@@ -0,0 +1,297 @@
+package org.connect4.server.core.archive;
+
+import org.connect4.game.logic.enums.Color;
+import org.connect4.server.logging.ServerLogger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * A class that archives the finished games into segment files, in the compact layout of {@link ArchiveFormat}.
+ * A finished game takes about 40 bytes, most of them the two player ids, with its moves packed 4 bits each.
+ * Appending a game only queues it, so the game sessions never wait for the disk. A single writer thread encodes
+ * the queued games, writes each batch at once, and adds an entry to the sparse index of the segment for every
+ * block of games, so that readers can skip the blocks outside of a time range or without a player.
+ * Each run of the server starts a new segment, and a segment is rolled over once it reaches its maximum size.
+ * @author Hassan
+ */
+public class GameArchive {
+    private static final ServerLogger LOGGER = ServerLogger.getLogger();
+    private static final long MAX_SEGMENT_SIZE = 64L * 1024 * 1024;
+    private static final int MAX_BATCH_GAMES = 1024;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final Color[] PLAYER_COLORS = {Color.RED, Color.YELLOW};
+
+    private final Path directory;
+    private final BlockingQueue<ArchivedGame> pendingGames;
+    private final AtomicBoolean isOpen;
+    private final ByteBuffer writeBuffer;
+    private final ByteBuffer indexEntry;
+    private final long[] blockBloom;
+    private Thread writerThread;
+    private FileChannel segmentChannel;
+    private FileChannel indexChannel;
+    private int segmentNumber;
+    private long segmentBaseTime;
+    private long segmentPosition;
+    private long blockOffset;
+    private int blockGameCount;
+    private long blockMinFinishedAt;
+    private long blockMaxFinishedAt;
+    private long previousFinishedAt;
+    private long gameCount;
+    private long byteCount;
+
+    /**
+     * Constructs a game archive in the specified directory.
+     * @param directory The directory of the segment files, or null to disable the archive.
+     */
+    public GameArchive(Path directory) {
+        this.directory = directory;
+        this.pendingGames = new LinkedBlockingQueue<>();
+        this.isOpen = new AtomicBoolean(false);
+        this.writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        this.indexEntry = ByteBuffer.allocate(ArchiveFormat.INDEX_ENTRY_LENGTH);
+        this.blockBloom = new long[ArchiveFormat.BLOOM_WORDS];
+    }
+
+    /**
+     * Checks whether this archive is enabled.
+     * @return true if the archive has a directory, false otherwise.
+     */
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Opens a new segment after the existing ones, and starts the writer thread. It does nothing if the archive is disabled.
+     * @throws IOException If the segment cannot be created.
+     */
+    public void open() throws IOException {
+        if (!isEnabled() || !isOpen.compareAndSet(false, true)) {
+            return;
+        }
+
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            segmentNumber = files.map(ArchiveReader::getSegmentNumber).max(Integer::compare).orElse(0);
+        }
+        openSegment();
+
+        writerThread = new Thread(this::writeGames, "game-archive");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        LOGGER.info("Game archive opened at %s with segment %d.".formatted(directory, segmentNumber));
+    }
+
+    /**
+     * Appends a finished game to the archive.
+     * @param archivedGame The finished game.
+     */
+    public void append(ArchivedGame archivedGame) {
+        if (isOpen.get()) {
+            pendingGames.offer(archivedGame);
+        }
+    }
+
+    /**
+     * Closes this archive once the games queued so far are written. Games appended afterwards are dropped.
+     */
+    public void close() {
+        if (!isOpen.compareAndSet(true, false)) {
+            return;
+        }
+
+        try {
+            writerThread.join();
+            LOGGER.info("Game archive closed after writing %d games in %d bytes.".formatted(gameCount, byteCount));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.severe("Interrupted while closing the game archive.");
+        }
+    }
+
+    /**
+     * Runs the writer thread, which writes the queued games in batches until the archive is closed,
+     * then closes the current segment. The thread is never interrupted, since an interrupt would close the file channels.
+     */
+    private void writeGames() {
+        List<ArchivedGame> batch = new ArrayList<>(MAX_BATCH_GAMES);
+        try {
+            while (isOpen.get() || !pendingGames.isEmpty()) {
+                ArchivedGame archivedGame = pendingGames.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (archivedGame != null) {
+                    batch.add(archivedGame);
+                    pendingGames.drainTo(batch, MAX_BATCH_GAMES - 1);
+                    for (ArchivedGame game : batch) {
+                        writeGame(game);
+                    }
+                    flush();
+                    batch.clear();
+                }
+            }
+            closeSegment();
+        } catch (IOException e) {
+            isOpen.set(false);
+            pendingGames.clear();
+            LOGGER.severe("Failed to write the game archive, finished games are no longer archived: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Encodes a game into the write buffer, starting a new block, and a new segment, when needed.
+     * @param archivedGame The game.
+     * @throws IOException If a full buffer, an index entry or a segment cannot be written.
+     */
+    private void writeGame(ArchivedGame archivedGame) throws IOException {
+        if (blockGameCount == ArchiveFormat.BLOCK_GAMES) {
+            writeIndexEntry();
+            if (segmentPosition >= MAX_SEGMENT_SIZE) {
+                closeSegment();
+                openSegment();
+            }
+        }
+        if (writeBuffer.remaining() < ArchiveFormat.MAX_RECORD_LENGTH) {
+            flush();
+        }
+
+        long finishedAt = archivedGame.getFinishedAt();
+        if (blockGameCount == 0) {
+            blockOffset = segmentPosition;
+            blockMinFinishedAt = finishedAt;
+            blockMaxFinishedAt = finishedAt;
+            previousFinishedAt = segmentBaseTime;
+        }
+
+        int start = writeBuffer.position();
+        ArchiveFormat.putZigZag(writeBuffer, finishedAt - previousFinishedAt);
+        ArchiveFormat.putVarLong(writeBuffer, archivedGame.getDurationMillis());
+        writeBuffer.putLong(archivedGame.getPlayerId(Color.RED))
+                .putLong(archivedGame.getPlayerId(Color.YELLOW))
+                .put((byte) archivedGame.getFlags())
+                .put((byte) archivedGame.getMoveCount())
+                .put(archivedGame.getPackedMoves());
+        writeBuffer.putInt(ArchiveFormat.checksum(writeBuffer, start, writeBuffer.position() - start));
+
+        segmentPosition += writeBuffer.position() - start;
+        previousFinishedAt = finishedAt;
+        blockMinFinishedAt = Math.min(blockMinFinishedAt, finishedAt);
+        blockMaxFinishedAt = Math.max(blockMaxFinishedAt, finishedAt);
+        for (Color color : PLAYER_COLORS) {
+            long playerId = archivedGame.getPlayerId(color);
+            if (playerId != 0L) {
+                ArchiveFormat.addToBloom(blockBloom, playerId);
+            }
+        }
+        blockGameCount++;
+        gameCount++;
+    }
+
+    /**
+     * Writes the index entry of the current block, and starts a new block.
+     * The games of the block are written first, so that the index never points past the end of the segment.
+     * @throws IOException If the games or the index entry cannot be written.
+     */
+    private void writeIndexEntry() throws IOException {
+        flush();
+        indexEntry.clear();
+        indexEntry.putLong(blockOffset)
+                .putInt((int) (segmentPosition - blockOffset))
+                .putInt(blockGameCount)
+                .putLong(blockMinFinishedAt)
+                .putLong(blockMaxFinishedAt);
+        for (long word : blockBloom) {
+            indexEntry.putLong(word);
+        }
+        indexEntry.flip();
+        writeFully(indexChannel, indexEntry);
+
+        blockGameCount = 0;
+        Arrays.fill(blockBloom, 0L);
+    }
+
+    /**
+     * Creates the next segment and its index, and writes their headers.
+     * @throws IOException If the files cannot be created.
+     */
+    private void openSegment() throws IOException {
+        segmentNumber++;
+        segmentBaseTime = System.currentTimeMillis();
+        segmentChannel = FileChannel.open(ArchiveReader.getSegmentPath(directory, segmentNumber),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        indexChannel = FileChannel.open(ArchiveReader.getIndexPath(directory, segmentNumber),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(ArchiveFormat.SEGMENT_HEADER_LENGTH)
+                .putInt(ArchiveFormat.SEGMENT_MAGIC)
+                .putShort(ArchiveFormat.VERSION)
+                .putShort((short) ArchiveFormat.BLOCK_GAMES)
+                .putLong(segmentBaseTime)
+                .flip();
+        writeFully(segmentChannel, header);
+        ByteBuffer indexHeader = ByteBuffer.allocate(ArchiveFormat.INDEX_HEADER_LENGTH)
+                .putInt(ArchiveFormat.INDEX_MAGIC)
+                .putShort(ArchiveFormat.VERSION)
+                .putShort((short) ArchiveFormat.INDEX_ENTRY_LENGTH)
+                .flip();
+        writeFully(indexChannel, indexHeader);
+
+        segmentPosition = ArchiveFormat.SEGMENT_HEADER_LENGTH;
+        byteCount += ArchiveFormat.SEGMENT_HEADER_LENGTH;
+        blockGameCount = 0;
+    }
+
+    /**
+     * Writes the pending games and the index entry of the last block, and closes the current segment and its index.
+     * @throws IOException If the segment cannot be written or closed.
+     */
+    private void closeSegment() throws IOException {
+        if (blockGameCount > 0) {
+            writeIndexEntry();
+        }
+        flush();
+        segmentChannel.force(false);
+        indexChannel.force(false);
+        segmentChannel.close();
+        indexChannel.close();
+    }
+
+    /**
+     * Writes the content of the write buffer to the current segment, and clears the buffer.
+     * @throws IOException If the content cannot be written.
+     */
+    private void flush() throws IOException {
+        writeBuffer.flip();
+        byteCount += writeBuffer.remaining();
+        writeFully(segmentChannel, writeBuffer);
+        writeBuffer.clear();
+    }
+
+    /**
+     * Writes the remaining content of a buffer to a file channel.
+     * @param channel The file channel.
+     * @param buffer The buffer.
+     * @throws IOException If the content cannot be written.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -4,103 +4,310 @@ import org.connect4.game.logic.core.Game;
 import org.connect4.game.logic.core.Move;
 import org.connect4.game.logic.core.Player;
 import org.connect4.game.logic.enums.Color;
-import org.connect4.game.logic.exceptions.InvalidMoveException;
+import org.connect4.game.logic.events.GameDrawn;
+import org.connect4.game.logic.events.GameEvent;
+import org.connect4.game.logic.events.GameListener;
+import org.connect4.game.logic.events.GameReset;
+import org.connect4.game.logic.events.GameWon;
+import org.connect4.game.logic.events.MoveApplied;
+import org.connect4.game.logic.events.TurnChanged;
+import org.connect4.game.networking.messaging.StateDelta;
 import org.connect4.server.core.network.ClientConnection;
 import org.connect4.server.core.network.MessageDispatcher;
 import org.connect4.server.core.session.GameSession;
 import org.connect4.server.logging.ServerLogger;
+import org.connect4.server.utils.HashedWheelTimer;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.Future;
 
 /**
  * A class that handle the game between the two players.
+ * The handler is a state machine driven by events that all run on the loop of its game session: the moves of the players,
+ * the turn timeouts, and the moves computed for the AI player. Between two events the handler holds no thread,
+ * so idle games use no CPU. Events left over from an earlier turn are recognized by their turn number and ignored.
+ * A computed move is released no earlier than the minimum move delay after its turn started, so the search overlaps the delay.
+ * The handler listens to the events of the game, which tell it whether a move passed the turn or ended the game.
  * @author Hassan.
  */
-public abstract class GameHandler implements Runnable {
+public abstract class GameHandler {
     protected static final ServerLogger LOGGER = ServerLogger.getLogger();
 
     protected final GameSession gameSession;
     protected final MessageDispatcher messageDispatcher;
     protected final Game game;
+    private final Duration turnTimeout;
+    private final GameListener gameListener;
+    private volatile TurnState state;
+    private int turn;
+    private long turnStartNanos;
+    private HashedWheelTimer.Timeout turnTimer;
+    private volatile Future<?> moveComputation;
+    private MoveApplied lastMoveApplied;
 
     /**
      * Constructs a game handler for the specified game.
      * @param gameSession The game session.
+     * @param turnTimeout The time a player has to make a move, or zero for no limit.
      */
-    public GameHandler(GameSession gameSession) {
+    public GameHandler(GameSession gameSession, Duration turnTimeout) {
         this.gameSession = gameSession;
         this.messageDispatcher = gameSession.getMessageDispatcher();
         this.game = gameSession.getGame();
+        this.turnTimeout = turnTimeout;
+        this.gameListener = this::onGameEvent;
+        this.state = TurnState.NOT_STARTED;
     }
 
     /**
-     * Plays the game.
+     * Gets the state of this game handler.
+     * @return The turn state.
      */
-    @Override
-    public void run() {
-        while (!game.isOver()) {
-            Optional<Move> currentPlayerNextMove = getCurrentPlayerNextMove();
-            currentPlayerNextMove.ifPresent(this::processMove);
+    public TurnState getState() {
+        return state;
+    }
+
+    /**
+     * Starts the game with the turn of the current player. It must be called on the loop of the game session.
+     */
+    public void start() {
+        game.addListener(gameListener);
+        startTurn();
+    }
+
+    /**
+     * Delivers a move received from a client to this game handler.
+     * @param sender The client connection that sent the move.
+     * @param move The move.
+     */
+    public void onMove(ClientConnection sender, Move move) {
+        gameSession.execute(() -> handleMove(sender, move));
+    }
+
+    /**
+     * Stops the game, cancelling the turn timer and interrupting the move computation.
+     */
+    public void stop() {
+        Future<?> currentMoveComputation = moveComputation;
+        if (currentMoveComputation != null) {
+            currentMoveComputation.cancel(true);
         }
 
-        handleGameOver();
+        gameSession.execute(() -> {
+            if (state != TurnState.GAME_OVER) {
+                state = TurnState.STOPPED;
+            }
+            game.removeListener(gameListener);
+            cancelTurnTimer();
+        });
     }
 
     /**
-     * Gets the next move of the current player.
-     * @return The next move of the current player.
+     * Checks whether the game session is still running.
+     * @return true if the game should continue, false otherwise.
      */
-    protected abstract Optional<Move> getCurrentPlayerNextMove();
+    protected boolean isActive() {
+        return gameSession.isRunning();
+    }
 
     /**
-     * Gets the next move of the specified client connection.
-     * @param clientConnection The client connection.
-     * @return The next move.
+     * Gets the connection of the current player.
+     * @return The connection of the current player, or null if the current player is not a client.
      */
-    protected Optional<Move> getNextMove(ClientConnection clientConnection) {
-        try {
-            if (!clientConnection.getMoveMessageQueue().isEmpty()) {
-                return Optional.of(clientConnection.getMoveMessageQueue().take().getPayload());
+    protected abstract ClientConnection getCurrentPlayerConnection();
+
+    /**
+     * Computes the move of the current player, if the current player is not a client.
+     * It runs on the compute pool of the session scheduler, so it may block.
+     * @return The computed move, or empty if no move could be computed.
+     * @throws InterruptedException If the computation is interrupted.
+     */
+    protected Optional<Move> computeCurrentPlayerMove() throws InterruptedException {
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the minimum time between the start of a turn and the release of the move computed for it,
+     * so that a player can follow the moves of a fast computer player.
+     * @return The minimum move delay, zero by default.
+     */
+    protected Duration getMinimumMoveDelay() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Starts the turn of the current player, with a turn timer for a client, or a move computation otherwise.
+     */
+    private void startTurn() {
+        int currentTurn = ++turn;
+        turnStartNanos = System.nanoTime();
+        if (getCurrentPlayerConnection() != null) {
+            state = TurnState.AWAITING_MOVE;
+            if (!turnTimeout.isZero()) {
+                turnTimer = gameSession.schedule(() -> handleTurnTimeout(currentTurn), turnTimeout);
             }
+        } else {
+            state = TurnState.COMPUTING_MOVE;
+            moveComputation = gameSession.submitBlocking(() -> computeMove(currentTurn));
+        }
+    }
+
+    /**
+     * Handles a move received from a client.
+     * @param sender The client connection that sent the move.
+     * @param move The move.
+     */
+    private void handleMove(ClientConnection sender, Move move) {
+        if (state == TurnState.GAME_OVER || state == TurnState.STOPPED) {
+            LOGGER.warning("Ignoring move received after the game ended: " + move);
+        } else if (state != TurnState.AWAITING_MOVE || !sender.equals(getCurrentPlayerConnection())) {
+            LOGGER.warning("Ignoring move sent out of turn by client: " + sender);
+        } else if (isActive()) {
+            processMove(move);
+        }
+    }
+
+    /**
+     * Computes the move of the current player on the compute pool, and hands it back to the loop of the game session.
+     * @param computedTurn The turn the move is computed for.
+     */
+    private void computeMove(int computedTurn) {
+        try {
+            Optional<Move> move = computeCurrentPlayerMove();
+            gameSession.execute(() -> releaseComputedMove(computedTurn, move));
         } catch (InterruptedException e) {
-            LOGGER.severe("Failed to get the next move of the client: " + clientConnection);
+            Thread.currentThread().interrupt();
         }
+    }
 
-        return Optional.empty();
+    /**
+     * Releases the move computed for the current player once the minimum move delay of its turn has elapsed.
+     * The rest of the delay, if any, waits on a timer instead of a thread.
+     * @param computedTurn The turn the move was computed for.
+     * @param move The computed move, or empty if no move could be computed.
+     */
+    private void releaseComputedMove(int computedTurn, Optional<Move> move) {
+        moveComputation = null;
+        long remainingDelayNanos = getMinimumMoveDelay().toNanos() - (System.nanoTime() - turnStartNanos);
+        if (remainingDelayNanos > 0 && computedTurn == turn) {
+            turnTimer = gameSession.schedule(() -> handleComputedMove(computedTurn, move), Duration.ofNanos(remainingDelayNanos));
+        } else {
+            handleComputedMove(computedTurn, move);
+        }
+    }
+
+    /**
+     * Handles the move computed for the current player. Without a valid move, the current player forfeits the game.
+     * @param computedTurn The turn the move was computed for.
+     * @param move The computed move, or empty if no move could be computed.
+     */
+    private void handleComputedMove(int computedTurn, Optional<Move> move) {
+        if (computedTurn != turn || state != TurnState.COMPUTING_MOVE || !isActive()) {
+            return;
+        }
+
+        if (move.isEmpty() || !processMove(move.get())) {
+            LOGGER.severe("No valid move could be computed for the %s player, which forfeits the game."
+                    .formatted(game.getCurrentPlayer().getColor()));
+            forfeitCurrentPlayer();
+        }
     }
 
     /**
      * Processes the specified move.
      * @param move The move to process.
+     * @return true if the move was valid and executed, false otherwise.
      */
-    private void processMove(Move move) {
+    private boolean processMove(Move move) {
         if (move.isValid(game.getBoard())) {
             executeMove(move);
-        } else {
-            LOGGER.warning("Invalid move: " + move);
+            return true;
         }
+
+        LOGGER.warning("Invalid move: " + move);
+        return false;
     }
 
     /**
-     * Executes the specified valid move.
+     * Executes the specified valid move. The events of the game then send the move to the players and start the next turn,
+     * or end the game.
      * @param move The valid move to execute.
      */
     private void executeMove(Move move) {
-        messageDispatcher.broadcastPlayerMove(gameSession.getClients(), move);
+        cancelTurnTimer();
         game.performCurrentPlayerMove(move);
-        messageDispatcher.broadcastPlayerTurn(gameSession.getClients(), game.getCurrentPlayer().getColor());
     }
 
     /**
-     * Handles game over.
+     * Handles an event of the game. It runs on the loop of the game session, which is the only thread that changes the game.
+     * @param event The game event.
      */
-    private void handleGameOver() {
+    private void onGameEvent(GameEvent event) {
+        switch (event) {
+            case MoveApplied moveApplied -> lastMoveApplied = moveApplied;
+            case TurnChanged turnChanged -> {
+                // Sends the move with the resulting state to the players in one message
+                StateDelta stateDelta = StateDelta.moved(gameSession.nextStateSequence(), lastMoveApplied.move(),
+                        lastMoveApplied.color(), turnChanged.currentPlayer().getColor());
+                messageDispatcher.broadcastStateDelta(gameSession.getClients(), stateDelta);
+                startTurn();
+            }
+            case GameWon gameWon -> endGame(Optional.of(gameWon.winner()), gameWon.lastMove(), lastMoveApplied.color());
+            case GameDrawn gameDrawn -> endGame(Optional.empty(), gameDrawn.lastMove(), lastMoveApplied.color());
+            case GameReset gameReset -> lastMoveApplied = null;
+        }
+    }
+
+    /**
+     * Handles the timeout of the current turn. The current player forfeits the game to the opponent.
+     * @param timedOutTurn The turn whose timer expired.
+     */
+    private void handleTurnTimeout(int timedOutTurn) {
+        if (timedOutTurn != turn || state != TurnState.AWAITING_MOVE || !isActive()) {
+            return;
+        }
+
+        LOGGER.info("%s player did not move within %d seconds and forfeits the game."
+                .formatted(game.getCurrentPlayer().getColor(), turnTimeout.toSeconds()));
+        forfeitCurrentPlayer();
+    }
+
+    /**
+     * Ends the game without a move, the current player forfeiting it to the opponent.
+     */
+    private void forfeitCurrentPlayer() {
+        Player currentPlayer = game.getCurrentPlayer();
+        Player opponentPlayer = currentPlayer == game.getRedPlayer() ? game.getYellowPlayer() : game.getRedPlayer();
+        endGame(Optional.of(opponentPlayer), null, Color.NONE);
+    }
+
+    /**
+     * Ends the game with the specified winner.
+     * @param winner The winner, or empty for a draw.
+     * @param lastMove The move that ended the game, or null if the game ended without a move.
+     * @param movingPlayer The color of the player who made the last move.
+     */
+    private void endGame(Optional<Player> winner, Move lastMove, Color movingPlayer) {
+        state = TurnState.GAME_OVER;
         gameSession.setRunning(false);
+        game.removeListener(gameListener);
 
-        Optional<Player> winner = game.getWinner();
         Color winnerColor = winner.map(Player::getColor).orElse(Color.NONE);
         winner.ifPresent(Player::incrementScore);
-        // broadcast winner color
-        messageDispatcher.broadcastGameOver(gameSession.getClients(), winnerColor);
+        gameSession.onGameOver(winner);
+        // broadcast the last move with the winner color
+        StateDelta stateDelta = StateDelta.over(gameSession.nextStateSequence(), lastMove, movingPlayer, winnerColor);
+        messageDispatcher.broadcastStateDelta(gameSession.getClients(), stateDelta);
+    }
+
+    /**
+     * Cancels the timer of the current turn, if any.
+     */
+    private void cancelTurnTimer() {
+        if (turnTimer != null) {
+            turnTimer.cancel();
+            turnTimer = null;
+        }
     }
 }
@@ -1,10 +1,9 @@
 package org.connect4.server.core.handler;
 
-import org.connect4.game.logic.core.Move;
 import org.connect4.server.core.network.ClientConnection;
 import org.connect4.server.core.session.GameSession;
 
-import java.util.Optional;
+import java.time.Duration;
 
 /**
  * A class that handle a game between two human players.
@@ -19,29 +18,21 @@ public class MultiPlayerGameHandler extends GameHandler {
      * @param gameSession The game session.
      * @param redPlayerConnection The red player connection.
      * @param yellowPlayerConnection The yellow player connection.
+     * @param turnTimeout The time a player has to make a move, or zero for no limit.
      */
     public MultiPlayerGameHandler(GameSession gameSession, ClientConnection redPlayerConnection,
-                                  ClientConnection yellowPlayerConnection) {
-        super(gameSession);
+                                  ClientConnection yellowPlayerConnection, Duration turnTimeout) {
+        super(gameSession, turnTimeout);
         this.redPlayerConnection = redPlayerConnection;
         this.yellowPlayerConnection = yellowPlayerConnection;
     }
 
-    /**
-     * Gets the next move of the current player.
-     * @return The next move of the current player.
-     */
-    @Override
-    public Optional<Move> getCurrentPlayerNextMove() {
-        ClientConnection currentPlayerConnection = getCurrentPlayerConnection();
-        return getNextMove(currentPlayerConnection);
-    }
-
     /**
      * Gets the current player connection.
      * @return The connection of the current player.
      */
-    private ClientConnection getCurrentPlayerConnection() {
+    @Override
+    protected ClientConnection getCurrentPlayerConnection() {
         return game.getCurrentPlayer() == game.getRedPlayer() ? redPlayerConnection : yellowPlayerConnection;
     }
 }
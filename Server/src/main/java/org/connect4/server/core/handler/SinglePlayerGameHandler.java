@@ -1,11 +1,14 @@
 package org.connect4.server.core.handler;
 
 import org.connect4.game.ai.strategies.AI;
+import org.connect4.game.ai.utils.SearchResult;
 import org.connect4.game.logic.core.Move;
 import org.connect4.game.logic.enums.PlayerType;
+import org.connect4.server.core.SearchStatisticsAggregator;
 import org.connect4.server.core.network.ClientConnection;
 import org.connect4.server.core.session.GameSession;
 
+import java.time.Duration;
 import java.util.Optional;
 
 /**
@@ -14,35 +17,54 @@ import java.util.Optional;
  */
 public class SinglePlayerGameHandler extends GameHandler {
     private final ClientConnection humanPlayerConnection;
+    private final SearchStatisticsAggregator searchStatistics;
+    private final Duration aiMoveDelay;
 
     /**
      * Constructs a single-player game handler between a human player and an AI player.
      * @param gameSession The game session.
      * @param humanPlayerConnection The human player connection.
+     * @param searchStatistics The aggregator of the AI search statistics.
+     * @param turnTimeout The time the human player has to make a move, or zero for no limit.
+     * @param aiMoveDelay The minimum time between the start of the AI turn and the AI move.
      */
-    public SinglePlayerGameHandler(GameSession gameSession, ClientConnection humanPlayerConnection) {
-        super(gameSession);
+    public SinglePlayerGameHandler(GameSession gameSession, ClientConnection humanPlayerConnection,
+                                   SearchStatisticsAggregator searchStatistics, Duration turnTimeout, Duration aiMoveDelay) {
+        super(gameSession, turnTimeout);
         this.humanPlayerConnection = humanPlayerConnection;
+        this.searchStatistics = searchStatistics;
+        this.aiMoveDelay = aiMoveDelay;
     }
 
     /**
-     * Gets the next move of the current player.
-     * @return The next move of the current player.
+     * Gets the current player connection.
+     * @return The human player connection on the human turn, null on the AI turn.
      */
     @Override
-    public Optional<Move> getCurrentPlayerNextMove() {
-        if (game.getCurrentPlayer().getPlayerType() == PlayerType.HUMAN) {
-            return getNextMove(humanPlayerConnection);
-        } else if (game.getCurrentPlayer().getPlayerType() == PlayerType.COMPUTER) {
-            try {
-                Thread.sleep(3000);
-            } catch (InterruptedException e) {
-                LOGGER.severe("AI move delay interrupted.");
-                Thread.currentThread().interrupt();
-            }
-            return Optional.of(((AI) game.getYellowPlayer()).getNextMove());
-        }
-
-        return Optional.empty();
+    protected ClientConnection getCurrentPlayerConnection() {
+        return game.getCurrentPlayer().getPlayerType() == PlayerType.HUMAN ? humanPlayerConnection : null;
+    }
+
+    /**
+     * Computes the move of the AI player as soon as its turn starts.
+     * @return The AI move, or empty if the search was cancelled.
+     */
+    @Override
+    protected Optional<Move> computeCurrentPlayerMove() {
+        // The AI searches a snapshot of the board, so it never reads the board while the game changes it
+        SearchResult searchResult = ((AI) game.getYellowPlayer()).search(game.getSnapshot());
+        searchStatistics.record(searchResult.getStatistics());
+
+        // A cancelled search has no move
+        return Optional.ofNullable(searchResult.getMove());
+    }
+
+    /**
+     * Gets the minimum time between the start of the AI turn and the AI move, which paces the game for the human player.
+     * @return The AI move delay.
+     */
+    @Override
+    protected Duration getMinimumMoveDelay() {
+        return aiMoveDelay;
     }
 }
@@ -0,0 +1,13 @@
+package org.connect4.server.core.handler;
+
+/**
+ * An enum that represents the states of a game handler.
+ * @author Hassan
+ */
+public enum TurnState {
+    NOT_STARTED,
+    AWAITING_MOVE,
+    COMPUTING_MOVE,
+    GAME_OVER,
+    STOPPED
+}
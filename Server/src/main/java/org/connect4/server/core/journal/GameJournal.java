@@ -0,0 +1,475 @@
+package org.connect4.server.core.journal;
+
+import org.connect4.game.ai.enums.AIType;
+import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.core.Player;
+import org.connect4.game.logic.enums.Color;
+import org.connect4.server.core.session.GameSessionType;
+import org.connect4.server.logging.ServerLogger;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * A class that keeps a write-ahead journal of the game sessions, so that they can be resumed after a restart of the server.
+ * A record is a 4-byte body length and the 4-byte CRC-32 of the body, followed by the body:
+ * the record type byte, the 8-byte session id, and a payload that depends on the type:
+ * <ul>
+ *     <li>A started session has its type byte, its AI type byte (-1 for none), the two 8-byte resume tokens,
+ *     the two 8-byte archive ids, and the 4-byte scores and ratings of both players, red player first.</li>
+ *     <li>A move is a single byte holding the column.</li>
+ *     <li>A game over has the 4-byte scores and ratings of both players, red player first.</li>
+ *     <li>A game reset and an ended session have an empty payload.</li>
+ * </ul>
+ * Appending a record only encodes it and queues it, so the game sessions never wait for the disk.
+ * A single writer thread drains the queue and commits everything queued since its last commit with one write
+ * and one force, so that many moves share the cost of a sync when the server is busy.
+ * On startup the journal is read back up to its first torn or corrupt record, and rewritten with only the sessions
+ * that were still running, so it only grows with the sessions of the current run.
+ * @author Hassan
+ */
+public class GameJournal {
+    private static final ServerLogger LOGGER = ServerLogger.getLogger();
+    private static final int HEADER_LENGTH = 2 * Integer.BYTES;
+    private static final int BODY_HEADER_LENGTH = 1 + Long.BYTES;
+    private static final int SESSION_STARTED_LENGTH = 2 + 4 * Long.BYTES + 4 * Integer.BYTES;
+    private static final int GAME_OVER_LENGTH = 4 * Integer.BYTES;
+    private static final int MAX_BATCH_RECORDS = 1024;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final byte NO_AI_TYPE = -1;
+    private static final JournalRecordType[] RECORD_TYPES = JournalRecordType.values();
+
+    private final Path path;
+    private final BlockingQueue<byte[]> pendingRecords;
+    private final AtomicBoolean isOpen;
+    private FileChannel channel;
+    private Thread writerThread;
+    private long recordCount;
+    private long commitCount;
+
+    /**
+     * Constructs a game journal on the specified file.
+     * @param path The path of the journal file, or null to disable the journal.
+     */
+    public GameJournal(Path path) {
+        this.path = path;
+        this.pendingRecords = new LinkedBlockingQueue<>();
+        this.isOpen = new AtomicBoolean(false);
+    }
+
+    /**
+     * Checks whether this journal is enabled.
+     * @return true if the journal has a file, false otherwise.
+     */
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * Reads back the game sessions that were running when the server stopped, compacts the journal to these sessions,
+     * and starts the writer thread. It does nothing if the journal is disabled.
+     * @return The recovered game sessions, in the order they were started.
+     * @throws IOException If the journal cannot be read or rewritten.
+     */
+    public List<RecoveredSession> open() throws IOException {
+        if (!isEnabled() || !isOpen.compareAndSet(false, true)) {
+            return List.of();
+        }
+
+        List<RecoveredSession> recoveredSessions = new ArrayList<>(readSessions().values());
+        compact(recoveredSessions);
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        writerThread = new Thread(this::writeRecords, "game-journal");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        LOGGER.info("Game journal opened at %s with %d recovered game sessions.".formatted(path, recoveredSessions.size()));
+        return recoveredSessions;
+    }
+
+    /**
+     * Appends the start of a game session.
+     * @param sessionId The id of the game session.
+     * @param type The type of the game session.
+     * @param aiType The type of the AI player, or null for a multi-player game session.
+     * @param redResumeToken The resume token of the red player.
+     * @param yellowResumeToken The resume token of the yellow player, or zero if the yellow player is not a client.
+     * @param redArchiveId The archive id of the red player.
+     * @param yellowArchiveId The archive id of the yellow player, or zero if the yellow player is not a client.
+     * @param redPlayer The red player.
+     * @param yellowPlayer The yellow player.
+     */
+    public void appendSessionStarted(long sessionId, GameSessionType type, AIType aiType, long redResumeToken,
+                                     long yellowResumeToken, long redArchiveId, long yellowArchiveId,
+                                     Player redPlayer, Player yellowPlayer) {
+        if (isOpen.get()) {
+            append(encodeSessionStarted(sessionId, type, aiType, redResumeToken, yellowResumeToken, redArchiveId,
+                    yellowArchiveId, redPlayer.getScore(), yellowPlayer.getScore(), redPlayer.getRating(), yellowPlayer.getRating()));
+        }
+    }
+
+    /**
+     * Appends a move played in a game session.
+     * @param sessionId The id of the game session.
+     * @param move The move.
+     */
+    public void appendMove(long sessionId, Move move) {
+        if (isOpen.get()) {
+            append(encodeMove(sessionId, move));
+        }
+    }
+
+    /**
+     * Appends the end of a game, with the scores and ratings it left the players with.
+     * @param sessionId The id of the game session.
+     * @param redPlayer The red player.
+     * @param yellowPlayer The yellow player.
+     */
+    public void appendGameOver(long sessionId, Player redPlayer, Player yellowPlayer) {
+        if (isOpen.get()) {
+            ByteBuffer record = newRecord(JournalRecordType.GAME_OVER, sessionId, GAME_OVER_LENGTH)
+                    .putInt(redPlayer.getScore())
+                    .putInt(yellowPlayer.getScore())
+                    .putInt(redPlayer.getRating())
+                    .putInt(yellowPlayer.getRating());
+            append(seal(record));
+        }
+    }
+
+    /**
+     * Appends the reset of the game of a game session for a rematch.
+     * @param sessionId The id of the game session.
+     */
+    public void appendGameReset(long sessionId) {
+        if (isOpen.get()) {
+            append(seal(newRecord(JournalRecordType.GAME_RESET, sessionId, 0)));
+        }
+    }
+
+    /**
+     * Appends the end of a game session, which is then no longer recovered.
+     * @param sessionId The id of the game session.
+     */
+    public void appendSessionEnded(long sessionId) {
+        if (isOpen.get()) {
+            append(seal(newRecord(JournalRecordType.SESSION_ENDED, sessionId, 0)));
+        }
+    }
+
+    /**
+     * Closes this journal once the records queued so far are committed. Records appended afterwards are dropped.
+     */
+    public void close() {
+        if (!isOpen.compareAndSet(true, false)) {
+            return;
+        }
+
+        try {
+            writerThread.join();
+            closeChannel();
+            LOGGER.info("Game journal closed after writing %d records in %d commits.".formatted(recordCount, commitCount));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.severe("Interrupted while closing the game journal.");
+        }
+    }
+
+    /**
+     * Closes the journal file, if it is still open.
+     */
+    private void closeChannel() {
+        try {
+            if (channel.isOpen()) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            LOGGER.severe("Failed to close the game journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Queues an encoded record for the writer thread.
+     * @param record The encoded record.
+     */
+    private void append(byte[] record) {
+        pendingRecords.offer(record);
+    }
+
+    /**
+     * Runs the writer thread, which commits the queued records in batches until the journal is closed.
+     * The thread is never interrupted, since an interrupt would close the file channel.
+     */
+    private void writeRecords() {
+        List<byte[]> batch = new ArrayList<>(MAX_BATCH_RECORDS);
+        ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        try {
+            while (isOpen.get() || !pendingRecords.isEmpty()) {
+                byte[] record = pendingRecords.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (record != null) {
+                    batch.add(record);
+                    pendingRecords.drainTo(batch, MAX_BATCH_RECORDS - 1);
+                    commit(batch, writeBuffer);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            isOpen.set(false);
+            pendingRecords.clear();
+            LOGGER.severe("Failed to write the game journal, game sessions will not be recovered: " + e.getMessage());
+            closeChannel();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes a batch of records to the journal file, and forces them to the disk once for the whole batch.
+     * @param batch The encoded records.
+     * @param writeBuffer The buffer the records are gathered in.
+     * @throws IOException If the records cannot be written.
+     */
+    private void commit(List<byte[]> batch, ByteBuffer writeBuffer) throws IOException {
+        for (byte[] record : batch) {
+            if (record.length > writeBuffer.remaining()) {
+                flush(writeBuffer);
+            }
+            writeBuffer.put(record);
+        }
+        flush(writeBuffer);
+        channel.force(false);
+
+        recordCount += batch.size();
+        commitCount++;
+    }
+
+    /**
+     * Writes the content of the buffer to the journal file, and clears the buffer.
+     * @param writeBuffer The buffer.
+     * @throws IOException If the content cannot be written.
+     */
+    private void flush(ByteBuffer writeBuffer) throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * Reads the journal file up to its first torn or corrupt record, and folds the records into the running sessions.
+     * @return The sessions that were not ended, by id.
+     * @throws IOException If the journal cannot be read.
+     */
+    private Map<Long, RecoveredSession> readSessions() throws IOException {
+        Map<Long, RecoveredSession> sessions = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return sessions;
+        }
+
+        try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = readChannel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Game journal is too large to be recovered: " + size + " bytes");
+            }
+
+            MappedByteBuffer buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            int validLength = 0;
+            while (buffer.remaining() >= HEADER_LENGTH) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length < BODY_HEADER_LENGTH || length > buffer.remaining()) {
+                    break;
+                }
+
+                ByteBuffer body = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(body.duplicate());
+                if ((int) crc.getValue() != checksum || !applyRecord(sessions, body)) {
+                    break;
+                }
+
+                buffer.position(buffer.position() + length);
+                validLength = buffer.position();
+            }
+
+            if (validLength < size) {
+                LOGGER.warning("Discarded %d bytes of torn or corrupt records at the end of the game journal."
+                        .formatted(size - validLength));
+            }
+        }
+
+        return sessions;
+    }
+
+    /**
+     * Applies a record read from the journal to the running sessions.
+     * @param sessions The running sessions, by id.
+     * @param body The body of the record.
+     * @return true if the record could be decoded, false otherwise.
+     */
+    private static boolean applyRecord(Map<Long, RecoveredSession> sessions, ByteBuffer body) {
+        try {
+            int typeOrdinal = body.get();
+            if (typeOrdinal < 0 || typeOrdinal >= RECORD_TYPES.length) {
+                return false;
+            }
+
+            long sessionId = body.getLong();
+            RecoveredSession session = sessions.get(sessionId);
+            switch (RECORD_TYPES[typeOrdinal]) {
+                case SESSION_STARTED -> sessions.put(sessionId, decodeSessionStarted(sessionId, body));
+                case MOVE -> {
+                    if (session != null) {
+                        session.applyMove(body.get());
+                    }
+                }
+                case GAME_OVER -> {
+                    if (session != null) {
+                        session.applyGameOver(body.getInt(), body.getInt(), body.getInt(), body.getInt());
+                    }
+                }
+                case GAME_RESET -> {
+                    if (session != null) {
+                        session.applyGameReset();
+                    }
+                }
+                case SESSION_ENDED -> sessions.remove(sessionId);
+            }
+
+            return true;
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Rewrites the journal file with only the specified sessions. The new file replaces the old one atomically,
+     * so a crash during the compaction leaves either of them.
+     * @param sessions The sessions to keep.
+     * @throws IOException If the journal cannot be rewritten.
+     */
+    private void compact(List<RecoveredSession> sessions) throws IOException {
+        Path compactedPath = path.resolveSibling(path.getFileName() + ".compact");
+        try (FileChannel compactedChannel = FileChannel.open(compactedPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (RecoveredSession session : sessions) {
+                compactedChannel.write(ByteBuffer.wrap(encodeSessionStarted(session.getId(), session.getType(),
+                        session.getAiType(), session.getResumeToken(Color.RED), session.getResumeToken(Color.YELLOW),
+                        session.getArchiveId(Color.RED), session.getArchiveId(Color.YELLOW),
+                        session.getScore(Color.RED), session.getScore(Color.YELLOW),
+                        session.getRating(Color.RED), session.getRating(Color.YELLOW))));
+                for (Move move : session.getMoves()) {
+                    compactedChannel.write(ByteBuffer.wrap(encodeMove(session.getId(), move)));
+                }
+            }
+            compactedChannel.force(true);
+        }
+
+        Files.move(compactedPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Encodes the start of a game session.
+     * @param sessionId The id of the game session.
+     * @param type The type of the game session.
+     * @param aiType The type of the AI player, or null for none.
+     * @param redResumeToken The resume token of the red player.
+     * @param yellowResumeToken The resume token of the yellow player.
+     * @param redArchiveId The archive id of the red player.
+     * @param yellowArchiveId The archive id of the yellow player.
+     * @param redScore The score of the red player.
+     * @param yellowScore The score of the yellow player.
+     * @param redRating The rating of the red player.
+     * @param yellowRating The rating of the yellow player.
+     * @return The encoded record.
+     */
+    private static byte[] encodeSessionStarted(long sessionId, GameSessionType type, AIType aiType, long redResumeToken,
+                                               long yellowResumeToken, long redArchiveId, long yellowArchiveId,
+                                               int redScore, int yellowScore, int redRating, int yellowRating) {
+        ByteBuffer record = newRecord(JournalRecordType.SESSION_STARTED, sessionId, SESSION_STARTED_LENGTH)
+                .put((byte) type.ordinal())
+                .put(aiType == null ? NO_AI_TYPE : (byte) aiType.ordinal())
+                .putLong(redResumeToken)
+                .putLong(yellowResumeToken)
+                .putLong(redArchiveId)
+                .putLong(yellowArchiveId)
+                .putInt(redScore)
+                .putInt(yellowScore)
+                .putInt(redRating)
+                .putInt(yellowRating);
+        return seal(record);
+    }
+
+    /**
+     * Decodes the start of a game session.
+     * @param sessionId The id of the game session.
+     * @param payload The payload of the record.
+     * @return The recovered session, with no moves yet.
+     */
+    private static RecoveredSession decodeSessionStarted(long sessionId, ByteBuffer payload) {
+        GameSessionType type = GameSessionType.values()[payload.get()];
+        byte aiTypeOrdinal = payload.get();
+        AIType aiType = aiTypeOrdinal == NO_AI_TYPE ? null : AIType.values()[aiTypeOrdinal];
+        long redResumeToken = payload.getLong();
+        long yellowResumeToken = payload.getLong();
+        long[] archiveIds = {payload.getLong(), payload.getLong()};
+        int[] scores = {payload.getInt(), payload.getInt()};
+        int[] ratings = {payload.getInt(), payload.getInt()};
+        return new RecoveredSession(sessionId, type, aiType, redResumeToken, yellowResumeToken, archiveIds, scores, ratings);
+    }
+
+    /**
+     * Encodes a move.
+     * @param sessionId The id of the game session.
+     * @param move The move.
+     * @return The encoded record.
+     */
+    private static byte[] encodeMove(long sessionId, Move move) {
+        return seal(newRecord(JournalRecordType.MOVE, sessionId, 1).put((byte) move.getColumn()));
+    }
+
+    /**
+     * Allocates a record with room for the specified payload, positioned after the record type and session id.
+     * @param type The record type.
+     * @param sessionId The id of the game session.
+     * @param payloadLength The length of the payload.
+     * @return The record buffer.
+     */
+    private static ByteBuffer newRecord(JournalRecordType type, long sessionId, int payloadLength) {
+        ByteBuffer record = ByteBuffer.allocate(HEADER_LENGTH + BODY_HEADER_LENGTH + payloadLength);
+        record.position(HEADER_LENGTH);
+        return record.put((byte) type.ordinal()).putLong(sessionId);
+    }
+
+    /**
+     * Fills the length and checksum of a record once its payload is written.
+     * @param record The record buffer.
+     * @return The encoded record.
+     */
+    private static byte[] seal(ByteBuffer record) {
+        int bodyLength = record.position() - HEADER_LENGTH;
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), HEADER_LENGTH, bodyLength);
+        record.putInt(0, bodyLength).putInt(Integer.BYTES, (int) crc.getValue());
+        return record.array();
+    }
+}
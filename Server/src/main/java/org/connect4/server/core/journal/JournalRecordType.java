@@ -0,0 +1,14 @@
+package org.connect4.server.core.journal;
+
+/**
+ * Enum representing the types of the records of the game journal.
+ * Records are tagged with their ordinal, so new record types must be appended to the end of the enum.
+ * @author Hassan
+ */
+public enum JournalRecordType {
+    SESSION_STARTED,
+    MOVE,
+    GAME_OVER,
+    GAME_RESET,
+    SESSION_ENDED
+}
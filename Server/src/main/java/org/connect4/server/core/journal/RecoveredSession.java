@@ -0,0 +1,209 @@
+package org.connect4.server.core.journal;
+
+import org.connect4.game.ai.enums.AIType;
+import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.enums.Color;
+import org.connect4.server.core.network.ClientConnection;
+import org.connect4.server.core.session.GameSessionType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A class that represents a game session read back from the game journal after a restart of the server.
+ * It holds the moves of the game in progress with the scores and ratings of both players,
+ * and the clients that have claimed the session back with their resume tokens.
+ * @author Hassan
+ */
+public class RecoveredSession {
+    private final long id;
+    private final GameSessionType type;
+    private final AIType aiType;
+    private final long redResumeToken;
+    private final long yellowResumeToken;
+    private final long[] archiveIds;
+    private final List<Move> moves;
+    private final int[] scores;
+    private final int[] ratings;
+    private ClientConnection redPlayerConnection;
+    private ClientConnection yellowPlayerConnection;
+
+    /**
+     * Constructs a recovered session with no moves.
+     * @param id The id of the game session before the restart.
+     * @param type The type of the game session.
+     * @param aiType The type of the AI player, or null for a multi-player game session.
+     * @param redResumeToken The resume token of the red player.
+     * @param yellowResumeToken The resume token of the yellow player, or zero if the yellow player is not a client.
+     * @param archiveIds The archive ids of the players, red player first.
+     * @param scores The scores of the players, red player first.
+     * @param ratings The ratings of the players, red player first.
+     */
+    public RecoveredSession(long id, GameSessionType type, AIType aiType, long redResumeToken, long yellowResumeToken,
+                            long[] archiveIds, int[] scores, int[] ratings) {
+        this.id = id;
+        this.type = type;
+        this.aiType = aiType;
+        this.redResumeToken = redResumeToken;
+        this.yellowResumeToken = yellowResumeToken;
+        this.archiveIds = archiveIds;
+        this.moves = new ArrayList<>();
+        this.scores = scores;
+        this.ratings = ratings;
+    }
+
+    /**
+     * Gets the id of the game session before the restart.
+     * @return The id of the game session.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the type of the game session.
+     * @return The type of the game session.
+     */
+    public GameSessionType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the type of the AI player.
+     * @return The AI type, or null for a multi-player game session.
+     */
+    public AIType getAiType() {
+        return aiType;
+    }
+
+    /**
+     * Gets the resume token of the player with the specified color.
+     * @param color The color of the player.
+     * @return The resume token, or zero if the player is not a client.
+     */
+    public long getResumeToken(Color color) {
+        return color == Color.RED ? redResumeToken : yellowResumeToken;
+    }
+
+    /**
+     * Gets the archive id of the player with the specified color.
+     * @param color The color of the player.
+     * @return The archive id, or zero if the player is not a client.
+     */
+    public long getArchiveId(Color color) {
+        return archiveIds[color == Color.RED ? 0 : 1];
+    }
+
+    /**
+     * Gets the moves of the game in progress, in the order they were played.
+     * @return The moves, empty if the last game was over.
+     */
+    public List<Move> getMoves() {
+        return moves;
+    }
+
+    /**
+     * Gets the score of the player with the specified color.
+     * @param color The color of the player.
+     * @return The score.
+     */
+    public int getScore(Color color) {
+        return scores[color == Color.RED ? 0 : 1];
+    }
+
+    /**
+     * Gets the rating of the player with the specified color.
+     * @param color The color of the player.
+     * @return The rating.
+     */
+    public int getRating(Color color) {
+        return ratings[color == Color.RED ? 0 : 1];
+    }
+
+    /**
+     * Gets the client that claimed the player with the specified color.
+     * @param color The color of the player.
+     * @return The client connection, or null if the player is not claimed.
+     */
+    public synchronized ClientConnection getClient(Color color) {
+        return color == Color.RED ? redPlayerConnection : yellowPlayerConnection;
+    }
+
+    /**
+     * Gets the clients that claimed this session so far.
+     * @return The client connections.
+     */
+    public synchronized List<ClientConnection> getClients() {
+        List<ClientConnection> clients = new ArrayList<>(2);
+        if (redPlayerConnection != null) {
+            clients.add(redPlayerConnection);
+        }
+        if (yellowPlayerConnection != null) {
+            clients.add(yellowPlayerConnection);
+        }
+
+        return clients;
+    }
+
+    /**
+     * Claims the player with the specified resume token for the specified client.
+     * Earlier claims by clients that are no longer available are dropped first.
+     * @param resumeToken The resume token sent by the client.
+     * @param clientConnection The client connection.
+     * @param isAvailable Tells whether a client that claimed a player earlier can still join the session.
+     * @return true if every player of the session is now claimed, false otherwise.
+     */
+    public synchronized boolean claim(long resumeToken, ClientConnection clientConnection, Predicate<ClientConnection> isAvailable) {
+        if (redPlayerConnection != null && !isAvailable.test(redPlayerConnection)) {
+            redPlayerConnection = null;
+        }
+        if (yellowPlayerConnection != null && !isAvailable.test(yellowPlayerConnection)) {
+            yellowPlayerConnection = null;
+        }
+
+        if (resumeToken == redResumeToken && !clientConnection.equals(yellowPlayerConnection)) {
+            redPlayerConnection = clientConnection;
+        } else if (resumeToken == yellowResumeToken && !clientConnection.equals(redPlayerConnection)) {
+            yellowPlayerConnection = clientConnection;
+        }
+
+        return redPlayerConnection != null
+                && (type == GameSessionType.SINGLE_PLAYER_GAME_SESSION || yellowPlayerConnection != null);
+    }
+
+    /**
+     * Applies a move read from the journal.
+     * @param column The column of the move.
+     */
+    void applyMove(int column) {
+        moves.add(new Move(column));
+    }
+
+    /**
+     * Applies the end of a game read from the journal. The session is resumed with a new game.
+     * @param redScore The score of the red player.
+     * @param yellowScore The score of the yellow player.
+     * @param redRating The rating of the red player.
+     * @param yellowRating The rating of the yellow player.
+     */
+    void applyGameOver(int redScore, int yellowScore, int redRating, int yellowRating) {
+        moves.clear();
+        scores[0] = redScore;
+        scores[1] = yellowScore;
+        ratings[0] = redRating;
+        ratings[1] = yellowRating;
+    }
+
+    /**
+     * Applies the reset of the game for a rematch read from the journal.
+     */
+    void applyGameReset() {
+        moves.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "RecoveredSession{id=" + id + ", type=" + type + ", moves=" + moves.size() + "}";
+    }
+}
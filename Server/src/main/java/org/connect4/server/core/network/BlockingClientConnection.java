@@ -0,0 +1,216 @@
+package org.connect4.server.core.network;
+
+import org.connect4.game.networking.exceptions.ReceiveMessageFailureException;
+import org.connect4.game.networking.exceptions.SendMessageFailureException;
+import org.connect4.game.networking.messaging.Message;
+import org.connect4.game.networking.messaging.MessageCodec;
+import org.connect4.server.core.ServerManager;
+import org.connect4.server.logging.ServerLogger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A client connection that reads messages on a dedicated listener thread and writes them with blocking socket I/O.
+ * Sent messages are queued and written by a writer task, which writes every queued message before flushing the socket once.
+ * @author Hassan
+ */
+public class BlockingClientConnection extends ClientConnection {
+    private static final ServerLogger LOGGER = ServerLogger.getLogger();
+    private static final int MAX_WRITE_BATCH = 64;
+
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final BlockingQueue<Message<?>> outboundMessages;
+    private final List<Message<?>> writeBatch;
+    private final AtomicBoolean isFlushScheduled;
+    private final ClientMessageListener clientMessageListener;
+    private final ExecutorService listenerExecutor;
+    private final ExecutorService writerExecutor;
+
+    /**
+     * Constructs the client connection.
+     * @param clientSocket The socket of the client.
+     * @param serverManager The server manager.
+     * @throws IOException If an Input/Output error occurs when creating streams.
+     */
+    public BlockingClientConnection(Socket clientSocket, ServerManager serverManager) throws IOException {
+        super(clientSocket, serverManager);
+        this.in = new DataInputStream(new BufferedInputStream(clientSocket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(clientSocket.getOutputStream()));
+        this.clientMessageListener = new ClientMessageListener(this, clientMessageHandler);
+        this.outboundMessages = new ArrayBlockingQueue<>(MAX_PENDING_MESSAGES);
+        this.writeBatch = new ArrayList<>(MAX_WRITE_BATCH);
+        this.isFlushScheduled = new AtomicBoolean(false);
+        this.listenerExecutor = serverManager.getExecutorFactory().newSingleThreadExecutor("client-listener");
+        this.writerExecutor = serverManager.getExecutorFactory().newSingleThreadExecutor("client-writer");
+    }
+
+    /**
+     * Starts the message listener to receive message from this client connection.
+     */
+    @Override
+    public void startMessageListener() {
+        listenerExecutor.submit(clientMessageListener);
+    }
+
+    /**
+     * Queues a message to be written to the receiver's output stream as a binary frame.
+     * @param message The message to be sent.
+     * @throws SendMessageFailureException If the connection is closed or the queue is full.
+     */
+    @Override
+    public void sendMessage(Message<?> message) throws SendMessageFailureException {
+        if (!isConnected()) {
+            throw new SendMessageFailureException("Failed to send message to a client: connection is closed.");
+        }
+
+        if (!outboundMessages.offer(message)) {
+            handleOutboundOverflow(message);
+            return;
+        }
+
+        scheduleFlush();
+    }
+
+    /**
+     * Schedules a flush on the writer, unless one is already pending.
+     * @throws SendMessageFailureException If the writer is shut down.
+     */
+    private void scheduleFlush() throws SendMessageFailureException {
+        if (isFlushScheduled.compareAndSet(false, true)) {
+            try {
+                writerExecutor.execute(this::flushOutbound);
+            } catch (RejectedExecutionException e) {
+                outboundMessages.clear();
+                throw new SendMessageFailureException("Failed to send message to a client: connection is closed.");
+            }
+        }
+    }
+
+    /**
+     * Writes the queued messages in batches, flushing the socket once per batch. Called on the writer.
+     * Only one flush runs at a time, so frames never interleave.
+     */
+    private void flushOutbound() {
+        try {
+            while (outboundMessages.drainTo(writeBatch, MAX_WRITE_BATCH) > 0) {
+                for (Message<?> message : writeBatch) {
+                    MessageCodec.write(out, message);
+                }
+                writeBatch.clear();
+                out.flush();
+            }
+        } catch (IOException e) {
+            writeBatch.clear();
+            outboundMessages.clear();
+            close("Failed to send message to client %s, closing connection: %s".formatted(clientSocket.getRemoteSocketAddress(), e.getMessage()));
+        }
+
+        isFlushScheduled.set(false);
+
+        // A message queued after the last batch may have found the flush still scheduled
+        if (!outboundMessages.isEmpty()) {
+            try {
+                scheduleFlush();
+            } catch (SendMessageFailureException e) {
+                LOGGER.severe(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Receives a message from sender's input stream.
+     * @return The received message, or null if the client closed the connection.
+     * @throws ReceiveMessageFailureException If failed to receive the message.
+     */
+    public Message<?> receiveMessage() throws ReceiveMessageFailureException {
+        try {
+            return MessageCodec.read(in);
+        } catch (EOFException e) {
+            return null;
+        } catch (IOException e) {
+            throw new ReceiveMessageFailureException("Failed to receive message from a client: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Disconnects the client connection.
+     */
+    @Override
+    public void disconnect() {
+        try {
+            // Closes the socket before waiting for the listener and the handler, so that the client sees the close
+            // right away and the listener blocked on a read is released
+            shutdownWriterExecutor();
+            if (this.isConnected()) {
+                clientSocket.close();
+                closeStreams();
+            }
+            shutdownListenerExecutor();
+            clientMessageHandler.shutdown();
+
+            LOGGER.info("Client disconnected.");
+        } catch (IOException e) {
+            LOGGER.severe("Failed to close client socket: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes Input/Output streams of this client connection.
+     */
+    private void closeStreams() {
+        try {
+            in.close();
+            out.close();
+        } catch (IOException e) {
+            LOGGER.severe("Failed to close streams: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Shutdown the writer executor after it writes the queued messages.
+     */
+    private void shutdownWriterExecutor() {
+        try {
+            writerExecutor.shutdown();
+            if (!writerExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                writerExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            LOGGER.severe("Failed to shutdown the writer executor: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Shutdown the listener executor.
+     */
+    private void shutdownListenerExecutor() {
+        try {
+            if (!listenerExecutor.isShutdown()) {
+                listenerExecutor.shutdown();
+
+                if (!listenerExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    listenerExecutor.shutdownNow();
+                }
+            }
+
+            LOGGER.info("Listener Executor shut down successfully.");
+        } catch (InterruptedException e) {
+            LOGGER.severe("Failed to shutdown the listener executor: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package org.connect4.server.core.network;
+
+import org.connect4.game.networking.exceptions.MalformedMessageException;
+import org.connect4.game.networking.exceptions.SendMessageFailureException;
+import org.connect4.game.networking.messaging.Message;
+import org.connect4.game.networking.messaging.MessageCodec;
+import org.connect4.server.core.ServerManager;
+import org.connect4.server.logging.ServerLogger;
+
+import java.io.IOException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A client connection served by a {@link SelectorEventLoop} with non-blocking channel I/O.
+ * Received frames are decoded on the event loop and handed to the client message handler.
+ * Sent frames are queued and written by the event loop, several frames per gathering write.
+ * At most {@link #MAX_PENDING_MESSAGES} frames wait to be written.
+ * @author Hassan
+ */
+public class ChannelClientConnection extends ClientConnection {
+    private static final ServerLogger LOGGER = ServerLogger.getLogger();
+    private static final int MAX_WRITE_BATCH = 64;
+
+    private final SocketChannel channel;
+    private final SelectorEventLoop eventLoop;
+    private final Queue<ByteBuffer> outboundFrames;
+    private final AtomicInteger pendingFrames;
+    private final AtomicBoolean isFlushScheduled;
+    private final ByteBuffer[] writeBatch;
+    private SelectionKey selectionKey;
+    private ByteBuffer partialFrame;
+    private volatile boolean isClosing;
+
+    /**
+     * Constructs the client connection.
+     * @param channel The channel of the client.
+     * @param eventLoop The event loop serving the channel.
+     * @param serverManager The server manager.
+     * @throws IOException If the channel cannot be configured.
+     */
+    public ChannelClientConnection(SocketChannel channel, SelectorEventLoop eventLoop, ServerManager serverManager) throws IOException {
+        super(channel.socket(), serverManager);
+        this.channel = channel;
+        this.eventLoop = eventLoop;
+        this.outboundFrames = new ConcurrentLinkedQueue<>();
+        this.pendingFrames = new AtomicInteger();
+        this.isFlushScheduled = new AtomicBoolean(false);
+        this.writeBatch = new ByteBuffer[MAX_WRITE_BATCH];
+
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+
+    /**
+     * Gets the channel of this client connection.
+     * @return The socket channel.
+     */
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Sets the selection key of the channel once it is registered on the event loop.
+     * @param selectionKey The selection key.
+     */
+    void setSelectionKey(SelectionKey selectionKey) {
+        this.selectionKey = selectionKey;
+    }
+
+    /**
+     * Registers the channel on its event loop to start receiving messages.
+     */
+    @Override
+    public void startMessageListener() {
+        eventLoop.register(this);
+    }
+
+    /**
+     * Queues a message to be written by the event loop.
+     * @param message The message to be sent.
+     * @throws SendMessageFailureException If the connection is closed, the message cannot be encoded, or the queue is full.
+     */
+    @Override
+    public void sendMessage(Message<?> message) throws SendMessageFailureException {
+        if (isClosing || !channel.isOpen()) {
+            throw new SendMessageFailureException("Failed to send message to a client: connection is closed.");
+        }
+
+        if (pendingFrames.incrementAndGet() > MAX_PENDING_MESSAGES) {
+            pendingFrames.decrementAndGet();
+            handleOutboundOverflow(message);
+            return;
+        }
+
+        try {
+            outboundFrames.add(ByteBuffer.wrap(MessageCodec.encode(message)));
+        } catch (MalformedMessageException e) {
+            pendingFrames.decrementAndGet();
+            String errorMessage = "Failed to send message to a client: " + e.getMessage();
+            LOGGER.severe(errorMessage);
+            throw new SendMessageFailureException(errorMessage);
+        }
+
+        scheduleFlush();
+    }
+
+    /**
+     * Writes the queued messages and closes the channel on the event loop.
+     */
+    @Override
+    public void disconnect() {
+        isClosing = true;
+        eventLoop.execute(() -> {
+            flushOutbound();
+            closeChannel();
+        });
+        clientMessageHandler.shutdown();
+
+        LOGGER.info("Client disconnected.");
+    }
+
+    /**
+     * Reads from the channel and handles every complete frame. Called on the event loop.
+     * @param readBuffer The read buffer of the event loop.
+     */
+    void handleReadable(ByteBuffer readBuffer) {
+        readBuffer.clear();
+        if (partialFrame != null) {
+            readBuffer.put(partialFrame);
+            partialFrame = null;
+        }
+
+        int bytesRead;
+        try {
+            bytesRead = channel.read(readBuffer);
+        } catch (IOException e) {
+            bytesRead = -1;
+        }
+
+        if (bytesRead < 0) {
+            closeChannel();
+            close("Client %s closed the connection.".formatted(clientSocket.getRemoteSocketAddress()));
+            return;
+        }
+
+        readBuffer.flip();
+        try {
+            while (readBuffer.remaining() >= MessageCodec.LENGTH_FIELD_SIZE) {
+                int length = readBuffer.getInt(readBuffer.position());
+                MessageCodec.checkFrameLength(length);
+                if (readBuffer.remaining() < MessageCodec.LENGTH_FIELD_SIZE + length) {
+                    break;
+                }
+
+                int bodyStart = readBuffer.position() + MessageCodec.LENGTH_FIELD_SIZE;
+                ByteBuffer body = readBuffer.slice(bodyStart, length);
+                readBuffer.position(bodyStart + length);
+                clientMessageHandler.handleMessage(MessageCodec.decode(body));
+            }
+        } catch (MalformedMessageException e) {
+            closeChannel();
+            close("Received malformed frame from client %s, closing connection: %s".formatted(clientSocket.getRemoteSocketAddress(), e.getMessage()));
+            return;
+        }
+
+        // Keep the beginning of an incomplete frame until the rest arrives
+        if (readBuffer.hasRemaining()) {
+            partialFrame = ByteBuffer.allocate(readBuffer.remaining()).put(readBuffer).flip();
+        }
+    }
+
+    /**
+     * Continues writing the queued frames once the channel can accept more data. Called on the event loop.
+     */
+    void handleWritable() {
+        flushOutbound();
+    }
+
+    /**
+     * Closes the channel and cancels its registration. Called on the event loop.
+     */
+    void closeChannel() {
+        isClosing = true;
+        if (selectionKey != null) {
+            selectionKey.cancel();
+        }
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.severe("Failed to close client channel: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Schedules a flush on the event loop, unless one is already pending.
+     */
+    private void scheduleFlush() {
+        if (isFlushScheduled.compareAndSet(false, true)) {
+            eventLoop.execute(this::flushOutbound);
+        }
+    }
+
+    /**
+     * Writes as many queued frames as the channel accepts, gathering several frames into each write.
+     * If the channel is full, the rest is written when the channel becomes writable again. Called on the event loop.
+     */
+    private void flushOutbound() {
+        if (!channel.isOpen()) {
+            while (outboundFrames.poll() != null) {
+                pendingFrames.decrementAndGet();
+            }
+            return;
+        }
+
+        try {
+            while (true) {
+                int count = 0;
+                for (ByteBuffer frame : outboundFrames) {
+                    if (count == MAX_WRITE_BATCH) {
+                        break;
+                    }
+                    writeBatch[count++] = frame;
+                }
+
+                if (count == 0) {
+                    break;
+                }
+
+                channel.write(writeBatch, 0, count);
+                int written = 0;
+                while (written < count && !writeBatch[written].hasRemaining()) {
+                    outboundFrames.poll();
+                    pendingFrames.decrementAndGet();
+                    written++;
+                }
+                Arrays.fill(writeBatch, 0, count, null);
+
+                if (written < count) {
+                    // The socket buffer is full, so wait until the channel is writable again
+                    setInterestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+            }
+
+            setInterestOps(SelectionKey.OP_READ);
+            isFlushScheduled.set(false);
+
+            // A frame queued after the last batch may have found the flush still scheduled
+            if (!outboundFrames.isEmpty()) {
+                scheduleFlush();
+            }
+        } catch (IOException e) {
+            closeChannel();
+            close("Failed to write to client %s, closing connection: %s".formatted(clientSocket.getRemoteSocketAddress(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Sets the interest set of the channel, if it is registered.
+     * @param interestOps The interest set.
+     */
+    private void setInterestOps(int interestOps) {
+        if (selectionKey != null && selectionKey.isValid()) {
+            selectionKey.interestOps(interestOps);
+        }
+    }
+}
@@ -1,55 +1,44 @@
 package org.connect4.server.core.network;
 
-import org.connect4.game.logic.core.Move;
-import org.connect4.game.networking.messaging.Message;
-import org.connect4.game.networking.exceptions.ReceiveMessageFailureException;
+import org.connect4.game.logging.SampledLogger;
+import org.connect4.game.logic.utils.EloRating;
 import org.connect4.game.networking.exceptions.SendMessageFailureException;
+import org.connect4.game.networking.messaging.Message;
+import org.connect4.game.networking.messaging.ServerMessageType;
 import org.connect4.server.core.ServerManager;
 import org.connect4.server.logging.ServerLogger;
 
-import java.io.EOFException;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
 
 /**
  * A class that manages the communication between the client and the server.
+ * Subclasses provide the transport that reads and writes the framed messages.
+ * Sent messages wait in a bounded outbound queue until the transport writes them, so that a slow client
+ * never blocks the sender. When the queue of a client is full, chat texts are dropped and the client is disconnected
+ * on any other message.
  * @author Hassan
  */
-public class ClientConnection implements Comparable<ClientConnection> {
+public abstract class ClientConnection implements Comparable<ClientConnection> {
+    protected static final int MAX_PENDING_MESSAGES = 256;
     private static final ServerLogger LOGGER = ServerLogger.getLogger();
+    private static final SampledLogger DROPPED_MESSAGE_LOGGER = SampledLogger.rateLimited(LOGGER, 1);
 
-    private final Socket clientSocket;
-    private final ObjectInputStream in;
-    private final ObjectOutputStream out;
-    private final ClientMessageHandler clientMessageHandler;
-    private final ClientMessageListener clientMessageListener;
-    private final BlockingQueue<Message<Move>> moveMessageQueue;
-    private final BlockingQueue<Message<String>> textMessageQueue;
-    private final ExecutorService listenerExecutor;
+    protected final Socket clientSocket;
+    protected final ClientMessageHandler clientMessageHandler;
+    private volatile long lastActiveNanos;
+    private volatile int rating;
 
     /**
      * Constructs the client connection.
      * @param clientSocket The socket of the client.
      * @param serverManager The server manager.
-     * @throws IOException If an Input/Output error occurs when creating streams.
      */
-    public ClientConnection(Socket clientSocket, ServerManager serverManager) throws IOException {
+    protected ClientConnection(Socket clientSocket, ServerManager serverManager) {
         this.clientSocket = clientSocket;
-        this.in = new ObjectInputStream(clientSocket.getInputStream());
-        this.out = new ObjectOutputStream(clientSocket.getOutputStream());
         this.clientMessageHandler = new ClientMessageHandler(this, serverManager);
-        this.clientMessageListener = new ClientMessageListener(this, clientMessageHandler);
-        this.moveMessageQueue = new LinkedBlockingQueue<>();
-        this.textMessageQueue = new LinkedBlockingQueue<>();
-        this.listenerExecutor = Executors.newSingleThreadExecutor();
+        this.lastActiveNanos = System.nanoTime();
+        this.rating = EloRating.INITIAL_RATING;
     }
 
     /**
@@ -61,116 +50,91 @@ public class ClientConnection implements Comparable<ClientConnection> {
     }
 
     /**
-     * Gets the move message queue of this client connection.
-     * @return The move message queue.
+     * Starts the message listener to receive message from this client connection.
      */
-    public BlockingQueue<Message<Move>> getMoveMessageQueue() {
-        return moveMessageQueue;
-    }
+    public abstract void startMessageListener();
 
     /**
-     * Gets the text message queue of this client connection.
-     * @return The text message queue.
+     * Gets the Elo rating of this client, which is kept across its game sessions.
+     * @return The rating of the client.
      */
-    public BlockingQueue<Message<String>> getTextMessageQueue() {
-        return textMessageQueue;
+    public int getRating() {
+        return rating;
     }
 
     /**
-     * Starts the message listener to receive message from this client connection.
+     * Sets the Elo rating of this client.
+     * @param rating The rating of the client.
      */
-    public void startMessageListener() {
-        listenerExecutor.submit(clientMessageListener);
+    public void setRating(int rating) {
+        this.rating = rating;
     }
 
     /**
-     * Sends a message to the receiver's output stream.
-     * @param message The message to be sent.
-     * @throws SendMessageFailureException If failed to send the message.
-     */
-    public void sendMessage(Message<?> message) throws SendMessageFailureException {
-        try {
-            out.writeObject(message);
-            out.flush();
-        } catch (IOException e) {
-            String errorMessage = "Failed to send message to a client: " + e.getMessage();
-            LOGGER.severe(errorMessage);
-            throw new SendMessageFailureException(errorMessage);
-        }
+     * Records that a message was just received from this client.
+     */
+    public void markActive() {
+        lastActiveNanos = System.nanoTime();
     }
 
     /**
-     * Receives a message from sender's input stream.
-     * @return The received message.
-     * @throws ReceiveMessageFailureException If failed to receive the message.
+     * Gets how long this client has not sent any message.
+     * @return The idle time in nanoseconds.
      */
-    public Message<?> receiveMessage() throws ReceiveMessageFailureException {
-        try {
-            return (Message<?>) in.readObject();
-        } catch (EOFException e) {
-            return null;
-        } catch (ClassNotFoundException | IOException e) {
-            String errorMessage = "Failed to receive message from a client: " + e.getMessage();
-            LOGGER.severe(errorMessage);
-            throw new ReceiveMessageFailureException(errorMessage);
-        }
+    public long getIdleNanos() {
+        return System.nanoTime() - lastActiveNanos;
     }
 
     /**
-     * Checks whether this client is connected to the server or not.
-     * @return True if this client is connected to the server, False otherwise.
+     * Closes this client connection and its game session, because the client is gone or misbehaving.
+     * @param reason The reason for closing the client, which names the client.
      */
-    public boolean isConnected() {
-        return clientSocket != null && clientSocket.isConnected() && !clientSocket.isClosed();
+    public void close(String reason) {
+        clientMessageHandler.closeClient(reason, false);
     }
 
     /**
-     * Disconnects the client connection.
+     * Disconnects this client connection if it has not completed the handshake yet.
      */
-    public void disconnect() {
-        try {
-            shutdownListenerExecutor();
-            clientMessageHandler.shutdown();
-            if (this.isConnected()) {
-                clientSocket.close();
-                closeStreams();
-            }
-
-            LOGGER.info("Client disconnected.");
-        } catch (IOException e) {
-            LOGGER.severe("Failed to close client socket: " + e.getMessage());
-        }
+    public void checkHandshake() {
+        clientMessageHandler.handleHandshakeTimeout();
     }
 
     /**
-     * Closes Input/Output streams of this client connection.
+     * Queues a message to be written to this client connection.
+     * @param message The message to be sent.
+     * @throws SendMessageFailureException If the connection is closed, or the message was rejected because the outbound queue is full.
+     */
+    public abstract void sendMessage(Message<?> message) throws SendMessageFailureException;
+
+    /**
+     * Handles a message that does not fit in the full outbound queue.
+     * A chat text is dropped. Any other message cannot be lost without breaking the game state of the client,
+     * so the client is disconnected, which also ends its game session.
+     * @param message The rejected message.
+     * @throws SendMessageFailureException If the message is not a chat text.
      */
-    private void closeStreams() {
-        try {
-            in.close();
-            out.close();
-        } catch (IOException e) {
-            LOGGER.severe("Failed to close streams: " + e.getMessage());
+    protected void handleOutboundOverflow(Message<?> message) throws SendMessageFailureException {
+        if (message.getType() == ServerMessageType.TEXT) {
+            DROPPED_MESSAGE_LOGGER.warning(() -> "Dropped text for slow client: " + clientSocket.getRemoteSocketAddress());
+            return;
         }
+
+        close("Disconnecting slow client %s with %d pending messages.".formatted(clientSocket.getRemoteSocketAddress(), MAX_PENDING_MESSAGES));
+        throw new SendMessageFailureException("Failed to send message to a slow client: outbound queue is full.");
     }
 
     /**
-     * Shutdown the listener executor.
+     * Disconnects the client connection.
      */
-    private void shutdownListenerExecutor() {
-        try {
-            if (!listenerExecutor.isShutdown()) {
-                listenerExecutor.shutdown();
-
-                if (!listenerExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    listenerExecutor.shutdownNow();
-                }
-            }
+    public abstract void disconnect();
 
-            LOGGER.info("Listener Executor shut down successfully.");
-        } catch (InterruptedException e) {
-            LOGGER.severe("Failed to shutdown the listener executor: " + e.getMessage());
-        }
+    /**
+     * Checks whether this client is connected to the server or not.
+     * @return True if this client is connected to the server, False otherwise.
+     */
+    public boolean isConnected() {
+        return clientSocket != null && clientSocket.isConnected() && !clientSocket.isClosed();
     }
 
     /**
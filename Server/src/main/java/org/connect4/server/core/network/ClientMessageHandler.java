@@ -1,36 +1,71 @@
 package org.connect4.server.core.network;
 
 import org.connect4.game.ai.enums.AIType;
+import org.connect4.game.logging.SampledLogger;
 import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.enums.Color;
 import org.connect4.game.networking.messaging.ClientMessageType;
 import org.connect4.game.networking.messaging.Message;
+import org.connect4.game.networking.messaging.MessageCodec;
+import org.connect4.game.networking.messaging.RejectionReason;
+import org.connect4.server.core.AdmissionController;
 import org.connect4.server.core.ClientManager;
 import org.connect4.server.core.GameSessionManager;
+import org.connect4.server.core.SearchStatisticsAggregator;
 import org.connect4.server.core.ServerManager;
+import org.connect4.server.core.SessionScheduler;
+import org.connect4.server.core.journal.RecoveredSession;
 import org.connect4.server.core.session.GameSession;
 import org.connect4.server.core.session.GameSessionType;
 import org.connect4.server.core.session.MultiPlayerGameSession;
 import org.connect4.server.core.session.SinglePlayerGameSession;
 import org.connect4.server.logging.ServerLogger;
+import org.connect4.server.utils.SerialExecutor;
+import org.connect4.server.utils.TokenBucket;
 
+import java.time.Duration;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Logger;
 
 /**
  * A class that handles the client's messages.
+ * A client must open with a HELLO handshake carrying the protocol version before any other message is handled.
+ * Until then the client is not counted as connected, and it is disconnected if it sends anything else or takes too long.
+ * The messages of a client are handled one at a time and in the order they were received, on the message handler threads
+ * shared by all clients, so that the number of threads does not grow with the number of clients.
+ * Moves, texts and game requests are rate limited per client before they reach the handler threads,
+ * and game requests are subject to the admission caps of the server.
+ * After a restart of the server, a client resumes its game session with the resume token it was given for it.
  * @author Hassan
  */
 public class ClientMessageHandler {
     private static final Logger LOGGER = ServerLogger.getLogger();
+    private static final SampledLogger RATE_LIMITED_LOGGER = SampledLogger.rateLimited(LOGGER, 1);
+    private static final int MAX_MOVE_BURST = 4;
+    private static final double MAX_MOVES_PER_SECOND = 2;
+    private static final int MAX_TEXT_BURST = 5;
+    private static final double MAX_TEXTS_PER_SECOND = 1;
+    private static final int MAX_GAME_REQUEST_BURST = 3;
+    private static final double MAX_GAME_REQUESTS_PER_SECOND = 0.2;
 
     private final ClientConnection clientConnection;
     private final ClientManager clientManager;
     private final GameSessionManager gameSessionManager;
+    private final SearchStatisticsAggregator searchStatistics;
+    private final SessionScheduler sessionScheduler;
+    private final Duration turnTimeout;
+    private final Duration aiMoveDelay;
     private final MessageDispatcher messageDispatcher;
-    private final ExecutorService executorService;
+    private final AdmissionController admissionController;
+    private final SerialExecutor messageExecutor;
+    private final TokenBucket moveRateLimit;
+    private final TokenBucket textRateLimit;
+    private final TokenBucket gameRequestRateLimit;
+    private final AtomicReference<HandshakeState> handshakeState;
+    private final AtomicBoolean isClosing;
 
     /**
      * Constructs a message handler.
@@ -41,28 +76,144 @@ public class ClientMessageHandler {
         this.clientConnection = clientConnection;
         this.clientManager = serverManager.getClientManager();
         this.gameSessionManager = serverManager.getGameSessionManager();
+        this.searchStatistics = serverManager.getSearchStatistics();
         this.messageDispatcher = new MessageDispatcher();
-        this.executorService = Executors.newCachedThreadPool();
+        this.sessionScheduler = serverManager.getSessionScheduler();
+        this.turnTimeout = serverManager.getTurnTimeout();
+        this.aiMoveDelay = serverManager.getAiMoveDelay();
+        this.admissionController = serverManager.getAdmissionController();
+        this.moveRateLimit = new TokenBucket(MAX_MOVE_BURST, MAX_MOVES_PER_SECOND);
+        this.textRateLimit = new TokenBucket(MAX_TEXT_BURST, MAX_TEXTS_PER_SECOND);
+        this.gameRequestRateLimit = new TokenBucket(MAX_GAME_REQUEST_BURST, MAX_GAME_REQUESTS_PER_SECOND);
+        this.messageExecutor = new SerialExecutor(serverManager.getMessageHandlerExecutor());
+        this.handshakeState = new AtomicReference<>(HandshakeState.PENDING);
+        this.isClosing = new AtomicBoolean(false);
     }
 
     /**
      * Handles the specified message.
      * @param message The message to be handled.
      */
-    @SuppressWarnings("unchecked")
     public void handleMessage(Message<?> message) {
-        executorService.submit(() -> {
-            ClientMessageType clientMessageType = (ClientMessageType) message.getType();
-            switch (clientMessageType) {
-                case MULTI_PLAYER_GAME_REQUEST -> handleMultiPlayerGameRequest((Message<Void>) message);
-                case SINGLE_PLAYER_GAME_REQUEST -> handleSinglePlayerGameRequest((Message<AIType>) message);
-                case REMATCH_REQUEST -> handleRematchRequest((Message<Void>) message);
-                case MOVE -> handleMoveMessage((Message<Move>) message);
-                case TEXT -> handleTextMessage((Message<String>) message);
-                case LEAVE_GAME_SESSION_REQUEST -> handleLeaveGameSessionRequest((Message<Void>) message);
-                case DISCONNECT_REQUEST -> handleClientDisconnectRequest((Message<Void>) message);
+        clientConnection.markActive();
+        if (handshakeState.get() != HandshakeState.COMPLETED) {
+            handleHandshake(message);
+            return;
+        }
+
+        if (!tryAcquireRateLimit(message)) {
+            handleRateLimitedMessage(message);
+            return;
+        }
+
+        try {
+            messageExecutor.execute(() -> dispatchMessage(message));
+        } catch (RejectedExecutionException e) {
+            LOGGER.fine("Ignoring message from a disconnected client: " + clientConnection);
+        }
+    }
+
+    /**
+     * Hands the specified message to the handler of its type. Called on the message executor of the client.
+     * @param message The message to be handled.
+     */
+    @SuppressWarnings("unchecked")
+    private void dispatchMessage(Message<?> message) {
+        ClientMessageType clientMessageType = (ClientMessageType) message.getType();
+        switch (clientMessageType) {
+            case MULTI_PLAYER_GAME_REQUEST -> handleMultiPlayerGameRequest((Message<Void>) message);
+            case SINGLE_PLAYER_GAME_REQUEST -> handleSinglePlayerGameRequest((Message<AIType>) message);
+            case REMATCH_REQUEST -> handleRematchRequest((Message<Void>) message);
+            case MOVE -> handleMoveMessage((Message<Move>) message);
+            case TEXT -> handleTextMessage((Message<String>) message);
+            case LEAVE_GAME_SESSION_REQUEST -> handleLeaveGameSessionRequest((Message<Void>) message);
+            case DISCONNECT_REQUEST -> handleClientDisconnectRequest((Message<Void>) message);
+            case HELLO -> LOGGER.warning("Ignoring repeated handshake from client: " + clientConnection);
+            case PONG -> LOGGER.finest("Received heartbeat from client: " + clientConnection);
+            case RESUME_REQUEST -> handleResumeRequest((Message<Long>) message);
+        }
+    }
+
+    /**
+     * Takes a token from the rate limit of the specified message type, if the type is rate limited.
+     * @param message The message received from the client.
+     * @return true if the message is within the rate limit, false otherwise.
+     */
+    private boolean tryAcquireRateLimit(Message<?> message) {
+        TokenBucket rateLimit = switch ((ClientMessageType) message.getType()) {
+            case MOVE -> moveRateLimit;
+            case TEXT -> textRateLimit;
+            case MULTI_PLAYER_GAME_REQUEST, SINGLE_PLAYER_GAME_REQUEST, REMATCH_REQUEST, RESUME_REQUEST -> gameRequestRateLimit;
+            default -> null;
+        };
+
+        return rateLimit == null || rateLimit.tryAcquire();
+    }
+
+    /**
+     * Drops a message that exceeds the rate limit. Texts are dropped silently, other requests are explicitly rejected.
+     * @param message The dropped message.
+     */
+    private void handleRateLimitedMessage(Message<?> message) {
+        RATE_LIMITED_LOGGER.warning(() -> "Dropped %s from client exceeding the rate limit: %s"
+                .formatted(message.getType().getName(), clientConnection));
+
+        if (message.getType() != ClientMessageType.TEXT) {
+            messageDispatcher.sendRequestRejected(clientConnection, RejectionReason.RATE_LIMITED);
+        }
+    }
+
+    /**
+     * Handles the first message of the client, which must be a HELLO with the protocol version of the server.
+     * @param message The first message of the client.
+     */
+    private void handleHandshake(Message<?> message) {
+        boolean isValidHello = message.getType() == ClientMessageType.HELLO
+                && message.getPayload() instanceof Integer version && version == MessageCodec.PROTOCOL_VERSION;
+
+        if (isValidHello && handshakeState.compareAndSet(HandshakeState.PENDING, HandshakeState.COMPLETED)) {
+            clientManager.addConnectedClient(clientConnection);
+            LOGGER.info("Handshake completed with client: " + clientConnection.getClientSocket().getRemoteSocketAddress());
+        } else {
+            rejectHandshake("Rejecting client %s that sent %s instead of a valid handshake."
+                    .formatted(clientConnection.getClientSocket().getRemoteSocketAddress(), message.getType().getName()));
+        }
+    }
+
+    /**
+     * Rejects the client if it has not completed the handshake yet. Called once the handshake timeout has elapsed.
+     */
+    public void handleHandshakeTimeout() {
+        rejectHandshake("Rejecting client %s that did not complete the handshake in time."
+                .formatted(clientConnection.getClientSocket().getRemoteSocketAddress()));
+    }
+
+    /**
+     * Disconnects the client if its handshake is still pending.
+     * @param reason The reason for rejecting the client.
+     */
+    private void rejectHandshake(String reason) {
+        if (handshakeState.compareAndSet(HandshakeState.PENDING, HandshakeState.REJECTED)) {
+            closeClient(reason, true);
+        }
+    }
+
+    /**
+     * Closes the connection of a client that is gone or misbehaving, together with its game session.
+     * The client is torn down on the message handler, so that the calling I/O or timer thread is never blocked.
+     * Only the first call has an effect.
+     * @param reason The reason for closing the client, which names the client.
+     * @param isClientNotified true to send the client a disconnect completed message, false if the client cannot receive it.
+     */
+    public void closeClient(String reason, boolean isClientNotified) {
+        if (isClosing.compareAndSet(false, true)) {
+            LOGGER.warning(reason);
+            try {
+                messageExecutor.execute(() -> disconnectClient(isClientNotified));
+            } catch (RejectedExecutionException e) {
+                LOGGER.fine("Client is already disconnected.");
             }
-        });
+        }
     }
 
     /**
@@ -72,18 +223,13 @@ public class ClientMessageHandler {
     private void handleMultiPlayerGameRequest(Message<Void> multiPlayerGameRequestMessage) {
         LOGGER.info("Handles: " + multiPlayerGameRequestMessage.getType().getName());
 
-        Optional<ClientConnection> matchedClientConnection = clientManager.findMatchedClient(clientConnection);
-        if (matchedClientConnection.isPresent()) {
-            LOGGER.info("A match has been found!");
-
-            GameSession gameSession = new MultiPlayerGameSession(clientConnection, matchedClientConnection.get(), messageDispatcher);
-            gameSessionManager.startGameSession(gameSession);
-        } else {
-            LOGGER.info("No match has been found!");
-
-            clientManager.addClientToWaitingList(clientConnection);
-            messageDispatcher.sendWaitingForOpponent(clientConnection);
+        if (isInGameSession()) {
+            return;
         }
+
+        // Sent before the client is queued, so that it always reaches the client before the game starts
+        messageDispatcher.sendWaitingForOpponent(clientConnection);
+        clientManager.addClientToWaitingList(clientConnection);
     }
 
     /**
@@ -93,12 +239,95 @@ public class ClientMessageHandler {
     private void handleSinglePlayerGameRequest(Message<AIType> singlePlayerGameRequestMessage) {
         LOGGER.info("Handles: " + singlePlayerGameRequestMessage.getType().getName());
 
+        if (isInGameSession() || !tryAdmitGameSession(GameSessionType.SINGLE_PLAYER_GAME_SESSION)) {
+            return;
+        }
+
+        clientManager.removeClientFromWaitingList(clientConnection);
+
         AIType aiType = singlePlayerGameRequestMessage.getPayload();
-        GameSession gameSession = new SinglePlayerGameSession(clientConnection, aiType, messageDispatcher);
+        GameSession gameSession = new SinglePlayerGameSession(clientConnection, aiType, messageDispatcher, sessionScheduler, searchStatistics, turnTimeout, aiMoveDelay);
 
         gameSessionManager.startGameSession(gameSession);
     }
 
+    /**
+     * Handles the request to resume a game session recovered after a restart of the server.
+     * A multi-player game session is resumed once both players have sent their resume token.
+     * The game session is admitted before the claim that completes it, so that a rejected request leaves the recovered session
+     * waiting for the client to retry.
+     * @param resumeRequestMessage The resume request message.
+     */
+    private void handleResumeRequest(Message<Long> resumeRequestMessage) {
+        LOGGER.info("Handles: " + resumeRequestMessage.getType().getName());
+
+        if (isInGameSession()) {
+            return;
+        }
+
+        long resumeToken = resumeRequestMessage.getPayload();
+        RecoveredSession recoveredSession = gameSessionManager.getRecoveredSession(resumeToken);
+        if (recoveredSession == null) {
+            LOGGER.warning("Rejecting resume request with an unknown token from client: " + clientConnection);
+            messageDispatcher.sendRequestRejected(clientConnection, RejectionReason.UNKNOWN_GAME_SESSION);
+            return;
+        }
+
+        if (!tryAdmitGameSession(recoveredSession.getType())) {
+            return;
+        }
+
+        clientManager.removeClientFromWaitingList(clientConnection);
+        if (!gameSessionManager.claimRecoveredSession(recoveredSession, resumeToken, clientConnection)) {
+            // Only the claim that completes the session keeps the admitted game session
+            admissionController.releaseGameSession(recoveredSession.getType());
+            messageDispatcher.sendWaitingForOpponent(clientConnection);
+            return;
+        }
+
+        GameSession gameSession = switch (recoveredSession.getType()) {
+            case SINGLE_PLAYER_GAME_SESSION -> new SinglePlayerGameSession(clientConnection, recoveredSession.getAiType(),
+                    messageDispatcher, sessionScheduler, searchStatistics, turnTimeout, aiMoveDelay);
+            case MULTI_PLAYER_GAME_SESSION -> new MultiPlayerGameSession(recoveredSession.getClient(Color.RED),
+                    recoveredSession.getClient(Color.YELLOW), messageDispatcher, sessionScheduler, turnTimeout);
+        };
+        gameSession.restore(recoveredSession);
+
+        LOGGER.info("Resuming recovered game session %d as game session %d."
+                .formatted(recoveredSession.getId(), gameSession.getId()));
+        gameSessionManager.startGameSession(gameSession);
+    }
+
+    /**
+     * Checks whether the client is already in a game session, and rejects its game request if so.
+     * @return true if the client is in a game session, false otherwise.
+     */
+    private boolean isInGameSession() {
+        if (gameSessionManager.getGameSessionForClient(clientConnection) != null) {
+            LOGGER.warning("Rejecting game request from a client already in a game session: " + clientConnection);
+            messageDispatcher.sendRequestRejected(clientConnection, RejectionReason.ALREADY_IN_GAME_SESSION);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Admits a new game session of the specified type, and rejects the game request if the server is at capacity.
+     * @param gameSessionType The type of the requested game session.
+     * @return true if the game session is admitted, false otherwise.
+     */
+    private boolean tryAdmitGameSession(GameSessionType gameSessionType) {
+        Optional<RejectionReason> rejectionReason = admissionController.tryAdmitGameSession(gameSessionType);
+        if (rejectionReason.isPresent()) {
+            LOGGER.warning("Rejecting game request with %s: %s".formatted(rejectionReason.get(), admissionController));
+            messageDispatcher.sendRequestRejected(clientConnection, rejectionReason.get());
+            return false;
+        }
+
+        return true;
+    }
+
     /**
      * Handles the rematch response.
      * @param rematchRequestMessage The rematch request message.
@@ -108,18 +337,10 @@ public class ClientMessageHandler {
 
         LOGGER.info("Received rematch response from client: " + clientConnection);
         GameSession gameSession = gameSessionManager.getGameSessionForClient(clientConnection);
-        gameSession.getCountDownLatch().countDown();
-        try {
-            if (gameSession.getCountDownLatch().await(30, TimeUnit.SECONDS)) {
-                gameSessionManager.restartGameSession(gameSession);
-            } else {
-                LOGGER.info("Timeout occurred: One or both players did not request a rematch.");
-
-                messageDispatcher.broadcastGameSessionEnded(gameSession.getClients());
-                gameSessionManager.removeGameSession(gameSession);
-            }
-        } catch (InterruptedException e) {
-            LOGGER.severe("Interrupted while waiting for players to respond: " + e.getMessage());
+        if (gameSession != null) {
+            gameSessionManager.requestRematch(gameSession, clientConnection);
+        } else {
+            LOGGER.warning("Ignoring rematch request from a client that is not in a game session: " + clientConnection);
         }
     }
 
@@ -128,12 +349,13 @@ public class ClientMessageHandler {
      * @param moveMessage The move message.
      */
     private void handleMoveMessage(Message<Move> moveMessage) {
-        try {
-            LOGGER.info("Handles: " + moveMessage.getType().getName());
-            clientConnection.getMoveMessageQueue().put(moveMessage);
-        } catch (InterruptedException e) {
-            LOGGER.severe("Failed to enqueue move message: " + e.getMessage());
-            Thread.currentThread().interrupt();
+        LOGGER.info("Handles: " + moveMessage.getType().getName());
+
+        GameSession gameSession = gameSessionManager.getGameSessionForClient(clientConnection);
+        if (gameSession != null) {
+            gameSession.onMove(clientConnection, moveMessage.getPayload());
+        } else {
+            LOGGER.warning("Ignoring move from a client that is not in a game session: " + clientConnection);
         }
     }
 
@@ -142,12 +364,11 @@ public class ClientMessageHandler {
      * @param textMessage The text message.
      */
     private void handleTextMessage(Message<String> textMessage) {
-        try {
-            LOGGER.info("Handles: " + textMessage.getType().getName());
-            clientConnection.getTextMessageQueue().put(textMessage);
-        } catch (InterruptedException e) {
-            LOGGER.severe("Failed to enqueue text message: " + e.getMessage());
-            Thread.currentThread().interrupt();
+        LOGGER.info("Handles: " + textMessage.getType().getName());
+
+        GameSession gameSession = gameSessionManager.getGameSessionForClient(clientConnection);
+        if (gameSession != null) {
+            gameSession.onText(clientConnection, textMessage.getPayload());
         }
     }
 
@@ -162,7 +383,6 @@ public class ClientMessageHandler {
         if (gameSession != null) {
             gameSession.shutdown();
             gameSessionManager.removeGameSession(gameSession);
-            clientManager.addClientsToWaitingList(gameSession.getClients());
         }
     }
 
@@ -173,6 +393,16 @@ public class ClientMessageHandler {
     private void handleClientDisconnectRequest(Message<Void> disconnectRequestMessage) {
         LOGGER.info("Handles: " + disconnectRequestMessage.getType().getName());
 
+        if (isClosing.compareAndSet(false, true)) {
+            disconnectClient(true);
+        }
+    }
+
+    /**
+     * Ends the game session of the client, removes the client from the server, and closes the connection.
+     * @param isClientNotified true to send the client a disconnect completed message, false otherwise.
+     */
+    private void disconnectClient(boolean isClientNotified) {
         GameSession gameSession = gameSessionManager.getGameSessionForClient(clientConnection);
         if (gameSession != null) {
             gameSession.shutdown();
@@ -181,7 +411,6 @@ public class ClientMessageHandler {
 
             if (gameSession.getType() == GameSessionType.MULTI_PLAYER_GAME_SESSION) {
                 ClientConnection opponentPlayerConnection = ((MultiPlayerGameSession) gameSession).getOpponentPlayerConnection(clientConnection);
-                clientManager.addClientToWaitingList(opponentPlayerConnection);
                 messageDispatcher.sendOpponentDisconnected(opponentPlayerConnection);
             }
         } else {
@@ -189,27 +418,20 @@ public class ClientMessageHandler {
             clientManager.removeClientFromWaitingList(clientConnection);
         }
 
-        messageDispatcher.sendDisconnectCompleted(clientConnection);
+        if (isClientNotified) {
+            messageDispatcher.sendDisconnectCompleted(clientConnection);
+        }
+        admissionController.releaseConnection();
         clientConnection.disconnect();
         LOGGER.info("Client with address: %s has been disconnected.".formatted(clientConnection.getClientSocket().getRemoteSocketAddress()));
     }
 
     /**
-     * Shutdown this message handler.
+     * Shutdown this message handler. Messages already received are still handled, but it does not wait for them,
+     * because it is usually called while the client is torn down on the message executor itself.
      */
     public void shutdown() {
-        try {
-            if (!executorService.isShutdown()) {
-                executorService.shutdown();
-
-                if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
-                    executorService.shutdownNow();
-                }
-            }
-
-            LOGGER.info("Message handler shut down successfully.");
-        } catch (InterruptedException e) {
-            LOGGER.severe("Failed to shutdown the message handler: " + e.getMessage());
-        }
+        messageExecutor.shutdown();
+        LOGGER.info("Message handler shut down successfully.");
     }
 }
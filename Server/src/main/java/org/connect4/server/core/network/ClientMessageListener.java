@@ -14,7 +14,7 @@ import java.util.logging.Logger;
 public class ClientMessageListener implements Runnable {
     private static final Logger LOGGER = ServerLogger.getLogger();
 
-    private final ClientConnection clientConnection;
+    private final BlockingClientConnection clientConnection;
     private final ClientMessageHandler clientMessageHandler;
 
     /**
@@ -22,7 +22,7 @@ public class ClientMessageListener implements Runnable {
      * @param clientConnection The client connection.
      * @param clientMessageHandler The client message handler.
      */
-    public ClientMessageListener(ClientConnection clientConnection, ClientMessageHandler clientMessageHandler) {
+    public ClientMessageListener(BlockingClientConnection clientConnection, ClientMessageHandler clientMessageHandler) {
         this.clientConnection = clientConnection;
         this.clientMessageHandler = clientMessageHandler;
     }
@@ -35,12 +35,18 @@ public class ClientMessageListener implements Runnable {
         try {
             while(clientConnection.isConnected()) {
                 Message<?> message = clientConnection.receiveMessage();
-                if (message != null) {
-                    clientMessageHandler.handleMessage(message);
+                if (message == null) {
+                    clientConnection.close("Client %s closed the connection.".formatted(clientConnection.getClientSocket().getRemoteSocketAddress()));
+                    return;
                 }
+
+                clientMessageHandler.handleMessage(message);
             }
         } catch (ReceiveMessageFailureException e) {
-            LOGGER.severe("Failed to receive client message: " + e.getMessage());
+            if (clientConnection.isConnected()) {
+                clientConnection.close("Closing connection to client %s: %s"
+                        .formatted(clientConnection.getClientSocket().getRemoteSocketAddress(), e.getMessage()));
+            }
         }
     }
 }
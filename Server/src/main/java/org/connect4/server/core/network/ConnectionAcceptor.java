@@ -0,0 +1,23 @@
+package org.connect4.server.core.network;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * An interface that represents the transport accepting client connections for the server.
+ * @author Hassan
+ */
+public interface ConnectionAcceptor extends Closeable {
+    /**
+     * Waits for the next client and creates its connection.
+     * @return The connection of the accepted client.
+     * @throws IOException If an Input/Output error occurs while accepting.
+     */
+    ClientConnection accept() throws IOException;
+
+    /**
+     * Checks whether this acceptor is closed.
+     * @return true if the acceptor is closed, false otherwise.
+     */
+    boolean isClosed();
+}
@@ -0,0 +1,11 @@
+package org.connect4.server.core.network;
+
+/**
+ * An enum that represents the states of the handshake of a client connection.
+ * @author Hassan
+ */
+public enum HandshakeState {
+    PENDING,
+    COMPLETED,
+    REJECTED
+}
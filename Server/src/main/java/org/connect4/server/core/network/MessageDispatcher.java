@@ -1,10 +1,10 @@
 package org.connect4.server.core.network;
 
-import org.connect4.game.logic.core.Move;
-import org.connect4.game.logic.enums.Color;
 import org.connect4.game.networking.exceptions.SendMessageFailureException;
 import org.connect4.game.networking.messaging.Message;
+import org.connect4.game.networking.messaging.RejectionReason;
 import org.connect4.game.networking.messaging.ServerMessageType;
+import org.connect4.game.networking.messaging.StateDelta;
 import org.connect4.server.logging.ServerLogger;
 
 import java.util.List;
@@ -42,12 +42,29 @@ public class MessageDispatcher {
     }
 
     /**
-     * Sends the specified assigned color to the specified client connection.
+     * Sends the specified state delta to the specified client connection.
      * @param clientConnection The client connection.
-     * @param color The assigned color.
+     * @param stateDelta The state delta.
      */
-    public void sendAssignedColor(ClientConnection clientConnection, Color color) {
-        sendMessage(clientConnection, ServerMessageType.COLOR, color);
+    public void sendStateDelta(ClientConnection clientConnection, StateDelta stateDelta) {
+        sendMessage(clientConnection, ServerMessageType.STATE_DELTA, stateDelta);
+    }
+
+    /**
+     * Sends the reason for rejecting a request to the specified client connection.
+     * @param clientConnection The client connection.
+     * @param rejectionReason The reason for rejecting the request.
+     */
+    public void sendRequestRejected(ClientConnection clientConnection, RejectionReason rejectionReason) {
+        sendMessage(clientConnection, ServerMessageType.REQUEST_REJECTED, rejectionReason);
+    }
+
+    /**
+     * Sends a heartbeat to the specified client connection.
+     * @param clientConnection The client connection.
+     */
+    public void sendPing(ClientConnection clientConnection) {
+        sendMessage(clientConnection, ServerMessageType.PING, null);
     }
 
     /**
@@ -75,6 +92,15 @@ public class MessageDispatcher {
         sendMessage(clientConnection, ServerMessageType.OPPONENT_DISCONNECTED, null);
     }
 
+    /**
+     * Sends the resume token of its game session to the specified client connection.
+     * @param clientConnection The client connection.
+     * @param resumeToken The resume token.
+     */
+    public void sendResumeToken(ClientConnection clientConnection, long resumeToken) {
+        sendMessage(clientConnection, ServerMessageType.RESUME_TOKEN, resumeToken);
+    }
+
     /**
      * Broadcasts a message to a list of client connections.
      * @param clientConnections The client connections to broadcast the message to.
@@ -89,49 +115,12 @@ public class MessageDispatcher {
     }
 
     /**
-     * Broadcast game started message to the specified list of client connections.
-     * @param clientConnections The client connections.
-     */
-    public void broadcastGameStarted(List<ClientConnection> clientConnections) {
-        broadcastMessage(clientConnections, ServerMessageType.GAME_STARTED, null);
-    }
-
-    /**
-     * Broadcast the specified player scores to the specified list of client connections.
-     * @param clientConnections The client connections.
-     * @param redPlayerScore The red player score.
-     * @param yellowPlayerScore The yellow player score.
-     */
-    public void broadcastPlayerScores(List<ClientConnection> clientConnections, int redPlayerScore, int yellowPlayerScore) {
-        int[] scores = new int[] {redPlayerScore, yellowPlayerScore};
-        broadcastMessage(clientConnections, ServerMessageType.PLAYER_SCORES, scores);
-    }
-
-    /**
-     * Broadcast the specified player move to the specified list of client connections.
-     * @param clientConnections The client connections.
-     * @param move The player move.
-     */
-    public void broadcastPlayerMove(List<ClientConnection> clientConnections, Move move) {
-        broadcastMessage(clientConnections, ServerMessageType.MOVE, move);
-    }
-
-    /**
-     * Broadcast player turn to the specified list of client connections.
-     * @param clientConnections The client connections.
-     * @param currentPlayerColor The current player color.
-     */
-    public void broadcastPlayerTurn(List<ClientConnection> clientConnections, Color currentPlayerColor) {
-        broadcastMessage(clientConnections, ServerMessageType.PLAYER_TURN, currentPlayerColor);
-    }
-
-    /**
-     * Broadcast game over message to the specified list of client connections.
+     * Broadcast the specified state delta to the specified list of client connections.
      * @param clientConnections The client connections.
-     * @param winnerColor The color of the winner.
+     * @param stateDelta The state delta.
      */
-    public void broadcastGameOver(List<ClientConnection> clientConnections, Color winnerColor) {
-        broadcastMessage(clientConnections, ServerMessageType.GAME_OVER, winnerColor);
+    public void broadcastStateDelta(List<ClientConnection> clientConnections, StateDelta stateDelta) {
+        broadcastMessage(clientConnections, ServerMessageType.STATE_DELTA, stateDelta);
     }
 
     /**
@@ -1,47 +1,89 @@
 package org.connect4.server.core.network;
 
-import org.connect4.game.networking.messaging.Message;
-import org.connect4.server.core.session.GameSession;
+import org.connect4.game.logging.SampledLogger;
 import org.connect4.server.logging.ServerLogger;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
- * A class that manages the relay of text messages between two clients.
+ * A class that manages the relay of text messages from one client to another.
+ * Texts are handed to the relay as they arrive and delivered by a task that runs only while texts are pending,
+ * so the relay uses no thread while nobody is typing. The pending texts are bounded, so a slow receiver loses texts
+ * instead of exhausting the server memory. Senders are rate limited by their message handler before texts reach the relay.
  * @author Hassan
  */
-public class MessageRelay implements Runnable {
+public class MessageRelay {
     private static final ServerLogger LOGGER = ServerLogger.getLogger();
+    private static final SampledLogger DROPPED_TEXT_LOGGER = SampledLogger.rateLimited(LOGGER, 1);
+    private static final int MAX_PENDING_TEXTS = 16;
 
-    private final GameSession gameSession;
-    private final ClientConnection senderConnection;
     private final ClientConnection receiverConnection;
     private final MessageDispatcher messageDispatcher;
+    private final Executor deliveryExecutor;
+    private final BlockingQueue<String> pendingTexts;
+    private final AtomicBoolean isDeliveryScheduled;
 
     /**
-     * Constructs a new MessageRelay between the specified sender and receiver connections.
-     * @param senderConnection The sender connection from which the messages are sent.
+     * Constructs a new MessageRelay to the specified receiver connection.
      * @param receiverConnection The receiver connection to which the message are received.
+     * @param messageDispatcher The message dispatcher.
+     * @param deliveryExecutor The executor that delivers the pending texts.
      */
-    public MessageRelay(GameSession gameSession, ClientConnection senderConnection, ClientConnection receiverConnection) {
-        this.gameSession = gameSession;
-        this.senderConnection = senderConnection;
+    public MessageRelay(ClientConnection receiverConnection, MessageDispatcher messageDispatcher, Executor deliveryExecutor) {
         this.receiverConnection = receiverConnection;
-        this.messageDispatcher = new MessageDispatcher();
+        this.messageDispatcher = messageDispatcher;
+        this.deliveryExecutor = deliveryExecutor;
+        this.pendingTexts = new ArrayBlockingQueue<>(MAX_PENDING_TEXTS);
+        this.isDeliveryScheduled = new AtomicBoolean(false);
+    }
+
+    /**
+     * Relays the specified text from the sender to the receiver.
+     * @param text The text sent by the sender.
+     */
+    public void relay(String text) {
+        if (!pendingTexts.offer(text)) {
+            DROPPED_TEXT_LOGGER.warning(() -> "Dropped text for client with too many pending texts: " + receiverConnection);
+            return;
+        }
+
+        scheduleDelivery();
     }
 
     /**
-     * Start relaying text messages between the sender and receiver.
+     * Schedules the delivery of the pending texts, unless it is already scheduled.
      */
-    @Override
-    public void run() {
-        while (gameSession.isRunning() && senderConnection.isConnected() && receiverConnection.isConnected()) {
+    private void scheduleDelivery() {
+        if (isDeliveryScheduled.compareAndSet(false, true)) {
             try {
-                if (!senderConnection.getTextMessageQueue().isEmpty()) {
-                    Message<String> message = senderConnection.getTextMessageQueue().take();
-                    messageDispatcher.sendPlayerChat(receiverConnection, message.getPayload());
-                }
-            } catch (InterruptedException e) {
-                LOGGER.severe("Failed to get message from the sender: " + e.getMessage());
+                deliveryExecutor.execute(this::deliverPendingTexts);
+            } catch (RejectedExecutionException e) {
+                pendingTexts.clear();
+                isDeliveryScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Delivers the pending texts to the receiver.
+     */
+    private void deliverPendingTexts() {
+        String text;
+        while ((text = pendingTexts.poll()) != null) {
+            if (receiverConnection.isConnected()) {
+                messageDispatcher.sendPlayerChat(receiverConnection, text);
             }
         }
+
+        isDeliveryScheduled.set(false);
+
+        // A text queued after the last poll may have found the delivery still scheduled
+        if (!pendingTexts.isEmpty()) {
+            scheduleDelivery();
+        }
     }
 }
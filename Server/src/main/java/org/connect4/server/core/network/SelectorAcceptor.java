@@ -0,0 +1,76 @@
+package org.connect4.server.core.network;
+
+import org.connect4.server.core.ServerManager;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * An acceptor that spreads client connections over a few selector event loops,
+ * so that the number of threads does not grow with the number of connections.
+ * @author Hassan
+ */
+public class SelectorAcceptor implements ConnectionAcceptor {
+    private final ServerSocketChannel serverChannel;
+    private final SelectorEventLoop[] eventLoops;
+    private final ServerManager serverManager;
+    private int nextEventLoop;
+
+    /**
+     * Constructs a selector acceptor bound to the specified port and starts its event loops.
+     * @param port The port number to bind the server to.
+     * @param eventLoopCount The number of event loops.
+     * @param serverManager The server manager.
+     * @throws IOException If the server channel cannot be bound or a selector cannot be opened.
+     */
+    public SelectorAcceptor(int port, int eventLoopCount, ServerManager serverManager) throws IOException {
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(new InetSocketAddress(port));
+        this.eventLoops = new SelectorEventLoop[eventLoopCount];
+        this.serverManager = serverManager;
+        this.nextEventLoop = 0;
+
+        for (int i = 0; i < eventLoopCount; i++) {
+            eventLoops[i] = new SelectorEventLoop("selector-event-loop-" + i);
+            eventLoops[i].start();
+        }
+    }
+
+    /**
+     * Waits for the next client and assigns its connection to the next event loop in turn.
+     * @return The connection of the accepted client.
+     * @throws IOException If an Input/Output error occurs while accepting.
+     */
+    @Override
+    public ClientConnection accept() throws IOException {
+        SocketChannel acceptedChannel = serverChannel.accept();
+        SelectorEventLoop eventLoop = eventLoops[nextEventLoop];
+        nextEventLoop = (nextEventLoop + 1) % eventLoops.length;
+
+        return new ChannelClientConnection(acceptedChannel, eventLoop, serverManager);
+    }
+
+    /**
+     * Checks whether the server channel is closed.
+     * @return true if the server channel is closed, false otherwise.
+     */
+    @Override
+    public boolean isClosed() {
+        return !serverChannel.isOpen();
+    }
+
+    /**
+     * Closes the server channel and shuts down the event loops.
+     * @throws IOException If an Input/Output error occurs while closing.
+     */
+    @Override
+    public void close() throws IOException {
+        serverChannel.close();
+
+        for (SelectorEventLoop eventLoop : eventLoops) {
+            eventLoop.shutdown();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.connect4.server.core.network;
+
+import org.connect4.game.networking.messaging.MessageCodec;
+import org.connect4.server.logging.ServerLogger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A class that multiplexes the I/O of many channel connections on a single selector thread.
+ * Other threads hand work to the loop with {@link #execute(Runnable)}, which wakes the selector up.
+ * @author Hassan
+ */
+public class SelectorEventLoop implements Runnable {
+    private static final ServerLogger LOGGER = ServerLogger.getLogger();
+
+    // Room for a partial frame left over from the previous read plus a complete frame
+    private static final int READ_BUFFER_SIZE = 2 * (MessageCodec.LENGTH_FIELD_SIZE + MessageCodec.MAX_FRAME_LENGTH);
+
+    private final Selector selector;
+    private final Queue<Runnable> tasks;
+    private final ByteBuffer readBuffer;
+    private final Thread thread;
+    private volatile boolean running;
+
+    /**
+     * Constructs a new event loop with its own selector.
+     * @param name The name of the event loop thread.
+     * @throws IOException If the selector cannot be opened.
+     */
+    public SelectorEventLoop(String name) throws IOException {
+        this.selector = Selector.open();
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+        this.thread = new Thread(this, name);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the event loop thread.
+     */
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Runs the specified task on the event loop thread.
+     * @param task The task to be run.
+     */
+    public void execute(Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    /**
+     * Registers the specified connection for reading on this event loop.
+     * @param connection The channel connection.
+     */
+    void register(ChannelClientConnection connection) {
+        execute(() -> {
+            try {
+                SelectionKey key = connection.getChannel().register(selector, SelectionKey.OP_READ, connection);
+                connection.setSelectionKey(key);
+            } catch (ClosedChannelException e) {
+                LOGGER.warning("Failed to register a closed client channel.");
+            }
+        });
+    }
+
+    /**
+     * Runs the event loop until it is shut down.
+     */
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                selector.select();
+                runTasks();
+                processSelectedKeys();
+            } catch (IOException e) {
+                LOGGER.severe("Event loop failed to select: " + e.getMessage());
+            }
+        }
+
+        // Lets pending disconnects write their last messages
+        runTasks();
+        closeSelector();
+    }
+
+    /**
+     * Shuts down the event loop, which closes every channel registered on it before exiting.
+     */
+    public void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Runs the tasks handed to the event loop.
+     */
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOGGER.severe("Event loop task failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Dispatches the ready channels to their connections.
+     */
+    private void processSelectedKeys() {
+        Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+        while (iterator.hasNext()) {
+            SelectionKey key = iterator.next();
+            iterator.remove();
+
+            ChannelClientConnection connection = (ChannelClientConnection) key.attachment();
+            if (!key.isValid()) {
+                continue;
+            }
+
+            if (key.isReadable()) {
+                connection.handleReadable(readBuffer);
+            }
+
+            if (key.isValid() && key.isWritable()) {
+                connection.handleWritable();
+            }
+        }
+    }
+
+    /**
+     * Closes the selector and every channel registered on it.
+     */
+    private void closeSelector() {
+        for (SelectionKey key : selector.keys()) {
+            ((ChannelClientConnection) key.attachment()).closeChannel();
+        }
+
+        try {
+            selector.close();
+        } catch (IOException e) {
+            LOGGER.severe("Failed to close the selector: " + e.getMessage());
+        }
+    }
+}
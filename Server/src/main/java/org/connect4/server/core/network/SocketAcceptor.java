@@ -0,0 +1,56 @@
+package org.connect4.server.core.network;
+
+import org.connect4.server.core.ServerManager;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * An acceptor that serves every client connection with blocking socket I/O and its own listener thread.
+ * @author Hassan
+ */
+public class SocketAcceptor implements ConnectionAcceptor {
+    private final ServerSocket serverSocket;
+    private final ServerManager serverManager;
+
+    /**
+     * Constructs a socket acceptor bound to the specified port.
+     * @param port The port number to bind the server to.
+     * @param serverManager The server manager.
+     * @throws IOException If the server socket cannot be bound.
+     */
+    public SocketAcceptor(int port, ServerManager serverManager) throws IOException {
+        this.serverSocket = new ServerSocket(port);
+        this.serverManager = serverManager;
+    }
+
+    /**
+     * Waits for the next client and creates its blocking connection.
+     * @return The connection of the accepted client.
+     * @throws IOException If an Input/Output error occurs while accepting.
+     */
+    @Override
+    public ClientConnection accept() throws IOException {
+        Socket acceptedClientSocket = serverSocket.accept();
+        return new BlockingClientConnection(acceptedClientSocket, serverManager);
+    }
+
+    /**
+     * Checks whether the server socket is closed.
+     * @return true if the server socket is closed, false otherwise.
+     */
+    @Override
+    public boolean isClosed() {
+        return serverSocket.isClosed();
+    }
+
+    /**
+     * Closes the server socket.
+     * @throws IOException If an Input/Output error occurs while closing.
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+}
@@ -0,0 +1,10 @@
+package org.connect4.server.core.network;
+
+/**
+ * Enum representing the transports the server can use for client connections.
+ * @author Hassan
+ */
+public enum TransportType {
+    BLOCKING,
+    SELECTOR
+}
@@ -1,40 +1,131 @@
 package org.connect4.server.core.session;
 
+import org.connect4.game.ai.enums.AIType;
 import org.connect4.game.logic.core.Game;
+import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.core.Player;
+import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logic.events.GameEvent;
+import org.connect4.game.logic.events.GameReset;
+import org.connect4.game.logic.events.MoveApplied;
+import org.connect4.game.networking.messaging.StateDelta;
+import org.connect4.server.core.SessionScheduler;
+import org.connect4.server.core.archive.ArchivedGame;
+import org.connect4.server.core.archive.GameArchive;
+import org.connect4.server.core.handler.GameHandler;
+import org.connect4.server.core.journal.GameJournal;
+import org.connect4.server.core.journal.RecoveredSession;
 import org.connect4.server.core.network.ClientConnection;
 import org.connect4.server.core.network.MessageDispatcher;
 import org.connect4.server.logging.ServerLogger;
+import org.connect4.server.utils.HashedWheelTimer;
 
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A class that manages a game session.
+ * The session is an actor on the session scheduler: its start, its moves, its timers, and its rematch votes
+ * all run one at a time on the session loop it is pinned to, so the session owns no thread.
+ * After a game, the session expires if its players neither request a rematch nor leave in time.
+ * Each client player gets a resume token, with which it can claim the session back after a restart of the server,
+ * when the session is kept in the game journal. Each client player also gets a random archive id, which identifies it
+ * in the finished games kept in the game archive without revealing its resume token.
  * @author Hassan
  */
 public abstract class GameSession implements Runnable {
     protected static final ServerLogger LOGGER = ServerLogger.getLogger();
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+    private static final Duration REMATCH_TIMEOUT = Duration.ofSeconds(30);
+    private static final SecureRandom RANDOM_IDS = new SecureRandom();
 
+    private final long id;
     protected final GameSessionType type;
     protected final MessageDispatcher messageDispatcher;
+    protected final SessionScheduler sessionScheduler;
+    protected final Duration turnTimeout;
     protected final AtomicBoolean isRunning;
-    protected ExecutorService gameExecutor;
-    protected CountDownLatch countDownLatch;
+    private final AtomicInteger stateSequence;
+    private final Set<ClientConnection> rematchVotes;
+    private Duration idleTimeout;
+    private Runnable onExpired;
+    private HashedWheelTimer.Timeout expiryTimer;
+    private int expiryGeneration;
+    private long redResumeToken;
+    private long yellowResumeToken;
+    private long redArchiveId;
+    private long yellowArchiveId;
+    private GameJournal journal;
+    private List<Move> restoredMoves;
+    private GameArchive archive;
+    private final List<Move> moves;
+    private long gameStartMillis;
+    protected volatile GameHandler gameHandler;
 
     protected Game game;
 
     /**
      * Constructs a game session.
+     * @param type The type of the game session.
+     * @param messageDispatcher The message dispatcher.
+     * @param sessionScheduler The scheduler that runs the session.
+     * @param turnTimeout The time a player has to make a move, or zero for no limit.
      */
-    public GameSession(GameSessionType type, MessageDispatcher messageDispatcher) {
+    public GameSession(GameSessionType type, MessageDispatcher messageDispatcher, SessionScheduler sessionScheduler,
+                       Duration turnTimeout) {
+        this.id = NEXT_ID.getAndIncrement();
         this.type = type;
         this.messageDispatcher = messageDispatcher;
-        this.gameExecutor = Executors.newSingleThreadExecutor();
+        this.sessionScheduler = sessionScheduler;
+        this.turnTimeout = turnTimeout;
         this.isRunning = new AtomicBoolean(false);
+        this.stateSequence = new AtomicInteger();
+        this.rematchVotes = new HashSet<>();
+        this.idleTimeout = Duration.ZERO;
+        this.moves = new ArrayList<>();
+        this.redResumeToken = newRandomId();
+        this.yellowResumeToken = type == GameSessionType.MULTI_PLAYER_GAME_SESSION ? newRandomId() : 0L;
+        this.redArchiveId = newRandomId();
+        this.yellowArchiveId = type == GameSessionType.MULTI_PLAYER_GAME_SESSION ? newRandomId() : 0L;
+    }
+
+    /**
+     * Makes sure that the ids of the game sessions started from now on are greater than the specified id,
+     * so that they do not collide with the ids of sessions recovered from the game journal.
+     * @param id The greatest id in use.
+     */
+    public static void reserveIds(long id) {
+        NEXT_ID.accumulateAndGet(id + 1, Math::max);
+    }
+
+    /**
+     * Generates a new random id for a resume token or an archive id, which is never zero.
+     * @return The random id.
+     */
+    private static long newRandomId() {
+        long randomId;
+        do {
+            randomId = RANDOM_IDS.nextLong();
+        } while (randomId == 0L);
+
+        return randomId;
+    }
+
+    /**
+     * Gets the id of this game session, which is unique for the lifetime of the server.
+     * @return The id of this game session.
+     */
+    public long getId() {
+        return id;
     }
 
     /**
@@ -45,6 +136,32 @@ public abstract class GameSession implements Runnable {
         return type;
     }
 
+    /**
+     * Gets the type of the AI player of this game session.
+     * @return The AI type, or null if both players are clients.
+     */
+    public AIType getAiType() {
+        return null;
+    }
+
+    /**
+     * Gets the resume token of the player with the specified color.
+     * @param color The color of the player.
+     * @return The resume token, or zero if the player is not a client.
+     */
+    public long getResumeToken(Color color) {
+        return color == Color.RED ? redResumeToken : yellowResumeToken;
+    }
+
+    /**
+     * Gets the archive id of the player with the specified color, which identifies the player in the game archive.
+     * @param color The color of the player.
+     * @return The archive id, or zero if the player is not a client.
+     */
+    public long getArchiveId(Color color) {
+        return color == Color.RED ? redArchiveId : yellowArchiveId;
+    }
+
     /**
      * Gets the message dispatcher.
      * @return The message dispatcher.
@@ -69,14 +186,6 @@ public abstract class GameSession implements Runnable {
         this.isRunning.set(isRunning);
     }
 
-    /**
-     * Gets the countdown latch.
-     * @return The countdown latch.
-     */
-    public CountDownLatch getCountDownLatch() {
-        return countDownLatch;
-    }
-
     /**
      * Gets the game.
      * @return The game.
@@ -85,6 +194,216 @@ public abstract class GameSession implements Runnable {
         return game;
     }
 
+    /**
+     * Gets the sequence number of the next state delta. Sequence numbers keep increasing across rematches.
+     * @return The sequence number.
+     */
+    public int nextStateSequence() {
+        return stateSequence.getAndIncrement();
+    }
+
+    /**
+     * Delivers a move received from a client to the game handler of this session.
+     * @param sender The client connection that sent the move.
+     * @param move The move.
+     */
+    public void onMove(ClientConnection sender, Move move) {
+        GameHandler currentGameHandler = gameHandler;
+        if (currentGameHandler != null) {
+            currentGameHandler.onMove(sender, move);
+        } else {
+            LOGGER.warning("Ignoring move received before the game started: " + move);
+        }
+    }
+
+    /**
+     * Relays a text received from a client to the other players of this session.
+     * @param sender The client connection that sent the text.
+     * @param text The text.
+     */
+    public void onText(ClientConnection sender, String text) {
+        LOGGER.fine("Ignoring text in a session without other players.");
+    }
+
+    /**
+     * Sets how this game session expires when its players neither request a rematch nor leave after a game.
+     * @param idleTimeout The time after a game before the session expires, or zero to never expire.
+     * @param onExpired The task run on the session loop when the session expires.
+     */
+    public void setExpiry(Duration idleTimeout, Runnable onExpired) {
+        this.idleTimeout = idleTimeout;
+        this.onExpired = onExpired;
+    }
+
+    /**
+     * Restores this game session from a session recovered from the game journal, before it is started.
+     * The players keep their resume tokens, archive ids, scores and ratings, and the moves of the game in progress are replayed.
+     * A game that ended before its result was journaled is started over.
+     * @param recoveredSession The recovered session.
+     */
+    public void restore(RecoveredSession recoveredSession) {
+        redResumeToken = recoveredSession.getResumeToken(Color.RED);
+        yellowResumeToken = recoveredSession.getResumeToken(Color.YELLOW);
+        redArchiveId = recoveredSession.getArchiveId(Color.RED);
+        yellowArchiveId = recoveredSession.getArchiveId(Color.YELLOW);
+        for (Player player : List.of(game.getRedPlayer(), game.getYellowPlayer())) {
+            player.setScore(recoveredSession.getScore(player.getColor()));
+            player.setRating(recoveredSession.getRating(player.getColor()));
+        }
+
+        restoredMoves = recoveredSession.getMoves();
+        for (Move move : restoredMoves) {
+            game.performCurrentPlayerMove(move);
+        }
+        if (game.isOver()) {
+            game.reset();
+            restoredMoves = List.of();
+        }
+    }
+
+    /**
+     * Sets the game journal of this game session, before it is started. The start of the session,
+     * and from then on its moves, the ends of its games and its rematches are appended to the journal.
+     * @param journal The game journal.
+     */
+    public void setJournal(GameJournal journal) {
+        this.journal = journal;
+        journal.appendSessionStarted(id, type, getAiType(), redResumeToken, yellowResumeToken, redArchiveId, yellowArchiveId,
+                game.getRedPlayer(), game.getYellowPlayer());
+        if (restoredMoves != null) {
+            for (Move move : restoredMoves) {
+                journal.appendMove(id, move);
+            }
+        }
+        game.addListener(this::journalGameEvent);
+    }
+
+    /**
+     * Appends the moves and the resets of the game to the game journal.
+     * @param event The game event.
+     */
+    private void journalGameEvent(GameEvent event) {
+        if (event instanceof MoveApplied moveApplied) {
+            journal.appendMove(id, moveApplied.move());
+        } else if (event instanceof GameReset) {
+            journal.appendGameReset(id);
+        }
+    }
+
+    /**
+     * Sets the game archive of this game session, before it is started. The finished games of the session are archived.
+     * @param archive The game archive.
+     */
+    public void setArchive(GameArchive archive) {
+        this.archive = archive;
+        if (restoredMoves != null) {
+            moves.addAll(restoredMoves);
+        }
+        game.addListener(this::recordGameEvent);
+    }
+
+    /**
+     * Records the moves of the current game, to be archived when the game is over.
+     * @param event The game event.
+     */
+    private void recordGameEvent(GameEvent event) {
+        if (event instanceof MoveApplied moveApplied) {
+            moves.add(moveApplied.move());
+        } else if (event instanceof GameReset) {
+            moves.clear();
+        }
+    }
+
+    /**
+     * Called by the game handler when the game is over, before the result is sent to the players.
+     * It journals the scores and ratings of the players, archives the game, and starts the idle expiry of the session.
+     * @param winner The winner, or empty for a draw.
+     */
+    public void onGameOver(Optional<Player> winner) {
+        if (journal != null) {
+            journal.appendGameOver(id, game.getRedPlayer(), game.getYellowPlayer());
+        }
+        if (archive != null) {
+            long finishedAt = System.currentTimeMillis();
+            Color winnerColor = winner.map(Player::getColor).orElse(Color.NONE);
+            boolean isForfeit = winner.isPresent() && game.getWinner().isEmpty();
+            archive.append(new ArchivedGame(finishedAt, finishedAt - gameStartMillis, redArchiveId, yellowArchiveId,
+                    getAiType(), winnerColor, isForfeit, moves));
+        }
+        if (!idleTimeout.isZero()) {
+            startExpiryTimer(idleTimeout);
+        }
+    }
+
+    /**
+     * Runs the specified task on the session loop of this game session.
+     * @param task The task to be run.
+     */
+    public void execute(Runnable task) {
+        sessionScheduler.execute(id, task);
+    }
+
+    /**
+     * Runs the specified task on the session loop of this game session after the specified delay.
+     * @param task The task to be run.
+     * @param delay The delay before the task runs.
+     * @return The timeout of the task, which can be used to cancel it.
+     */
+    public HashedWheelTimer.Timeout schedule(Runnable task, Duration delay) {
+        return sessionScheduler.schedule(id, task, delay);
+    }
+
+    /**
+     * Runs the specified blocking task away from the session loops.
+     * @param task The blocking task to be run.
+     * @return The future of the task, or null if the scheduler is shut down.
+     */
+    public Future<?> submitBlocking(Runnable task) {
+        return sessionScheduler.submitBlocking(id, task);
+    }
+
+    /**
+     * Starts this game session on its session loop.
+     */
+    public void start() {
+        execute(this);
+    }
+
+    /**
+     * Records the rematch request of the specified client. The first request gives the other players
+     * the rematch window to request it too, after which the session expires. It must be called on the session loop.
+     * @param clientConnection The client connection that requested the rematch.
+     * @return true if every player has requested the rematch, false otherwise.
+     */
+    public boolean voteRematch(ClientConnection clientConnection) {
+        if (isRunning()) {
+            LOGGER.warning("Ignoring rematch request during a game from client: " + clientConnection);
+            return false;
+        }
+
+        boolean isFirstVote = rematchVotes.isEmpty();
+        rematchVotes.add(clientConnection);
+        if (rematchVotes.containsAll(getClients())) {
+            cancelExpiryTimer();
+            return true;
+        }
+
+        if (isFirstVote) {
+            startExpiryTimer(REMATCH_TIMEOUT);
+        }
+
+        return false;
+    }
+
+    /**
+     * Starts the specified game handler on the session loop.
+     * @param gameHandler The game handler.
+     */
+    protected void startGameHandler(GameHandler gameHandler) {
+        this.gameHandler = gameHandler;
+        gameHandler.start();
+    }
+
     /**
      * Gets the list of clients.
      * @return The list of clients.
@@ -92,46 +411,112 @@ public abstract class GameSession implements Runnable {
     public abstract List<ClientConnection> getClients();
 
     /**
-     * Starts the game session.
+     * Gets the color assigned to the specified client.
+     * @param clientConnection The client connection.
+     * @return The assigned color.
+     */
+    protected abstract Color getAssignedColor(ClientConnection clientConnection);
+
+    /**
+     * Starts the game session. It runs on the session loop.
      */
     @Override
     public void run() {
         this.setRunning(true);
+        this.gameStartMillis = System.currentTimeMillis();
+
+        // Sends the start of the game to each player in one message, with the assigned color and the player scores
+        int sequence = nextStateSequence();
+        for (ClientConnection clientConnection : this.getClients()) {
+            Color assignedColor = getAssignedColor(clientConnection);
+            messageDispatcher.sendStateDelta(clientConnection, StateDelta.started(sequence, assignedColor,
+                    game.getRedPlayer().getScore(), game.getYellowPlayer().getScore(), game.getCurrentPlayer().getColor()));
+            if (journal != null) {
+                messageDispatcher.sendResumeToken(clientConnection, getResumeToken(assignedColor));
+            }
+        }
 
-        // Sends the game started message to both players
-        messageDispatcher.broadcastGameStarted(this.getClients());
+        if (restoredMoves != null) {
+            sendRestoredMoves();
+            restoredMoves = null;
+        }
+    }
 
-        // Sends the player scores
-        messageDispatcher.broadcastPlayerScores(this.getClients(), game.getRedPlayer().getScore(), game.getYellowPlayer().getScore());
+    /**
+     * Sends the moves replayed by the restore of this game session to the players, so that they see the game in progress.
+     */
+    private void sendRestoredMoves() {
+        Color movingPlayer = Color.RED;
+        for (Move move : restoredMoves) {
+            Color nextPlayer = movingPlayer == Color.RED ? Color.YELLOW : Color.RED;
+            messageDispatcher.broadcastStateDelta(getClients(), StateDelta.moved(nextStateSequence(), move, movingPlayer, nextPlayer));
+            movingPlayer = nextPlayer;
+        }
     }
 
     /**
-     * Resets this game session.
+     * Resets this game session for a rematch. It must be called on the session loop.
      */
     public void reset() {
         this.isRunning.set(false);
-        this.gameExecutor = Executors.newCachedThreadPool();
+        this.gameHandler = null;
+        this.rematchVotes.clear();
+        cancelExpiryTimer();
         this.game.reset();
     }
 
     /**
-     * Shuts down the game session.
+     * Starts the expiry timer of this game session, replacing the running one.
+     * @param delay The time before the session expires.
      */
-    public void shutdown() {
-        try {
-            this.setRunning(false);
+    private void startExpiryTimer(Duration delay) {
+        cancelExpiryTimer();
+        int generation = expiryGeneration;
+        expiryTimer = schedule(() -> expire(generation), delay);
+    }
+
+    /**
+     * Cancels the expiry timer, if any. An expiry already handed to the session loop is ignored when it runs.
+     */
+    private void cancelExpiryTimer() {
+        expiryGeneration++;
+        if (expiryTimer != null) {
+            expiryTimer.cancel();
+            expiryTimer = null;
+        }
+    }
 
-            if (gameExecutor != null && !gameExecutor.isShutdown()) {
-                gameExecutor.shutdown();
+    /**
+     * Expires this game session, unless its expiry timer was cancelled or replaced since it was started.
+     * @param generation The generation of the expiry timer.
+     */
+    private void expire(int generation) {
+        if (generation == expiryGeneration && onExpired != null) {
+            expiryTimer = null;
+            onExpired.run();
+        }
+    }
 
-                if (!gameExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    gameExecutor.shutdownNow();
-                }
-            }
+    /**
+     * Cancels any move computation that is still running when the session is shut down.
+     */
+    protected void cancelPendingMoves() {
+    }
 
-            messageDispatcher.broadcastGameSessionEnded(this.getClients());
-        } catch (Exception e) {
-            LOGGER.severe("Failed to shutdown the game session: " + e.getMessage());
+    /**
+     * Shuts down the game session.
+     */
+    public void shutdown() {
+        this.setRunning(false);
+        cancelPendingMoves();
+
+        // Stop the game handler right away, there is nothing left for it to finish
+        GameHandler currentGameHandler = gameHandler;
+        if (currentGameHandler != null) {
+            currentGameHandler.stop();
         }
+        execute(this::cancelExpiryTimer);
+
+        messageDispatcher.broadcastGameSessionEnded(this.getClients());
     }
 }
@@ -6,16 +6,17 @@ import org.connect4.game.logic.core.Player;
 import org.connect4.game.logic.enums.Color;
 import org.connect4.game.logic.enums.GameType;
 import org.connect4.game.logic.enums.PlayerType;
+import org.connect4.game.logic.utils.EloRating;
+import org.connect4.server.core.SessionScheduler;
+import org.connect4.server.core.journal.RecoveredSession;
 import org.connect4.server.core.network.ClientConnection;
 import org.connect4.server.core.network.MessageDispatcher;
 import org.connect4.server.core.network.MessageRelay;
 import org.connect4.server.core.handler.MultiPlayerGameHandler;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
 
 /**
  * A class that manages a multi-player game session between two human players.
@@ -25,24 +26,28 @@ public class MultiPlayerGameSession extends GameSession {
     private final ClientConnection redPlayerConnection;
     private final ClientConnection yellowPlayerConnection;
 
-    private ExecutorService relayExecutor;
+    private volatile MessageRelay redPlayerRelay;
+    private volatile MessageRelay yellowPlayerRelay;
 
     /**
      * Constructs a multi-player game session.
      * @param redPlayerConnection The red player connection.
      * @param yellowPlayerConnection The yellow player connection.
      * @param messageDispatcher The message dispatcher.
+     * @param sessionScheduler The scheduler that runs the session.
+     * @param turnTimeout The time a player has to make a move, or zero for no limit.
      */
-    public MultiPlayerGameSession(ClientConnection redPlayerConnection, ClientConnection yellowPlayerConnection, MessageDispatcher messageDispatcher) {
-        super(GameSessionType.MULTI_PLAYER_GAME_SESSION, messageDispatcher);
+    public MultiPlayerGameSession(ClientConnection redPlayerConnection, ClientConnection yellowPlayerConnection,
+                                  MessageDispatcher messageDispatcher, SessionScheduler sessionScheduler, Duration turnTimeout) {
+        super(GameSessionType.MULTI_PLAYER_GAME_SESSION, messageDispatcher, sessionScheduler, turnTimeout);
         this.redPlayerConnection = redPlayerConnection;
         this.yellowPlayerConnection = yellowPlayerConnection;
-        this.relayExecutor = Executors.newFixedThreadPool(2);
-        this.countDownLatch = new CountDownLatch(2);
         this.game = new Game(new Board(),
                 new Player(Color.RED, PlayerType.HUMAN),
                 new Player(Color.YELLOW, PlayerType.HUMAN),
                 GameType.HUMAN_VS_HUMAN);
+        this.game.getRedPlayer().setRating(redPlayerConnection.getRating());
+        this.game.getYellowPlayer().setRating(yellowPlayerConnection.getRating());
     }
 
     /**
@@ -61,62 +66,83 @@ public class MultiPlayerGameSession extends GameSession {
     }
 
     /**
-     * Gets the list of clients.
-     * @return The list of clients.
+     * Relays a text received from a player to the opponent player.
+     * @param sender The client connection that sent the text.
+     * @param text The text.
      */
     @Override
-    public List<ClientConnection> getClients() {
-        return List.of(redPlayerConnection, yellowPlayerConnection);
+    public void onText(ClientConnection sender, String text) {
+        MessageRelay messageRelay = sender.equals(redPlayerConnection) ? redPlayerRelay : yellowPlayerRelay;
+        if (messageRelay != null) {
+            messageRelay.relay(text);
+        }
     }
 
     /**
-     * Starts the game session by setting up the message relays between two players.
+     * Restores this game session from a session recovered from the game journal, and keeps the restored ratings
+     * on the connections of the players.
+     * @param recoveredSession The recovered session.
      */
     @Override
-    public void run() {
-        super.run();
+    public void restore(RecoveredSession recoveredSession) {
+        super.restore(recoveredSession);
 
-        // Sends the assigned color to each player
-        messageDispatcher.sendAssignedColor(redPlayerConnection, Color.RED);
-        messageDispatcher.sendAssignedColor(yellowPlayerConnection, Color.YELLOW);
+        redPlayerConnection.setRating(game.getRedPlayer().getRating());
+        yellowPlayerConnection.setRating(game.getYellowPlayer().getRating());
+    }
 
-        // Start text message relays
-        relayExecutor.submit(new MessageRelay(this, redPlayerConnection, yellowPlayerConnection));
-        relayExecutor.submit(new MessageRelay(this, yellowPlayerConnection, redPlayerConnection));
+    /**
+     * Updates the ratings of both players with the result of the game, and keeps them on their connections.
+     * @param winner The winner, or empty for a draw.
+     */
+    @Override
+    public void onGameOver(Optional<Player> winner) {
+        Player redPlayer = game.getRedPlayer();
+        Player yellowPlayer = game.getYellowPlayer();
+        EloRating.updateRatings(redPlayer, yellowPlayer, winner);
+        redPlayerConnection.setRating(redPlayer.getRating());
+        yellowPlayerConnection.setRating(yellowPlayer.getRating());
 
-        // Start game
-        gameExecutor.submit(new MultiPlayerGameHandler(this, redPlayerConnection, yellowPlayerConnection));
+        LOGGER.info("Ratings updated: RED %d, YELLOW %d".formatted(redPlayer.getRating(), yellowPlayer.getRating()));
+
+        // Called after the ratings are updated, so that the journal keeps the new ratings
+        super.onGameOver(winner);
     }
 
     /**
-     * Resets this game session.
+     * Gets the list of clients.
+     * @return The list of clients.
      */
     @Override
-    public void reset() {
-        super.reset();
+    public List<ClientConnection> getClients() {
+        return List.of(redPlayerConnection, yellowPlayerConnection);
+    }
 
-        this.countDownLatch = new CountDownLatch(2);
-        this.relayExecutor = Executors.newFixedThreadPool(2);
+    /**
+     * Gets the color assigned to the specified player.
+     * @param clientConnection The player connection.
+     * @return The color of the player.
+     */
+    @Override
+    protected Color getAssignedColor(ClientConnection clientConnection) {
+        return clientConnection.equals(redPlayerConnection) ? Color.RED : Color.YELLOW;
     }
 
     /**
-     * Shuts down the game session.
+     * Starts the game session by setting up the message relays between two players.
+     * The relays deliver the texts on the session loop, and are kept across rematches.
      */
     @Override
-    public void shutdown() {
-        try {
-            super.shutdown();
-
-            // Shutdown the relay executor
-            if (relayExecutor != null && !relayExecutor.isShutdown()) {
-                relayExecutor.shutdown();
-
-                if (!relayExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    relayExecutor.shutdownNow();
-                }
-            }
-        } catch (Exception e) {
-            LOGGER.severe("Failed to shutdown the multi-player game session: " + e.getMessage());
+    public void run() {
+        super.run();
+
+        // Set up text message relays
+        if (redPlayerRelay == null) {
+            redPlayerRelay = new MessageRelay(yellowPlayerConnection, messageDispatcher, this::execute);
+            yellowPlayerRelay = new MessageRelay(redPlayerConnection, messageDispatcher, this::execute);
         }
+
+        // Start game
+        startGameHandler(new MultiPlayerGameHandler(this, redPlayerConnection, yellowPlayerConnection, turnTimeout));
     }
 }
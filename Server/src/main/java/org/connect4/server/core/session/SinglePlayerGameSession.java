@@ -2,19 +2,22 @@ package org.connect4.server.core.session;
 
 import org.connect4.game.ai.AIFactory;
 import org.connect4.game.ai.enums.AIType;
+import org.connect4.game.ai.strategies.AI;
 import org.connect4.game.logic.core.Board;
 import org.connect4.game.logic.core.Game;
 import org.connect4.game.logic.core.Player;
 import org.connect4.game.logic.enums.Color;
 import org.connect4.game.logic.enums.GameType;
 import org.connect4.game.logic.enums.PlayerType;
+import org.connect4.server.core.SearchStatisticsAggregator;
+import org.connect4.server.core.SessionScheduler;
 import org.connect4.server.core.handler.SinglePlayerGameHandler;
 import org.connect4.server.core.network.ClientConnection;
 import org.connect4.server.core.network.MessageDispatcher;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
 
 /**
  * A class that manages a single-player game session between a human player and an AI player.
@@ -22,24 +25,44 @@ import java.util.concurrent.CountDownLatch;
  */
 public class SinglePlayerGameSession extends GameSession {
     private final ClientConnection humanPlayerConnection;
+    private final AIType aiType;
+    private final SearchStatisticsAggregator searchStatistics;
+    private final Duration aiMoveDelay;
 
     /**
      * Constructs a single-player game session.
      * @param humanPlayerConnection The human player connection.
      * @param aiType The type of AI player.
      * @param messageDispatcher The message dispatcher.
+     * @param sessionScheduler The scheduler that runs the session.
+     * @param searchStatistics The aggregator of the AI search statistics.
+     * @param turnTimeout The time the human player has to make a move, or zero for no limit.
+     * @param aiMoveDelay The minimum time between the start of the AI turn and the AI move.
      */
-    public SinglePlayerGameSession(ClientConnection humanPlayerConnection, AIType aiType, MessageDispatcher messageDispatcher) {
-        super(GameSessionType.SINGLE_PLAYER_GAME_SESSION, messageDispatcher);
+    public SinglePlayerGameSession(ClientConnection humanPlayerConnection, AIType aiType, MessageDispatcher messageDispatcher,
+                                   SessionScheduler sessionScheduler, SearchStatisticsAggregator searchStatistics,
+                                   Duration turnTimeout, Duration aiMoveDelay) {
+        super(GameSessionType.SINGLE_PLAYER_GAME_SESSION, messageDispatcher, sessionScheduler, turnTimeout);
         this.humanPlayerConnection = humanPlayerConnection;
-        this.countDownLatch = new CountDownLatch(1);
+        this.aiType = aiType;
+        this.searchStatistics = searchStatistics;
+        this.aiMoveDelay = aiMoveDelay;
 
         Board board = new Board();
         Player humanPlayer = new Player(Color.RED, PlayerType.HUMAN);
-        Player aiPlayer = AIFactory.getAIPlayer(board, aiType);
+        Player aiPlayer = AIFactory.getAIPlayer(aiType);
         this.game = new Game(board, humanPlayer, aiPlayer, GameType.HUMAN_VS_COMPUTER);
     }
 
+    /**
+     * Gets the type of the AI player.
+     * @return The AI type.
+     */
+    @Override
+    public AIType getAiType() {
+        return aiType;
+    }
+
     /**
      * Gets the list of clients.
      * @return The list of clients.
@@ -49,6 +72,16 @@ public class SinglePlayerGameSession extends GameSession {
         return Collections.singletonList(humanPlayerConnection);
     }
 
+    /**
+     * Gets the color assigned to the human player.
+     * @param clientConnection The human player connection.
+     * @return The red color.
+     */
+    @Override
+    protected Color getAssignedColor(ClientConnection clientConnection) {
+        return Color.RED;
+    }
+
     /**
      * Starts the game session between a human player and an AI.
      */
@@ -56,10 +89,15 @@ public class SinglePlayerGameSession extends GameSession {
     public void run() {
         super.run();
 
-        // Sends the assigned color to the human player
-        messageDispatcher.sendAssignedColor(humanPlayerConnection, Color.RED);
-
         // Start game relay
-        gameExecutor.submit(new SinglePlayerGameHandler(this, humanPlayerConnection));
+        startGameHandler(new SinglePlayerGameHandler(this, humanPlayerConnection, searchStatistics, turnTimeout, aiMoveDelay));
+    }
+
+    /**
+     * Cancels the running AI search, so that the session frees its compute thread immediately.
+     */
+    @Override
+    protected void cancelPendingMoves() {
+        ((AI) game.getYellowPlayer()).cancel();
     }
 }
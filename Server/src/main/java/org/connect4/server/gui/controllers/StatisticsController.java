@@ -8,6 +8,7 @@ import javafx.scene.chart.PieChart;
 import javafx.util.Duration;
 
 import org.connect4.server.core.ServerManager;
+import org.connect4.server.core.session.GameSessionType;
 import org.connect4.server.gui.views.StatisticsView;
 
 /**
@@ -53,9 +54,10 @@ public class StatisticsController {
      */
     private EventHandler<ActionEvent> updateStatisticsView() {
         return event -> {
-            int currentMultiPlayerGameSessionsSize = serverManager.getGameSessionManager().getMultiPlayerGameSessions().size();
-            int currentSinglePlayerGameSessionsSize = serverManager.getGameSessionManager().getSinglePlayerGameSessions().size();
+            int currentMultiPlayerGameSessionsSize = serverManager.getGameSessionManager().getGameSessionCount(GameSessionType.MULTI_PLAYER_GAME_SESSION);
+            int currentSinglePlayerGameSessionsSize = serverManager.getGameSessionManager().getGameSessionCount(GameSessionType.SINGLE_PLAYER_GAME_SESSION);
             int currentWaitingSocketsSize = serverManager.getClientManager().getWaitingClients().size();
+            statisticsView.getSearchStatisticsLabel().setText(serverManager.getSearchStatistics().toString());
 
             if (statisticsView.getPieChartData().isEmpty()) {
                 statisticsView.getPieChartData().add(new PieChart.Data("Multi-Player Game Sessions", currentMultiPlayerGameSessionsSize));
@@ -5,6 +5,7 @@ import javafx.collections.ObservableList;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.chart.PieChart;
+import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
@@ -22,6 +23,7 @@ public class StatisticsView {
     private final VBox layout;
     private final ObservableList<PieChart.Data> pieChartData;
     private final PieChart pieChart;
+    private final Label searchStatisticsLabel;
 
     private StatisticsController controller;
 
@@ -36,6 +38,7 @@ public class StatisticsView {
         this.scene = new Scene(layout, Constants.STATISTICS_VIEW_WIDTH, Constants.STATISTICS_VIEW_HEIGHT);
         this.pieChartData = FXCollections.observableArrayList();
         this.pieChart = new PieChart(pieChartData);
+        this.searchStatisticsLabel = new Label();
 
         initialize();
     }
@@ -58,6 +61,14 @@ public class StatisticsView {
         return pieChartData;
     }
 
+    /**
+     * Gets the label that shows the AI search statistics.
+     * @return The search statistics label.
+     */
+    public Label getSearchStatisticsLabel() {
+        return searchStatisticsLabel;
+    }
+
     /**
      * Sets the controller for this view.
      * @param controller The controller to be set.
@@ -80,8 +91,10 @@ public class StatisticsView {
         pieChart.setData(pieChartData);
         pieChart.setTitle("Server Statistics");
 
+        searchStatisticsLabel.setWrapText(true);
+
         layout.setAlignment(Pos.CENTER);
-        layout.getChildren().addAll(pieChart);
+        layout.getChildren().addAll(pieChart, searchStatisticsLabel);
 
         stage.setTitle("Server Statistics");
         stage.initModality(Modality.APPLICATION_MODAL);
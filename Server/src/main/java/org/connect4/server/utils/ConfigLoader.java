@@ -1,7 +1,12 @@
 package org.connect4.server.utils;
 
+import org.connect4.server.core.ThreadMode;
+import org.connect4.server.core.network.TransportType;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Properties;
 
 /**
@@ -29,6 +34,24 @@ public class ConfigLoader {
         }
     }
 
+    /**
+     * Gets the path of the game journal, which keeps the game sessions across restarts of the server.
+     * @return The path of the journal file, or null if the journal is disabled.
+     */
+    public Path getJournalPath() {
+        String journalFile = properties.getProperty("server.journal-file", "").trim();
+        return journalFile.isEmpty() ? null : Path.of(journalFile);
+    }
+
+    /**
+     * Gets the directory of the game archive, which keeps the finished games.
+     * @return The path of the archive directory, or null if the archive is disabled.
+     */
+    public Path getArchiveDirectory() {
+        String archiveDirectory = properties.getProperty("server.archive-directory", "").trim();
+        return archiveDirectory.isEmpty() ? null : Path.of(archiveDirectory);
+    }
+
     /**
      * Gets the server port number.
      * @return The server port.
@@ -36,4 +59,135 @@ public class ConfigLoader {
     public int getServerPort() {
         return Integer.parseInt(properties.getProperty("server.port"));
     }
+
+    /**
+     * Gets the transport used for client connections.
+     * @return The transport type, selector by default.
+     */
+    public TransportType getTransportType() {
+        return TransportType.valueOf(properties.getProperty("server.transport", TransportType.SELECTOR.name()).toUpperCase());
+    }
+
+    /**
+     * Gets the kind of threads that run the connections, message handlers and game sessions.
+     * @return The thread mode, platform by default.
+     */
+    public ThreadMode getThreadMode() {
+        return ThreadMode.valueOf(properties.getProperty("server.threads", ThreadMode.PLATFORM.name()).toUpperCase());
+    }
+
+    /**
+     * Gets how virtual threads that pin their carrier thread while blocking are reported.
+     * @return The pinning trace mode, "short" or "full", or an empty string to disable the trace.
+     */
+    public String getPinningTrace() {
+        return properties.getProperty("server.threads.trace-pinning", "").trim();
+    }
+
+    /**
+     * Gets the time a newly accepted client has to complete the handshake before it is disconnected.
+     * @return The handshake timeout.
+     */
+    public Duration getHandshakeTimeout() {
+        return Duration.ofSeconds(Long.parseLong(properties.getProperty("server.handshake-timeout-seconds", "10")));
+    }
+
+    /**
+     * Gets the time after which an idle client is sent a heartbeat.
+     * @return The heartbeat interval.
+     */
+    public Duration getHeartbeatInterval() {
+        return Duration.ofSeconds(Long.parseLong(properties.getProperty("server.heartbeat-interval-seconds", "15")));
+    }
+
+    /**
+     * Gets the time after which a client that sent nothing, not even a heartbeat reply, is disconnected.
+     * @return The idle timeout.
+     */
+    public Duration getIdleTimeout() {
+        return Duration.ofSeconds(Long.parseLong(properties.getProperty("server.idle-timeout-seconds", "45")));
+    }
+
+    /**
+     * Gets the time between two rounds of pairing the clients waiting for an opponent.
+     * @return The matchmaking interval.
+     */
+    public Duration getMatchmakingInterval() {
+        return Duration.ofMillis(Long.parseLong(properties.getProperty("server.matchmaking-interval-millis", "250")));
+    }
+
+    /**
+     * Gets the maximum number of concurrent client connections.
+     * @return The maximum number of connections.
+     */
+    public int getMaxConnections() {
+        return Integer.parseInt(properties.getProperty("server.max-connections", "1000"));
+    }
+
+    /**
+     * Gets the maximum number of concurrent game sessions.
+     * @return The maximum number of game sessions.
+     */
+    public int getMaxGameSessions() {
+        return Integer.parseInt(properties.getProperty("server.max-game-sessions", "500"));
+    }
+
+    /**
+     * Gets the maximum number of concurrent single-player game sessions, whose AI searches are CPU-heavy.
+     * @return The maximum number of AI game sessions.
+     */
+    public int getMaxAiGameSessions() {
+        return Integer.parseInt(properties.getProperty("server.max-ai-game-sessions", "50"));
+    }
+
+    /**
+     * Gets the time a player has to make a move before forfeiting the game.
+     * @return The turn timeout, or zero for no limit.
+     */
+    public Duration getTurnTimeout() {
+        return Duration.ofSeconds(Long.parseLong(properties.getProperty("game.turn-timeout-seconds", "120")));
+    }
+
+    /**
+     * Gets the minimum time between the start of an AI turn and the AI move, which overlaps the AI search.
+     * @return The AI move delay.
+     */
+    public Duration getAiMoveDelay() {
+        return Duration.ofMillis(Long.parseLong(properties.getProperty("game.ai-move-delay-millis", "3000")));
+    }
+
+    /**
+     * Gets the time a finished game session waits for its players to request a rematch before it is ended.
+     * @return The session idle timeout, or zero to keep finished sessions until their players leave.
+     */
+    public Duration getSessionIdleTimeout() {
+        return Duration.ofSeconds(Long.parseLong(properties.getProperty("game.session-idle-timeout-seconds", "120")));
+    }
+
+    /**
+     * Gets the number of selector event loops.
+     * @return The number of event loops, the number of available processors by default.
+     */
+    public int getEventLoopCount() {
+        int eventLoopCount = Integer.parseInt(properties.getProperty("server.event-loops", "0"));
+        return eventLoopCount > 0 ? eventLoopCount : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Gets the number of threads that handle the messages of all clients.
+     * @return The number of message handler threads, the number of available processors by default.
+     */
+    public int getMessageHandlerThreadCount() {
+        int messageHandlerThreadCount = Integer.parseInt(properties.getProperty("server.message-handler-threads", "0"));
+        return messageHandlerThreadCount > 0 ? messageHandlerThreadCount : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Gets the number of session loops that run the game sessions.
+     * @return The number of session loops, the number of available processors by default.
+     */
+    public int getSessionLoopCount() {
+        int sessionLoopCount = Integer.parseInt(properties.getProperty("server.session-loops", "0"));
+        return sessionLoopCount > 0 ? sessionLoopCount : Runtime.getRuntime().availableProcessors();
+    }
 }
@@ -0,0 +1,316 @@
+package org.connect4.server.utils;
+
+import org.connect4.server.logging.ServerLogger;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A timer that keeps its timeouts in a hashed wheel of buckets, one bucket per tick.
+ * Scheduling and cancelling a timeout are constant time, whatever the number of pending timeouts,
+ * at the cost of firing a timeout up to one tick late. A single worker thread advances the wheel once per tick
+ * and runs the expired tasks, so the tasks must be short, and should hand any real work to another executor.
+ * @author Hassan
+ */
+public class HashedWheelTimer {
+    private static final ServerLogger LOGGER = ServerLogger.getLogger();
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pendingTimeouts;
+    private final Queue<Timeout> cancelledTimeouts;
+    private final Thread worker;
+    private final long startNanos;
+    private volatile boolean running;
+    private long tick;
+
+    /**
+     * Constructs a new HashedWheelTimer.
+     * @param name The name of the worker thread.
+     * @param tickDuration The duration of a tick, which is the precision of the timer.
+     * @param ticksPerWheel The number of buckets, rounded up to a power of two.
+     */
+    public HashedWheelTimer(String name, Duration tickDuration, int ticksPerWheel) {
+        if (tickDuration.toMillis() < 1 || ticksPerWheel < 1) {
+            throw new IllegalArgumentException("Timer tick duration and ticks per wheel must be positive.");
+        }
+
+        this.tickNanos = tickDuration.toNanos();
+        this.wheel = new Bucket[roundUpToPowerOfTwo(ticksPerWheel)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.pendingTimeouts = new ConcurrentLinkedQueue<>();
+        this.cancelledTimeouts = new ConcurrentLinkedQueue<>();
+        this.worker = Thread.ofPlatform().name(name).daemon(true).unstarted(this::run);
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts the worker thread.
+     */
+    public void start() {
+        running = true;
+        worker.start();
+    }
+
+    /**
+     * Schedules the specified task to run once after the specified delay.
+     * @param task The task to be run on the worker thread.
+     * @param delay The delay before the task runs.
+     * @return The timeout, which can be used to cancel the task.
+     */
+    public Timeout newTimeout(Runnable task, Duration delay) {
+        Timeout timeout = new Timeout(this, task, System.nanoTime() - startNanos + delay.toNanos());
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Shuts down the worker thread. The pending timeouts never run.
+     */
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * Rounds the specified number of ticks up to a power of two, so that a tick maps to its bucket with a mask.
+     * @param ticksPerWheel The number of ticks.
+     * @return The smallest power of two that is not less than the number of ticks.
+     */
+    private static int roundUpToPowerOfTwo(int ticksPerWheel) {
+        int wheelSize = 1;
+        while (wheelSize < ticksPerWheel) {
+            wheelSize <<= 1;
+        }
+
+        return wheelSize;
+    }
+
+    /**
+     * Advances the wheel once per tick until the timer is shut down.
+     */
+    private void run() {
+        while (running) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                break;
+            }
+
+            removeCancelledTimeouts();
+            transferPendingTimeouts();
+            wheel[(int) (tick & mask)].expireTimeouts(deadline);
+            tick++;
+        }
+    }
+
+    /**
+     * Sleeps until the start of the next tick.
+     * @return The time of the tick since the timer was created, or -1 if the timer was shut down.
+     */
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos <= 0) {
+                return deadline;
+            }
+
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the newly scheduled timeouts into the bucket of the tick they expire on.
+     */
+    private void transferPendingTimeouts() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                return;
+            }
+
+            if (timeout.isCancelled()) {
+                continue;
+            }
+
+            long expiryTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+            // A timeout whose tick has already passed expires on the current tick
+            wheel[(int) (Math.max(expiryTick, tick) & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * Unlinks the cancelled timeouts from their buckets.
+     */
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * A task scheduled on the timer.
+     */
+    public static final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state;
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        /**
+         * Constructs a new pending timeout.
+         * @param timer The timer.
+         * @param task The task to be run.
+         * @param deadline The time the task runs, since the timer was created.
+         */
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+            this.state = new AtomicInteger(PENDING);
+        }
+
+        /**
+         * Cancels this timeout, unless its task has already run.
+         * @return true if the timeout was cancelled, false if it had already expired or been cancelled.
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+
+            timer.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        /**
+         * Checks if this timeout was cancelled.
+         * @return true if it was cancelled, false otherwise.
+         */
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        /**
+         * Checks if this timeout has expired and its task has run.
+         * @return true if it has expired, false otherwise.
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        /**
+         * Runs the task of this timeout, unless it was cancelled.
+         */
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED)) {
+                return;
+            }
+
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOGGER.severe("Timer task failed: " + e);
+            }
+        }
+    }
+
+    /**
+     * A doubly linked list of the timeouts of a tick, only accessed by the worker thread.
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        /**
+         * Adds the specified timeout to this bucket.
+         * @param timeout The timeout.
+         */
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        /**
+         * Removes the specified timeout from this bucket.
+         * @param timeout The timeout.
+         * @return The timeout that followed the removed timeout.
+         */
+        private Timeout remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.previous != null) {
+                timeout.previous.next = next;
+            }
+            if (next != null) {
+                next.previous = timeout.previous;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.previous;
+            }
+
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+
+        /**
+         * Runs the timeouts of this bucket that are due in the current round, and counts down the others.
+         * @param deadline The time of the current tick since the timer was created.
+         */
+        private void expireTimeouts(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                if (timeout.remainingRounds <= 0) {
+                    Timeout next = remove(timeout);
+                    if (timeout.deadline <= deadline) {
+                        timeout.expire();
+                    } else {
+                        LOGGER.severe("Timer timeout placed in the wrong bucket.");
+                    }
+                    timeout = next;
+                } else if (timeout.isCancelled()) {
+                    timeout = remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                    timeout = timeout.next;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.connect4.server.utils;
+
+import org.connect4.server.logging.ServerLogger;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An executor that runs its tasks one at a time and in the order they were submitted, on the threads of a shared executor.
+ * It holds no thread of its own: while it has tasks, one drain of its queue runs on the shared executor,
+ * and it hands the thread back after a batch of tasks, so that many serial executors can share a few threads fairly.
+ * @author Hassan
+ */
+public class SerialExecutor implements Executor {
+    private static final ServerLogger LOGGER = ServerLogger.getLogger();
+    private static final int MAX_TASK_BATCH = 16;
+
+    private final Executor executor;
+    private final Queue<Runnable> tasks;
+    private final AtomicBoolean isScheduled;
+    private volatile boolean isShutdown;
+
+    /**
+     * Constructs a new SerialExecutor over the specified executor.
+     * @param executor The shared executor that runs the tasks.
+     */
+    public SerialExecutor(Executor executor) {
+        this.executor = executor;
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.isScheduled = new AtomicBoolean(false);
+    }
+
+    /**
+     * Queues the specified task to run after the tasks submitted before it.
+     * @param task The task to be run.
+     * @throws RejectedExecutionException If this executor or the shared executor is shut down.
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (isShutdown) {
+            throw new RejectedExecutionException("Serial executor is shut down.");
+        }
+
+        tasks.add(task);
+        schedule();
+    }
+
+    /**
+     * Stops accepting new tasks. The tasks already queued still run, and the calling thread never waits for them,
+     * so it can be called from one of the tasks.
+     */
+    public void shutdown() {
+        isShutdown = true;
+    }
+
+    /**
+     * Checks whether this executor is shut down.
+     * @return true if the executor no longer accepts tasks, false otherwise.
+     */
+    public boolean isShutdown() {
+        return isShutdown;
+    }
+
+    /**
+     * Submits a drain of the queue to the shared executor, unless one is already pending.
+     */
+    private void schedule() {
+        if (isScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::runTasks);
+            } catch (RejectedExecutionException e) {
+                tasks.clear();
+                isScheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Runs a batch of the queued tasks in order, and submits another drain if tasks are left. Called on the shared executor.
+     */
+    private void runTasks() {
+        Runnable task;
+        int count = 0;
+        while (count++ < MAX_TASK_BATCH && (task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOGGER.severe("Serial task failed: " + e);
+            }
+        }
+
+        isScheduled.set(false);
+
+        // A task queued after the last poll may have found the drain still scheduled
+        if (!tasks.isEmpty()) {
+            try {
+                schedule();
+            } catch (RejectedExecutionException e) {
+                LOGGER.fine("Dropping serial tasks after the shared executor shut down.");
+            }
+        }
+    }
+}
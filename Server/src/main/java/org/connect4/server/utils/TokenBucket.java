@@ -0,0 +1,51 @@
+package org.connect4.server.utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket that limits the rate of events while allowing short bursts.
+ * The bucket holds up to a fixed number of tokens and refills continuously at a fixed rate.
+ * Each event takes one token, and events that find the bucket empty are rejected.
+ * @author Hassan
+ */
+public class TokenBucket {
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * Constructs a new full token bucket.
+     * @param capacity The maximum number of tokens, which is the largest allowed burst.
+     * @param tokensPerSecond The number of tokens added per second, which is the sustained rate.
+     */
+    public TokenBucket(int capacity, double tokensPerSecond) {
+        if (capacity < 1 || tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("Token bucket capacity and rate must be positive.");
+        }
+
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / NANOS_PER_SECOND;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes a token from the bucket if one is available.
+     * @return true if the event is allowed, false if it exceeds the rate limit.
+     */
+    public synchronized boolean tryAcquire() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+
+        if (tokens < 1) {
+            return false;
+        }
+
+        tokens--;
+        return true;
+    }
+}
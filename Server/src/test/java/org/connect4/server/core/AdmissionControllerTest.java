@@ -0,0 +1,43 @@
+package org.connect4.server.core;
+
+import org.connect4.game.networking.messaging.RejectionReason;
+import org.connect4.server.core.session.GameSessionType;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+public class AdmissionControllerTest {
+    @Test
+    public void testConnections() {
+        AdmissionController admissionController = new AdmissionController(2, 1, 1);
+
+        Assertions.assertTrue(admissionController.tryAdmitConnection());
+        Assertions.assertTrue(admissionController.tryAdmitConnection());
+        Assertions.assertFalse(admissionController.tryAdmitConnection(), "Connections beyond the cap should be rejected");
+        admissionController.releaseConnection();
+        Assertions.assertTrue(admissionController.tryAdmitConnection(), "A released slot should be admitted again");
+    }
+
+    @Test
+    public void testGameSessions() {
+        AdmissionController admissionController = new AdmissionController(10, 2, 1);
+
+        Assertions.assertEquals(Optional.empty(), admissionController.tryAdmitGameSession(GameSessionType.SINGLE_PLAYER_GAME_SESSION));
+        Assertions.assertEquals(Optional.of(RejectionReason.TOO_MANY_AI_GAME_SESSIONS),
+                admissionController.tryAdmitGameSession(GameSessionType.SINGLE_PLAYER_GAME_SESSION));
+        Assertions.assertEquals(Optional.empty(), admissionController.tryAdmitGameSession(GameSessionType.MULTI_PLAYER_GAME_SESSION),
+                "A rejected AI game session should not keep its game session slot");
+        Assertions.assertEquals(Optional.of(RejectionReason.TOO_MANY_GAME_SESSIONS),
+                admissionController.tryAdmitGameSession(GameSessionType.MULTI_PLAYER_GAME_SESSION));
+
+        admissionController.releaseGameSession(GameSessionType.SINGLE_PLAYER_GAME_SESSION);
+        Assertions.assertEquals(Optional.empty(), admissionController.tryAdmitGameSession(GameSessionType.SINGLE_PLAYER_GAME_SESSION));
+    }
+
+    @Test
+    public void testInvalidCaps() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AdmissionController(0, 1, 1));
+    }
+}
@@ -0,0 +1,86 @@
+package org.connect4.server.core;
+
+import org.connect4.game.ai.enums.AIType;
+import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.core.Player;
+import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logic.enums.PlayerType;
+import org.connect4.server.core.archive.GameArchive;
+import org.connect4.server.core.journal.GameJournal;
+import org.connect4.server.core.journal.RecoveredSession;
+import org.connect4.server.core.session.GameSessionType;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+public class GameSessionManagerTest {
+    @TempDir
+    private Path directory;
+    private Path journalPath;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        journalPath = directory.resolve("journal.bin");
+        Player redPlayer = new Player(Color.RED, PlayerType.HUMAN);
+        Player yellowPlayer = new Player(Color.YELLOW, PlayerType.HUMAN);
+
+        GameJournal journal = new GameJournal(journalPath);
+        journal.open();
+        journal.appendSessionStarted(1L, GameSessionType.MULTI_PLAYER_GAME_SESSION, null, 11L, 12L, 21L, 22L,
+                redPlayer, yellowPlayer);
+        journal.appendSessionStarted(2L, GameSessionType.SINGLE_PLAYER_GAME_SESSION, AIType.RANDOM_CHOICE_AI,
+                13L, 0L, 23L, 0L, redPlayer, new Player(Color.YELLOW, PlayerType.COMPUTER));
+        journal.appendMove(1L, new Move(3));
+        journal.close();
+    }
+
+    @Test
+    public void testResumeByToken() {
+        GameJournal journal = new GameJournal(journalPath);
+        GameSessionManager gameSessionManager = newGameSessionManager(journal);
+        gameSessionManager.recoverGameSessions();
+        journal.close();
+
+        RecoveredSession multiPlayerSession = gameSessionManager.getRecoveredSession(11L);
+        Assertions.assertNotNull(multiPlayerSession);
+        Assertions.assertEquals(1L, multiPlayerSession.getId());
+        Assertions.assertSame(multiPlayerSession, gameSessionManager.getRecoveredSession(12L),
+                "Both players should resume the same session");
+        Assertions.assertEquals(1, multiPlayerSession.getMoves().size());
+        Assertions.assertEquals(2L, gameSessionManager.getRecoveredSession(13L).getId());
+        Assertions.assertNull(gameSessionManager.getRecoveredSession(0L), "The AI player should have no resume token");
+        Assertions.assertNull(gameSessionManager.getRecoveredSession(14L));
+    }
+
+    @Test
+    public void testExpireRecoveredSessions() throws IOException {
+        GameJournal journal = new GameJournal(journalPath);
+        GameSessionManager gameSessionManager = newGameSessionManager(journal);
+        gameSessionManager.recoverGameSessions();
+
+        Assertions.assertEquals(List.of(), gameSessionManager.expireRecoveredSessions(), "No client was waiting");
+        Assertions.assertNull(gameSessionManager.getRecoveredSession(11L));
+        Assertions.assertNull(gameSessionManager.getRecoveredSession(12L));
+        Assertions.assertNull(gameSessionManager.getRecoveredSession(13L));
+        journal.close();
+
+        Assertions.assertEquals(List.of(), new GameJournal(journalPath).open(), "Expired sessions should be ended in the journal");
+    }
+
+    /**
+     * Creates a game session manager over the specified journal, with no archive.
+     * @param journal The game journal.
+     * @return The game session manager.
+     */
+    private static GameSessionManager newGameSessionManager(GameJournal journal) {
+        return new GameSessionManager(new AdmissionController(10, 10, 10), Duration.ofMinutes(1), journal,
+                new GameArchive(null));
+    }
+}
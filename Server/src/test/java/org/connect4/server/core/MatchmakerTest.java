@@ -0,0 +1,120 @@
+package org.connect4.server.core;
+
+import org.connect4.game.networking.messaging.Message;
+import org.connect4.server.core.network.ClientConnection;
+import org.connect4.server.utils.ConfigLoader;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.Socket;
+import java.util.List;
+import java.util.Set;
+
+public class MatchmakerTest {
+    private static ServerManager serverManager;
+    private Matchmaker matchmaker;
+
+    @BeforeAll
+    public static void setupServerManager() {
+        ConfigLoader config = new ConfigLoader();
+        config.loadProperties();
+        serverManager = new ServerManager(config);
+    }
+
+    @BeforeEach
+    public void setup() {
+        matchmaker = new Matchmaker();
+    }
+
+    @Test
+    public void testClosestOpponent() {
+        TestClientConnection firstClient = enqueue(1500);
+        TestClientConnection farClient = enqueue(1900);
+        TestClientConnection closeClient = enqueue(1560);
+        TestClientConnection lowClient = enqueue(1200);
+
+        List<Matchmaker.Match> matches = matchmaker.matchWaitingClients();
+
+        Assertions.assertEquals(List.of(new Matchmaker.Match(firstClient, closeClient)), matches);
+        Assertions.assertEquals(Set.of(farClient, lowClient), matchmaker.getWaitingClients(),
+                "Clients outside of each other's rating window should keep waiting");
+    }
+
+    @Test
+    public void testEnqueueTwice() {
+        TestClientConnection firstClient = enqueue(1500);
+        matchmaker.enqueue(firstClient);
+        TestClientConnection secondClient = enqueue(1510);
+
+        Assertions.assertEquals(List.of(new Matchmaker.Match(firstClient, secondClient)), matchmaker.matchWaitingClients());
+        Assertions.assertTrue(matchmaker.getWaitingClients().isEmpty());
+    }
+
+    @Test
+    public void testCancelledClient() {
+        TestClientConnection firstClient = enqueue(1500);
+        TestClientConnection cancelledClient = enqueue(1510);
+
+        Assertions.assertTrue(matchmaker.cancel(cancelledClient));
+        Assertions.assertFalse(matchmaker.cancel(cancelledClient), "A client should only be cancelled once");
+        Assertions.assertEquals(List.of(), matchmaker.matchWaitingClients(), "A cancelled client should never be paired");
+        Assertions.assertTrue(matchmaker.isWaiting(firstClient));
+    }
+
+    @Test
+    public void testDisconnectedOpponent() {
+        TestClientConnection firstClient = enqueue(1500);
+        TestClientConnection disconnectedClient = enqueue(1510);
+        disconnectedClient.isConnected = false;
+
+        Assertions.assertEquals(List.of(), matchmaker.matchWaitingClients(), "A disconnected client should never be paired");
+        Assertions.assertEquals(Set.of(firstClient), matchmaker.getWaitingClients());
+
+        TestClientConnection secondClient = enqueue(1520);
+        Assertions.assertEquals(List.of(new Matchmaker.Match(firstClient, secondClient)), matchmaker.matchWaitingClients());
+    }
+
+    /**
+     * Enqueues a new client with the specified rating.
+     * @param rating The rating of the client.
+     * @return The client connection.
+     */
+    private TestClientConnection enqueue(int rating) {
+        TestClientConnection clientConnection = new TestClientConnection(rating);
+        matchmaker.enqueue(clientConnection);
+        return clientConnection;
+    }
+
+    /**
+     * A client connection with no socket behind it, whose connection state is set by the test.
+     */
+    private static class TestClientConnection extends ClientConnection {
+        private volatile boolean isConnected = true;
+
+        private TestClientConnection(int rating) {
+            super(new Socket(), serverManager);
+            setRating(rating);
+        }
+
+        @Override
+        public void startMessageListener() {
+        }
+
+        @Override
+        public void sendMessage(Message<?> message) {
+        }
+
+        @Override
+        public void disconnect() {
+            isConnected = false;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return isConnected;
+        }
+    }
+}
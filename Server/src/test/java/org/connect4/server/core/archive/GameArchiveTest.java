@@ -0,0 +1,153 @@
+package org.connect4.server.core.archive;
+
+import org.connect4.game.ai.enums.AIType;
+import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.enums.Color;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameArchiveTest {
+    private static final int GAME_COUNT = 150;
+    private static final Color[] WINNERS = {Color.RED, Color.YELLOW, Color.NONE};
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        long startTime = System.currentTimeMillis();
+        List<ArchivedGame> games = archiveGames(startTime);
+
+        List<ArchivedGame> readGames = new ArrayList<>();
+        long readCount = new ArchiveReader(directory).readGames(Instant.EPOCH, Instant.ofEpochMilli(Long.MAX_VALUE), readGames::add);
+
+        Assertions.assertEquals(GAME_COUNT, readCount);
+        Assertions.assertEquals(GAME_COUNT, readGames.size());
+        for (int i = 0; i < GAME_COUNT; i++) {
+            assertSameGame(games.get(i), readGames.get(i));
+        }
+    }
+
+    @Test
+    public void testReadGamesOfPlayer() throws IOException {
+        long startTime = System.currentTimeMillis();
+        List<ArchivedGame> games = archiveGames(startTime);
+
+        List<ArchivedGame> readGames = new ArrayList<>();
+        new ArchiveReader(directory).readGamesOfPlayer(3L, Instant.EPOCH, Instant.ofEpochMilli(Long.MAX_VALUE), readGames::add);
+
+        List<ArchivedGame> expectedGames = games.stream().filter(archivedGame -> archivedGame.hasPlayer(3L)).toList();
+        Assertions.assertFalse(expectedGames.isEmpty());
+        Assertions.assertEquals(expectedGames.size(), readGames.size());
+        for (int i = 0; i < expectedGames.size(); i++) {
+            assertSameGame(expectedGames.get(i), readGames.get(i));
+        }
+    }
+
+    @Test
+    public void testReadGamesInTimeRange() throws IOException {
+        long startTime = System.currentTimeMillis();
+        archiveGames(startTime);
+
+        List<ArchivedGame> readGames = new ArrayList<>();
+        new ArchiveReader(directory).readGames(Instant.ofEpochMilli(startTime + 70_000),
+                Instant.ofEpochMilli(startTime + 80_000), readGames::add);
+
+        Assertions.assertEquals(10, readGames.size(), "Only the games that finished in the range should be read");
+        Assertions.assertEquals(startTime + 70_000, readGames.get(0).getFinishedAt());
+        Assertions.assertEquals(startTime + 79_000, readGames.get(9).getFinishedAt());
+    }
+
+    @Test
+    public void testSegmentPerRun() throws IOException {
+        long startTime = System.currentTimeMillis();
+        archiveGames(startTime);
+        archiveGames(startTime + GAME_COUNT * 1000L);
+
+        long readCount = new ArchiveReader(directory).readGames(Instant.EPOCH, Instant.ofEpochMilli(Long.MAX_VALUE), archivedGame -> {});
+
+        Assertions.assertEquals(2 * GAME_COUNT, readCount, "The games of both runs should be read");
+        Assertions.assertTrue(Files.exists(ArchiveReader.getSegmentPath(directory, 2)), "Each run should start a new segment");
+    }
+
+    @Test
+    public void testTornRecord() throws IOException {
+        long startTime = System.currentTimeMillis();
+        List<ArchivedGame> games = archiveGames(startTime);
+        try (FileChannel channel = FileChannel.open(ArchiveReader.getSegmentPath(directory, 1), StandardOpenOption.WRITE)) {
+            // Cuts the checksum of the last game, which is after the last indexed block
+            channel.truncate(channel.size() - 2);
+        }
+
+        List<ArchivedGame> readGames = new ArrayList<>();
+        new ArchiveReader(directory).readGames(Instant.EPOCH, Instant.ofEpochMilli(Long.MAX_VALUE), readGames::add);
+
+        Assertions.assertEquals(GAME_COUNT - 1, readGames.size(), "The archive should be read up to the torn record");
+        assertSameGame(games.get(GAME_COUNT - 2), readGames.get(GAME_COUNT - 2));
+    }
+
+    @Test
+    public void testReplay() {
+        ArchivedGame archivedGame = new ArchivedGame(0L, 1000L, 1L, 2L, null, Color.RED, false,
+                List.of(new Move(0), new Move(1), new Move(0), new Move(1), new Move(0), new Move(1), new Move(0)));
+
+        Assertions.assertEquals(Color.RED, archivedGame.replay().getWinner().orElseThrow().getColor());
+    }
+
+    /**
+     * Archives games that finished one second apart from the specified time, and closes the archive.
+     * @param startTime The finish time of the first game, in epoch milliseconds.
+     * @return The archived games, in the order they were archived.
+     * @throws IOException If the archive cannot be opened.
+     */
+    private List<ArchivedGame> archiveGames(long startTime) throws IOException {
+        GameArchive archive = new GameArchive(directory);
+        archive.open();
+
+        List<ArchivedGame> games = new ArrayList<>(GAME_COUNT);
+        for (int i = 0; i < GAME_COUNT; i++) {
+            List<Move> moves = new ArrayList<>();
+            for (int j = 0; j < 7 + i % 35; j++) {
+                moves.add(new Move((i + j) % 7));
+            }
+            AIType aiType = i % 4 == 0 ? AIType.values()[i % AIType.values().length] : null;
+            ArchivedGame archivedGame = new ArchivedGame(startTime + i * 1000L, 5000L + i, 1L + i % 5,
+                    aiType == null ? 100L + i % 7 : 0L, aiType, WINNERS[i % WINNERS.length], i % 6 == 0, moves);
+            archive.append(archivedGame);
+            games.add(archivedGame);
+        }
+
+        archive.close();
+        return games;
+    }
+
+    /**
+     * Asserts that a game read from the archive is the game that was archived.
+     * @param expected The archived game.
+     * @param actual The game read back.
+     */
+    private static void assertSameGame(ArchivedGame expected, ArchivedGame actual) {
+        Assertions.assertEquals(expected.getFinishedAt(), actual.getFinishedAt());
+        Assertions.assertEquals(expected.getDurationMillis(), actual.getDurationMillis());
+        Assertions.assertEquals(expected.getPlayerId(Color.RED), actual.getPlayerId(Color.RED));
+        Assertions.assertEquals(expected.getPlayerId(Color.YELLOW), actual.getPlayerId(Color.YELLOW));
+        Assertions.assertEquals(expected.getAiType(), actual.getAiType());
+        Assertions.assertEquals(expected.getWinner(), actual.getWinner());
+        Assertions.assertEquals(expected.isForfeit(), actual.isForfeit());
+        Assertions.assertEquals(expected.getMoveCount(), actual.getMoveCount());
+        for (int i = 0; i < expected.getMoveCount(); i++) {
+            Assertions.assertEquals(expected.getColumn(i), actual.getColumn(i));
+        }
+    }
+}
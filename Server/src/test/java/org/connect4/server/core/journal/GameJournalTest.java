@@ -0,0 +1,165 @@
+package org.connect4.server.core.journal;
+
+import org.connect4.game.ai.enums.AIType;
+import org.connect4.game.logic.core.Move;
+import org.connect4.game.logic.core.Player;
+import org.connect4.game.logic.enums.Color;
+import org.connect4.game.logic.enums.PlayerType;
+import org.connect4.server.core.session.GameSessionType;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+public class GameJournalTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path path = directory.resolve("journal.bin");
+        writeSessions(path);
+
+        List<RecoveredSession> sessions = new GameJournal(path).open();
+
+        Assertions.assertEquals(2, sessions.size(), "The ended session should not be recovered");
+        RecoveredSession multiPlayerSession = sessions.get(0);
+        Assertions.assertEquals(1L, multiPlayerSession.getId());
+        Assertions.assertEquals(GameSessionType.MULTI_PLAYER_GAME_SESSION, multiPlayerSession.getType());
+        Assertions.assertNull(multiPlayerSession.getAiType());
+        Assertions.assertEquals(11L, multiPlayerSession.getResumeToken(Color.RED));
+        Assertions.assertEquals(12L, multiPlayerSession.getResumeToken(Color.YELLOW));
+        Assertions.assertEquals(21L, multiPlayerSession.getArchiveId(Color.RED));
+        Assertions.assertEquals(22L, multiPlayerSession.getArchiveId(Color.YELLOW));
+        Assertions.assertEquals(List.of(3, 4, 3), getColumns(multiPlayerSession));
+
+        RecoveredSession singlePlayerSession = sessions.get(1);
+        Assertions.assertEquals(2L, singlePlayerSession.getId());
+        Assertions.assertEquals(GameSessionType.SINGLE_PLAYER_GAME_SESSION, singlePlayerSession.getType());
+        Assertions.assertEquals(AIType.MINIMAX_WITH_PRUNING_AI, singlePlayerSession.getAiType());
+        Assertions.assertEquals(0L, singlePlayerSession.getResumeToken(Color.YELLOW));
+        Assertions.assertEquals(List.of(6), getColumns(singlePlayerSession), "Only the moves after the game over should be recovered");
+        Assertions.assertEquals(1, singlePlayerSession.getScore(Color.RED));
+        Assertions.assertEquals(0, singlePlayerSession.getScore(Color.YELLOW));
+        Assertions.assertEquals(1216, singlePlayerSession.getRating(Color.RED));
+        Assertions.assertEquals(1184, singlePlayerSession.getRating(Color.YELLOW));
+    }
+
+    @Test
+    public void testTornRecord() throws IOException {
+        Path path = directory.resolve("journal.bin");
+        writeSessions(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            // Cuts the last record, which ends the third session, in the middle
+            channel.truncate(channel.size() - 3);
+        }
+
+        List<RecoveredSession> sessions = new GameJournal(path).open();
+
+        Assertions.assertEquals(3, sessions.size(), "The session whose end was torn should be recovered");
+        Assertions.assertEquals(3L, sessions.get(2).getId());
+        Assertions.assertEquals(List.of(3, 4, 3), getColumns(sessions.get(0)));
+    }
+
+    @Test
+    public void testCorruptRecord() throws IOException {
+        Path path = directory.resolve("journal.bin");
+        GameJournal journal = new GameJournal(path);
+        journal.open();
+        journal.appendSessionStarted(1L, GameSessionType.MULTI_PLAYER_GAME_SESSION, null, 11L, 12L, 21L, 22L,
+                new Player(Color.RED, PlayerType.HUMAN), new Player(Color.YELLOW, PlayerType.HUMAN));
+        journal.appendMove(1L, new Move(3));
+        journal.appendMove(1L, new Move(4));
+        journal.close();
+
+        byte[] bytes = Files.readAllBytes(path);
+        // Flips the column of the last move, so that its checksum no longer matches
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(path, bytes);
+
+        List<RecoveredSession> sessions = new GameJournal(path).open();
+
+        Assertions.assertEquals(1, sessions.size());
+        Assertions.assertEquals(List.of(3), getColumns(sessions.get(0)), "The journal should be read up to the corrupt record");
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        Path path = directory.resolve("journal.bin");
+        writeSessions(path);
+        long size = Files.size(path);
+
+        GameJournal journal = new GameJournal(path);
+        journal.open();
+        journal.close();
+        long compactedSize = Files.size(path);
+        List<RecoveredSession> sessions = new GameJournal(path).open();
+
+        Assertions.assertTrue(compactedSize < size, "The ended session and the finished game should be compacted away");
+        Assertions.assertEquals(2, sessions.size());
+        Assertions.assertEquals(List.of(3, 4, 3), getColumns(sessions.get(0)));
+        Assertions.assertEquals(List.of(6), getColumns(sessions.get(1)));
+        Assertions.assertEquals(1216, sessions.get(1).getRating(Color.RED), "The ratings should survive the compaction");
+        Assertions.assertEquals(compactedSize, Files.size(path), "Compacting a compacted journal should not change it");
+    }
+
+    @Test
+    public void testDisabled() throws IOException {
+        GameJournal journal = new GameJournal(null);
+
+        Assertions.assertFalse(journal.isEnabled());
+        Assertions.assertEquals(List.of(), journal.open());
+        journal.appendMove(1L, new Move(3));
+        journal.close();
+    }
+
+    /**
+     * Writes a journal with a multi-player session in progress, a single-player session after a finished game,
+     * and a session that ended.
+     * @param path The path of the journal.
+     * @throws IOException If the journal cannot be opened.
+     */
+    private static void writeSessions(Path path) throws IOException {
+        Player redPlayer = new Player(Color.RED, PlayerType.HUMAN);
+        Player yellowPlayer = new Player(Color.YELLOW, PlayerType.HUMAN);
+        Player aiPlayer = new Player(Color.YELLOW, PlayerType.COMPUTER);
+
+        GameJournal journal = new GameJournal(path);
+        journal.open();
+        journal.appendSessionStarted(1L, GameSessionType.MULTI_PLAYER_GAME_SESSION, null, 11L, 12L, 21L, 22L,
+                redPlayer, yellowPlayer);
+        journal.appendSessionStarted(2L, GameSessionType.SINGLE_PLAYER_GAME_SESSION, AIType.MINIMAX_WITH_PRUNING_AI,
+                13L, 0L, 23L, 0L, redPlayer, aiPlayer);
+        journal.appendMove(1L, new Move(3));
+        journal.appendMove(2L, new Move(5));
+        journal.appendMove(1L, new Move(4));
+
+        redPlayer.setScore(1);
+        redPlayer.setRating(1216);
+        aiPlayer.setRating(1184);
+        journal.appendGameOver(2L, redPlayer, aiPlayer);
+        journal.appendMove(2L, new Move(6));
+        journal.appendMove(1L, new Move(3));
+
+        journal.appendSessionStarted(3L, GameSessionType.MULTI_PLAYER_GAME_SESSION, null, 14L, 15L, 24L, 25L,
+                redPlayer, yellowPlayer);
+        journal.appendSessionEnded(3L);
+        journal.close();
+    }
+
+    /**
+     * Gets the columns of the moves of a recovered session.
+     * @param session The recovered session.
+     * @return The columns, in the order the moves were played.
+     */
+    private static List<Integer> getColumns(RecoveredSession session) {
+        return session.getMoves().stream().map(Move::getColumn).toList();
+    }
+}
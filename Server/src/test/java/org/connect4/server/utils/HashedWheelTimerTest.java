@@ -0,0 +1,73 @@
+package org.connect4.server.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class HashedWheelTimerTest {
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    public void setup() {
+        timer = new HashedWheelTimer("test-timer", Duration.ofMillis(5), 4);
+        timer.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        timer.shutdown();
+    }
+
+    @Test
+    public void testExpiryOrder() throws InterruptedException {
+        List<Integer> expired = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(4);
+        // The wheel spans 20 milliseconds, so the later timeouts wrap around it
+        for (int delay : new int[] {120, 10, 60, 35}) {
+            timer.newTimeout(() -> {
+                expired.add(delay);
+                latch.countDown();
+            }, Duration.ofMillis(delay));
+        }
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS), "Every timeout should expire");
+        Assertions.assertEquals(List.of(10, 35, 60, 120), expired, "Timeouts should expire in the order of their delays");
+    }
+
+    @Test
+    public void testNotExpiredBeforeDelay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(latch::countDown, Duration.ofMillis(50));
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50), "A timeout should never expire early");
+        Assertions.assertTrue(timeout.isExpired());
+        Assertions.assertFalse(timeout.cancel(), "An expired timeout should not be cancelled");
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        List<String> expired = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        HashedWheelTimer.Timeout cancelled = timer.newTimeout(() -> expired.add("cancelled"), Duration.ofMillis(20));
+        timer.newTimeout(() -> {
+            expired.add("kept");
+            latch.countDown();
+        }, Duration.ofMillis(40));
+
+        Assertions.assertTrue(cancelled.cancel());
+        Assertions.assertFalse(cancelled.cancel(), "A timeout should only be cancelled once");
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of("kept"), expired);
+        Assertions.assertTrue(cancelled.isCancelled());
+        Assertions.assertFalse(cancelled.isExpired());
+    }
+}
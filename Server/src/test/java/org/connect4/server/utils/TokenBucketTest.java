@@ -0,0 +1,32 @@
+package org.connect4.server.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTest {
+    @Test
+    public void testBurst() {
+        TokenBucket tokenBucket = new TokenBucket(3, 0.001);
+
+        Assertions.assertTrue(tokenBucket.tryAcquire());
+        Assertions.assertTrue(tokenBucket.tryAcquire());
+        Assertions.assertTrue(tokenBucket.tryAcquire());
+        Assertions.assertFalse(tokenBucket.tryAcquire(), "Events beyond the capacity should be rejected");
+    }
+
+    @Test
+    public void testRefill() throws InterruptedException {
+        TokenBucket tokenBucket = new TokenBucket(1, 100);
+
+        Assertions.assertTrue(tokenBucket.tryAcquire());
+        Assertions.assertFalse(tokenBucket.tryAcquire());
+        Thread.sleep(50);
+        Assertions.assertTrue(tokenBucket.tryAcquire(), "The bucket should refill over time");
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}